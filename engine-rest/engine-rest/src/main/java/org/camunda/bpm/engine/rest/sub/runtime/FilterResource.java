@@ -69,7 +69,7 @@ public interface FilterResource {
   @GET
   @Path("/count")
   @Produces(MediaType.APPLICATION_JSON)
-  CountResultDto executeCount();
+  CountResultDto executeCount(@QueryParam("cached") Boolean cached);
 
   @POST
   @Path("/count")
@@ -285,7 +285,10 @@ public class FilterResourceImpl extends AbstractAuthorizedRestResource implement
     }
   }
 
-  public CountResultDto executeCount() {
+  public CountResultDto executeCount(Boolean cached) {
+    if (cached != null && cached) {
+      return new CountResultDto(executeFilterCachedCount());
+    }
     return queryCount(null);
   }
 
@@ -305,6 +308,15 @@ public class FilterResourceImpl extends AbstractAuthorizedRestResource implement
     }
   }
 
+  protected long executeFilterCachedCount() {
+    try {
+      return filterService.cachedCount(resourceId);
+    }
+    catch (NullValueException e) {
+      throw filterNotFound(e);
+    }
+  }
+
   public ResourceOptionsDto availableOperations(UriInfo context) {
 
     ResourceOptionsDto dto = new ResourceOptionsDto();
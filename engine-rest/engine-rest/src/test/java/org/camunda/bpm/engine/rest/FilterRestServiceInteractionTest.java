@@ -191,6 +191,8 @@ public class FilterRestServiceInteractionTest extends AbstractRestServiceTest {
       .thenReturn((long) 1);
     when(filterServiceMock.count(eq(EXAMPLE_FILTER_ID), any(Query.class)))
       .thenReturn((long) 1);
+    when(filterServiceMock.cachedCount(eq(EXAMPLE_FILTER_ID)))
+      .thenReturn((long) 1);
 
     doThrow(new NullValueException("No filter found with given id"))
       .when(filterServiceMock).singleResult(eq(MockProvider.NON_EXISTING_ID));
@@ -208,6 +210,8 @@ public class FilterRestServiceInteractionTest extends AbstractRestServiceTest {
       .when(filterServiceMock).count(eq(MockProvider.NON_EXISTING_ID));
     doThrow(new NullValueException("No filter found with given id"))
       .when(filterServiceMock).count(eq(MockProvider.NON_EXISTING_ID), any(Query.class));
+    doThrow(new NullValueException("No filter found with given id"))
+      .when(filterServiceMock).cachedCount(eq(MockProvider.NON_EXISTING_ID));
     doThrow(new NullValueException("No filter found with given id"))
       .when(filterServiceMock).deleteFilter(eq(MockProvider.NON_EXISTING_ID));
 
@@ -1163,6 +1167,36 @@ public class FilterRestServiceInteractionTest extends AbstractRestServiceTest {
     verify(filterServiceMock).count(MockProvider.NON_EXISTING_ID, null);
   }
 
+  @Test
+  public void testExecuteCachedCount() {
+    given()
+      .header(ACCEPT_JSON_HEADER)
+      .pathParam("id", EXAMPLE_FILTER_ID)
+      .queryParam("cached", true)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("count", equalTo(1))
+    .when()
+      .get(EXECUTE_COUNT_FILTER_URL);
+
+    verify(filterServiceMock).cachedCount(eq(EXAMPLE_FILTER_ID));
+    verify(filterServiceMock, never()).count(anyString(), any(Query.class));
+  }
+
+  @Test
+  public void testExecuteCachedCountOfNonExistingFilter() {
+    given()
+      .header(ACCEPT_JSON_HEADER)
+      .pathParam("id", MockProvider.NON_EXISTING_ID)
+      .queryParam("cached", true)
+    .then().expect()
+      .statusCode(Status.NOT_FOUND.getStatusCode())
+    .when()
+      .get(EXECUTE_COUNT_FILTER_URL);
+
+    verify(filterServiceMock).cachedCount(MockProvider.NON_EXISTING_ID);
+  }
+
   @Test
   public void testExecuteCountAsPost() {
     given()
@@ -231,4 +231,24 @@ public interface FilterService {
    */
   Long count(String filterId, Query<?, ?> extendingQuery);
 
+  /**
+   * Executes the query of the filter and returns the result count. The count is exact
+   * when it is computed, not an estimate. In contrast to {@link #count(String)} it may be
+   * served from a short-lived cache, i.e. it can be outdated by up to the configured
+   * <code>filterCountCacheTimeToLive</code> (process engine configuration property,
+   * in milliseconds). Counts are cached
+   * separately for every authentication. If the time to live is set to <code>0</code>,
+   * the count is always computed.
+   *
+   * @param filterId the the id of the filter
+   * @return the (possibly cached) result count
+   * @throws AuthorizationException if the user has no {@link Permissions#READ} permissions on {@link Resources#FILTER}.
+   * @throws BadUserRequestException
+   *  <ul><li>When the filter query uses expressions and expression evaluation is deactivated for stored queries.
+   *  Expression evaluation can be activated by setting the process engine configuration properties
+   *  <code>enableExpressionsInAdhocQueries</code> (default <code>false</code>) and
+   *  <code>enableExpressionsInStoredQueries</code> (default <code>true</code>) to <code>true</code>.
+   */
+  Long cachedCount(String filterId);
+
 }
@@ -41,6 +41,7 @@ import org.camunda.bpm.engine.runtime.ExecutionQuery;
 import org.camunda.bpm.engine.runtime.Incident;
 import org.camunda.bpm.engine.runtime.IncidentQuery;
 import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkBuilder;
 import org.camunda.bpm.engine.runtime.ModificationBuilder;
 import org.camunda.bpm.engine.runtime.NativeExecutionQuery;
 import org.camunda.bpm.engine.runtime.NativeProcessInstanceQuery;
@@ -1874,6 +1875,15 @@ public interface RuntimeService {
    */
   MessageCorrelationBuilder createMessageCorrelation(String messageName);
 
+  /**
+   * Define the correlation of many messages at once using a fluent builder. The messages
+   * are correlated in chunks that share one command and transaction, which is faster than
+   * correlating them one by one. The outcome is reported for each message.
+   *
+   * @return the fluent builder for defining the message correlations.
+   */
+  MessageCorrelationBulkBuilder createMessageCorrelationBulk();
+
   /**
    * Correlates a message to either an execution that is waiting for this message or a process definition
    * that can be started by this message.
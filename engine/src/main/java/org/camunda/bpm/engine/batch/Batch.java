@@ -47,6 +47,7 @@ public interface Batch {
   String TYPE_PROCESS_SET_REMOVAL_TIME = "process-set-removal-time";
   String TYPE_DECISION_SET_REMOVAL_TIME = "decision-set-removal-time";
   String TYPE_BATCH_SET_REMOVAL_TIME = "batch-set-removal-time";
+  String TYPE_SIGNAL_BROADCAST = "signal-broadcast";
 
   /**
    * @return the id of the batch
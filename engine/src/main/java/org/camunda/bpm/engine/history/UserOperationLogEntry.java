@@ -111,6 +111,7 @@ public interface UserOperationLogEntry {
 
   public static String OPERATION_TYPE_MODIFY_PROCESS_INSTANCE = "ModifyProcessInstance";
   public static String OPERATION_TYPE_RESTART_PROCESS_INSTANCE  = "RestartProcessInstance";
+  public static String OPERATION_TYPE_BROADCAST_SIGNAL = "BroadcastSignal";
   public static String OPERATION_TYPE_SUSPEND_JOB = "SuspendJob";
   public static String OPERATION_TYPE_ACTIVATE_JOB = "ActivateJob";
   public static String OPERATION_TYPE_SET_JOB_RETRIES = "SetJobRetries";
@@ -23,8 +23,11 @@ import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingListener;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.TimerStorePromotionJobHandler;
 import org.camunda.bpm.engine.impl.persistence.entity.EverLivingJobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
 import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
 
 /**
  * @author Nikola Koevski
@@ -44,6 +47,14 @@ public class BootstrapEngineCommand implements ProcessEngineBootstrapCommand {
       createHistoryCleanupJob(commandContext);
     }
 
+    if (isTimerStoreEnabled(commandContext)) {
+      createTimerStorePromotionJob(commandContext);
+    }
+
+    if (!isCorrelationKeyIndexEnabled(commandContext)) {
+      deleteCorrelationKeyIndex(commandContext);
+    }
+
     return null;
   }
 
@@ -66,6 +77,26 @@ public class BootstrapEngineCommand implements ProcessEngineBootstrapCommand {
     }
   }
 
+  protected void createTimerStorePromotionJob(CommandContext commandContext) {
+    if (Context.getProcessEngineConfiguration().getManagementService().getTableMetaData("ACT_RU_TIMER_PARKED") != null) {
+      JobManager jobManager = commandContext.getJobManager();
+      if (jobManager.findJobsByHandlerType(TimerStorePromotionJobHandler.TYPE).isEmpty()) {
+        EverLivingJobEntity promotionJob = new EverLivingJobEntity();
+        promotionJob.setJobHandlerType(TimerStorePromotionJobHandler.TYPE);
+        promotionJob.setDuedate(ClockUtil.getCurrentTime());
+        promotionJob.setRetries(commandContext.getProcessEngineConfiguration().getDefaultNumberOfRetries());
+        jobManager.insertJob(promotionJob);
+      }
+    }
+  }
+
+  protected void deleteCorrelationKeyIndex(CommandContext commandContext) {
+    // the index is not maintained while it is disabled and would be stale when it is enabled again
+    if (Context.getProcessEngineConfiguration().getManagementService().getTableMetaData("ACT_RU_CORR_KEY") != null) {
+      commandContext.getCorrelationKeyManager().deleteAllCorrelationKeys();
+    }
+  }
+
   public void checkDeploymentLockExists(CommandContext commandContext) {
     PropertyEntity deploymentLockProperty = commandContext.getPropertyManager().findPropertyById("deployment.lock");
     if (deploymentLockProperty == null) {
@@ -80,6 +111,16 @@ public class BootstrapEngineCommand implements ProcessEngineBootstrapCommand {
     }
   }
 
+  protected boolean isTimerStoreEnabled(CommandContext commandContext) {
+    return commandContext.getProcessEngineConfiguration()
+        .isTimerStoreEnabled();
+  }
+
+  protected boolean isCorrelationKeyIndexEnabled(CommandContext commandContext) {
+    return commandContext.getProcessEngineConfiguration()
+        .isCorrelationKeyIndexEnabled();
+  }
+
   protected boolean isHistoryCleanupEnabled(CommandContext commandContext) {
     return commandContext.getProcessEngineConfiguration()
         .isHistoryCleanupEnabled();
@@ -16,10 +16,12 @@
  */
 package org.camunda.bpm.engine.impl;
 
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import org.camunda.bpm.engine.impl.event.EventType;
 
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
@@ -43,6 +45,7 @@ public class ExecutionQueryImpl extends AbstractVariableQueryImpl<ExecutionQuery
   protected String businessKey;
   protected String activityId;
   protected String executionId;
+  protected Set<String> executionIds;
   protected String processInstanceId;
   protected List<EventSubscriptionQueryValue> eventSubscriptions;
   protected SuspensionState suspensionState;
@@ -91,6 +94,16 @@ public class ExecutionQueryImpl extends AbstractVariableQueryImpl<ExecutionQuery
     return this;
   }
 
+  /**
+   * Restricts the query to the given executions, used internally to narrow down the
+   * candidates of a message correlation.
+   */
+  public ExecutionQueryImpl executionIds(Set<String> executionIds) {
+    ensureNotEmpty("Set of execution ids", executionIds);
+    this.executionIds = executionIds;
+    return this;
+  }
+
   public ExecutionQueryImpl activityId(String activityId) {
     this.activityId = activityId;
     return this;
@@ -255,6 +268,10 @@ public class ExecutionQueryImpl extends AbstractVariableQueryImpl<ExecutionQuery
     return executionId;
   }
 
+  public Set<String> getExecutionIds() {
+    return executionIds;
+  }
+
   public SuspensionState getSuspensionState() {
     return suspensionState;
   }
@@ -370,4 +370,8 @@ public class MessageCorrelationBuilderImpl implements MessageCorrelationBuilder
     return isTenantIdSet;
   }
 
+  public boolean isStartMessagesOnly() {
+    return startMessagesOnly;
+  }
+
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureGreaterThanOrEqual;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.camunda.bpm.engine.impl.cmd.BulkCorrelateMessageCmd;
+import org.camunda.bpm.engine.impl.cmd.CommandLogger;
+import org.camunda.bpm.engine.impl.cmd.CorrelateMessageCmd;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationBulkResultImpl;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResult;
+
+public class MessageCorrelationBulkBuilderImpl implements MessageCorrelationBulkBuilder {
+
+  private final static CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
+
+  public static final int DEFAULT_CHUNK_SIZE = 100;
+
+  /** number of attempts to correlate a single message in case of optimistic locking conflicts */
+  public static final int MAX_ATTEMPTS = 3;
+
+  protected CommandExecutor commandExecutor;
+
+  protected List<MessageCorrelationBuilderImpl> messageCorrelations = new ArrayList<MessageCorrelationBuilderImpl>();
+  protected int chunkSize = DEFAULT_CHUNK_SIZE;
+
+  public MessageCorrelationBulkBuilderImpl(CommandExecutor commandExecutor) {
+    this.commandExecutor = commandExecutor;
+  }
+
+  public MessageCorrelationBulkBuilder messageCorrelation(MessageCorrelationBuilder messageCorrelation) {
+    ensureNotNull("messageCorrelation", messageCorrelation);
+
+    MessageCorrelationBuilderImpl correlation = (MessageCorrelationBuilderImpl) messageCorrelation;
+    if (correlation.isStartMessagesOnly()) {
+      correlation.ensureCorrelationVariablesNotSet();
+      correlation.ensureProcessDefinitionAndTenantIdNotSet();
+    } else {
+      correlation.ensureProcessDefinitionIdNotSet();
+      correlation.ensureProcessInstanceAndTenantIdNotSet();
+    }
+
+    messageCorrelations.add(correlation);
+    return this;
+  }
+
+  public MessageCorrelationBulkBuilder messageCorrelation(String messageName, Map<String, Object> correlationKeys, Map<String, Object> processVariables) {
+    MessageCorrelationBuilderImpl correlation = new MessageCorrelationBuilderImpl(commandExecutor, messageName);
+    if (correlationKeys != null) {
+      correlation.processInstanceVariablesEqual(correlationKeys);
+    }
+    if (processVariables != null) {
+      correlation.setVariables(processVariables);
+    }
+    return messageCorrelation(correlation);
+  }
+
+  public MessageCorrelationBulkBuilder chunkSize(int chunkSize) {
+    ensureGreaterThanOrEqual("chunkSize", chunkSize, 1);
+    this.chunkSize = chunkSize;
+    return this;
+  }
+
+  public List<MessageCorrelationBulkResult> correlate() {
+    // a command inside a command shares its context: a failed chunk would not be
+    // rolled back before the messages are correlated one by one
+    if (Context.getCommandContext() != null) {
+      throw LOG.exceptionBulkCorrelationInsideCommand();
+    }
+
+    List<MessageCorrelationBulkResult> results = new ArrayList<MessageCorrelationBulkResult>(messageCorrelations.size());
+
+    int chunkStart = 0;
+    while (chunkStart < messageCorrelations.size()) {
+      int chunkEnd = Math.min(chunkStart + chunkSize, messageCorrelations.size());
+      List<MessageCorrelationBuilderImpl> chunk = messageCorrelations.subList(chunkStart, chunkEnd);
+
+      List<MessageCorrelationBulkResultImpl> chunkResults;
+      try {
+        // may correlate only a part of the chunk, the rest starts the next chunk
+        chunkResults = commandExecutor.execute(new BulkCorrelateMessageCmd(chunk, chunkStart));
+      }
+      catch (RuntimeException e) {
+        // the chunk is rolled back, fall back to one command per message
+        chunkResults = new ArrayList<MessageCorrelationBulkResultImpl>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+          chunkResults.add(correlateSingle(chunk.get(i), chunkStart + i));
+        }
+      }
+
+      if (chunkResults.isEmpty()) {
+        // the chunk stopped before its first message, correlate it on its own to make progress
+        chunkResults = new ArrayList<MessageCorrelationBulkResultImpl>(1);
+        chunkResults.add(correlateSingle(chunk.get(0), chunkStart));
+      }
+
+      results.addAll(chunkResults);
+      chunkStart += chunkResults.size();
+    }
+
+    return results;
+  }
+
+  protected MessageCorrelationBulkResultImpl correlateSingle(MessageCorrelationBuilderImpl correlation, int index) {
+    String messageName = correlation.getMessageName();
+
+    for (int attempt = 1; ; attempt++) {
+      try {
+        MessageCorrelationResult result = commandExecutor.execute(new CorrelateMessageCmd(correlation, false, false, correlation.isStartMessagesOnly()));
+        return MessageCorrelationBulkResultImpl.success(index, messageName, result);
+      }
+      catch (OptimisticLockingException e) {
+        if (attempt >= MAX_ATTEMPTS) {
+          return MessageCorrelationBulkResultImpl.failure(index, messageName, e);
+        }
+      }
+      catch (RuntimeException e) {
+        return MessageCorrelationBulkResultImpl.failure(index, messageName, e);
+      }
+    }
+  }
+
+  public List<MessageCorrelationBuilderImpl> getMessageCorrelations() {
+    return messageCorrelations;
+  }
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+}
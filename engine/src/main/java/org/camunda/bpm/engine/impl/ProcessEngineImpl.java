@@ -33,8 +33,10 @@ import org.camunda.bpm.engine.ProcessEngines;
 import org.camunda.bpm.engine.RepositoryService;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.TransactionContextFactory;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.event.SimpleIpBasedProvider;
@@ -42,6 +44,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheWarmUp;
 import org.camunda.bpm.engine.impl.util.CompositeCondition;
 
 /**
@@ -106,6 +109,7 @@ public class ProcessEngineImpl implements ProcessEngine {
     this.transactionContextFactory = processEngineConfiguration.getTransactionContextFactory();
 
     executeSchemaOperations();
+    warmUpDeploymentCache();
 
     if (name == null) {
       LOG.processEngineCreated(ProcessEngines.NAME_DEFAULT);
@@ -152,11 +156,34 @@ public class ProcessEngineImpl implements ProcessEngine {
     }
   }
 
+  protected void warmUpDeploymentCache() {
+    if (processEngineConfiguration.getDeploymentCacheWarmUpSize() > 0) {
+      DeploymentCacheWarmUp warmUp = new DeploymentCacheWarmUp(commandExecutor,
+          processEngineConfiguration.getDeploymentCacheWarmUpSize(),
+          processEngineConfiguration.getDeploymentCacheWarmUpThreads(),
+          processEngineConfiguration.getDeploymentCacheWarmUpTimeout());
+      processEngineConfiguration.setDeploymentCacheWarmUp(warmUp);
+
+      // started before the job executor, but without delaying the engine startup
+      warmUp.start();
+    }
+  }
+
   @Override
   public void close() {
 
     ProcessEngines.unregister(this);
 
+    DeploymentCacheWarmUp warmUp = processEngineConfiguration.getDeploymentCacheWarmUp();
+    if (warmUp != null) {
+      warmUp.stop();
+    }
+
+    IdGenerator idGenerator = processEngineConfiguration.getIdGenerator();
+    if (idGenerator instanceof PrefetchingDbIdGenerator) {
+      ((PrefetchingDbIdGenerator) idGenerator).close();
+    }
+
     if(processEngineConfiguration.isMetricsEnabled()) {
       processEngineConfiguration.getDbMetricsReporter().stop();
     }
@@ -60,6 +60,7 @@ import org.camunda.bpm.engine.runtime.ExecutionQuery;
 import org.camunda.bpm.engine.runtime.Incident;
 import org.camunda.bpm.engine.runtime.IncidentQuery;
 import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkBuilder;
 import org.camunda.bpm.engine.runtime.ModificationBuilder;
 import org.camunda.bpm.engine.runtime.NativeExecutionQuery;
 import org.camunda.bpm.engine.runtime.NativeProcessInstanceQuery;
@@ -628,6 +629,11 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
     return new MessageCorrelationBuilderImpl(commandExecutor, messageName);
   }
 
+  @Override
+  public MessageCorrelationBulkBuilder createMessageCorrelationBulk() {
+    return new MessageCorrelationBulkBuilderImpl(commandExecutor);
+  }
+
   @Override
   public void correlateMessage(String messageName, Map<String, Object> correlationKeys, Map<String, Object> processVariables) {
     createMessageCorrelation(messageName)
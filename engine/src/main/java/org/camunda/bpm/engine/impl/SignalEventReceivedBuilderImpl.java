@@ -20,8 +20,10 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.util.Map;
 
+import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.impl.cmd.CommandLogger;
 import org.camunda.bpm.engine.impl.cmd.SignalEventReceivedCmd;
+import org.camunda.bpm.engine.impl.cmd.batch.SignalBroadcastBatchCmd;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.runtime.SignalEventReceivedBuilder;
 import org.camunda.bpm.engine.variable.VariableMap;
@@ -94,6 +96,15 @@ public class SignalEventReceivedBuilderImpl implements SignalEventReceivedBuilde
     commandExecutor.execute(command);
   }
 
+  @Override
+  public Batch sendAsync() {
+    if (executionId != null) {
+      throw LOG.exceptionDeliverSignalAsyncToSingleExecution();
+    }
+
+    return commandExecutor.execute(new SignalBroadcastBatchCmd(this));
+  }
+
   public String getSignalName() {
     return signalName;
   }
@@ -0,0 +1,56 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch.signal;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.batch.BatchConfiguration;
+import org.camunda.bpm.engine.impl.batch.DeploymentMappings;
+import org.camunda.bpm.engine.variable.VariableMap;
+
+/**
+ * Configuration of a signal broadcast batch. The ids are the ids of the
+ * signal event subscriptions to notify.
+ */
+public class SignalBroadcastBatchConfiguration extends BatchConfiguration {
+
+  protected String signalName;
+  protected VariableMap variables;
+
+  public SignalBroadcastBatchConfiguration(List<String> ids, DeploymentMappings mappings, String signalName, VariableMap variables) {
+    super(ids, mappings);
+    this.signalName = signalName;
+    this.variables = variables;
+  }
+
+  public String getSignalName() {
+    return signalName;
+  }
+
+  public void setSignalName(String signalName) {
+    this.signalName = signalName;
+  }
+
+  public VariableMap getVariables() {
+    return variables;
+  }
+
+  public void setVariables(VariableMap variables) {
+    this.variables = variables;
+  }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch.signal;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.batch.DeploymentMappingJsonConverter;
+import org.camunda.bpm.engine.impl.batch.DeploymentMappings;
+import org.camunda.bpm.engine.impl.json.JsonObjectConverter;
+import org.camunda.bpm.engine.impl.util.JsonUtil;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * Serializes a {@link SignalBroadcastBatchConfiguration} into JSON. Variables
+ * are stored together with their type, so only values with a JSON
+ * representation are supported (see {@link #isSupportedVariableValue(Object)}).
+ */
+public class SignalBroadcastBatchConfigurationJsonConverter extends JsonObjectConverter<SignalBroadcastBatchConfiguration> {
+
+  public static final SignalBroadcastBatchConfigurationJsonConverter INSTANCE = new SignalBroadcastBatchConfigurationJsonConverter();
+
+  public static final String SUBSCRIPTION_IDS = "subscriptionIds";
+  public static final String SUBSCRIPTION_ID_MAPPINGS = "subscriptionIdMappings";
+  public static final String SIGNAL_NAME = "signalName";
+  public static final String VARIABLES = "variables";
+
+  public static final String VARIABLE_NAME = "name";
+  public static final String VARIABLE_TYPE = "type";
+  public static final String VARIABLE_VALUE = "value";
+
+  public static boolean isSupportedVariableValue(Object value) {
+    return value == null
+        || value instanceof String
+        || value instanceof Boolean
+        || value instanceof Integer
+        || value instanceof Long
+        || value instanceof Short
+        || value instanceof Double
+        || value instanceof Date;
+  }
+
+  public JsonObject toJsonObject(SignalBroadcastBatchConfiguration configuration) {
+    JsonObject json = JsonUtil.createObject();
+
+    JsonUtil.addListField(json, SUBSCRIPTION_IDS, configuration.getIds());
+    JsonUtil.addListField(json, SUBSCRIPTION_ID_MAPPINGS, DeploymentMappingJsonConverter.INSTANCE, configuration.getIdMappings());
+    JsonUtil.addField(json, SIGNAL_NAME, configuration.getSignalName());
+
+    VariableMap variables = configuration.getVariables();
+    if (variables != null) {
+      JsonArray variablesJson = JsonUtil.createArray();
+      for (String variableName : variables.keySet()) {
+        variablesJson.add(variableToJson(variableName, variables.get(variableName)));
+      }
+      JsonUtil.addField(json, VARIABLES, variablesJson);
+    }
+
+    return json;
+  }
+
+  public SignalBroadcastBatchConfiguration toObject(JsonObject json) {
+    VariableMap variables = null;
+    if (json.has(VARIABLES)) {
+      variables = Variables.createVariables();
+      for (JsonElement variableJson : JsonUtil.getArray(json, VARIABLES)) {
+        readVariable(JsonUtil.getObject(variableJson), variables);
+      }
+    }
+
+    return new SignalBroadcastBatchConfiguration(readSubscriptionIds(json), readIdMappings(json),
+        JsonUtil.getString(json, SIGNAL_NAME), variables);
+  }
+
+  protected JsonObject variableToJson(String name, Object value) {
+    JsonObject json = JsonUtil.createObject();
+    JsonUtil.addField(json, VARIABLE_NAME, name);
+
+    if (value == null) {
+      JsonUtil.addField(json, VARIABLE_TYPE, "null");
+    } else if (value instanceof String) {
+      JsonUtil.addField(json, VARIABLE_TYPE, "string");
+      JsonUtil.addField(json, VARIABLE_VALUE, (String) value);
+    } else if (value instanceof Boolean) {
+      JsonUtil.addField(json, VARIABLE_TYPE, "boolean");
+      JsonUtil.addField(json, VARIABLE_VALUE, (Boolean) value);
+    } else if (value instanceof Integer) {
+      JsonUtil.addField(json, VARIABLE_TYPE, "integer");
+      JsonUtil.addField(json, VARIABLE_VALUE, (Integer) value);
+    } else if (value instanceof Long) {
+      JsonUtil.addField(json, VARIABLE_TYPE, "long");
+      JsonUtil.addField(json, VARIABLE_VALUE, (Long) value);
+    } else if (value instanceof Short) {
+      JsonUtil.addField(json, VARIABLE_TYPE, "short");
+      JsonUtil.addField(json, VARIABLE_VALUE, (Short) value);
+    } else if (value instanceof Double) {
+      JsonUtil.addField(json, VARIABLE_TYPE, "double");
+      JsonUtil.addField(json, VARIABLE_VALUE, (Double) value);
+    } else if (value instanceof Date) {
+      JsonUtil.addField(json, VARIABLE_TYPE, "date");
+      JsonUtil.addDateField(json, VARIABLE_VALUE, (Date) value);
+    } else {
+      throw new IllegalArgumentException("Unsupported signal variable value of type " + value.getClass().getName());
+    }
+
+    return json;
+  }
+
+  protected void readVariable(JsonObject json, VariableMap variables) {
+    String name = JsonUtil.getString(json, VARIABLE_NAME);
+    String type = JsonUtil.getString(json, VARIABLE_TYPE);
+
+    Object value;
+    if ("string".equals(type)) {
+      value = JsonUtil.getString(json, VARIABLE_VALUE);
+    } else if ("boolean".equals(type)) {
+      value = JsonUtil.getBoolean(json, VARIABLE_VALUE);
+    } else if ("integer".equals(type)) {
+      value = JsonUtil.getInt(json, VARIABLE_VALUE);
+    } else if ("long".equals(type)) {
+      value = JsonUtil.getLong(json, VARIABLE_VALUE);
+    } else if ("short".equals(type)) {
+      value = (short) JsonUtil.getInt(json, VARIABLE_VALUE);
+    } else if ("double".equals(type)) {
+      value = json.get(VARIABLE_VALUE).getAsDouble();
+    } else if ("date".equals(type)) {
+      value = new Date(JsonUtil.getLong(json, VARIABLE_VALUE));
+    } else {
+      value = null;
+    }
+
+    variables.putValue(name, value);
+  }
+
+  protected List<String> readSubscriptionIds(JsonObject json) {
+    return JsonUtil.asStringList(JsonUtil.getArray(json, SUBSCRIPTION_IDS));
+  }
+
+  protected DeploymentMappings readIdMappings(JsonObject json) {
+    return JsonUtil.asList(JsonUtil.getArray(json, SUBSCRIPTION_ID_MAPPINGS), DeploymentMappingJsonConverter.INSTANCE, DeploymentMappings::new);
+  }
+
+}
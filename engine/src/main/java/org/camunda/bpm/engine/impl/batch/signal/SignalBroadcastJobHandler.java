@@ -0,0 +1,127 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch.signal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.impl.SignalEventReceivedBuilderImpl;
+import org.camunda.bpm.engine.impl.batch.AbstractBatchJobHandler;
+import org.camunda.bpm.engine.impl.batch.BatchJobConfiguration;
+import org.camunda.bpm.engine.impl.batch.BatchJobContext;
+import org.camunda.bpm.engine.impl.batch.BatchJobDeclaration;
+import org.camunda.bpm.engine.impl.cmd.SignalEventReceivedCmd;
+import org.camunda.bpm.engine.impl.event.EventType;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+
+/**
+ * Delivers a broadcast signal to a chunk of signal event subscriptions. The
+ * subscriptions of a job and the execution trees of their process instances
+ * are fetched with one query each before the signal is delivered.
+ */
+public class SignalBroadcastJobHandler extends AbstractBatchJobHandler<SignalBroadcastBatchConfiguration> {
+
+  public static final BatchJobDeclaration JOB_DECLARATION = new BatchJobDeclaration(Batch.TYPE_SIGNAL_BROADCAST);
+
+  @Override
+  public String getType() {
+    return Batch.TYPE_SIGNAL_BROADCAST;
+  }
+
+  protected SignalBroadcastBatchConfigurationJsonConverter getJsonConverterInstance() {
+    return SignalBroadcastBatchConfigurationJsonConverter.INSTANCE;
+  }
+
+  @Override
+  public JobDeclaration<BatchJobContext, MessageEntity> getJobDeclaration() {
+    return JOB_DECLARATION;
+  }
+
+  @Override
+  protected SignalBroadcastBatchConfiguration createJobConfiguration(SignalBroadcastBatchConfiguration configuration, List<String> subscriptionIdsForJob) {
+    return new SignalBroadcastBatchConfiguration(subscriptionIdsForJob, null, configuration.getSignalName(), configuration.getVariables());
+  }
+
+  @Override
+  public void execute(BatchJobConfiguration configuration, ExecutionEntity execution, CommandContext commandContext, String tenantId) {
+    ByteArrayEntity configurationEntity = commandContext
+        .getDbEntityManager()
+        .selectById(ByteArrayEntity.class, configuration.getConfigurationByteArrayId());
+
+    SignalBroadcastBatchConfiguration batchConfiguration = readConfiguration(configurationEntity.getBytes());
+
+    List<EventSubscriptionEntity> subscriptions = findActiveSubscriptions(commandContext, batchConfiguration);
+
+    boolean initialLegacyRestrictions = commandContext.isRestrictUserOperationLogToAuthenticatedUsers();
+    commandContext.disableUserOperationLog();
+    commandContext.setRestrictUserOperationLogToAuthenticatedUsers(true);
+    try {
+      SignalEventReceivedBuilderImpl builder = new SignalEventReceivedBuilderImpl(null, batchConfiguration.getSignalName());
+      builder.setVariables(batchConfiguration.getVariables());
+
+      new SignalEventReceivedCmd(builder).sendSignalToSubscriptions(commandContext, subscriptions);
+    } finally {
+      commandContext.enableUserOperationLog();
+      commandContext.setRestrictUserOperationLogToAuthenticatedUsers(initialLegacyRestrictions);
+    }
+
+    commandContext.getByteArrayManager().delete(configurationEntity);
+  }
+
+  /**
+   * Subscriptions may have been removed or suspended since the batch was
+   * created; such subscriptions are skipped.
+   */
+  protected List<EventSubscriptionEntity> findActiveSubscriptions(CommandContext commandContext, SignalBroadcastBatchConfiguration configuration) {
+    List<EventSubscriptionEntity> subscriptions = commandContext
+        .getEventSubscriptionManager()
+        .findEventSubscriptionsByIds(configuration.getIds());
+
+    List<EventSubscriptionEntity> signalSubscriptions = new ArrayList<>();
+    Set<String> processInstanceIds = new LinkedHashSet<>();
+    for (EventSubscriptionEntity subscription : subscriptions) {
+      if (EventType.SIGNAL.name().equals(subscription.getEventType())
+          && configuration.getSignalName().equals(subscription.getEventName())) {
+        signalSubscriptions.add(subscription);
+        if (subscription.getProcessInstanceId() != null) {
+          processInstanceIds.add(subscription.getProcessInstanceId());
+        }
+      }
+    }
+
+    commandContext.getExecutionManager().prefetchExecutionTrees(processInstanceIds);
+
+    List<EventSubscriptionEntity> result = new ArrayList<>();
+    for (EventSubscriptionEntity subscription : signalSubscriptions) {
+      ExecutionEntity subscribedExecution = subscription.getExecution();
+      if (subscribedExecution == null || !subscribedExecution.isSuspended()) {
+        result.add(subscription);
+      }
+    }
+
+    return result;
+  }
+
+}
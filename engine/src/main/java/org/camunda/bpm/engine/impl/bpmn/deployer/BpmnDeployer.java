@@ -43,6 +43,7 @@ import org.camunda.bpm.engine.impl.jobexecutor.TimerDeclarationImpl;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.entity.CorrelationKeyManager;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
@@ -142,6 +143,7 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
 
     if (deployment.isNew()) {
       adjustStartEventSubscriptions(definition, latestDefinition);
+      getCorrelationKeyManager().updateCoverage(definition);
     }
 
     // add "authorizations"
@@ -445,6 +447,10 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
     return getCommandContext().getProcessDefinitionManager();
   }
 
+  protected CorrelationKeyManager getCorrelationKeyManager() {
+    return getCommandContext().getCorrelationKeyManager();
+  }
+
   // getters/setters ///////////////////////////////////////////////////////////////////////////////////
 
   public ExpressionManager getExpressionManager() {
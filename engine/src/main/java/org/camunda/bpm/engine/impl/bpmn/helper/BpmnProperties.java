@@ -29,6 +29,7 @@ import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
 import static org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse.PROPERTYNAME_HAS_CONDITIONAL_EVENTS;
 
 import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.impl.bpmn.parser.ConditionalEventDefinition;
 
@@ -74,6 +75,11 @@ public class BpmnProperties {
 
   public static final PropertyKey<Boolean> HAS_CONDITIONAL_EVENTS = new PropertyKey<Boolean>(PROPERTYNAME_HAS_CONDITIONAL_EVENTS);
 
+  /**
+   * The names of the correlation keys that the message events of a process declare.
+   */
+  public static final PropertyKey<Set<String>> CORRELATION_KEY_NAMES = new PropertyKey<Set<String>>("correlationKeyNames");
+
   public static final PropertyKey<ConditionalEventDefinition> CONDITIONAL_EVENT_DEFINITION = new PropertyKey<ConditionalEventDefinition>("conditionalEventDefinition");
 
 }
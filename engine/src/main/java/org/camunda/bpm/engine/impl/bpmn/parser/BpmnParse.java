@@ -565,6 +565,9 @@ public class BpmnParse extends Parse {
 
     parseScope(processElement, processDefinition);
 
+    processDefinition.getProperties().set(BpmnProperties.CORRELATION_KEY_NAMES,
+        Collections.unmodifiableSet(collectCorrelationKeyNames(processDefinition, new HashSet<String>())));
+
     // Parse any laneSets defined for this process
     parseLaneSets(processElement, processDefinition);
 
@@ -1171,7 +1174,45 @@ public class BpmnParse extends Parse {
     if (messageDefinition == null) {
       addError("Invalid 'messageRef': no message with id '" + messageRef + "' found.", messageEventDefinition, messageElementId);
     }
-    return new EventSubscriptionDeclaration(messageDefinition.getExpression(), EventType.MESSAGE);
+    EventSubscriptionDeclaration declaration = new EventSubscriptionDeclaration(messageDefinition.getExpression(), EventType.MESSAGE);
+    declaration.setCorrelationKeyNames(parseCorrelationKeyNames(messageEventDefinition, messageElementId));
+    return declaration;
+  }
+
+  /**
+   * Parses the names of the <code>camunda:correlationKey</code> extension elements of a message
+   * event definition or receive task. The values of the process variables with these names are
+   * indexed for the subscriptions of the message if the correlation key index is enabled.
+   */
+  protected List<String> parseCorrelationKeyNames(Element element, String messageElementId) {
+    List<String> correlationKeyNames = new ArrayList<String>();
+
+    Element extensionsElement = element.element("extensionElements");
+    if (extensionsElement != null) {
+      for (Element correlationKeyElement : extensionsElement.elementsNS(CAMUNDA_BPMN_EXTENSIONS_NS, "correlationKey")) {
+        String name = correlationKeyElement.attribute("name");
+        if (name == null || name.isEmpty()) {
+          addError("attribute 'name' is required for a correlation key", correlationKeyElement, messageElementId);
+        }
+        else if (!correlationKeyNames.contains(name)) {
+          correlationKeyNames.add(name);
+        }
+      }
+    }
+
+    return correlationKeyNames;
+  }
+
+  protected Set<String> collectCorrelationKeyNames(ScopeImpl scope, Set<String> correlationKeyNames) {
+    for (EventSubscriptionDeclaration declaration : EventSubscriptionDeclaration.getDeclarationsForScope(scope).values()) {
+      if (declaration.getCorrelationKeyNames() != null) {
+        correlationKeyNames.addAll(declaration.getCorrelationKeyNames());
+      }
+    }
+    for (ActivityImpl activity : scope.getActivities()) {
+      collectCorrelationKeyNames(activity, correlationKeyNames);
+    }
+    return correlationKeyNames;
   }
 
   protected void addEventSubscriptionDeclaration(EventSubscriptionDeclaration subscription, ScopeImpl scope, Element element) {
@@ -18,6 +18,7 @@ package org.camunda.bpm.engine.impl.bpmn.parser;
 
 import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.bpmn.helper.BpmnProperties;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.model.CallableElement;
 import org.camunda.bpm.engine.impl.el.Expression;
 import org.camunda.bpm.engine.impl.el.StartProcessVariableScope;
@@ -32,6 +33,7 @@ import org.camunda.bpm.engine.impl.pvm.runtime.LegacyBehavior;
 
 import java.io.Serializable;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -51,6 +53,7 @@ public class EventSubscriptionDeclaration implements Serializable {
   protected String activityId = null;
   protected String eventScopeActivityId = null;
   protected boolean isStartEvent;
+  protected List<String> correlationKeyNames = Collections.emptyList();
 
   protected EventSubscriptionJobDeclaration jobDeclaration = null;
 
@@ -125,6 +128,18 @@ public class EventSubscriptionDeclaration implements Serializable {
     return eventType.name();
   }
 
+  /**
+   * Returns the names of the process variables that are indexed as correlation keys
+   * for the subscriptions of this (message) declaration.
+   */
+  public List<String> getCorrelationKeyNames() {
+    return correlationKeyNames;
+  }
+
+  public void setCorrelationKeyNames(List<String> correlationKeyNames) {
+    this.correlationKeyNames = correlationKeyNames;
+  }
+
   public CallableElement getEventPayload() {
     return eventPayload;
   }
@@ -184,6 +199,10 @@ public class EventSubscriptionDeclaration implements Serializable {
     String eventName = resolveExpressionOfEventName(eventSubscription.getExecution());
     eventSubscription.setEventName(eventName);
     eventSubscription.setActivityId(activityId);
+
+    Context.getCommandContext()
+      .getCorrelationKeyManager()
+      .updateCorrelationKeys(eventSubscription);
   }
 
 }
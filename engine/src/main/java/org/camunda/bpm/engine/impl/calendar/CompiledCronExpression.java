@@ -0,0 +1,238 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.calendar;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.Set;
+import java.util.TimeZone;
+
+import org.camunda.commons.utils.cache.Cache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
+
+/**
+ * Immutable, thread-safe form of a {@link CronExpression}. The allowed values of
+ * each field are kept in bit masks and the next fire time is computed with
+ * <code>java.time</code> arithmetic. Compiled expressions are cached per expression string.
+ *
+ * <p>The results are the same as those of {@link CronExpression#getTimeAfter(Date)}.
+ * Expressions using <code>L</code>, <code>W</code> or <code>#</code>, as well as
+ * fire times across a daylight saving change, are delegated to the parsed {@link CronExpression}.</p>
+ */
+public class CompiledCronExpression {
+
+  protected static final int CACHE_SIZE = 1000;
+
+  protected static final Cache<String, CompiledCronExpression> cache = new ConcurrentLruCache<>(CACHE_SIZE);
+
+  protected final CronExpression cronExpression;
+
+  protected final long seconds;
+  protected final long minutes;
+  protected final long hours;
+  protected final long daysOfMonth;
+  protected final long months;
+  protected final long daysOfWeek;
+  protected final BitSet years;
+
+  protected final boolean dayOfMonthSpecified;
+  protected final boolean requiresCalendarEvaluation;
+
+  public CompiledCronExpression(CronExpression cronExpression) {
+    this.cronExpression = cronExpression;
+
+    seconds = toMask(cronExpression.seconds, 59);
+    minutes = toMask(cronExpression.minutes, 59);
+    hours = toMask(cronExpression.hours, 23);
+    daysOfMonth = toMask(cronExpression.daysOfMonth, 31);
+    months = toMask(cronExpression.months, 12);
+    daysOfWeek = toMask(cronExpression.daysOfWeek, 7);
+
+    years = new BitSet();
+    for (Integer year : cronExpression.years) {
+      years.set(year);
+    }
+
+    dayOfMonthSpecified = !cronExpression.daysOfMonth.contains(CronExpression.NO_SPEC);
+    requiresCalendarEvaluation = cronExpression.lastdayOfMonth
+        || cronExpression.nearestWeekday
+        || cronExpression.lastdayOfWeek
+        || cronExpression.nthdayOfWeek != 0;
+  }
+
+  /**
+   * Returns the compiled form of the given expression, parsing it only on the first call.
+   */
+  public static CompiledCronExpression compile(String expression) throws ParseException {
+    CompiledCronExpression compiledExpression = cache.get(expression);
+    if (compiledExpression == null) {
+      compiledExpression = new CompiledCronExpression(new CronExpression(expression));
+      cache.put(expression, compiledExpression);
+    }
+    return compiledExpression;
+  }
+
+  /**
+   * Returns the next fire time <i>after</i> the given time in the default time zone,
+   * or <code>null</code> if the expression does not fire anymore.
+   */
+  public Date getTimeAfter(Date afterTime) {
+    TimeZone timeZone = TimeZone.getDefault();
+    if (requiresCalendarEvaluation) {
+      return cronExpression.getTimeAfter(afterTime, timeZone);
+    }
+
+    // cron expressions do not deal with milliseconds
+    Instant start = Instant.ofEpochSecond(Math.floorDiv(afterTime.getTime() + 1000, 1000));
+    ZoneRules rules = timeZone.toZoneId().getRules();
+    ZoneOffset offset = rules.getOffset(start);
+
+    LocalDateTime next = findNext(LocalDateTime.ofEpochSecond(start.getEpochSecond(), 0, offset));
+    if (next == null) {
+      return null;
+    }
+
+    long nextEpochSecond = next.toEpochSecond(offset);
+    ZoneOffsetTransition transition = rules.nextTransition(start);
+    if ((transition != null && transition.getInstant().getEpochSecond() <= nextEpochSecond)
+        || rules.getValidOffsets(next).size() != 1) {
+      // daylight saving changes are resolved the way the calendar based evaluation does
+      return cronExpression.getTimeAfter(afterTime, timeZone);
+    }
+
+    return new Date(nextEpochSecond * 1000);
+  }
+
+  protected LocalDateTime findNext(LocalDateTime time) {
+    while (true) {
+      int year = time.getYear();
+      int nextYear = years.nextSetBit(Math.max(year, 0));
+      if (year > CronExpression.MAX_YEAR || nextYear < 0 || nextYear > CronExpression.MAX_YEAR) {
+        return null;
+      }
+      if (nextYear != year) {
+        time = LocalDateTime.of(nextYear, 1, 1, 0, 0);
+        continue;
+      }
+
+      int month = time.getMonthValue();
+      int nextMonth = nextSetBit(months, month);
+      if (nextMonth < 0) {
+        time = LocalDateTime.of(year + 1, 1, 1, 0, 0);
+        continue;
+      }
+      if (nextMonth != month) {
+        time = LocalDateTime.of(year, nextMonth, 1, 0, 0);
+        continue;
+      }
+
+      LocalDate date = time.toLocalDate();
+      int day = date.getDayOfMonth();
+      int nextDay = findNextDay(date);
+      if (nextDay < 0) {
+        time = date.withDayOfMonth(1).plusMonths(1).atStartOfDay();
+        continue;
+      }
+      if (nextDay != day) {
+        time = date.withDayOfMonth(nextDay).atStartOfDay();
+        continue;
+      }
+
+      int hour = time.getHour();
+      int nextHour = nextSetBit(hours, hour);
+      if (nextHour < 0) {
+        time = date.plusDays(1).atStartOfDay();
+        continue;
+      }
+      if (nextHour != hour) {
+        time = date.atTime(nextHour, 0);
+        continue;
+      }
+
+      int minute = time.getMinute();
+      int nextMinute = nextSetBit(minutes, minute);
+      if (nextMinute < 0) {
+        time = date.atTime(hour, 0).plusHours(1);
+        continue;
+      }
+      if (nextMinute != minute) {
+        time = date.atTime(hour, nextMinute);
+        continue;
+      }
+
+      int nextSecond = nextSetBit(seconds, time.getSecond());
+      if (nextSecond < 0) {
+        time = date.atTime(hour, minute).plusMinutes(1);
+        continue;
+      }
+
+      return time.withSecond(nextSecond);
+    }
+  }
+
+  /**
+   * @return the first matching day of the month on or after the given date,
+   *   or -1 if there is none in this month
+   */
+  protected int findNextDay(LocalDate date) {
+    int day = date.getDayOfMonth();
+    int lastDay = date.lengthOfMonth();
+
+    if (dayOfMonthSpecified) {
+      int nextDay = nextSetBit(daysOfMonth, day);
+      return nextDay <= lastDay ? nextDay : -1;
+    }
+
+    // cron days of week range from 1 (sunday) to 7 (saturday)
+    int dayOfWeek = date.getDayOfWeek().getValue() % 7 + 1;
+    for (; day <= lastDay; day++) {
+      if ((daysOfWeek & (1L << dayOfWeek)) != 0) {
+        return day;
+      }
+      dayOfWeek = dayOfWeek % 7 + 1;
+    }
+    return -1;
+  }
+
+  protected static long toMask(Set<Integer> values, int maxValue) {
+    long mask = 0;
+    for (Integer value : values) {
+      // skips the markers for '*' and '?'
+      if (value >= 0 && value <= maxValue) {
+        mask |= 1L << value;
+      }
+    }
+    return mask;
+  }
+
+  protected static int nextSetBit(long mask, int fromIndex) {
+    long remaining = mask & (-1L << fromIndex);
+    return remaining == 0 ? -1 : Long.numberOfTrailingZeros(remaining);
+  }
+
+  public String toString() {
+    return cronExpression.toString();
+  }
+
+}
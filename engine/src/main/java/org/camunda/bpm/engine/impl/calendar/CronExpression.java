@@ -935,9 +935,19 @@ public class CronExpression implements Serializable, Cloneable {
     ////////////////////////////////////////////////////////////////////////////
 
     public Date getTimeAfter(Date afterTime) {
+        return getTimeAfter(afterTime, getTimeZone());
+    }
+
+    /**
+     * Returns the next date/time <I>after</I> the given date/time which
+     * satisfies the cron expression, resolved in the given time zone.
+     * Does not change the state of this expression, so it can be used by
+     * concurrent threads.
+     */
+    public Date getTimeAfter(Date afterTime, TimeZone timeZone) {
 
         // Computation is based on Gregorian year only.
-        Calendar cl = new java.util.GregorianCalendar(getTimeZone());
+        Calendar cl = new java.util.GregorianCalendar(timeZone);
 
         // move ahead one second, since we're computing the time *after* the
         // given time
@@ -1037,7 +1047,7 @@ public class CronExpression implements Serializable, Cloneable {
                         day = getLastDayOfMonth(mon, cl.get(Calendar.YEAR));
                         day -= lastdayOffset;
 
-                        java.util.Calendar tcal = java.util.Calendar.getInstance(getTimeZone());
+                        java.util.Calendar tcal = java.util.Calendar.getInstance(timeZone);
                         tcal.set(Calendar.SECOND, 0);
                         tcal.set(Calendar.MINUTE, 0);
                         tcal.set(Calendar.HOUR_OF_DAY, 0);
@@ -1073,7 +1083,7 @@ public class CronExpression implements Serializable, Cloneable {
                     t = day;
                     day = ((Integer) daysOfMonth.first()).intValue();
 
-                    java.util.Calendar tcal = java.util.Calendar.getInstance(getTimeZone());
+                    java.util.Calendar tcal = java.util.Calendar.getInstance(timeZone);
                     tcal.set(Calendar.SECOND, 0);
                     tcal.set(Calendar.MINUTE, 0);
                     tcal.set(Calendar.HOUR_OF_DAY, 0);
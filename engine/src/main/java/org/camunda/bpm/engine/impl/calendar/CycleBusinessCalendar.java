@@ -43,7 +43,7 @@ public class CycleBusinessCalendar implements BusinessCalendar {
         durationHelper.setRepeatOffset(repeatOffset);
         return durationHelper.getDateAfter(startDate);
       } else {
-        CronExpression ce = new CronExpression(duedateDescription);
+        CompiledCronExpression ce = CompiledCronExpression.compile(duedateDescription);
         return ce.getTimeAfter(startDate == null ? ClockUtil.getCurrentTime() : startDate);
       }
 
@@ -40,6 +40,7 @@ import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.zip.Deflater;
 import javax.naming.InitialContext;
 import javax.sql.DataSource;
 
@@ -105,6 +106,7 @@ import org.camunda.bpm.engine.impl.batch.deletion.DeleteHistoricProcessInstances
 import org.camunda.bpm.engine.impl.batch.deletion.DeleteProcessInstancesJobHandler;
 import org.camunda.bpm.engine.impl.batch.externaltask.SetExternalTaskRetriesJobHandler;
 import org.camunda.bpm.engine.impl.batch.job.SetJobRetriesJobHandler;
+import org.camunda.bpm.engine.impl.batch.signal.SignalBroadcastJobHandler;
 import org.camunda.bpm.engine.impl.batch.update.UpdateProcessInstancesSuspendStateJobHandler;
 import org.camunda.bpm.engine.impl.bpmn.behavior.ExternalTaskActivityBehavior;
 import org.camunda.bpm.engine.impl.bpmn.deployer.BpmnDeployer;
@@ -136,6 +138,7 @@ import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformListener;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformer;
 import org.camunda.bpm.engine.impl.cmmn.transformer.DefaultCmmnTransformFactory;
 import org.camunda.bpm.engine.impl.db.DbIdGenerator;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManagerFactory;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlPersistenceProviderFactory;
@@ -162,6 +165,7 @@ import org.camunda.bpm.engine.impl.event.EventHandlerImpl;
 import org.camunda.bpm.engine.impl.event.EventType;
 import org.camunda.bpm.engine.impl.event.SignalEventHandler;
 import org.camunda.bpm.engine.impl.externaltask.DefaultExternalTaskPriorityProvider;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
 import org.camunda.bpm.engine.impl.form.engine.FormEngine;
 import org.camunda.bpm.engine.impl.form.engine.HtmlFormEngine;
 import org.camunda.bpm.engine.impl.form.engine.JuelFormEngine;
@@ -225,6 +229,7 @@ import org.camunda.bpm.engine.impl.jobexecutor.TimerCatchIntermediateEventJobHan
 import org.camunda.bpm.engine.impl.jobexecutor.TimerExecuteNestedActivityJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventSubprocessJobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.TimerStorePromotionJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerSuspendJobDefinitionHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerSuspendProcessDefinitionHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerTaskListenerJobHandler;
@@ -234,8 +239,11 @@ import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupBatc
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryPartitionManager;
 import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.metrics.MetricsReporterIdProvider;
+import org.camunda.bpm.engine.impl.metrics.instrumentation.EngineInstrumentation;
+import org.camunda.bpm.engine.impl.metrics.instrumentation.StatementInstrumentationInterceptor;
 import org.camunda.bpm.engine.impl.history.event.SimpleIpBasedProvider;
 import org.camunda.bpm.engine.impl.metrics.parser.MetricsBpmnParseListener;
 import org.camunda.bpm.engine.impl.metrics.parser.MetricsCmmnTransformListener;
@@ -277,11 +285,13 @@ import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.CacheFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DefaultCacheFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheWarmUp;
 import org.camunda.bpm.engine.impl.persistence.entity.AttachmentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
 import org.camunda.bpm.engine.impl.persistence.entity.BatchManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayManager;
 import org.camunda.bpm.engine.impl.persistence.entity.CommentManager;
+import org.camunda.bpm.engine.impl.persistence.entity.CorrelationKeyManager;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionManager;
@@ -458,6 +468,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected int cacheCapacity = 1000;
   protected boolean enableFetchProcessDefinitionDescription = true;
 
+  /** time to live of cached filter counts in milliseconds, <code>0</code> disables the cache */
+  protected long filterCountCacheTimeToLive = 5000;
+  /** maximum number of cached filter counts */
+  protected int filterCountCacheCapacity = 1000;
+  protected FilterCountCache filterCountCache;
+
+  /** number of latest process definitions loaded into the deployment cache at startup, <code>0</code> disables the warm-up */
+  protected int deploymentCacheWarmUpSize = 0;
+  protected int deploymentCacheWarmUpThreads = 4;
+  /** maximum time the warm-up loads process definitions in milliseconds, must be positive */
+  protected long deploymentCacheWarmUpTimeout = 60000;
+  protected DeploymentCacheWarmUp deploymentCacheWarmUp;
+
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
   protected List<JobHandler> customJobHandlers;
@@ -466,6 +489,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected PriorityProvider<JobDeclaration<?, ?>> jobPriorityProvider;
 
+  /**
+   * If true, timers that are due later than {@link #timerStoreHorizon} are stored
+   * in ACT_RU_TIMER_PARKED instead of ACT_RU_JOB, so they are not visited by the job acquisition.
+   * A promotion job moves them to ACT_RU_JOB before they become due.
+   */
+  protected boolean timerStoreEnabled = false;
+
+  /** time in seconds; timers due within this horizon are kept acquirable */
+  protected int timerStoreHorizon = 3600;
+
+  /** maximum number of parked timers moved by one run of the promotion job */
+  protected int timerStorePromotionBatchSize = 500;
+
   // EXTERNAL TASK /////////////////////////////////////////////////////////////
   protected PriorityProvider<ExternalTaskActivityBehavior> externalTaskPriorityProvider;
 
@@ -480,6 +516,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected DataSource idGeneratorDataSource;
   protected String idGeneratorDataSourceJndiName;
 
+  /** if true, id blocks are allocated lock-free and the next block is fetched ahead of time */
+  protected boolean idGeneratorPrefetchEnabled = false;
+  /** prefix of the ids and the id block sequence of this node; requires {@link #idGeneratorPrefetchEnabled} */
+  protected String idGeneratorNodePrefix;
+
   // INCIDENT HANDLER /////////////////////////////////////////////////////////
 
   protected Map<String, IncidentHandler> incidentHandlers;
@@ -514,6 +555,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    * default priority for batch jobs
    */
   protected long batchJobPriority = DefaultJobPriorityProvider.DEFAULT_PRIORITY;
+  /**
+   * Controls whether batch migration jobs migrate their process instances with bulk
+   * statements if the migration plan and the instances allow it,
+   * see {@link org.camunda.bpm.engine.impl.migration.SetBasedMigrateProcessInstanceCmd}.
+   */
+  protected boolean setBasedBatchMigrationEnabled = false;
 
   // OTHER ////////////////////////////////////////////////////////////////////
   protected List<FormEngine> customFormEngines;
@@ -531,6 +578,27 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected String defaultSerializationFormat = Variables.SerializationDataFormats.JAVA.getName();
   protected boolean javaSerializationFormatEnabled = false;
+
+  /**
+   * Maximum size in bytes of a byte array variable value that is stored inline
+   * in ACT_RU_VARIABLE and ACT_HI_VARINST instead of a separate row in ACT_GE_BYTEARRAY.
+   * A value of 0 disables inlining.
+   */
+  protected int byteArrayValueInlineThreshold = 0;
+
+  /**
+   * If true, the serialized form of object, JSON and XML variables is compressed
+   * when it is at least {@link #serializedValueCompressionThreshold} bytes long.
+   */
+  protected boolean serializedValueCompressionEnabled = false;
+  protected int serializedValueCompressionThreshold = 1024;
+
+  /** thresholds by serializer name; override {@link #serializedValueCompressionThreshold} */
+  protected Map<String, Integer> serializedValueCompressionThresholds = new HashMap<>();
+
+  /** compression level of {@link Deflater}, from 1 (fastest) to 9 (smallest) */
+  protected int serializedValueCompressionLevel = Deflater.BEST_SPEED;
+
   protected String defaultCharsetName = null;
   protected Charset defaultCharset = null;
 
@@ -550,6 +618,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected boolean enableGracefulDegradationOnContextSwitchFailure = true;
 
+  /**
+   * Controls whether the values of the correlation keys declared on message events are
+   * indexed and used to narrow down message correlation by process variables,
+   * see {@link org.camunda.bpm.engine.impl.persistence.entity.CorrelationKeyManager}.
+   * If the engine starts with the index disabled, the entries of the index are removed.
+   */
+  protected boolean correlationKeyIndexEnabled = false;
+
   protected BusinessCalendarManager businessCalendarManager;
 
   protected String wsSyncFactoryClassName = DEFAULT_WS_SYNC_FACTORY;
@@ -717,8 +793,25 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected boolean isMetricsEnabled = true;
   protected boolean isDbMetricsReporterActivate = true;
 
+  /**
+   * maintain hourly and daily rollups of the meter log and answer interval
+   * queries from them where possible
+   */
+  protected boolean isMetricsRollupEnabled = true;
+
+  /**
+   * number of days raw meter logs are kept by the db metrics reporter;
+   * kept forever if null
+   */
+  protected Integer metricsRawLogTimeToLive;
+
   protected MetricsReporterIdProvider metricsReporterIdProvider;
 
+  /**
+   * receives the timings of commands, statements, flushes and jobs; disabled if null
+   */
+  protected EngineInstrumentation engineInstrumentation;
+
   /**
    * the historic job log host name
    */
@@ -830,6 +923,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    * Size of batch in which history cleanup data will be deleted. {@link HistoryCleanupBatch#MAX_BATCH_SIZE} must be respected.
    */
   private int historyCleanupBatchSize = 500;
+  /**
+   * Maximum number of rows deleted per table and statement by the removal-time based
+   * history cleanup. {@link HistoryCleanupHandler#MAX_REMOVAL_TIME_BATCH_SIZE} must be respected.
+   * Falls back to {@link #historyCleanupBatchSize} if null.
+   */
+  private Integer historyCleanupRemovalTimeBatchSize;
   /**
    * Indicates the minimal amount of data to trigger the history cleanup.
    */
@@ -842,6 +941,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean historyCleanupEnabled = true;
 
+  /**
+   * Controls whether the removal-time based history cleanup maintains the daily partitions
+   * of the partitioned history schema, see {@link HistoryPartitionManager}.
+   */
+  protected boolean historyPartitioningEnabled = false;
+
+  /**
+   * Number of days for which history partitions are created in advance. Should exceed the
+   * largest history time to live, otherwise new rows are moved once their day is partitioned.
+   */
+  protected int historyPartitionDaysAhead = 200;
+
+  protected HistoryPartitionManager historyPartitionManager;
+
   private int failedJobListenerMaxRetries = DEFAULT_FAILED_JOB_LISTENER_MAX_RETRIES;
 
   protected String failedJobRetryTimeCycle;
@@ -921,6 +1034,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initPasswordDigest();
     initDeploymentRegistration();
     initDeploymentHandlerFactory();
+    initFilterCountCache();
     initResourceAuthorizationProvider();
     initPermissionProvider();
     initHostName();
@@ -996,11 +1110,26 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
           String.format("value for batch size should be between 1 and %s", HistoryCleanupHandler.MAX_BATCH_SIZE));
     }
 
+    if (historyCleanupRemovalTimeBatchSize != null
+        && (historyCleanupRemovalTimeBatchSize > HistoryCleanupHandler.MAX_REMOVAL_TIME_BATCH_SIZE || historyCleanupRemovalTimeBatchSize <= 0)) {
+      throw LOG.invalidPropertyValue("historyCleanupRemovalTimeBatchSize", String.valueOf(historyCleanupRemovalTimeBatchSize),
+          String.format("value for removal time batch size should be between 1 and %s", HistoryCleanupHandler.MAX_REMOVAL_TIME_BATCH_SIZE));
+    }
+
     if (historyCleanupBatchThreshold < 0) {
       throw LOG.invalidPropertyValue("historyCleanupBatchThreshold", String.valueOf(historyCleanupBatchThreshold),
           "History cleanup batch threshold cannot be negative.");
     }
 
+    if (historyPartitionDaysAhead <= 0) {
+      throw LOG.invalidPropertyValue("historyPartitionDaysAhead", String.valueOf(historyPartitionDaysAhead),
+          "value for days ahead of history partitions should be positive");
+    }
+
+    if (historyPartitioningEnabled && historyPartitionManager == null) {
+      historyPartitionManager = new HistoryPartitionManager(historyPartitionDaysAhead);
+    }
+
     initHistoryTimeToLive();
 
     initBatchOperationsHistoryTimeToLive();
@@ -1225,6 +1354,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
       BatchSetRemovalTimeJobHandler batchSetRemovalTimeJobHandler = new BatchSetRemovalTimeJobHandler();
       batchHandlers.put(batchSetRemovalTimeJobHandler.getType(), batchSetRemovalTimeJobHandler);
+
+      SignalBroadcastJobHandler signalBroadcastJobHandler = new SignalBroadcastJobHandler();
+      batchHandlers.put(signalBroadcastJobHandler.getType(), signalBroadcastJobHandler);
     }
 
     if (customBatchJobHandlers != null) {
@@ -1535,6 +1667,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             configuration.setDefaultExecutorType(ExecutorType.BATCH);
           }
 
+          if (engineInstrumentation != null) {
+            configuration.addInterceptor(new StatementInstrumentationInterceptor());
+          }
+
           sqlSessionFactory = new DefaultSqlSessionFactory(configuration);
 
           if (isUseSharedSqlSessionFactory) {
@@ -1650,6 +1786,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       addSessionFactory(new GenericManagerFactory(TaskReportManager.class));
       addSessionFactory(new GenericManagerFactory(VariableInstanceManager.class));
       addSessionFactory(new GenericManagerFactory(EventSubscriptionManager.class));
+      addSessionFactory(new GenericManagerFactory(CorrelationKeyManager.class));
       addSessionFactory(new GenericManagerFactory(StatisticsManager.class));
       addSessionFactory(new GenericManagerFactory(IncidentManager.class));
       addSessionFactory(new GenericManagerFactory(AuthorizationManager.class));
@@ -1828,6 +1965,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       deploymentCache = new DeploymentCache(cacheFactory, cacheCapacity);
       deploymentCache.setDeployers(deployers);
     }
+
+    if (deploymentCacheWarmUpTimeout <= 0) {
+      throw LOG.invalidPropertyValue("deploymentCacheWarmUpTimeout", String.valueOf(deploymentCacheWarmUpTimeout),
+          "value for the warm-up timeout should be positive");
+    }
   }
 
   protected Collection<? extends Deployer> getDefaultDeployers() {
@@ -2006,6 +2148,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     HistoryCleanupJobHandler historyCleanupJobHandler = new HistoryCleanupJobHandler();
     jobHandlers.put(historyCleanupJobHandler.getType(), historyCleanupJobHandler);
 
+    TimerStorePromotionJobHandler timerStorePromotionJobHandler = new TimerStorePromotionJobHandler();
+    jobHandlers.put(timerStorePromotionJobHandler.getType(), timerStorePromotionJobHandler);
+
     for (JobHandler batchHandler : batchHandlers.values()) {
       jobHandlers.put(batchHandler.getType(), batchHandler);
     }
@@ -2100,7 +2245,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         idGeneratorCommandExecutor = commandExecutorTxRequiresNew;
       }
 
-      DbIdGenerator dbIdGenerator = new DbIdGenerator();
+      DbIdGenerator dbIdGenerator;
+      if (idGeneratorPrefetchEnabled) {
+        PrefetchingDbIdGenerator prefetchingDbIdGenerator = new PrefetchingDbIdGenerator();
+        prefetchingDbIdGenerator.setNodePrefix(idGeneratorNodePrefix);
+        dbIdGenerator = prefetchingDbIdGenerator;
+      } else {
+        dbIdGenerator = new DbIdGenerator();
+      }
       dbIdGenerator.setIdBlockSize(idBlockSize);
       dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
       idGenerator = dbIdGenerator;
@@ -2177,6 +2329,21 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     metricsRegistry.createMeter(Metrics.EXECUTED_DECISION_INSTANCES);
     metricsRegistry.createMeter(Metrics.EXECUTED_DECISION_ELEMENTS);
+
+    metricsRegistry.createMeter(Metrics.EXTERNAL_TASK_FETCH_ATTEMPT);
+    metricsRegistry.createMeter(Metrics.EXTERNAL_TASK_FETCHED);
+
+    metricsRegistry.createHistogram(Metrics.COMMAND_EXECUTION_LATENCY);
+    metricsRegistry.createHistogram(Metrics.JOB_EXECUTION_LATENCY);
+    metricsRegistry.createHistogram(Metrics.FLUSH_LATENCY);
+
+    if (serializedValueCompressionEnabled) {
+      // meters are reported with every interval, so they are only created when they can be marked
+      metricsRegistry.createMeter(Metrics.SERIALIZED_VALUE_UNCOMPRESSED_BYTES);
+      metricsRegistry.createMeter(Metrics.SERIALIZED_VALUE_COMPRESSED_BYTES);
+      metricsRegistry.createHistogram(Metrics.SERIALIZED_VALUE_COMPRESSION_LATENCY);
+      metricsRegistry.createHistogram(Metrics.SERIALIZED_VALUE_DECOMPRESSION_LATENCY);
+    }
   }
 
   protected void initSerialization() {
@@ -2423,6 +2590,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  // filter count cache //////////////////////////////////////////////////////
+  protected void initFilterCountCache() {
+    if (filterCountCache == null) {
+      initCacheFactory();
+      filterCountCache = new FilterCountCache(cacheFactory, filterCountCacheCapacity, filterCountCacheTimeToLive);
+    }
+  }
+
   // deployment handler //////////////////////////////////////////////////////
   protected void initDeploymentHandlerFactory() {
     if (deploymentHandlerFactory == null) {
@@ -2917,6 +3092,69 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.cacheCapacity = cacheCapacity;
   }
 
+  public long getFilterCountCacheTimeToLive() {
+    return filterCountCacheTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setFilterCountCacheTimeToLive(long filterCountCacheTimeToLive) {
+    this.filterCountCacheTimeToLive = filterCountCacheTimeToLive;
+    return this;
+  }
+
+  public int getFilterCountCacheCapacity() {
+    return filterCountCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setFilterCountCacheCapacity(int filterCountCacheCapacity) {
+    this.filterCountCacheCapacity = filterCountCacheCapacity;
+    return this;
+  }
+
+  public FilterCountCache getFilterCountCache() {
+    return filterCountCache;
+  }
+
+  public ProcessEngineConfigurationImpl setFilterCountCache(FilterCountCache filterCountCache) {
+    this.filterCountCache = filterCountCache;
+    return this;
+  }
+
+  public int getDeploymentCacheWarmUpSize() {
+    return deploymentCacheWarmUpSize;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUpSize(int deploymentCacheWarmUpSize) {
+    this.deploymentCacheWarmUpSize = deploymentCacheWarmUpSize;
+    return this;
+  }
+
+  public int getDeploymentCacheWarmUpThreads() {
+    return deploymentCacheWarmUpThreads;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUpThreads(int deploymentCacheWarmUpThreads) {
+    this.deploymentCacheWarmUpThreads = deploymentCacheWarmUpThreads;
+    return this;
+  }
+
+  public long getDeploymentCacheWarmUpTimeout() {
+    return deploymentCacheWarmUpTimeout;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUpTimeout(long deploymentCacheWarmUpTimeout) {
+    this.deploymentCacheWarmUpTimeout = deploymentCacheWarmUpTimeout;
+    return this;
+  }
+
+  public DeploymentCacheWarmUp getDeploymentCacheWarmUp() {
+    return deploymentCacheWarmUp;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUp(DeploymentCacheWarmUp deploymentCacheWarmUp) {
+    this.deploymentCacheWarmUp = deploymentCacheWarmUp;
+    return this;
+  }
+
   public void setEnableFetchProcessDefinitionDescription(boolean enableFetchProcessDefinitionDescription){
     this.enableFetchProcessDefinitionDescription = enableFetchProcessDefinitionDescription;
   }
@@ -2953,6 +3191,34 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isTimerStoreEnabled() {
+    return timerStoreEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setTimerStoreEnabled(boolean timerStoreEnabled) {
+    this.timerStoreEnabled = timerStoreEnabled;
+    return this;
+  }
+
+  public int getTimerStoreHorizon() {
+    return timerStoreHorizon;
+  }
+
+  public ProcessEngineConfigurationImpl setTimerStoreHorizon(int timerStoreHorizon) {
+    this.timerStoreHorizon = timerStoreHorizon;
+    return this;
+  }
+
+  public int getTimerStorePromotionBatchSize() {
+    return timerStorePromotionBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setTimerStorePromotionBatchSize(int timerStorePromotionBatchSize) {
+    this.timerStorePromotionBatchSize = timerStorePromotionBatchSize;
+    return this;
+  }
+
+
 
   public SqlSessionFactory getSqlSessionFactory() {
     return sqlSessionFactory;
@@ -3425,6 +3691,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.idGeneratorDataSourceJndiName = idGeneratorDataSourceJndiName;
   }
 
+  public boolean isIdGeneratorPrefetchEnabled() {
+    return idGeneratorPrefetchEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setIdGeneratorPrefetchEnabled(boolean idGeneratorPrefetchEnabled) {
+    this.idGeneratorPrefetchEnabled = idGeneratorPrefetchEnabled;
+    return this;
+  }
+
+  public String getIdGeneratorNodePrefix() {
+    return idGeneratorNodePrefix;
+  }
+
+  public ProcessEngineConfigurationImpl setIdGeneratorNodePrefix(String idGeneratorNodePrefix) {
+    this.idGeneratorNodePrefix = idGeneratorNodePrefix;
+    return this;
+  }
+
   public ProcessApplicationManager getProcessApplicationManager() {
     return processApplicationManager;
   }
@@ -3559,6 +3843,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.batchJobPriority = batchJobPriority;
   }
 
+  public boolean isSetBasedBatchMigrationEnabled() {
+    return setBasedBatchMigrationEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setSetBasedBatchMigrationEnabled(boolean setBasedBatchMigrationEnabled) {
+    this.setBasedBatchMigrationEnabled = setBasedBatchMigrationEnabled;
+    return this;
+  }
+
+  public boolean isCorrelationKeyIndexEnabled() {
+    return correlationKeyIndexEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setCorrelationKeyIndexEnabled(boolean correlationKeyIndexEnabled) {
+    this.correlationKeyIndexEnabled = correlationKeyIndexEnabled;
+    return this;
+  }
+
   public SessionFactory getIdentityProviderSessionFactory() {
     return identityProviderSessionFactory;
   }
@@ -3832,6 +4134,59 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.javaSerializationFormatEnabled = javaSerializationFormatEnabled;
   }
 
+  public int getByteArrayValueInlineThreshold() {
+    return byteArrayValueInlineThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setByteArrayValueInlineThreshold(int byteArrayValueInlineThreshold) {
+    this.byteArrayValueInlineThreshold = byteArrayValueInlineThreshold;
+    return this;
+  }
+
+  public boolean isSerializedValueCompressionEnabled() {
+    return serializedValueCompressionEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setSerializedValueCompressionEnabled(boolean serializedValueCompressionEnabled) {
+    this.serializedValueCompressionEnabled = serializedValueCompressionEnabled;
+    return this;
+  }
+
+  public int getSerializedValueCompressionThreshold() {
+    return serializedValueCompressionThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setSerializedValueCompressionThreshold(int serializedValueCompressionThreshold) {
+    this.serializedValueCompressionThreshold = serializedValueCompressionThreshold;
+    return this;
+  }
+
+  /**
+   * @return the compression threshold configured for the serializer, or the default threshold
+   */
+  public int getSerializedValueCompressionThreshold(String serializerName) {
+    Integer threshold = serializedValueCompressionThresholds.get(serializerName);
+    return threshold != null ? threshold : serializedValueCompressionThreshold;
+  }
+
+  public Map<String, Integer> getSerializedValueCompressionThresholds() {
+    return serializedValueCompressionThresholds;
+  }
+
+  public ProcessEngineConfigurationImpl setSerializedValueCompressionThresholds(Map<String, Integer> serializedValueCompressionThresholds) {
+    this.serializedValueCompressionThresholds = serializedValueCompressionThresholds;
+    return this;
+  }
+
+  public int getSerializedValueCompressionLevel() {
+    return serializedValueCompressionLevel;
+  }
+
+  public ProcessEngineConfigurationImpl setSerializedValueCompressionLevel(int serializedValueCompressionLevel) {
+    this.serializedValueCompressionLevel = serializedValueCompressionLevel;
+    return this;
+  }
+
   public ProcessEngineConfigurationImpl setDefaultCharsetName(String defaultCharsetName) {
     this.defaultCharsetName = defaultCharsetName;
     return this;
@@ -3904,6 +4259,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public EngineInstrumentation getEngineInstrumentation() {
+    return engineInstrumentation;
+  }
+
+  public ProcessEngineConfigurationImpl setEngineInstrumentation(EngineInstrumentation engineInstrumentation) {
+    this.engineInstrumentation = engineInstrumentation;
+    return this;
+  }
+
   public ProcessEngineConfigurationImpl setMetricsEnabled(boolean isMetricsEnabled) {
     this.isMetricsEnabled = isMetricsEnabled;
     return this;
@@ -3931,6 +4295,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isMetricsRollupEnabled() {
+    return isMetricsRollupEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setMetricsRollupEnabled(boolean isMetricsRollupEnabled) {
+    this.isMetricsRollupEnabled = isMetricsRollupEnabled;
+    return this;
+  }
+
+  public Integer getMetricsRawLogTimeToLive() {
+    return metricsRawLogTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setMetricsRawLogTimeToLive(Integer metricsRawLogTimeToLive) {
+    this.metricsRawLogTimeToLive = metricsRawLogTimeToLive;
+    return this;
+  }
+
   /**
    * @deprecated use {@link #getHostnameProvider()} instead.
    */
@@ -4364,6 +4746,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.historyCleanupBatchSize = historyCleanupBatchSize;
   }
 
+  public Integer getHistoryCleanupRemovalTimeBatchSize() {
+    return historyCleanupRemovalTimeBatchSize;
+  }
+
+  public void setHistoryCleanupRemovalTimeBatchSize(Integer historyCleanupRemovalTimeBatchSize) {
+    this.historyCleanupRemovalTimeBatchSize = historyCleanupRemovalTimeBatchSize;
+  }
+
   public int getHistoryCleanupBatchThreshold() {
     return historyCleanupBatchThreshold;
   }
@@ -4389,6 +4779,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isHistoryPartitioningEnabled() {
+    return historyPartitioningEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryPartitioningEnabled(boolean historyPartitioningEnabled) {
+    this.historyPartitioningEnabled = historyPartitioningEnabled;
+    return this;
+  }
+
+  public int getHistoryPartitionDaysAhead() {
+    return historyPartitionDaysAhead;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryPartitionDaysAhead(int historyPartitionDaysAhead) {
+    this.historyPartitionDaysAhead = historyPartitionDaysAhead;
+    return this;
+  }
+
+  public HistoryPartitionManager getHistoryPartitionManager() {
+    return historyPartitionManager;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryPartitionManager(HistoryPartitionManager historyPartitionManager) {
+    this.historyPartitionManager = historyPartitionManager;
+    return this;
+  }
+
   public String getHistoryTimeToLive() {
     return historyTimeToLive;
   }
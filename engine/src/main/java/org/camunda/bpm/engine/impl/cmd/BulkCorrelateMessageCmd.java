@@ -0,0 +1,142 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.MessageCorrelationBuilderImpl;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.event.EventType;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.camunda.bpm.engine.impl.runtime.CorrelationHandlerResult;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationBulkResultImpl;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationResultImpl;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResultType;
+
+/**
+ * Correlates a chunk of messages in one command.
+ *
+ * <p>The names that have no message subscription at all are determined with a single
+ * query for the whole chunk, so such messages fail without being resolved one by one.
+ * A message that cannot be resolved or that the user is not authorized to correlate
+ * fails without affecting the others, since nothing has been changed for it yet.
+ *
+ * <p>The queries of the correlation do not see the unflushed changes of the command.
+ * So the command stops before a message that correlates to a process instance which
+ * an earlier message has already changed, and before a message that does not match
+ * while an earlier message created message subscriptions. It returns the results of
+ * the correlated messages, the caller continues with the remaining ones.
+ */
+public class BulkCorrelateMessageCmd implements Command<List<MessageCorrelationBulkResultImpl>> {
+
+  protected final List<MessageCorrelationBuilderImpl> messageCorrelations;
+  protected final int firstIndex;
+
+  public BulkCorrelateMessageCmd(List<MessageCorrelationBuilderImpl> messageCorrelations, int firstIndex) {
+    this.messageCorrelations = messageCorrelations;
+    this.firstIndex = firstIndex;
+  }
+
+  public List<MessageCorrelationBulkResultImpl> execute(CommandContext commandContext) {
+    List<MessageCorrelationBulkResultImpl> results = new ArrayList<MessageCorrelationBulkResultImpl>();
+
+    Set<String> subscribedMessageNames = findSubscribedMessageNames(commandContext);
+    Set<String> changedProcessInstanceIds = new HashSet<String>();
+
+    for (int i = 0; i < messageCorrelations.size(); i++) {
+      MessageCorrelationBuilderImpl messageCorrelation = messageCorrelations.get(i);
+      String messageName = messageCorrelation.getMessageName();
+      int index = firstIndex + i;
+
+      CorrelateMessageCmd command = new CorrelateMessageCmd(messageCorrelation, false, false, messageCorrelation.isStartMessagesOnly());
+
+      CorrelationHandlerResult correlationResult;
+      try {
+        if (messageName != null && !subscribedMessageNames.contains(messageName)) {
+          throw new MismatchingMessageCorrelationException(messageName, "No process definition or execution matches the parameters");
+        }
+        correlationResult = command.resolveCorrelation(commandContext);
+        command.checkAuthorization(correlationResult);
+      }
+      catch (ProcessEngineException e) {
+        if (hasCreatedMessageSubscription(commandContext, messageName)) {
+          // the message may match a subscription created by an earlier message
+          break;
+        }
+        // no match, more than one match or not authorized
+        results.add(MessageCorrelationBulkResultImpl.failure(index, messageName, e));
+        continue;
+      }
+
+      if (MessageCorrelationResultType.Execution.equals(correlationResult.getResultType())
+          && !changedProcessInstanceIds.add(correlationResult.getExecutionEntity().getProcessInstanceId())) {
+        break;
+      }
+
+      MessageCorrelationResultImpl result = command.createMessageCorrelationResult(commandContext, correlationResult);
+      if (result.getProcessInstance() != null) {
+        changedProcessInstanceIds.add(result.getProcessInstance().getId());
+      }
+      results.add(MessageCorrelationBulkResultImpl.success(index, messageName, result));
+    }
+
+    return results;
+  }
+
+  /**
+   * @return true if an earlier message of this command created a message subscription of the
+   *   given name (of any name if it is <code>null</code>), which the queries cannot see yet
+   */
+  protected boolean hasCreatedMessageSubscription(CommandContext commandContext, String messageName) {
+    DbEntityCache entityCache = commandContext.getDbEntityManager().getDbEntityCache();
+
+    for (EventSubscriptionEntity subscription : entityCache.getEntitiesByType(EventSubscriptionEntity.class)) {
+      if (entityCache.isTransient(subscription)
+          && subscription.isSubscriptionForEventType(EventType.MESSAGE)
+          && (messageName == null || messageName.equals(subscription.getEventName()))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  protected Set<String> findSubscribedMessageNames(CommandContext commandContext) {
+    Set<String> messageNames = new LinkedHashSet<String>();
+    for (MessageCorrelationBuilderImpl messageCorrelation : messageCorrelations) {
+      if (messageCorrelation.getMessageName() != null) {
+        messageNames.add(messageCorrelation.getMessageName());
+      }
+    }
+
+    if (messageNames.isEmpty()) {
+      return messageNames;
+    }
+
+    return new HashSet<String>(commandContext
+      .getEventSubscriptionManager()
+      .findMessageEventSubscriptionNames(new ArrayList<String>(messageNames)));
+  }
+
+}
@@ -302,4 +302,23 @@ public class CommandLogger extends ProcessEngineLogger {
       "Propagation of escalation {} failed. ",
       escalationCode), cause);
   }
+
+  public BadUserRequestException exceptionDeliverSignalAsyncToSingleExecution() {
+    return new BadUserRequestException(exceptionMessage(
+      "045",
+      "Cannot deliver a signal asynchronously to a single execution."));
+  }
+
+  public BadUserRequestException exceptionUnsupportedAsyncSignalVariable(String variableName, Object value) {
+    return new BadUserRequestException(exceptionMessage(
+      "046",
+      "Cannot deliver variable '{}' of type '{}' with an asynchronous signal. Only null, string, boolean, number and date values are supported.",
+      variableName, value.getClass().getName()));
+  }
+
+  public ProcessEngineException exceptionBulkCorrelationInsideCommand() {
+    return new ProcessEngineException(exceptionMessage(
+      "047",
+      "Cannot correlate messages in bulk inside a command, e.g. from a delegate. Correlate the messages one by one instead."));
+  }
 }
@@ -56,6 +56,21 @@ public class CorrelateMessageCmd extends AbstractCorrelateMessageCmd implements
   }
 
   public MessageCorrelationResultImpl execute(final CommandContext commandContext) {
+    CorrelationHandlerResult correlationResult = resolveCorrelation(commandContext);
+
+    // check authorization
+    checkAuthorization(correlationResult);
+
+    return createMessageCorrelationResult(commandContext, correlationResult);
+  }
+
+  /**
+   * Determines the execution or process definition that the message correlates to
+   * without changing any state.
+   *
+   * @throws MismatchingMessageCorrelationException if the message does not correlate to exactly one
+   */
+  protected CorrelationHandlerResult resolveCorrelation(final CommandContext commandContext) {
     ensureAtLeastOneNotNull(
         "At least one of the following correlation criteria has to be present: " + "messageName, businessKey, correlationKeys, processInstanceId", messageName,
         builder.getBusinessKey(), builder.getCorrelationProcessInstanceVariables(), builder.getProcessInstanceId());
@@ -89,9 +104,6 @@ public class CorrelateMessageCmd extends AbstractCorrelateMessageCmd implements
       }
     }
 
-    // check authorization
-    checkAuthorization(correlationResult);
-
-    return createMessageCorrelationResult(commandContext, correlationResult);
+    return correlationResult;
   }
 }
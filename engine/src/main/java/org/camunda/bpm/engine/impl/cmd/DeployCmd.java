@@ -40,6 +40,7 @@ import org.camunda.bpm.engine.impl.cfg.CommandChecker;
 import org.camunda.bpm.engine.impl.cfg.TransactionLogger;
 import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.cmmn.deployer.CmmnDeployer;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentFailListener;
@@ -56,6 +57,9 @@ import org.camunda.bpm.engine.impl.repository.DeploymentBuilderImpl;
 import org.camunda.bpm.engine.impl.repository.ProcessApplicationDeploymentBuilderImpl;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.util.StringUtil;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.camunda.bpm.engine.impl.util.xml.Parse;
+import org.camunda.bpm.engine.impl.util.xml.Parser;
 import org.camunda.bpm.engine.repository.CandidateDeployment;
 import org.camunda.bpm.engine.repository.Deployment;
 import org.camunda.bpm.engine.repository.DeploymentHandler;
@@ -65,12 +69,6 @@ import org.camunda.bpm.engine.repository.ProcessApplicationDeploymentBuilder;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.repository.Resource;
 import org.camunda.bpm.engine.repository.ResumePreviousBy;
-import org.camunda.bpm.model.bpmn.Bpmn;
-import org.camunda.bpm.model.bpmn.BpmnModelInstance;
-import org.camunda.bpm.model.bpmn.instance.Process;
-import org.camunda.bpm.model.cmmn.Cmmn;
-import org.camunda.bpm.model.cmmn.CmmnModelInstance;
-import org.camunda.bpm.model.cmmn.instance.Case;
 
 /**
  * @author Tom Baeyens
@@ -509,25 +507,43 @@ public class DeployCmd implements Command<DeploymentWithDefinitions>, Serializab
 
     for (Resource resource : resources) {
       if (isBpmnResource(resource)) {
+        processDefinitionKeys.addAll(parseDefinitionIds(resource, "process"));
 
-        ByteArrayInputStream byteStream = new ByteArrayInputStream(resource.getBytes());
-        BpmnModelInstance model = Bpmn.readModelFromStream(byteStream);
-        for (Process process : model.getDefinitions().getChildElementsByType(Process.class)) {
-          processDefinitionKeys.add(process.getId());
-        }
       } else if (isCmmnResource(resource)) {
-
-        ByteArrayInputStream byteStream = new ByteArrayInputStream(resource.getBytes());
-        CmmnModelInstance model = Cmmn.readModelFromStream(byteStream);
-        for (Case cmmnCase : model.getDefinitions().getCases()) {
-          processDefinitionKeys.add(cmmnCase.getId());
-        }
+        processDefinitionKeys.addAll(parseDefinitionIds(resource, "case"));
       }
     }
 
     return processDefinitionKeys;
   }
 
+  /**
+   * Returns the ids of the root element's children with the given local name.
+   * The resource is only read with the lightweight SAX parser, building
+   * a model instance and validating it against the schema is not needed
+   * to resolve the keys.
+   */
+  protected List<String> parseDefinitionIds(Resource resource, String localName) {
+    Parse parse = Parser.INSTANCE.createParse()
+      .name(resource.getName())
+      .sourceInputStream(new ByteArrayInputStream(resource.getBytes()))
+      .xxeProcessing(Context.getProcessEngineConfiguration().isEnableXxeProcessing())
+      .execute();
+
+    if (parse.hasErrors()) {
+      parse.throwExceptionForErrors();
+    }
+
+    List<String> ids = new ArrayList<>();
+    for (Element element : parse.getRootElement().elements()) {
+      String tagName = element.getTagName();
+      if (localName.equals(tagName.substring(tagName.indexOf(':') + 1))) {
+        ids.add(element.attribute("id"));
+      }
+    }
+    return ids;
+  }
+
   protected Set<String> getAllDeploymentIds(DeploymentBuilderImpl deploymentBuilder) {
     Set<String> result = new HashSet<>();
 
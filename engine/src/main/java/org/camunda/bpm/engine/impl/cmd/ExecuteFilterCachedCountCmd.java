@@ -0,0 +1,82 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.filter.Filter;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
+import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Returns the exact result count of a filter, which may be served from the
+ * {@link FilterCountCache}. Since the result of a filter query depends on
+ * the authenticated user, their groups and tenants, counts are cached per
+ * authentication.
+ */
+public class ExecuteFilterCachedCountCmd extends AbstractExecuteFilterCmd implements Command<Long> {
+
+  private static final long serialVersionUID = 1L;
+
+  public ExecuteFilterCachedCountCmd(String filterId) {
+    super(filterId);
+  }
+
+  public Long execute(CommandContext commandContext) {
+    Filter filter = getFilter(commandContext);
+
+    FilterCountCache countCache = commandContext.getProcessEngineConfiguration().getFilterCountCache();
+    String cacheKey = getCacheKey(commandContext.getAuthentication());
+
+    Long count = countCache.get(filterId, cacheKey);
+    if (count == null) {
+      count = filter.getQuery().count();
+      countCache.put(filterId, cacheKey, count);
+    }
+
+    return count;
+  }
+
+  protected String getCacheKey(Authentication authentication) {
+    if (authentication == null) {
+      return "";
+    }
+
+    StringBuilder key = new StringBuilder();
+    key.append(authentication.getUserId());
+    key.append('|');
+    appendSorted(key, authentication.getGroupIds());
+    key.append('|');
+    appendSorted(key, authentication.getTenantIds());
+    return key.toString();
+  }
+
+  protected void appendSorted(StringBuilder key, List<String> values) {
+    if (values != null) {
+      List<String> sortedValues = new ArrayList<>(values);
+      Collections.sort(sortedValues);
+      for (String value : sortedValues) {
+        key.append(value).append(',');
+      }
+    }
+  }
+
+}
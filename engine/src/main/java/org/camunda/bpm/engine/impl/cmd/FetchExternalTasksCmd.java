@@ -20,6 +20,9 @@ import java.util.*;
 
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingListener;
@@ -31,6 +34,7 @@ import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * @author Thorben Lindhauer
@@ -83,10 +87,25 @@ public class FetchExternalTasksCmd implements Command<List<LockedExternalTask>>
     }
 
     filterOnOptimisticLockingFailure(commandContext, result);
+    reportMetrics(commandContext, result);
 
     return result;
   }
 
+  protected void reportMetrics(CommandContext commandContext, final List<LockedExternalTask> tasks) {
+    final ProcessEngineConfigurationImpl configuration = commandContext.getProcessEngineConfiguration();
+    if (configuration.isMetricsEnabled()) {
+      configuration.getMetricsRegistry().markOccurrence(Metrics.EXTERNAL_TASK_FETCH_ATTEMPT);
+
+      // tasks which could not be locked are removed from the list on flush
+      commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          configuration.getMetricsRegistry().markOccurrence(Metrics.EXTERNAL_TASK_FETCHED, tasks.size());
+        }
+      });
+    }
+  }
+
   protected void filterOnOptimisticLockingFailure(CommandContext commandContext, final List<LockedExternalTask> tasks) {
     commandContext.getDbEntityManager().registerOptimisticLockingListener(new OptimisticLockingListener() {
 
@@ -20,24 +20,39 @@ import org.camunda.bpm.engine.impl.db.IdBlock;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
 
 
 /**
  * @author Tom Baeyens
  */
 public class GetNextIdBlockCmd implements Command<IdBlock> {
-  
+
+  public static final String DEFAULT_PROPERTY_NAME = "next.dbid";
+
   private static final long serialVersionUID = 1L;
   protected int idBlockSize;
-  
+  protected String propertyName;
+
   public GetNextIdBlockCmd(int idBlockSize) {
+    this(idBlockSize, DEFAULT_PROPERTY_NAME);
+  }
+
+  public GetNextIdBlockCmd(int idBlockSize, String propertyName) {
     this.idBlockSize = idBlockSize;
+    this.propertyName = propertyName;
   }
 
   public IdBlock execute(CommandContext commandContext) {
-    PropertyEntity property = commandContext
-      .getPropertyManager()
-      .findPropertyById("next.dbid");
+    PropertyManager propertyManager = commandContext.getPropertyManager();
+    PropertyEntity property = propertyManager.findPropertyById(propertyName);
+
+    if (property == null && !DEFAULT_PROPERTY_NAME.equals(propertyName)) {
+      // first block of a dedicated id sequence (e.g. per cluster node)
+      property = new PropertyEntity(propertyName, "1");
+      propertyManager.insert(property);
+    }
+
     long oldValue = Long.parseLong(property.getValue());
     long newValue = oldValue+idBlockSize;
     property.setValue(Long.toString(newValue));
@@ -93,6 +93,7 @@ public class RecalculateJobDuedateCmd implements Command<Void>, Serializable {
         .getDeploymentCache()
         .findDeployedProcessDefinitionById(job.getProcessDefinitionId());
     ProcessApplicationContextUtil.doContextSwitch(runnable, contextDefinition);
+    commandContext.getJobManager().promoteTimerIfWithinHorizon(job);
 
     // log operation
     List<PropertyChange> propertyChanges = new ArrayList<>();
@@ -71,6 +71,7 @@ public class SetJobDuedateCmd implements Command<Void>, Serializable {
       }
 
       job.setDuedate(newDuedate);
+      commandContext.getJobManager().promoteTimerIfWithinHorizon(job);
     } else {
       throw new ProcessEngineException("No job found with id '" + jobId + "'.");
     }
@@ -72,7 +72,14 @@ public class SignalEventReceivedCmd implements Command<Void> {
   protected void sendSignal(CommandContext commandContext, String signalName) {
 
     List<EventSubscriptionEntity> signalEventSubscriptions = findSignalEventSubscriptions(commandContext, signalName);
+    sendSignalToSubscriptions(commandContext, signalEventSubscriptions);
+  }
 
+  /**
+   * Delivers the signal to the given subscriptions: notifies the subscribed
+   * executions and starts process instances for signal start events.
+   */
+  public void sendSignalToSubscriptions(CommandContext commandContext, List<EventSubscriptionEntity> signalEventSubscriptions) {
     List<EventSubscriptionEntity> catchSignalEventSubscription = filterIntermediateSubscriptions(signalEventSubscriptions);
     List<EventSubscriptionEntity> startSignalEventSubscriptions = filterStartSubscriptions(signalEventSubscriptions);
     Map<String, ProcessDefinitionEntity> processDefinitions = getProcessDefinitionsOfSubscriptions(startSignalEventSubscriptions);
@@ -84,6 +91,18 @@ public class SignalEventReceivedCmd implements Command<Void> {
     startProcessInstances(startSignalEventSubscriptions, processDefinitions);
   }
 
+  /**
+   * Performs the authorization checks of {@link #sendSignalToSubscriptions} without
+   * delivering the signal.
+   */
+  public void checkAuthorizationOfSubscriptions(CommandContext commandContext, List<EventSubscriptionEntity> signalEventSubscriptions) {
+    List<EventSubscriptionEntity> startSignalEventSubscriptions = filterStartSubscriptions(signalEventSubscriptions);
+    Map<String, ProcessDefinitionEntity> processDefinitions = getProcessDefinitionsOfSubscriptions(startSignalEventSubscriptions);
+
+    checkAuthorizationOfCatchSignals(commandContext, filterIntermediateSubscriptions(signalEventSubscriptions));
+    checkAuthorizationOfStartSignals(commandContext, startSignalEventSubscriptions, processDefinitions);
+  }
+
   protected List<EventSubscriptionEntity> findSignalEventSubscriptions(CommandContext commandContext, String signalName) {
     EventSubscriptionManager eventSubscriptionManager = commandContext.getEventSubscriptionManager();
 
@@ -139,7 +158,7 @@ public class SignalEventReceivedCmd implements Command<Void> {
     }
   }
 
-  private void checkAuthorizationOfStartSignals(final CommandContext commandContext,
+  protected void checkAuthorizationOfStartSignals(final CommandContext commandContext,
       List<EventSubscriptionEntity> startSignalEventSubscriptions, Map<String, ProcessDefinitionEntity> processDefinitions) {
     // check authorization for process definition
     for (EventSubscriptionEntity signalStartEventSubscription : startSignalEventSubscriptions) {
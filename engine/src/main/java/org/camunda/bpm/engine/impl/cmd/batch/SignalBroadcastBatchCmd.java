@@ -0,0 +1,139 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.authorization.BatchPermissions;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.history.UserOperationLogEntry;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.SignalEventReceivedBuilderImpl;
+import org.camunda.bpm.engine.impl.batch.BatchElementConfiguration;
+import org.camunda.bpm.engine.impl.batch.builder.BatchBuilder;
+import org.camunda.bpm.engine.impl.batch.signal.SignalBroadcastBatchConfiguration;
+import org.camunda.bpm.engine.impl.batch.signal.SignalBroadcastBatchConfigurationJsonConverter;
+import org.camunda.bpm.engine.impl.cmd.CommandLogger;
+import org.camunda.bpm.engine.impl.cmd.SignalEventReceivedCmd;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyChange;
+import org.camunda.bpm.engine.impl.util.ImmutablePair;
+import org.camunda.bpm.engine.variable.VariableMap;
+
+/**
+ * Creates a batch which delivers a signal to all of its subscriptions. The ids
+ * of the subscriptions are fetched page by page, each page starting after the
+ * last id of the previous one, so that the subscriptions themselves are never
+ * loaded in this command.
+ */
+public class SignalBroadcastBatchCmd implements Command<Batch> {
+
+  protected final static CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
+
+  protected static final int SUBSCRIPTION_PAGE_SIZE = 1000;
+
+  protected final SignalEventReceivedBuilderImpl builder;
+
+  public SignalBroadcastBatchCmd(SignalEventReceivedBuilderImpl builder) {
+    this.builder = builder;
+  }
+
+  @Override
+  public Batch execute(CommandContext commandContext) {
+    checkVariables(builder.getVariables());
+
+    BatchElementConfiguration elementConfiguration = collectSubscriptionIds(commandContext);
+
+    return new BatchBuilder(commandContext)
+        .type(Batch.TYPE_SIGNAL_BROADCAST)
+        .config(new SignalBroadcastBatchConfiguration(elementConfiguration.getIds(), elementConfiguration.getMappings(),
+            builder.getSignalName(), builder.getVariables()))
+        .permission(BatchPermissions.CREATE_BATCH_BROADCAST_SIGNAL)
+        .operationLogHandler(this::writeUserOperationLog)
+        .build();
+  }
+
+  protected void checkVariables(VariableMap variables) {
+    if (variables != null) {
+      for (String variableName : variables.keySet()) {
+        Object value = variables.get(variableName);
+        if (!SignalBroadcastBatchConfigurationJsonConverter.isSupportedVariableValue(value)) {
+          throw LOG.exceptionUnsupportedAsyncSignalVariable(variableName, value);
+        }
+      }
+    }
+  }
+
+  protected BatchElementConfiguration collectSubscriptionIds(CommandContext commandContext) {
+    EventSubscriptionManager eventSubscriptionManager = commandContext.getEventSubscriptionManager();
+    BatchElementConfiguration elementConfiguration = new BatchElementConfiguration();
+
+    String lastId = null;
+    List<ImmutablePair<String, String>> page;
+    do {
+      page = eventSubscriptionManager.findSignalEventSubscriptionDeploymentIdMappings(builder.getSignalName(),
+          builder.getTenantId(), builder.isTenantIdSet(), lastId, SUBSCRIPTION_PAGE_SIZE);
+
+      if (!page.isEmpty()) {
+        checkAuthorization(commandContext, page);
+        elementConfiguration.addDeploymentMappings(page);
+        lastId = page.get(page.size() - 1).getRight();
+      }
+    } while (page.size() == SUBSCRIPTION_PAGE_SIZE);
+
+    return elementConfiguration;
+  }
+
+  /**
+   * The batch jobs run without an authenticated user, so the checks which
+   * {@link SignalEventReceivedCmd} performs on delivery are done here for each subscription.
+   */
+  protected void checkAuthorization(CommandContext commandContext, List<ImmutablePair<String, String>> page) {
+    if (commandContext.getAuthentication() == null) {
+      return;
+    }
+
+    List<String> subscriptionIds = new ArrayList<>(page.size());
+    for (ImmutablePair<String, String> mapping : page) {
+      subscriptionIds.add(mapping.getRight());
+    }
+
+    List<EventSubscriptionEntity> subscriptions = commandContext.getEventSubscriptionManager()
+        .findEventSubscriptionsByIds(subscriptionIds);
+
+    new SignalEventReceivedCmd(builder).checkAuthorizationOfSubscriptions(commandContext, subscriptions);
+  }
+
+  protected void writeUserOperationLog(CommandContext commandContext, int numInstances) {
+    List<PropertyChange> propertyChanges = new ArrayList<>();
+    propertyChanges.add(new PropertyChange("nrOfInstances", null, numInstances));
+    propertyChanges.add(new PropertyChange("async", null, true));
+    propertyChanges.add(new PropertyChange("signalName", null, builder.getSignalName()));
+
+    commandContext.getOperationLogManager()
+        .logProcessInstanceOperation(UserOperationLogEntry.OPERATION_TYPE_BROADCAST_SIGNAL,
+            null,
+            null,
+            null,
+            propertyChanges);
+  }
+
+}
@@ -245,31 +245,40 @@ public abstract class AbstractVariableScope implements Serializable, VariableSco
   }
 
   public void setVariables(Map<String, ? extends Object> variables) {
-    if (variables!=null) {
-      for (String variableName : variables.keySet()) {
-        Object value = null;
-        if (variables instanceof VariableMap) {
-          value = ((VariableMap) variables).getValueTyped(variableName);
-        }
-        else {
-          value = variables.get(variableName);
-        }
-        setVariable(variableName, value);
-      }
-    }
+    setVariables(variables, false);
   }
 
   public void setVariablesLocal(Map<String, ? extends Object> variables) {
+    setVariables(variables, true);
+  }
+
+  /**
+   * Sets all given variables as one batch, see {@link VariableUpdateBatch}.
+   */
+  protected void setVariables(Map<String, ? extends Object> variables, boolean local) {
     if (variables!=null) {
-      for (String variableName : variables.keySet()) {
-        Object value = null;
-        if (variables instanceof VariableMap) {
-          value = ((VariableMap) variables).getValueTyped(variableName);
-        }
-        else {
-          value = variables.get(variableName);
+      VariableUpdateBatch batch = new VariableUpdateBatch();
+      try {
+        for (String variableName : variables.keySet()) {
+          Object value = null;
+          if (variables instanceof VariableMap) {
+            value = ((VariableMap) variables).getValueTyped(variableName);
+          }
+          else {
+            value = variables.get(variableName);
+          }
+
+          TypedValue typedValue = Variables.untypedValue(value);
+          if (local) {
+            setVariableLocal(variableName, typedValue, getSourceActivityVariableScope(), batch);
+          }
+          else {
+            setVariable(variableName, typedValue, getSourceActivityVariableScope(), batch);
+          }
         }
-        setVariableLocal(variableName, value);
+      }
+      finally {
+        batch.flush();
       }
     }
   }
@@ -312,6 +321,10 @@ public abstract class AbstractVariableScope implements Serializable, VariableSco
   }
 
   protected void setVariable(String variableName, TypedValue value, AbstractVariableScope sourceActivityVariableScope) {
+    setVariable(variableName, value, sourceActivityVariableScope, null);
+  }
+
+  protected void setVariable(String variableName, TypedValue value, AbstractVariableScope sourceActivityVariableScope, VariableUpdateBatch batch) {
     if (hasVariableLocal(variableName)) {
       TypedValue previousTypeValue = getVariableInstanceLocal(variableName).getTypedValue(false);
 
@@ -320,9 +333,9 @@ public abstract class AbstractVariableScope implements Serializable, VariableSco
       }
 
       if (value.isTransient()) {
-        setVariableLocalTransient(variableName, value, sourceActivityVariableScope);
+        setVariableLocalTransient(variableName, value, sourceActivityVariableScope, batch);
       } else {
-        setVariableLocal(variableName, value, sourceActivityVariableScope);
+        setVariableLocal(variableName, value, sourceActivityVariableScope, batch);
       }
 
       return;
@@ -330,29 +343,35 @@ public abstract class AbstractVariableScope implements Serializable, VariableSco
     AbstractVariableScope parentVariableScope = getParentVariableScope();
     if (parentVariableScope!=null) {
       if (sourceActivityVariableScope==null) {
-        parentVariableScope.setVariable(variableName, value);
+        parentVariableScope.setVariable(variableName, value, parentVariableScope.getSourceActivityVariableScope(), batch);
       } else {
-        parentVariableScope.setVariable(variableName, value, sourceActivityVariableScope);
+        parentVariableScope.setVariable(variableName, value, sourceActivityVariableScope, batch);
       }
       return;
     }
     if (value.isTransient()) {
-      setVariableLocalTransient(variableName, value, sourceActivityVariableScope);
+      setVariableLocalTransient(variableName, value, sourceActivityVariableScope, batch);
     } else {
-      setVariableLocal(variableName, value, sourceActivityVariableScope);
+      setVariableLocal(variableName, value, sourceActivityVariableScope, batch);
     }
   }
 
   public void setVariableLocal(String variableName, TypedValue value, AbstractVariableScope sourceActivityExecution) {
+    setVariableLocal(variableName, value, sourceActivityExecution, null);
+  }
+
+  protected void setVariableLocal(String variableName, TypedValue value, AbstractVariableScope sourceActivityExecution, VariableUpdateBatch batch) {
 
     checkJavaSerialization(variableName, value);
 
+    List<VariableInstanceLifecycleListener<CoreVariableInstance>> lifecycleListeners = getVariableInstanceLifecycleListeners(batch);
+
     VariableStore<CoreVariableInstance> variableStore = getVariableStore();
 
     if (variableStore.containsKey(variableName)) {
       CoreVariableInstance existingInstance = variableStore.getVariable(variableName);
       existingInstance.setValue(value);
-      invokeVariableLifecycleListenersUpdate(existingInstance, sourceActivityExecution);
+      invokeVariableLifecycleListenersUpdate(existingInstance, sourceActivityExecution, lifecycleListeners);
     }
     else if (variableStore.isRemoved(variableName)) {
 
@@ -360,7 +379,7 @@ public abstract class AbstractVariableScope implements Serializable, VariableSco
 
       existingInstance.setValue(value);
       getVariableStore().addVariable(existingInstance);
-      invokeVariableLifecycleListenersUpdate(existingInstance, sourceActivityExecution);
+      invokeVariableLifecycleListenersUpdate(existingInstance, sourceActivityExecution, lifecycleListeners);
 
       DbEntityManager dbEntityManager = Context.getCommandContext().getDbEntityManager();
       dbEntityManager.undoDelete((VariableInstanceEntity) existingInstance);
@@ -368,7 +387,16 @@ public abstract class AbstractVariableScope implements Serializable, VariableSco
     else {
       CoreVariableInstance variableValue = getVariableInstanceFactory().build(variableName, value, false);
       getVariableStore().addVariable(variableValue);
-      invokeVariableLifecycleListenersCreate(variableValue, sourceActivityExecution);
+      invokeVariableLifecycleListenersCreate(variableValue, sourceActivityExecution, lifecycleListeners);
+    }
+  }
+
+  protected List<VariableInstanceLifecycleListener<CoreVariableInstance>> getVariableInstanceLifecycleListeners(VariableUpdateBatch batch) {
+    if (batch != null) {
+      return batch.getLifecycleListeners(this);
+    }
+    else {
+      return getVariableInstanceLifecycleListeners();
     }
   }
 
@@ -461,15 +489,19 @@ public abstract class AbstractVariableScope implements Serializable, VariableSco
   }
 
   public void setVariableLocalTransient(String variableName, Object value, AbstractVariableScope sourceActivityVariableScope) {
+    setVariableLocalTransient(variableName, value, sourceActivityVariableScope, null);
+  }
+
+  protected void setVariableLocalTransient(String variableName, Object value, AbstractVariableScope sourceActivityVariableScope, VariableUpdateBatch batch) {
 
     VariableStore<CoreVariableInstance> variableStore = getVariableStore();
     if (variableStore.containsKey(variableName)) {
       CoreVariableInstance existingInstance = variableStore.getVariable(variableName);
       existingInstance.setValue((TypedValue) value);
-      invokeVariableLifecycleListenersUpdate(existingInstance, sourceActivityVariableScope);
+      invokeVariableLifecycleListenersUpdate(existingInstance, sourceActivityVariableScope, getVariableInstanceLifecycleListeners(batch));
     } else {
       setVariableLocalTransient(variableName, value);
-      invokeVariableLifecycleListenersCreate(variableStore.getVariable(variableName), sourceActivityVariableScope);
+      invokeVariableLifecycleListenersCreate(variableStore.getVariable(variableName), sourceActivityVariableScope, getVariableInstanceLifecycleListeners(batch));
     }
   }
 
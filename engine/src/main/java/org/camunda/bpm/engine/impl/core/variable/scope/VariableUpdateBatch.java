@@ -0,0 +1,130 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.core.variable.scope;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.cmd.SetTaskVariablesCmd;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventProcessor.HistoryEventCreator;
+import org.camunda.bpm.engine.impl.history.handler.CompositeHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
+import org.camunda.bpm.engine.impl.persistence.entity.CorrelationKeyVariableListener;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceConcurrentLocalInitializer;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntityPersistenceListener;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceHistoryListener;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceSequenceCounterListener;
+
+/**
+ * Collects the state of a bulk variable update, see {@link AbstractVariableScope#setVariables(Map)}.
+ * The lifecycle listeners of each variable scope are resolved only once and the history events
+ * of all variables are handed to the history event handler together on {@link #flush()}. Custom
+ * history event handlers still receive them one by one, see {@link CompositeHistoryEventHandler}.
+ *
+ * <p>History events are only deferred for scopes whose lifecycle listeners do not invoke user code
+ * synchronously. Before the listeners of any other scope are invoked, the collected events are flushed,
+ * so that user code sees the same history as without batching.</p>
+ */
+public class VariableUpdateBatch {
+
+  protected Map<AbstractVariableScope, List<VariableInstanceLifecycleListener<CoreVariableInstance>>> lifecycleListeners = new IdentityHashMap<>();
+  protected List<HistoryEvent> historyEvents = new ArrayList<>();
+
+  protected VariableInstanceHistoryListener deferringHistoryListener = new BatchedHistoryListener(true);
+  protected VariableInstanceHistoryListener flushingHistoryListener = new BatchedHistoryListener(false);
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public List<VariableInstanceLifecycleListener<CoreVariableInstance>> getLifecycleListeners(AbstractVariableScope variableScope) {
+    List<VariableInstanceLifecycleListener<CoreVariableInstance>> listeners = lifecycleListeners.get(variableScope);
+
+    if (listeners == null) {
+      listeners = new ArrayList<>(variableScope.getVariableInstanceLifecycleListeners());
+      int historyListenerIndex = listeners.indexOf(VariableInstanceHistoryListener.INSTANCE);
+      if (historyListenerIndex >= 0) {
+        VariableInstanceHistoryListener historyListener = isDeferrable(listeners) ? deferringHistoryListener : flushingHistoryListener;
+        listeners.set(historyListenerIndex, (VariableInstanceLifecycleListener) historyListener);
+      }
+      lifecycleListeners.put(variableScope, listeners);
+    }
+
+    return listeners;
+  }
+
+  /**
+   * Hands the collected history events to the history event handler.
+   */
+  public void flush() {
+    if (!historyEvents.isEmpty()) {
+      List<HistoryEvent> events = historyEvents;
+      historyEvents = new ArrayList<>();
+
+      // a custom handler configured in place of the composite one receives the events one by one
+      HistoryEventHandler historyEventHandler = Context.getProcessEngineConfiguration().getHistoryEventHandler();
+      CompositeHistoryEventHandler.handleEvents(historyEventHandler, events);
+    }
+  }
+
+  /**
+   * @return true if none of the listeners invokes user code synchronously
+   */
+  protected boolean isDeferrable(List<VariableInstanceLifecycleListener<CoreVariableInstance>> listeners) {
+    for (Object listener : listeners) {
+      if (!(listener instanceof VariableInstanceEntityPersistenceListener
+          || listener instanceof VariableInstanceConcurrentLocalInitializer
+          || listener instanceof VariableInstanceSequenceCounterListener
+          || listener instanceof CorrelationKeyVariableListener
+          || listener instanceof VariableInstanceHistoryListener
+          || listener instanceof VariableListenerInvocationListener
+          || listener instanceof SetTaskVariablesCmd)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  protected class BatchedHistoryListener extends VariableInstanceHistoryListener {
+
+    protected boolean deferred;
+
+    public BatchedHistoryListener(boolean deferred) {
+      this.deferred = deferred;
+    }
+
+    @Override
+    protected void processHistoryEvents(HistoryEventCreator creator) {
+      if (deferred) {
+        HistoryEventProducer producer = Context.getProcessEngineConfiguration().getHistoryEventProducer();
+        HistoryEvent historyEvent = creator.createHistoryEvent(producer);
+        if (historyEvent != null) {
+          historyEvents.add(historyEvent);
+        }
+      }
+      else {
+        flush();
+        super.processHistoryEvents(creator);
+      }
+    }
+
+  }
+
+}
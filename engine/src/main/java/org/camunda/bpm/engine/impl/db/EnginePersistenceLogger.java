@@ -752,4 +752,31 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
     ));
   }
 
+  public void couldNotPrefetchIdBlock(Exception e) {
+    logDebug(
+        "091", "Could not prefetch next id block, block will be fetched on demand: {}", e.getMessage());
+  }
+
+  public void deploymentCacheWarmedUp(int loaded, int total, long duration) {
+    logInfo(
+        "092", "Warmed up deployment cache with {} of {} process definitions in {} ms", loaded, total, duration);
+  }
+
+  public void couldNotWarmUpProcessDefinition(String processDefinitionId, Exception e) {
+    logWarn(
+        "093", "Could not load process definition '{}' into the deployment cache during warm-up, " +
+        "it will be loaded on first use: {}", processDefinitionId, e.getMessage());
+  }
+
+  public void couldNotWarmUpDeploymentCache(Exception e) {
+    logWarn(
+        "094", "Could not warm up the deployment cache, process definitions will be loaded on first use: {}", e.getMessage());
+  }
+
+  public void deploymentCacheWarmUpTimedOut(long timeout) {
+    logWarn(
+        "095", "Deployment cache warm-up did not finish within {} ms and was stopped, " +
+        "process definitions that are still being loaded are not waited for", timeout);
+  }
+
 }
@@ -0,0 +1,279 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.GetNextIdBlockCmd;
+
+/**
+ * <p>{@link DbIdGenerator} which hands out ids without locking and fetches the
+ * next id block before the current one is used up.</p>
+ *
+ * <p>Ids of the current block are allocated with an atomic counter. Once the id at the
+ * configured {@link #setPrefetchThreshold(int) prefetch threshold} is allocated, the next
+ * block is fetched on a background thread while all threads continue to allocate ids from
+ * the current block. Threads only have to wait if the current block is exhausted before
+ * the next block has been fetched.</p>
+ *
+ * <p>If a {@link #setNodePrefix(String) node prefix} is configured, the generator uses
+ * a dedicated id sequence property for this node and prefixes all ids with it, so that
+ * engines in a cluster do not contend on a single sequence row. The node prefix must be
+ * unique in the cluster.</p>
+ *
+ * <p>The engine {@link #close() closes} the generator when it is closed, so that no
+ * prefetch runs against a closed engine.</p>
+ */
+public class PrefetchingDbIdGenerator extends DbIdGenerator {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  public static final String NODE_PREFIX_SEPARATOR = "-";
+
+  public static final String PREFETCH_THREAD_NAME = "camunda-id-block-prefetch";
+
+  /** maximum time to wait for a running prefetch on close, in milliseconds */
+  public static final long CLOSE_TIMEOUT = 10000;
+
+  protected String nodePrefix;
+  protected int prefetchThreshold = -1;
+
+  protected volatile IdRange currentRange;
+  protected Future<IdRange> prefetchedRange;
+
+  protected ExecutorService prefetchExecutor;
+  protected boolean closed;
+
+  public PrefetchingDbIdGenerator() {
+    currentRange = IdRange.empty();
+  }
+
+  public String getNextId() {
+    while (true) {
+      IdRange range = currentRange;
+      long id = range.next.getAndIncrement();
+
+      if (id <= range.lastId) {
+        if (range.lastId - id == getEffectivePrefetchThreshold()) {
+          // exactly one thread per block reaches the threshold
+          prefetchNextRange();
+        }
+        return toId(id);
+      }
+      else {
+        switchRange(range);
+      }
+    }
+  }
+
+  protected synchronized void prefetchNextRange() {
+    if (prefetchedRange == null && !closed) {
+      try {
+        prefetchedRange = getPrefetchExecutor().submit(new Callable<IdRange>() {
+          public IdRange call() {
+            return fetchRange();
+          }
+        });
+      }
+      catch (RejectedExecutionException e) {
+        // the next block is fetched once the current one is exhausted
+        LOG.couldNotPrefetchIdBlock(e);
+      }
+    }
+  }
+
+  protected synchronized void switchRange(IdRange exhaustedRange) {
+    if (currentRange == exhaustedRange) {
+      IdRange nextRange = takePrefetchedRange();
+
+      if (nextRange == null) {
+        nextRange = fetchRange();
+      }
+      currentRange = nextRange;
+    }
+  }
+
+  /**
+   * Waits for the prefetched block if it is still being fetched.
+   *
+   * @return the prefetched block or null if none was prefetched or the prefetch failed
+   */
+  protected synchronized IdRange takePrefetchedRange() {
+    Future<IdRange> range = prefetchedRange;
+    prefetchedRange = null;
+
+    if (range == null) {
+      return null;
+    }
+
+    try {
+      return range.get();
+    }
+    catch (ExecutionException e) {
+      // the block is fetched on demand instead
+      LOG.couldNotPrefetchIdBlock(e);
+      return null;
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ProcessEngineException("Interrupted while waiting for the next id block", e);
+    }
+  }
+
+  protected synchronized ExecutorService getPrefetchExecutor() {
+    if (prefetchExecutor == null) {
+      // the single prefetch thread terminates when it is idle
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<Runnable>(), new PrefetchThreadFactory());
+      executor.allowCoreThreadTimeOut(true);
+      prefetchExecutor = executor;
+    }
+    return prefetchExecutor;
+  }
+
+  protected IdRange fetchRange() {
+    IdBlock idBlock = commandExecutor.execute(new GetNextIdBlockCmd(idBlockSize, getPropertyName()));
+    return new IdRange(idBlock.getNextId(), idBlock.getLastId());
+  }
+
+  protected String toId(long id) {
+    if (nodePrefix == null) {
+      return Long.toString(id);
+    }
+    else {
+      return nodePrefix + NODE_PREFIX_SEPARATOR + id;
+    }
+  }
+
+  protected String getPropertyName() {
+    if (nodePrefix == null) {
+      return GetNextIdBlockCmd.DEFAULT_PROPERTY_NAME;
+    }
+    else {
+      return GetNextIdBlockCmd.DEFAULT_PROPERTY_NAME + "." + nodePrefix;
+    }
+  }
+
+  protected int getEffectivePrefetchThreshold() {
+    if (prefetchThreshold < 0) {
+      // by default prefetch when half of the block is used
+      return idBlockSize / 2;
+    }
+    else {
+      return Math.min(prefetchThreshold, idBlockSize - 1);
+    }
+  }
+
+  public String getNodePrefix() {
+    return nodePrefix;
+  }
+
+  public void setNodePrefix(String nodePrefix) {
+    this.nodePrefix = nodePrefix;
+  }
+
+  public int getPrefetchThreshold() {
+    return prefetchThreshold;
+  }
+
+  /**
+   * @param prefetchThreshold the number of remaining ids of the current block
+   * at which the next block is fetched. If negative, the next block is fetched
+   * once half of the current block is used.
+   */
+  public void setPrefetchThreshold(int prefetchThreshold) {
+    this.prefetchThreshold = prefetchThreshold;
+  }
+
+  public synchronized void reset() {
+    super.reset();
+    currentRange = IdRange.empty();
+
+    if (prefetchedRange != null) {
+      prefetchedRange.cancel(false);
+      prefetchedRange = null;
+    }
+  }
+
+  /**
+   * Stops prefetching and waits up to {@link #CLOSE_TIMEOUT} for a running prefetch.
+   * Ids of the current block can still be allocated, further blocks are fetched on demand.
+   */
+  public void close() {
+    ExecutorService executor;
+    synchronized (this) {
+      closed = true;
+      if (prefetchedRange != null) {
+        prefetchedRange.cancel(false);
+        prefetchedRange = null;
+      }
+      executor = prefetchExecutor;
+    }
+
+    if (executor != null) {
+      executor.shutdown();
+      try {
+        executor.awaitTermination(CLOSE_TIMEOUT, TimeUnit.MILLISECONDS);
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  protected static class IdRange {
+
+    protected final AtomicLong next;
+    protected final long lastId;
+
+    public IdRange(long nextId, long lastId) {
+      this.next = new AtomicLong(nextId);
+      this.lastId = lastId;
+    }
+
+    /**
+     * @return a new range without ids; each generator needs its own
+     * instance since allocating an id increments the counter
+     */
+    public static IdRange empty() {
+      return new IdRange(0, -1);
+    }
+
+  }
+
+  protected static class PrefetchThreadFactory implements ThreadFactory {
+
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, PREFETCH_THREAD_NAME);
+      thread.setDaemon(true);
+      return thread;
+    }
+
+  }
+
+}
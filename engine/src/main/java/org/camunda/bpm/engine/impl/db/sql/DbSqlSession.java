@@ -211,8 +211,9 @@ public abstract class DbSqlSession extends AbstractPersistenceSession {
 
     boolean isConstraintViolation = ExceptionUtil.checkForeignKeyConstraintViolation(cause);
     boolean isVariableIntegrityViolation = ExceptionUtil.checkVariableIntegrityViolation(cause);
+    boolean isMeterRollupIntegrityViolation = ExceptionUtil.checkMeterRollupIntegrityViolation(cause);
 
-    if (isVariableIntegrityViolation) {
+    if (isVariableIntegrityViolation || isMeterRollupIntegrityViolation) {
 
       return true;
     } else if (
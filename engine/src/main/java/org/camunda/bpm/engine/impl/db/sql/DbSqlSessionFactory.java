@@ -235,6 +235,9 @@ public class DbSqlSessionFactory implements SessionFactory {
       // related to CAM-10664
       addDatabaseSpecificStatement(mysqlLikeDatabase, "updateOperationLogAnnotationByOperationId", "updateOperationLogAnnotationByOperationId_mysql");
 
+      addDatabaseSpecificStatement(mysqlLikeDatabase, "selectHistoryPartitions", "selectHistoryPartitions_mysql");
+      addDatabaseSpecificStatement(mysqlLikeDatabase, "dropHistoryPartition", "dropHistoryPartition_mysql");
+
       constants = new HashMap<>();
       constants.put("constant.event", "'event'");
       constants.put("constant.op_message", "CONCAT(NEW_VALUE_, '_|_', PROPERTY_)");
@@ -297,6 +300,22 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(POSTGRES, "selectResourcesByDeploymentId", "selectResourcesByDeploymentId_postgres");
     addDatabaseSpecificStatement(POSTGRES, "selectResourceById", "selectResourceById_postgres");
     addDatabaseSpecificStatement(POSTGRES, "selectLatestResourcesByDeploymentName", "selectLatestResourcesByDeploymentName_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "insertVariableInstance", "insertVariableInstance_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "updateVariableInstance", "updateVariableInstance_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "selectVariableInstance", "selectVariableInstance_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "selectVariablesByExecutionId", "selectVariablesByExecutionId_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "selectVariablesByProcessInstanceId", "selectVariablesByProcessInstanceId_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "selectVariablesByCaseExecutionId", "selectVariablesByCaseExecutionId_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "selectVariablesByTaskId", "selectVariablesByTaskId_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "selectVariableInstanceByQueryCriteria", "selectVariableInstanceByQueryCriteria_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "insertHistoricVariableInstance", "insertHistoricVariableInstance_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "updateHistoricVariableInstance", "updateHistoricVariableInstance_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "selectHistoricVariableInstance", "selectHistoricVariableInstance_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "selectHistoricVariableInstanceByVariableInstanceId", "selectHistoricVariableInstanceByVariableInstanceId_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "selectHistoricVariablesByProcessInstanceId", "selectHistoricVariablesByProcessInstanceId_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "selectHistoricVariablesByCaseInstanceId", "selectHistoricVariablesByCaseInstanceId_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "selectHistoricVariableInstanceByQueryCriteria", "selectHistoricVariableInstanceByQueryCriteria_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "selectHistoricVariableInstanceByNativeQuery", "selectHistoricVariableInstanceByNativeQuery_postgres");
     addDatabaseSpecificStatement(POSTGRES, "insertIdentityInfo", "insertIdentityInfo_postgres");
     addDatabaseSpecificStatement(POSTGRES, "updateIdentityInfo", "updateIdentityInfo_postgres");
     addDatabaseSpecificStatement(POSTGRES, "selectIdentityInfoById", "selectIdentityInfoById_postgres");
@@ -330,6 +349,9 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(POSTGRES, "deleteHistoricBatchesByRemovalTime", "deleteHistoricBatchesByRemovalTime_postgres_or_db2");
     addDatabaseSpecificStatement(POSTGRES, "deleteAuthorizationsByRemovalTime", "deleteAuthorizationsByRemovalTime_postgres_or_db2");
 
+    addDatabaseSpecificStatement(POSTGRES, "selectHistoryPartitions", "selectHistoryPartitions_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "dropHistoryPartition", "dropHistoryPartition_postgres");
+
     constants = new HashMap<>();
     constants.put("constant.event", "'event'");
     constants.put("constant.op_message", "NEW_VALUE_ || '_|_' || PROPERTY_");
@@ -388,6 +410,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(ORACLE, "selectHistoricDecisionInstanceIdsForCleanup", "selectHistoricDecisionInstanceIdsForCleanup_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectHistoricCaseInstanceIdsForCleanup", "selectHistoricCaseInstanceIdsForCleanup_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectHistoricBatchIdsForCleanup", "selectHistoricBatchIdsForCleanup_oracle");
+    addDatabaseSpecificStatement(ORACLE, "selectSignalEventSubscriptionDeploymentIdMappings", "selectSignalEventSubscriptionDeploymentIdMappings_oracle");
 
     addDatabaseSpecificStatement(ORACLE, "deleteAttachmentsByRemovalTime", "deleteAttachmentsByRemovalTime_oracle");
     addDatabaseSpecificStatement(ORACLE, "deleteCommentsByRemovalTime", "deleteCommentsByRemovalTime_oracle");
@@ -461,6 +484,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificCollationForCaseSensitivity.put(DB2, "");
 
     addDatabaseSpecificStatement(DB2, "selectMeterLogAggregatedByTimeInterval", "selectMeterLogAggregatedByTimeInterval_db2_or_mssql");
+    addDatabaseSpecificStatement(DB2, "selectMeterRollupAggregatedByTimeInterval", "selectMeterRollupAggregatedByTimeInterval_db2_or_mssql");
     addDatabaseSpecificStatement(DB2, "selectExecutionByNativeQuery", "selectExecutionByNativeQuery_mssql_or_db2");
     addDatabaseSpecificStatement(DB2, "selectHistoricActivityInstanceByNativeQuery", "selectHistoricActivityInstanceByNativeQuery_mssql_or_db2");
     addDatabaseSpecificStatement(DB2, "selectHistoricCaseActivityInstanceByNativeQuery", "selectHistoricCaseActivityInstanceByNativeQuery_mssql_or_db2");
@@ -545,6 +569,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificCollationForCaseSensitivity.put(MSSQL, "COLLATE Latin1_General_CS_AS");
 
     addDatabaseSpecificStatement(MSSQL, "selectMeterLogAggregatedByTimeInterval", "selectMeterLogAggregatedByTimeInterval_db2_or_mssql");
+    addDatabaseSpecificStatement(MSSQL, "selectMeterRollupAggregatedByTimeInterval", "selectMeterRollupAggregatedByTimeInterval_db2_or_mssql");
     addDatabaseSpecificStatement(MSSQL, "selectExecutionByNativeQuery", "selectExecutionByNativeQuery_mssql_or_db2");
     addDatabaseSpecificStatement(MSSQL, "selectHistoricActivityInstanceByNativeQuery", "selectHistoricActivityInstanceByNativeQuery_mssql_or_db2");
     addDatabaseSpecificStatement(MSSQL, "selectHistoricCaseActivityInstanceByNativeQuery", "selectHistoricCaseActivityInstanceByNativeQuery_mssql_or_db2");
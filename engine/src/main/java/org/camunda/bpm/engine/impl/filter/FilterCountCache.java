@@ -0,0 +1,116 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.filter;
+
+import java.util.ArrayList;
+
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.CacheFactory;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * Short-lived cache for filter result counts. Counts are kept per filter and
+ * per cache key (e.g. the authentication the count was computed for) and
+ * expire after the configured time to live. The cache holds at most the
+ * configured number of counts and evicts the least recently used ones.
+ */
+public class FilterCountCache {
+
+  protected static final String KEY_SEPARATOR = "|";
+
+  protected long timeToLive;
+
+  protected Cache<String, CachedCount> counts;
+
+  public FilterCountCache(CacheFactory cacheFactory, int capacity, long timeToLive) {
+    this.timeToLive = timeToLive;
+    this.counts = cacheFactory.createCache(capacity);
+  }
+
+  /**
+   * @return the cached count or <code>null</code> if no count is cached
+   * or the cached count has expired
+   */
+  public Long get(String filterId, String key) {
+    if (!isEnabled()) {
+      return null;
+    }
+
+    String cacheKey = getCacheKey(filterId, key);
+    CachedCount cachedCount = counts.get(cacheKey);
+    if (cachedCount != null) {
+      if (cachedCount.expiresAt > now()) {
+        return cachedCount.count;
+      }
+      else {
+        counts.remove(cacheKey);
+      }
+    }
+
+    return null;
+  }
+
+  public void put(String filterId, String key, long count) {
+    if (isEnabled()) {
+      counts.put(getCacheKey(filterId, key), new CachedCount(count, now() + timeToLive));
+    }
+  }
+
+  public void invalidate(String filterId) {
+    if (filterId != null) {
+      String prefix = filterId + KEY_SEPARATOR;
+      for (String cacheKey : new ArrayList<String>(counts.keySet())) {
+        if (cacheKey.startsWith(prefix)) {
+          counts.remove(cacheKey);
+        }
+      }
+    }
+  }
+
+  public void clear() {
+    counts.clear();
+  }
+
+  public boolean isEnabled() {
+    return timeToLive > 0;
+  }
+
+  public long getTimeToLive() {
+    return timeToLive;
+  }
+
+  protected String getCacheKey(String filterId, String key) {
+    return filterId + KEY_SEPARATOR + key;
+  }
+
+  protected long now() {
+    return ClockUtil.getCurrentTime().getTime();
+  }
+
+  protected static class CachedCount {
+
+    protected final long count;
+    protected final long expiresAt;
+
+    public CachedCount(long count, long expiresAt) {
+      this.count = count;
+      this.expiresAt = expiresAt;
+    }
+
+  }
+
+}
@@ -97,10 +97,31 @@ public class CompositeHistoryEventHandler implements HistoryEventHandler {
     }
   }
 
+  /**
+   * The events are handed on as a list only to the {@link DbHistoryEventHandler}
+   * and to nested composite handlers. Any other handler receives them one by one,
+   * since it may implement {@link #handleEvent(HistoryEvent)} only.
+   */
   @Override
   public void handleEvents(final List<HistoryEvent> historyEvents) {
-    for (HistoryEvent historyEvent : historyEvents) {
-      handleEvent(historyEvent);
+    for (HistoryEventHandler historyEventHandler : historyEventHandlers) {
+      handleEvents(historyEventHandler, historyEvents);
+    }
+  }
+
+  /**
+   * Hands the events to the given handler as a list if it is known to handle lists,
+   * and one by one otherwise.
+   */
+  public static void handleEvents(HistoryEventHandler historyEventHandler, List<HistoryEvent> historyEvents) {
+    if (historyEventHandler instanceof DbHistoryEventHandler
+        || historyEventHandler instanceof CompositeHistoryEventHandler) {
+      historyEventHandler.handleEvents(historyEvents);
+
+    } else {
+      for (HistoryEvent historyEvent : historyEvents) {
+        historyEventHandler.handleEvent(historyEvent);
+      }
     }
   }
 
@@ -310,7 +310,7 @@ public class DefaultHistoryEventProducer implements HistoryEventProducer {
     evt.setTextValue2(variableInstance.getTextValue2());
     evt.setDoubleValue(variableInstance.getDoubleValue());
     evt.setLongValue(variableInstance.getLongValue());
-    if (variableInstance.getByteArrayValueId() != null) {
+    if (variableInstance.getByteArrayValueId() != null || variableInstance.getInlineByteArrayValue() != null) {
       evt.setByteValue(variableInstance.getByteArrayValue());
     }
   }
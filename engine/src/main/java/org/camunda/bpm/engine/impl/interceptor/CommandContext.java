@@ -52,12 +52,15 @@ import org.camunda.bpm.engine.impl.identity.Authentication;
 import org.camunda.bpm.engine.impl.identity.ReadOnlyIdentityProvider;
 import org.camunda.bpm.engine.impl.identity.WritableIdentityProvider;
 import org.camunda.bpm.engine.impl.jobexecutor.FailedJobCommandFactory;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.instrumentation.EngineInstrumentation;
 import org.camunda.bpm.engine.impl.optimize.OptimizeManager;
 import org.camunda.bpm.engine.impl.persistence.entity.AttachmentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
 import org.camunda.bpm.engine.impl.persistence.entity.BatchManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayManager;
 import org.camunda.bpm.engine.impl.persistence.entity.CommentManager;
+import org.camunda.bpm.engine.impl.persistence.entity.CorrelationKeyManager;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionManager;
@@ -95,6 +98,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.TaskReportManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TenantManager;
 import org.camunda.bpm.engine.impl.persistence.entity.UserOperationLogManager;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceManager;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * @author Tom Baeyens
@@ -259,9 +263,21 @@ public class CommandContext {
   }
 
   protected void flushSessions() {
+    long startNanos = System.nanoTime();
     for (int i = 0; i< sessionList.size(); i++) {
       sessionList.get(i).flush();
     }
+    long durationNanos = System.nanoTime() - startNanos;
+    if (processEngineConfiguration.isMetricsEnabled()) {
+      MetricsRegistry metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+      if (metricsRegistry != null) {
+        metricsRegistry.recordLatency(Metrics.FLUSH_LATENCY, durationNanos);
+      }
+    }
+    EngineInstrumentation instrumentation = processEngineConfiguration.getEngineInstrumentation();
+    if (instrumentation != null) {
+      instrumentation.flushed(durationNanos);
+    }
   }
 
   protected void closeSessions(CommandInvocationContext commandInvocationContext) {
@@ -416,6 +432,10 @@ public class CommandContext {
     return getSession(EventSubscriptionManager.class);
   }
 
+  public CorrelationKeyManager getCorrelationKeyManager() {
+    return getSession(CorrelationKeyManager.class);
+  }
+
   public Map<Class< ? >, SessionFactory> getSessionFactories() {
     return sessionFactories;
   }
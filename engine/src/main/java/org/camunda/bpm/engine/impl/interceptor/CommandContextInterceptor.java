@@ -22,6 +22,9 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cmd.CommandLogger;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.context.ProcessEngineContextImpl;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.instrumentation.EngineInstrumentation;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * <p>Interceptor used for opening the {@link CommandContext} and {@link CommandInvocationContext}.</p>
@@ -89,6 +92,8 @@ public class CommandContextInterceptor extends CommandInterceptor {
     // only create a new command context on the current command level (CAM-10002)
     boolean isNew = ProcessEngineContextImpl.consume();
     boolean openNew = (context == null || isNew);
+    EngineInstrumentation instrumentation = processEngineConfiguration != null ? processEngineConfiguration.getEngineInstrumentation() : null;
+    long startNanos = (openNew || instrumentation != null) ? System.nanoTime() : 0;
 
     CommandInvocationContext commandInvocationContext = new CommandInvocationContext(command, processEngineConfiguration);
     Context.setCommandInvocationContext(commandInvocationContext);
@@ -125,6 +130,13 @@ public class CommandContextInterceptor extends CommandInterceptor {
         Context.removeCommandContext();
         Context.removeProcessEngineConfiguration();
 
+        if (openNew) {
+          recordCommandLatency(startNanos);
+        }
+        if (instrumentation != null) {
+          instrumentation.commandExecuted(command.getClass(), System.nanoTime() - startNanos, commandInvocationContext.getThrowable() != null);
+        }
+
         // restore the new command context flag
         ProcessEngineContextImpl.set(isNew);
       }
@@ -133,6 +145,15 @@ public class CommandContextInterceptor extends CommandInterceptor {
     return null;
   }
 
+  protected void recordCommandLatency(long startNanos) {
+    if (processEngineConfiguration != null && processEngineConfiguration.isMetricsEnabled()) {
+      MetricsRegistry metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+      if (metricsRegistry != null) {
+        metricsRegistry.recordLatency(Metrics.COMMAND_EXECUTION_LATENCY, System.nanoTime() - startNanos);
+      }
+    }
+  }
+
   protected boolean isFromSameEngine(CommandContext existingCommandContext) {
     return processEngineConfiguration == existingCommandContext.getProcessEngineConfiguration();
   }
@@ -16,8 +16,8 @@
  */
 package org.camunda.bpm.engine.impl.interceptor;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.concurrent.Callable;
 
 import org.apache.ibatis.exceptions.PersistenceException;
@@ -46,7 +46,7 @@ public class CommandInvocationContext {
   protected Throwable throwable;
   protected Command< ? > command;
   protected boolean isExecuting = false;
-  protected List<AtomicOperationInvocation> queuedInvocations = new ArrayList<AtomicOperationInvocation>();
+  protected Deque<AtomicOperationInvocation> queuedInvocations = new ArrayDeque<AtomicOperationInvocation>();
   protected BpmnStackTrace bpmnStackTrace = new BpmnStackTrace();
   protected ProcessDataContext processDataContext;
 
@@ -82,12 +82,12 @@ public class CommandInvocationContext {
 
   public void performOperation(final AtomicOperation executionOperation, final ExecutionEntity execution, final boolean performAsync) {
     AtomicOperationInvocation invocation = new AtomicOperationInvocation(executionOperation, execution, performAsync);
-    queuedInvocations.add(0, invocation);
+    queuedInvocations.push(invocation);
     performNext();
   }
 
   protected void performNext() {
-    AtomicOperationInvocation nextInvocation = queuedInvocations.get(0);
+    AtomicOperationInvocation nextInvocation = queuedInvocations.peek();
 
     if(nextInvocation.operation.isAsyncCapable() && isExecuting) {
       // will be picked up by while loop below
@@ -126,7 +126,7 @@ public class CommandInvocationContext {
   }
 
   protected void invokeNext() {
-    AtomicOperationInvocation invocation = queuedInvocations.remove(0);
+    AtomicOperationInvocation invocation = queuedInvocations.pop();
     try {
       invocation.execute(bpmnStackTrace, processDataContext);
     } catch(RuntimeException e) {
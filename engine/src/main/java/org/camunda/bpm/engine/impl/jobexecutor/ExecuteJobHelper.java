@@ -23,6 +23,10 @@ import org.camunda.bpm.engine.impl.cmd.ExecuteJobsCmd;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.ProcessDataContext;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.instrumentation.EngineInstrumentation;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.management.Metrics;
 
 public class ExecuteJobHelper {
 
@@ -53,8 +57,11 @@ public class ExecuteJobHelper {
 
   public static void executeJob(String nextJobId, CommandExecutor commandExecutor, JobFailureCollector jobFailureCollector, Command<Void> cmd,
       ProcessEngineConfigurationImpl configuration) {
+    long startNanos = System.nanoTime();
+    boolean failed = true;
     try {
       commandExecutor.execute(cmd);
+      failed = false;
     } catch (RuntimeException exception) {
       handleJobFailure(nextJobId, jobFailureCollector, exception);
       // throw the original exception to indicate the ExecuteJobCmd failed
@@ -64,6 +71,7 @@ public class ExecuteJobHelper {
       // wrap the exception and throw it to indicate the ExecuteJobCmd failed
       throw LOG.wrapJobExecutionFailure(jobFailureCollector, exception);
     } finally {
+      recordJobLatency(configuration, jobFailureCollector, startNanos, failed);
       // preserve MDC properties before listener invocation and clear MDC for job listener
       ProcessDataContext processDataContext = null;
       if (configuration != null) {
@@ -84,6 +92,25 @@ public class ExecuteJobHelper {
     }
   }
 
+  protected static void recordJobLatency(ProcessEngineConfigurationImpl configuration, JobFailureCollector jobFailureCollector,
+      long startNanos, boolean failed) {
+    if (configuration == null) {
+      return;
+    }
+    long durationNanos = System.nanoTime() - startNanos;
+    if (configuration.isMetricsEnabled()) {
+      MetricsRegistry metricsRegistry = configuration.getMetricsRegistry();
+      if (metricsRegistry != null) {
+        metricsRegistry.recordLatency(Metrics.JOB_EXECUTION_LATENCY, durationNanos);
+      }
+    }
+    EngineInstrumentation instrumentation = configuration.getEngineInstrumentation();
+    if (instrumentation != null) {
+      JobEntity job = jobFailureCollector.getJob();
+      instrumentation.jobExecuted(job != null ? job.getJobHandlerType() : null, durationNanos, failed);
+    }
+  }
+
   protected static void invokeJobListener(CommandExecutor commandExecutor, JobFailureCollector jobFailureCollector) {
     if(jobFailureCollector.getJobId() != null) {
       if (jobFailureCollector.getFailure() != null) {
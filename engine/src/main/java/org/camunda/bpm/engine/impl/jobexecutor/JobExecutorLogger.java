@@ -17,6 +17,7 @@
 package org.camunda.bpm.engine.impl.jobexecutor;
 
 import java.util.Collection;
+import java.util.List;
 
 import org.camunda.bpm.engine.OptimisticLockingException;
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -192,4 +193,16 @@ public class JobExecutorLogger extends ProcessEngineLogger {
       "Batch window for history cleanup was not calculated. History cleanup job(s) will be suspended.");
   }
 
+  public void createdHistoryPartitions(String tableName, List<String> partitionNames) {
+    logInfo(
+      "029",
+      "Created history partitions {} of table {}", partitionNames, tableName);
+  }
+
+  public void droppedHistoryPartition(String tableName, String partitionName) {
+    logInfo(
+      "030",
+      "Dropped expired history partition {} of table {}", partitionName, tableName);
+  }
+
 }
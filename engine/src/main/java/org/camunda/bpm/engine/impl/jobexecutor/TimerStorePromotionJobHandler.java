@@ -0,0 +1,77 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.TimerStorePromotionJobHandler.TimerStorePromotionJobConfiguration;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * Moves parked timers which become due within the timer store horizon to ACT_RU_JOB.
+ * The job is rescheduled after each run: immediately if the batch was full, otherwise
+ * after half of the horizon.
+ */
+public class TimerStorePromotionJobHandler implements JobHandler<TimerStorePromotionJobConfiguration> {
+
+  public static final String TYPE = "timer-store-promotion";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(TimerStorePromotionJobConfiguration configuration, ExecutionEntity execution, CommandContext commandContext, String tenantId) {
+    ProcessEngineConfigurationImpl engineConfiguration = commandContext.getProcessEngineConfiguration();
+    JobManager jobManager = commandContext.getJobManager();
+
+    long now = ClockUtil.getCurrentTime().getTime();
+    long horizonMillis = engineConfiguration.getTimerStoreHorizon() * 1000L;
+    int batchSize = engineConfiguration.getTimerStorePromotionBatchSize();
+
+    List<String> timerIds = jobManager.findParkedTimerIdsToPromote(new Date(now + horizonMillis), batchSize);
+    if (!timerIds.isEmpty()) {
+      jobManager.promoteParkedTimers(timerIds);
+    }
+
+    Date nextRun = timerIds.size() < batchSize ? new Date(now + horizonMillis / 2) : new Date(now);
+    jobManager.reschedule(commandContext.getCurrentJob(), nextRun);
+  }
+
+  public TimerStorePromotionJobConfiguration newConfiguration(String canonicalString) {
+    return new TimerStorePromotionJobConfiguration();
+  }
+
+  public void onDelete(TimerStorePromotionJobConfiguration configuration, JobEntity jobEntity) {
+    // do nothing
+  }
+
+  public static class TimerStorePromotionJobConfiguration implements JobHandlerConfiguration {
+
+    @Override
+    public String toCanonicalString() {
+      return null;
+    }
+
+  }
+
+}
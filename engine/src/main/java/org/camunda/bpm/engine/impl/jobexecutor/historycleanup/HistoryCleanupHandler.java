@@ -33,6 +33,12 @@ public abstract class HistoryCleanupHandler implements TransactionListener {
    */
   public final static int MAX_BATCH_SIZE = 500;
 
+  /**
+   * Maximum allowed batch size of the removal-time based cleanup. It deletes by
+   * removal time ranges instead of id lists, so its batches can be larger.
+   */
+  public final static int MAX_REMOVAL_TIME_BATCH_SIZE = 50000;
+
   protected HistoryCleanupJobHandlerConfiguration configuration;
   protected String jobId;
   protected CommandExecutor commandExecutor;
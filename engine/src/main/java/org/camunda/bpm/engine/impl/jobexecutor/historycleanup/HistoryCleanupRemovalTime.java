@@ -20,11 +20,13 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.camunda.bpm.engine.impl.batch.history.HistoricBatchEntity;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TableDataManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.management.Metrics;
 
@@ -36,6 +38,8 @@ public class HistoryCleanupRemovalTime extends HistoryCleanupHandler {
   protected Map<Class<? extends DbEntity>, DbOperation> deleteOperations = new HashMap<>();
 
   public void performCleanup() {
+    refreshHistoryPartitions();
+
     deleteOperations.putAll(performProcessCleanup());
 
     if (isDmnEnabled()) {
@@ -47,6 +51,18 @@ public class HistoryCleanupRemovalTime extends HistoryCleanupHandler {
     deleteOperations.put(batchCleanup.getEntityType(), batchCleanup);
   }
 
+  protected void refreshHistoryPartitions() {
+    HistoryPartitionManager partitionManager = Context
+        .getProcessEngineConfiguration()
+        .getHistoryPartitionManager();
+
+    if (partitionManager != null) {
+      // the partitions are maintained by a single one of the parallel cleanup jobs
+      boolean maintainPartitions = configuration.getMinuteFrom() == 0;
+      partitionManager.refreshPartitions(Context.getCommandContext(), maintainPartitions);
+    }
+  }
+
   protected Map<Class<? extends DbEntity>, DbOperation> performDmnCleanup() {
     return Context
         .getCommandContext()
@@ -89,9 +105,46 @@ public class HistoryCleanupRemovalTime extends HistoryCleanupHandler {
       reports.put(Metrics.HISTORY_CLEANUP_REMOVED_BATCH_OPERATIONS, (long) deleteOperationBatch.getRowsAffected());
     }
 
+    reports.putAll(reportRemovedRowsPerTable());
+
+    return reports;
+  }
+
+  /**
+   * Reports the number of removed rows of each table that was cleaned up,
+   * which gives the cleanup throughput per table and reporting interval.
+   */
+  protected Map<String, Long> reportRemovedRowsPerTable() {
+    Map<String, Long> reports = new HashMap<>();
+
+    for (DbOperation deleteOperation : deleteOperations.values()) {
+      int rowsAffected = deleteOperation.getRowsAffected();
+      String tableName = getTableName(deleteOperation.getEntityType());
+
+      if (rowsAffected > 0 && tableName != null) {
+        String metricName = Metrics.HISTORY_CLEANUP_REMOVED_ROWS + "-" + tableName.toLowerCase().replace('_', '-');
+        Long removedRows = reports.get(metricName);
+        reports.put(metricName, (removedRows != null ? removedRows : 0L) + rowsAffected);
+      }
+    }
+
     return reports;
   }
 
+  protected String getTableName(Class<?> entityType) {
+    TableDataManager tableDataManager = Context.getCommandContext().getTableDataManager();
+
+    // some delete operations are issued for subclasses of the mapped entity
+    for (Class<?> type = entityType; type != null; type = type.getSuperclass()) {
+      String tableName = tableDataManager.getTableName(type, false);
+      if (tableName != null) {
+        return tableName;
+      }
+    }
+
+    return null;
+  }
+
   protected boolean isDmnEnabled() {
     return Context
         .getProcessEngineConfiguration()
@@ -111,9 +164,14 @@ public class HistoryCleanupRemovalTime extends HistoryCleanupHandler {
   }
 
   public int getBatchSize() {
-    return Context
-        .getProcessEngineConfiguration()
-        .getHistoryCleanupBatchSize();
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+
+    Integer removalTimeBatchSize = processEngineConfiguration.getHistoryCleanupRemovalTimeBatchSize();
+    if (removalTimeBatchSize != null) {
+      return removalTimeBatchSize;
+    }
+
+    return processEngineConfiguration.getHistoryCleanupBatchSize();
   }
 
 }
@@ -113,9 +113,7 @@ public class HistoryCleanupSchedulerCmd implements Command<Void> {
   protected void reportMetrics(CommandContext commandContext) {
     ProcessEngineConfigurationImpl engineConfiguration = commandContext.getProcessEngineConfiguration();
     if (engineConfiguration.isHistoryCleanupMetricsEnabled()) {
-      for (Map.Entry<String, Long> report : reports.entrySet()){
-        engineConfiguration.getDbMetricsReporter().reportValueAtOnce(report.getKey(), report.getValue());
-      }
+      engineConfiguration.getDbMetricsReporter().reportValuesAtOnce(reports);
     }
   }
 
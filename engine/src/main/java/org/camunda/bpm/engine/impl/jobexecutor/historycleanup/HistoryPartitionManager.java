@@ -0,0 +1,413 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSession;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorLogger;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * Maintains the daily <code>REMOVAL_TIME_</code> range partitions of the history
+ * tables which were created with the optional partitioned history schema
+ * (<code>activiti.{postgres|mysql}.create.history.partitioned.sql</code>).
+ *
+ * <p>The removal-time based history cleanup refreshes the partition layout before
+ * it deletes rows. Partitions are created up to {@link #daysAhead} days in advance
+ * and a daily partition is dropped as soon as the whole day is removable, which
+ * replaces the row by row deletion of that day. Rows removable before the first
+ * daily partition are still deleted row by row.</p>
+ *
+ * <p>Tables which are not partitioned and databases other than PostgreSQL and
+ * MySQL are left untouched.</p>
+ */
+public class HistoryPartitionManager {
+
+  protected final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  public static final List<String> PARTITIONED_TABLES = Arrays.asList(
+    "ACT_HI_ACTINST",
+    "ACT_HI_TASKINST",
+    "ACT_HI_VARINST",
+    "ACT_HI_DETAIL",
+    "ACT_HI_IDENTITYLINK",
+    "ACT_HI_OP_LOG",
+    "ACT_HI_INCIDENT",
+    "ACT_HI_JOB_LOG",
+    "ACT_HI_EXT_TASK_LOG"
+  );
+
+  protected static final List<String> SUPPORTED_DATABASES = Arrays.asList(
+    DbSqlSessionFactory.POSTGRES,
+    DbSqlSessionFactory.MYSQL,
+    DbSqlSessionFactory.MARIADB
+  );
+
+  protected static final Pattern DAILY_PARTITION_PATTERN = Pattern.compile("P(\\d{8})");
+
+  protected static final String PAST_PARTITION_SUFFIX = "_PAST";
+  protected static final String FUTURE_PARTITION_SUFFIX = "_FUTURE";
+  protected static final String DETACHED_PARTITION_SUFFIX = "_DETACHED";
+  protected static final String MAX_PARTITION = "P_MAX";
+
+  protected int daysAhead;
+
+  /**
+   * Start of the first daily partition of each partitioned table as seen by the
+   * last refresh; rows removable from that day on are removed by dropping partitions.
+   */
+  protected Map<String, Date> firstPartitionStarts = new ConcurrentHashMap<>();
+
+  public HistoryPartitionManager(int daysAhead) {
+    this.daysAhead = daysAhead;
+  }
+
+  /**
+   * Reads the partition layout of the history tables and, if requested, creates the
+   * daily partitions ahead and drops the expired ones.
+   */
+  public void refreshPartitions(CommandContext commandContext, boolean maintainPartitions) {
+    DbSqlSession dbSqlSession = commandContext.getDbSqlSession();
+    String databaseType = dbSqlSession.getDbSqlSessionFactory().getDatabaseType();
+
+    if (!isSupported(databaseType)) {
+      return;
+    }
+
+    for (String tableName : getPartitionedTables()) {
+      TreeMap<Date, String> dailyPartitions;
+
+      if (maintainPartitions) {
+        dailyPartitions = maintainPartitionsInNewTransaction(commandContext, tableName);
+      } else {
+        dailyPartitions = getDailyPartitions(databaseType, tableName, selectPartitionNames(dbSqlSession, tableName));
+      }
+
+      if (dailyPartitions.isEmpty()) {
+        firstPartitionStarts.remove(tableName);
+      } else {
+        firstPartitionStarts.put(tableName, dailyPartitions.firstKey());
+      }
+    }
+  }
+
+  /**
+   * The partition DDL of a table runs in a transaction of its own: MySQL commits
+   * DDL statements implicitly and PostgreSQL holds an exclusive lock on the
+   * partitioned table until the end of the transaction, which must neither affect
+   * nor outlast the row deletion of the cleanup job.
+   */
+  protected TreeMap<Date, String> maintainPartitionsInNewTransaction(CommandContext commandContext, final String tableName) {
+    return commandContext.getProcessEngineConfiguration()
+      .getCommandExecutorTxRequiresNew()
+      .execute(new Command<TreeMap<Date, String>>() {
+        public TreeMap<Date, String> execute(CommandContext commandContext) {
+          return maintainPartitions(commandContext.getDbSqlSession(), tableName);
+        }
+      });
+  }
+
+  protected TreeMap<Date, String> maintainPartitions(DbSqlSession dbSqlSession, String tableName) {
+    String databaseType = dbSqlSession.getDbSqlSessionFactory().getDatabaseType();
+    Date today = getStartOfDay(ClockUtil.getCurrentTime());
+
+    List<String> partitionNames = selectPartitionNames(dbSqlSession, tableName);
+    TreeMap<Date, String> dailyPartitions = getDailyPartitions(databaseType, tableName, partitionNames);
+
+    if (!partitionNames.isEmpty()) {
+      createDailyPartitions(dbSqlSession, databaseType, tableName, partitionNames, dailyPartitions, today);
+      dropExpiredPartitions(dbSqlSession, tableName, dailyPartitions, today);
+    }
+
+    return dailyPartitions;
+  }
+
+  /**
+   * @return the removal time up to which the rows of the given table are deleted row by
+   * row; rows of daily partitions are left to the partition drop.
+   */
+  public Date getRowRemovalTime(String tableName, Date removalTime) {
+    Date firstPartitionStart = firstPartitionStarts.get(tableName);
+
+    if (firstPartitionStart == null || removalTime.before(firstPartitionStart)) {
+      return removalTime;
+    }
+
+    return new Date(firstPartitionStart.getTime() - 1);
+  }
+
+  protected boolean isSupported(String databaseType) {
+    return SUPPORTED_DATABASES.contains(databaseType);
+  }
+
+  protected List<String> getPartitionedTables() {
+    return PARTITIONED_TABLES;
+  }
+
+  /**
+   * @return the names of the partitions of the given table; the names of PostgreSQL
+   * partitions are returned without the table prefix.
+   */
+  @SuppressWarnings("unchecked")
+  protected List<String> selectPartitionNames(DbSqlSession dbSqlSession, String tableName) {
+    DbSqlSessionFactory dbSqlSessionFactory = dbSqlSession.getDbSqlSessionFactory();
+    String tableNamePrefix = getTableNamePrefix(dbSqlSessionFactory);
+
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("schemaName", getSchemaName(dbSqlSessionFactory));
+    parameters.put("partitionedTableName", tableNamePrefix + tableName);
+
+    List<String> partitionNames = (List<String>) dbSqlSession.selectList("selectHistoryPartitions", parameters);
+
+    if (tableNamePrefix.isEmpty() || !DbSqlSessionFactory.POSTGRES.equals(dbSqlSessionFactory.getDatabaseType())) {
+      return partitionNames;
+    }
+
+    List<String> unprefixedNames = new ArrayList<>();
+    for (String partitionName : partitionNames) {
+      if (partitionName.startsWith(tableNamePrefix.toUpperCase())) {
+        unprefixedNames.add(partitionName.substring(tableNamePrefix.length()));
+      }
+    }
+
+    return unprefixedNames;
+  }
+
+  /**
+   * @return the schema part of the table prefix or else the configured database schema,
+   * <code>null</code> if the tables are looked up in the current schema
+   */
+  protected String getSchemaName(DbSqlSessionFactory dbSqlSessionFactory) {
+    String databaseTablePrefix = dbSqlSessionFactory.getDatabaseTablePrefix();
+    int schemaSeparator = databaseTablePrefix.lastIndexOf('.');
+
+    if (schemaSeparator >= 0) {
+      return databaseTablePrefix.substring(0, schemaSeparator);
+    }
+
+    return dbSqlSessionFactory.getDatabaseSchema();
+  }
+
+  /**
+   * @return the table prefix without its schema part
+   */
+  protected String getTableNamePrefix(DbSqlSessionFactory dbSqlSessionFactory) {
+    String databaseTablePrefix = dbSqlSessionFactory.getDatabaseTablePrefix();
+    return databaseTablePrefix.substring(databaseTablePrefix.lastIndexOf('.') + 1);
+  }
+
+  protected TreeMap<Date, String> getDailyPartitions(String databaseType, String tableName, List<String> partitionNames) {
+    TreeMap<Date, String> dailyPartitions = new TreeMap<>();
+    String namePrefix = getPartitionNamePrefix(databaseType, tableName);
+
+    for (String partitionName : partitionNames) {
+      if (partitionName.startsWith(namePrefix)) {
+        Matcher matcher = DAILY_PARTITION_PATTERN.matcher(partitionName.substring(namePrefix.length()));
+
+        if (matcher.matches()) {
+          dailyPartitions.put(parseDay(matcher.group(1)), partitionName);
+        }
+      }
+    }
+
+    return dailyPartitions;
+  }
+
+  protected void createDailyPartitions(DbSqlSession dbSqlSession, String databaseType, String tableName,
+                                       List<String> partitionNames, TreeMap<Date, String> dailyPartitions, Date today) {
+    Date from = dailyPartitions.isEmpty() ? today : addDays(dailyPartitions.lastKey(), 1);
+    Date to = addDays(today, daysAhead);
+
+    if (!from.before(to)) {
+      return;
+    }
+
+    List<String> createdPartitions;
+    if (DbSqlSessionFactory.POSTGRES.equals(databaseType)) {
+      createdPartitions = createPostgresPartitions(dbSqlSession, tableName, partitionNames, dailyPartitions.isEmpty(), from, to);
+    } else {
+      createdPartitions = createMySqlPartitions(dbSqlSession, tableName, from, to);
+    }
+
+    for (Date day = from; day.before(to); day = addDays(day, 1)) {
+      dailyPartitions.put(day, getDailyPartitionName(databaseType, tableName, day));
+    }
+
+    LOG.createdHistoryPartitions(tableName, createdPartitions);
+  }
+
+  /**
+   * The future partition covers everything after the last daily partition. It is
+   * detached, the new daily partitions and a new future partition are created and
+   * its rows are moved back into the partitioned table.
+   */
+  protected List<String> createPostgresPartitions(DbSqlSession dbSqlSession, String tableName,
+                                                  List<String> partitionNames, boolean isFirstExtension, Date from, Date to) {
+    List<String> createdPartitions = new ArrayList<>();
+
+    String futurePartition = tableName + FUTURE_PARTITION_SUFFIX;
+    String detachedPartition = tableName + DETACHED_PARTITION_SUFFIX;
+
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("tableName", tableName);
+    parameters.put("partitionName", futurePartition);
+    // the new name of a renamed table is never schema qualified
+    parameters.put("newPartitionName", getTableNamePrefix(dbSqlSession.getDbSqlSessionFactory()) + detachedPartition);
+    dbSqlSession.executeUpdate("detachHistoryPartition", parameters);
+    dbSqlSession.executeUpdate("renameHistoryPartition", parameters);
+
+    String pastPartition = tableName + PAST_PARTITION_SUFFIX;
+    if (isFirstExtension && !partitionNames.contains(pastPartition)) {
+      createPostgresPartition(dbSqlSession, tableName, pastPartition, "MINVALUE", formatTimestamp(from));
+      createdPartitions.add(pastPartition);
+    }
+
+    for (Date day = from; day.before(to); day = addDays(day, 1)) {
+      String partitionName = getDailyPartitionName(DbSqlSessionFactory.POSTGRES, tableName, day);
+      createPostgresPartition(dbSqlSession, tableName, partitionName, formatTimestamp(day), formatTimestamp(addDays(day, 1)));
+      createdPartitions.add(partitionName);
+    }
+
+    createPostgresPartition(dbSqlSession, tableName, futurePartition, formatTimestamp(to), "MAXVALUE");
+
+    parameters.put("partitionName", detachedPartition);
+    dbSqlSession.executeUpdate("moveHistoryPartitionRows", parameters);
+    dbSqlSession.executeUpdate("dropHistoryPartition", parameters);
+
+    return createdPartitions;
+  }
+
+  protected void createPostgresPartition(DbSqlSession dbSqlSession, String tableName, String partitionName,
+                                         String fromValue, String toValue) {
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("tableName", tableName);
+    parameters.put("partitionName", partitionName);
+    parameters.put("fromValue", fromValue);
+    parameters.put("toValue", toValue);
+
+    dbSqlSession.executeUpdate("createHistoryPartition", parameters);
+  }
+
+  /**
+   * The highest partition <code>P_MAX</code> is split into the new daily partitions
+   * and a new <code>P_MAX</code>.
+   */
+  protected List<String> createMySqlPartitions(DbSqlSession dbSqlSession, String tableName, Date from, Date to) {
+    List<String> createdPartitions = new ArrayList<>();
+    StringBuilder partitionDefinitions = new StringBuilder();
+
+    for (Date day = from; day.before(to); day = addDays(day, 1)) {
+      String partitionName = getDailyPartitionName(DbSqlSessionFactory.MYSQL, tableName, day);
+      partitionDefinitions.append("partition ").append(partitionName)
+        .append(" values less than (").append(formatTimestamp(addDays(day, 1))).append("), ");
+      createdPartitions.add(partitionName);
+    }
+
+    partitionDefinitions.append("partition ").append(MAX_PARTITION).append(" values less than (MAXVALUE)");
+
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("tableName", tableName);
+    parameters.put("partitionName", MAX_PARTITION);
+    parameters.put("partitionDefinitions", partitionDefinitions.toString());
+
+    dbSqlSession.executeUpdate("reorganizeHistoryPartition", parameters);
+
+    return createdPartitions;
+  }
+
+  protected void dropExpiredPartitions(DbSqlSession dbSqlSession, String tableName,
+                                       TreeMap<Date, String> dailyPartitions, Date today) {
+    // a daily partition expires once its whole day lies before today
+    Map<Date, String> expiredPartitions = new TreeMap<>(dailyPartitions.headMap(today));
+
+    for (Map.Entry<Date, String> expiredPartition : expiredPartitions.entrySet()) {
+      dropPartition(dbSqlSession, tableName, expiredPartition.getValue());
+      dailyPartitions.remove(expiredPartition.getKey());
+
+      LOG.droppedHistoryPartition(tableName, expiredPartition.getValue());
+    }
+  }
+
+  protected void dropPartition(DbSqlSession dbSqlSession, String tableName, String partitionName) {
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("tableName", tableName);
+    parameters.put("partitionName", partitionName);
+
+    dbSqlSession.executeUpdate("dropHistoryPartition", parameters);
+  }
+
+  protected String getPartitionNamePrefix(String databaseType, String tableName) {
+    // PostgreSQL partitions are tables of their own, MySQL partitions are named per table
+    return DbSqlSessionFactory.POSTGRES.equals(databaseType) ? tableName + "_" : "";
+  }
+
+  protected String getDailyPartitionName(String databaseType, String tableName, Date day) {
+    return getPartitionNamePrefix(databaseType, tableName) + "P" + new SimpleDateFormat("yyyyMMdd").format(day);
+  }
+
+  protected String formatTimestamp(Date date) {
+    return "'" + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(date) + "'";
+  }
+
+  protected Date parseDay(String day) {
+    try {
+      return new SimpleDateFormat("yyyyMMdd").parse(day);
+    } catch (ParseException e) {
+      // cannot happen, the day is matched by the partition name pattern
+      throw new IllegalArgumentException(e);
+    }
+  }
+
+  protected Date getStartOfDay(Date date) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTime(date);
+    calendar.set(Calendar.HOUR_OF_DAY, 0);
+    calendar.set(Calendar.MINUTE, 0);
+    calendar.set(Calendar.SECOND, 0);
+    calendar.set(Calendar.MILLISECOND, 0);
+    return calendar.getTime();
+  }
+
+  protected Date addDays(Date date, int days) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTime(date);
+    calendar.add(Calendar.DAY_OF_MONTH, days);
+    return calendar.getTime();
+  }
+
+  public int getDaysAhead() {
+    return daysAhead;
+  }
+
+}
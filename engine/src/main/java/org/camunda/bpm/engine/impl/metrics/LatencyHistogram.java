@@ -0,0 +1,189 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Records latencies (in nanoseconds) into log-linear buckets in the style of
+ * HdrHistogram: every power of two is split into {@value #SUB_BUCKET_COUNT}
+ * linear sub-buckets, so values are tracked with a relative error of at most
+ * 12.5% over the whole range of <code>long</code> values in a fixed amount
+ * of memory.</p>
+ *
+ * <p>Recording is lock-free. {@link #getSnapshotAndReset()} takes an interval
+ * snapshot: every bucket is swapped atomically, so each recorded value ends up
+ * in exactly one interval.</p>
+ */
+public class LatencyHistogram {
+
+  protected static final int SUB_BUCKET_BITS = 3;
+  protected static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  protected static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+  protected String name;
+
+  protected AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  protected LongAdder totalNanos = new LongAdder();
+  protected AtomicLong maxNanos = new AtomicLong();
+
+  public LatencyHistogram(String name) {
+    this.name = name;
+  }
+
+  public void record(long nanos) {
+    if (nanos < 0) {
+      nanos = 0;
+    }
+    counts.incrementAndGet(bucketIndex(nanos));
+    totalNanos.add(nanos);
+
+    long max = maxNanos.get();
+    while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+      max = maxNanos.get();
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return a snapshot of all values recorded since the last reset
+   */
+  public Snapshot getSnapshot() {
+    long[] bucketCounts = new long[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      bucketCounts[i] = counts.get(i);
+    }
+    return new Snapshot(name, bucketCounts, totalNanos.sum(), maxNanos.get());
+  }
+
+  /**
+   * @return a snapshot of all values recorded since the last reset and resets the histogram
+   */
+  public synchronized Snapshot getSnapshotAndReset() {
+    long[] bucketCounts = new long[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      bucketCounts[i] = counts.getAndSet(i, 0);
+    }
+    long total = totalNanos.sum();
+    totalNanos.add(-total);
+    return new Snapshot(name, bucketCounts, total, maxNanos.getAndSet(0));
+  }
+
+  protected static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  /**
+   * @return the highest value which is recorded into the given bucket
+   */
+  protected static long bucketUpperBound(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+    long subBucket = index % SUB_BUCKET_COUNT;
+    long lowerBound = (SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS);
+    long width = 1L << (exponent - SUB_BUCKET_BITS);
+    return lowerBound + width - 1;
+  }
+
+  /**
+   * Immutable view on the values of a {@link LatencyHistogram}.
+   */
+  public static class Snapshot {
+
+    protected String name;
+    protected long[] bucketCounts;
+    protected long count;
+    protected long totalNanos;
+    protected long maxNanos;
+
+    public Snapshot(String name, long[] bucketCounts, long totalNanos, long maxNanos) {
+      this.name = name;
+      this.bucketCounts = bucketCounts;
+      this.totalNanos = totalNanos;
+      this.maxNanos = maxNanos;
+
+      for (long bucketCount : bucketCounts) {
+        count += bucketCount;
+      }
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getTotalNanos() {
+      return totalNanos;
+    }
+
+    public long getMaxNanos() {
+      return maxNanos;
+    }
+
+    public long getMeanNanos() {
+      return count == 0 ? 0 : totalNanos / count;
+    }
+
+    /**
+     * @param percentile a value between 0 and 100
+     * @return the highest value of the bucket that contains the given percentile,
+     * never more than the maximum recorded value
+     */
+    public long getValueAtPercentile(double percentile) {
+      if (count == 0) {
+        return 0;
+      }
+      long rank = (long) Math.ceil(Math.min(Math.max(percentile, 0), 100) / 100.0 * count);
+      rank = Math.max(rank, 1);
+
+      long seen = 0;
+      for (int i = 0; i < bucketCounts.length; i++) {
+        seen += bucketCounts[i];
+        if (seen >= rank) {
+          return Math.min(bucketUpperBound(i), maxNanos);
+        }
+      }
+      return maxNanos;
+    }
+
+    public String toString() {
+      return "Snapshot[name=" + name
+          + ", count=" + count
+          + ", meanNanos=" + getMeanNanos()
+          + ", p50Nanos=" + getValueAtPercentile(50)
+          + ", p99Nanos=" + getValueAtPercentile(99)
+          + ", maxNanos=" + maxNanos
+          + "]";
+    }
+  }
+
+}
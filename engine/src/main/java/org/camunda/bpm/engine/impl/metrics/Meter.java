@@ -16,17 +16,24 @@
  */
 package org.camunda.bpm.engine.impl.metrics;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * A Meter implementation based on AtomicLong
+ * A Meter implementation based on LongAdder
  *
  * @author Daniel Meyer
  *
  */
 public class Meter {
 
-  protected AtomicLong counter = new AtomicLong(0);
+  /**
+   * Striped counter: concurrent {@link #mark()} calls from many threads
+   * update different cells and do not contend on a single value.
+   */
+  protected LongAdder counter = new LongAdder();
+
+  /** the sum of all values returned by {@link #getAndClear()} */
+  protected long cleared;
 
   protected String name;
 
@@ -35,11 +42,11 @@ public class Meter {
   }
 
   public void mark() {
-    counter.incrementAndGet();
+    counter.increment();
   }
 
   public void markTimes(long times) {
-    counter.addAndGet(times);
+    counter.add(times);
   }
 
   public String getName() {
@@ -50,12 +57,28 @@ public class Meter {
     this.name = name;
   }
 
-  public long getAndClear() {
-    return counter.getAndSet(0);
+  /**
+   * Returns the current value and subtracts it from the counter. Occurrences
+   * which are marked concurrently are not lost but remain in the counter.
+   */
+  public synchronized long getAndClear() {
+    long value = counter.sum();
+    counter.add(-value);
+    cleared += value;
+    return value;
+  }
+
+  /**
+   * @return the number of occurrences since the meter was created, regardless of
+   * whether they were cleared in between. Useful for exporters which expect
+   * monotonic counters.
+   */
+  public synchronized long getTotal() {
+    return cleared + counter.sum();
   }
 
   public long get() {
-    return counter.get();
+    return counter.sum();
   }
 
 }
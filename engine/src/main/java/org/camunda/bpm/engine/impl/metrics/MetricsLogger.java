@@ -32,4 +32,19 @@ public class MetricsLogger extends ProcessEngineLogger {
         "001", "Could not collect and log metrics", e);
   }
 
+  public void logLatencySnapshot(LatencyHistogram.Snapshot snapshot) {
+    logDebug(
+        "002", "Collected latency histogram {}", snapshot);
+  }
+
+  public void jfrNotAvailable() {
+    logWarn(
+        "003", "Java Flight Recorder is not available in this JVM, engine operations are not recorded");
+  }
+
+  public void couldNotCreateJfrInstrumentation(Throwable e) {
+    logWarn(
+        "004", "Could not create the Java Flight Recorder instrumentation", e);
+  }
+
 }
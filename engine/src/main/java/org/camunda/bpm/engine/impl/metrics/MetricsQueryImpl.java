@@ -46,6 +46,11 @@ public class MetricsQueryImpl extends ListQueryParameterObject implements Serial
   protected Long endDateMilliseconds;
   protected Long interval;
   protected Boolean aggregateByReporter;
+  /**
+   * resolution (in seconds) of the rollup the interval query is answered from;
+   * the raw meter log is queried if null
+   */
+  protected Integer rollupResolution;
 
   protected transient CommandExecutor commandExecutor;
 
@@ -181,6 +186,14 @@ public class MetricsQueryImpl extends ListQueryParameterObject implements Serial
     return interval;
   }
 
+  public Integer getRollupResolution() {
+    return rollupResolution;
+  }
+
+  public void setRollupResolution(Integer rollupResolution) {
+    this.rollupResolution = rollupResolution;
+  }
+
   @Override
   public int getMaxResults() {
     if (maxResults > DEFAULT_LIMIT_SELECT_INTERVAL) {
@@ -16,8 +16,12 @@
  */
 package org.camunda.bpm.engine.impl.metrics;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * @author Daniel Meyer
@@ -25,7 +29,15 @@ import java.util.Map;
  */
 public class MetricsRegistry {
 
-  protected Map<String, Meter> meters = new HashMap<String, Meter>();
+  protected Map<String, Meter> meters = new ConcurrentHashMap<String, Meter>();
+
+  /** notified of every meter created after the listener was added */
+  protected List<Consumer<Meter>> meterListeners = new CopyOnWriteArrayList<Consumer<Meter>>();
+
+  protected Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<String, LatencyHistogram>();
+
+  /** the snapshots taken by the last call of {@link #collectHistogramSnapshots()} */
+  protected volatile Map<String, LatencyHistogram.Snapshot> histogramSnapshots = Collections.emptyMap();
 
   public Meter getMeterByName(String name) {
     return meters.get(name);
@@ -50,7 +62,87 @@ public class MetricsRegistry {
   public Meter createMeter(String name) {
     Meter meter = new Meter(name);
     meters.put(name, meter);
+    fireMeterCreated(meter);
+    return meter;
+  }
+
+  /**
+   * Returns the meter with the given name and registers it
+   * if it does not exist yet. Safe to call while the engine is running.
+   */
+  public Meter getOrCreateMeter(String name) {
+    Meter meter = meters.get(name);
+    if (meter == null) {
+      Meter newMeter = new Meter(name);
+      meter = meters.putIfAbsent(name, newMeter);
+
+      if (meter == null) {
+        meter = newMeter;
+        fireMeterCreated(meter);
+      }
+    }
     return meter;
   }
 
+  /**
+   * Adds a listener which is notified of every meter created from now on, e.g. to
+   * publish meters which are created while the engine is running.
+   */
+  public void addMeterListener(Consumer<Meter> listener) {
+    meterListeners.add(listener);
+  }
+
+  public void removeMeterListener(Consumer<Meter> listener) {
+    meterListeners.remove(listener);
+  }
+
+  protected void fireMeterCreated(Meter meter) {
+    for (Consumer<Meter> listener : meterListeners) {
+      listener.accept(meter);
+    }
+  }
+
+  public LatencyHistogram getHistogramByName(String name) {
+    return histograms.get(name);
+  }
+
+  public Map<String, LatencyHistogram> getHistograms() {
+    return histograms;
+  }
+
+  public LatencyHistogram createHistogram(String name) {
+    LatencyHistogram histogram = new LatencyHistogram(name);
+    histograms.put(name, histogram);
+    return histogram;
+  }
+
+  public void recordLatency(String name, long nanos) {
+    LatencyHistogram histogram = histograms.get(name);
+
+    if (histogram != null) {
+      histogram.record(nanos);
+    }
+  }
+
+  /**
+   * Takes an interval snapshot of every histogram and resets it.
+   *
+   * @return the snapshots by histogram name
+   */
+  public synchronized Map<String, LatencyHistogram.Snapshot> collectHistogramSnapshots() {
+    Map<String, LatencyHistogram.Snapshot> snapshots = new ConcurrentHashMap<String, LatencyHistogram.Snapshot>();
+    for (LatencyHistogram histogram : histograms.values()) {
+      snapshots.put(histogram.getName(), histogram.getSnapshotAndReset());
+    }
+    histogramSnapshots = Collections.unmodifiableMap(snapshots);
+    return histogramSnapshots;
+  }
+
+  /**
+   * @return the snapshots of the last completed collection interval
+   */
+  public Map<String, LatencyHistogram.Snapshot> getHistogramSnapshots() {
+    return histogramSnapshots;
+  }
+
 }
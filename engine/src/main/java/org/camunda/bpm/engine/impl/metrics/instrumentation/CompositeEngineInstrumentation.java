@@ -0,0 +1,66 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.instrumentation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Delegates to a list of {@link EngineInstrumentation}s.
+ */
+public class CompositeEngineInstrumentation implements EngineInstrumentation {
+
+  protected final List<EngineInstrumentation> instrumentations;
+
+  public CompositeEngineInstrumentation(EngineInstrumentation... instrumentations) {
+    this(Arrays.asList(instrumentations));
+  }
+
+  public CompositeEngineInstrumentation(List<EngineInstrumentation> instrumentations) {
+    this.instrumentations = new ArrayList<EngineInstrumentation>(instrumentations);
+  }
+
+  public void commandExecuted(Class<?> commandType, long durationNanos, boolean failed) {
+    for (int i = 0; i < instrumentations.size(); i++) {
+      instrumentations.get(i).commandExecuted(commandType, durationNanos, failed);
+    }
+  }
+
+  public void statementExecuted(String statementId, long durationNanos, boolean failed) {
+    for (int i = 0; i < instrumentations.size(); i++) {
+      instrumentations.get(i).statementExecuted(statementId, durationNanos, failed);
+    }
+  }
+
+  public void flushed(long durationNanos) {
+    for (int i = 0; i < instrumentations.size(); i++) {
+      instrumentations.get(i).flushed(durationNanos);
+    }
+  }
+
+  public void jobExecuted(String jobHandlerType, long durationNanos, boolean failed) {
+    for (int i = 0; i < instrumentations.size(); i++) {
+      instrumentations.get(i).jobExecuted(jobHandlerType, durationNanos, failed);
+    }
+  }
+
+  public List<EngineInstrumentation> getInstrumentations() {
+    return instrumentations;
+  }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.instrumentation;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+
+/**
+ * <p>SPI for recording where the engine spends its time. Set an implementation
+ * via {@link ProcessEngineConfigurationImpl#setEngineInstrumentation(EngineInstrumentation)}
+ * to receive the duration of every command, MyBatis statement, flush and job execution.</p>
+ *
+ * <p>Implementations are invoked synchronously on the engine's threads, so they
+ * must be thread-safe and return quickly. When no instrumentation is configured,
+ * the engine neither measures nor allocates anything for it.</p>
+ */
+public interface EngineInstrumentation {
+
+  /**
+   * Called after a command has been executed. Commands which are invoked from
+   * within other commands are reported as well, their time is contained in the
+   * time of the outer command.
+   */
+  void commandExecuted(Class<?> commandType, long durationNanos, boolean failed);
+
+  /**
+   * Called after a MyBatis statement has been executed. With JDBC batch processing,
+   * insert, update and delete statements are only added to a batch; the time it takes
+   * to send the batch is part of {@link #flushed(long)}.
+   */
+  void statementExecuted(String statementId, long durationNanos, boolean failed);
+
+  /**
+   * Called after the sessions of a command context have been flushed.
+   */
+  void flushed(long durationNanos);
+
+  /**
+   * Called after a job has been executed by the job executor.
+   *
+   * @param jobHandlerType the handler type of the job or <code>null</code> if the job could not be found
+   */
+  void jobExecuted(String jobHandlerType, long durationNanos, boolean failed);
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event written by {@link JfrEngineInstrumentation}.
+ */
+@Name("org.camunda.bpm.engine.Operation")
+@Label("Engine Operation")
+@Description("A command, SQL statement, flush or job executed by the process engine")
+@Category({"Camunda", "Process Engine"})
+@StackTrace(false)
+public class EngineOperationEvent extends Event {
+
+  @Label("Operation Type")
+  @Description("One of command, statement, flush or job")
+  protected String operationType;
+
+  @Label("Name")
+  @Description("The command class, statement id or job handler type")
+  protected String name;
+
+  @Label("Duration")
+  @Timespan(Timespan.NANOSECONDS)
+  protected long durationNanos;
+
+  @Label("Failed")
+  protected boolean failed;
+
+  public EngineOperationEvent(String operationType, String name, long durationNanos, boolean failed) {
+    this.operationType = operationType;
+    this.name = name;
+    this.durationNanos = durationNanos;
+    this.failed = failed;
+  }
+
+}
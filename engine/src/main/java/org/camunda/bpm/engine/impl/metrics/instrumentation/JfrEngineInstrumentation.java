@@ -0,0 +1,70 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.instrumentation;
+
+import jdk.jfr.EventType;
+
+/**
+ * <p>Writes an {@link EngineOperationEvent} to the Java Flight Recorder for every
+ * instrumented operation. Events are only created while a recording with the
+ * event enabled is running.</p>
+ *
+ * <p>Requires a JVM with the <code>jdk.jfr</code> API (Java 11 or OpenJDK 8u262 and later).
+ * Create it through {@link JfrEngineInstrumentationProvider}, which checks that the API
+ * is available before this class is loaded.</p>
+ */
+public class JfrEngineInstrumentation implements EngineInstrumentation {
+
+  public static final String OPERATION_COMMAND = "command";
+  public static final String OPERATION_STATEMENT = "statement";
+  public static final String OPERATION_FLUSH = "flush";
+  public static final String OPERATION_JOB = "job";
+
+  protected final EventType eventType = EventType.getEventType(EngineOperationEvent.class);
+
+  public void commandExecuted(Class<?> commandType, long durationNanos, boolean failed) {
+    if (eventType.isEnabled()) {
+      commit(OPERATION_COMMAND, commandType.getName(), durationNanos, failed);
+    }
+  }
+
+  public void statementExecuted(String statementId, long durationNanos, boolean failed) {
+    if (eventType.isEnabled()) {
+      commit(OPERATION_STATEMENT, statementId, durationNanos, failed);
+    }
+  }
+
+  public void flushed(long durationNanos) {
+    if (eventType.isEnabled()) {
+      commit(OPERATION_FLUSH, null, durationNanos, false);
+    }
+  }
+
+  public void jobExecuted(String jobHandlerType, long durationNanos, boolean failed) {
+    if (eventType.isEnabled()) {
+      commit(OPERATION_JOB, jobHandlerType, durationNanos, failed);
+    }
+  }
+
+  protected void commit(String operationType, String name, long durationNanos, boolean failed) {
+    EngineOperationEvent event = new EngineOperationEvent(operationType, name, durationNanos, failed);
+    if (event.shouldCommit()) {
+      event.commit();
+    }
+  }
+
+}
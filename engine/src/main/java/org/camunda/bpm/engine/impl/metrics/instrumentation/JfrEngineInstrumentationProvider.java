@@ -0,0 +1,69 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.instrumentation;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.metrics.MetricsLogger;
+
+/**
+ * <p>Creates a {@link JfrEngineInstrumentation} if the JVM provides the <code>jdk.jfr</code> API.</p>
+ *
+ * <p>{@link JfrEngineInstrumentation} and {@link EngineOperationEvent} are only loaded reflectively
+ * through this class, so that the engine keeps running on JVMs without Java Flight Recorder,
+ * e.g. OpenJDK 8 before 8u262 or IBM J9.</p>
+ */
+public class JfrEngineInstrumentationProvider {
+
+  protected static final MetricsLogger LOG = ProcessEngineLogger.METRICS_LOGGER;
+
+  public static final String JFR_EVENT_CLASS_NAME = "jdk.jfr.Event";
+  public static final String INSTRUMENTATION_CLASS_NAME = "org.camunda.bpm.engine.impl.metrics.instrumentation.JfrEngineInstrumentation";
+
+  public static boolean isJfrAvailable() {
+    try {
+      Class.forName(JFR_EVENT_CLASS_NAME, false, getClassLoader());
+      return true;
+    }
+    catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  /**
+   * @return the instrumentation or <code>null</code> if Java Flight Recorder is not available
+   */
+  public static EngineInstrumentation createInstrumentation() {
+    if (!isJfrAvailable()) {
+      LOG.jfrNotAvailable();
+      return null;
+    }
+
+    try {
+      Class<?> instrumentationClass = Class.forName(INSTRUMENTATION_CLASS_NAME, true, getClassLoader());
+      return (EngineInstrumentation) instrumentationClass.getDeclaredConstructor().newInstance();
+    }
+    catch (Exception | LinkageError e) {
+      LOG.couldNotCreateJfrInstrumentation(e);
+      return null;
+    }
+  }
+
+  protected static ClassLoader getClassLoader() {
+    return JfrEngineInstrumentationProvider.class.getClassLoader();
+  }
+
+}
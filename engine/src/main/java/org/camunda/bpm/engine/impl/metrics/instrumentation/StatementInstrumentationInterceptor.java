@@ -0,0 +1,79 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.instrumentation;
+
+import java.util.Properties;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+
+/**
+ * MyBatis plugin that reports the duration of every statement to the
+ * {@link EngineInstrumentation} of the current process engine. It is only
+ * registered if an instrumentation is configured.
+ */
+@Intercepts({
+  @Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }),
+  @Signature(type = Executor.class, method = "query", args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+  @Signature(type = Executor.class, method = "query", args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class })
+})
+public class StatementInstrumentationInterceptor implements Interceptor {
+
+  public Object intercept(Invocation invocation) throws Throwable {
+    EngineInstrumentation instrumentation = getEngineInstrumentation();
+    if (instrumentation == null) {
+      return invocation.proceed();
+    }
+
+    long startNanos = System.nanoTime();
+    boolean failed = true;
+    try {
+      Object result = invocation.proceed();
+      failed = false;
+      return result;
+
+    } finally {
+      MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+      instrumentation.statementExecuted(statement.getId(), System.nanoTime() - startNanos, failed);
+    }
+  }
+
+  protected EngineInstrumentation getEngineInstrumentation() {
+    // the sql session factory can be shared between engines
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+    return configuration != null ? configuration.getEngineInstrumentation() : null;
+  }
+
+  public Object plugin(Object target) {
+    return Plugin.wrap(target, this);
+  }
+
+  public void setProperties(Properties properties) {
+  }
+
+}
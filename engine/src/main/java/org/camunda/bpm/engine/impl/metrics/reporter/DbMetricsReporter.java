@@ -17,10 +17,12 @@
 package org.camunda.bpm.engine.impl.metrics.reporter;
 
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.Timer;
 
-import org.camunda.bpm.engine.impl.interceptor.Command;
-import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.persistence.entity.MeterLogEntity;
@@ -78,13 +80,22 @@ public class DbMetricsReporter {
   }
 
   public void reportValueAtOnce(final String name, final long value) {
-    commandExecutor.execute(new Command<Void>() {
-      @Override
-      public Void execute(CommandContext commandContext) {
-        commandContext.getMeterLogManager().insert(new MeterLogEntity(name, reporterId, value, ClockUtil.getCurrentTime()));
-        return null;
-      }
-    });
+    List<MeterLogEntity> logs = new ArrayList<MeterLogEntity>();
+    logs.add(new MeterLogEntity(name, reporterId, value, ClockUtil.getCurrentTime()));
+    metricsCollectionTask.insertLogs(logs);
+  }
+
+  /**
+   * Writes all given values to the meter log at once, bypassing the
+   * metrics registry.
+   */
+  public void reportValuesAtOnce(Map<String, Long> values) {
+    Date timestamp = ClockUtil.getCurrentTime();
+    List<MeterLogEntity> logs = new ArrayList<MeterLogEntity>();
+    for (Map.Entry<String, Long> value : values.entrySet()) {
+      logs.add(new MeterLogEntity(value.getKey(), reporterId, value.getValue(), timestamp));
+    }
+    metricsCollectionTask.insertLogs(logs);
   }
 
   public long getReportingIntervalInSeconds() {
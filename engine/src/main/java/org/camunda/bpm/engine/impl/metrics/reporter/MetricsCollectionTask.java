@@ -17,13 +17,17 @@
 package org.camunda.bpm.engine.impl.metrics.reporter;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.TimerTask;
 
+import org.camunda.bpm.engine.OptimisticLockingException;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.LatencyHistogram;
 import org.camunda.bpm.engine.impl.metrics.Meter;
 import org.camunda.bpm.engine.impl.metrics.MetricsLogger;
 import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
@@ -39,6 +43,8 @@ public class MetricsCollectionTask extends TimerTask {
 
   private final static MetricsLogger LOG = ProcessEngineLogger.METRICS_LOGGER;
 
+  public static final int MAX_INSERT_ATTEMPTS = 2;
+
   protected MetricsRegistry metricsRegistry;
   protected CommandExecutor commandExecutor;
   protected String reporterId = null;
@@ -64,6 +70,8 @@ public class MetricsCollectionTask extends TimerTask {
 
   protected void collectMetrics() {
 
+    collectHistogramSnapshots();
+
     final List<MeterLogEntity> logs = new ArrayList<MeterLogEntity>();
     for (Meter meter : metricsRegistry.getMeters().values()) {
       logs.add(new MeterLogEntity(meter.getName(),
@@ -73,15 +81,67 @@ public class MetricsCollectionTask extends TimerTask {
 
     }
 
-    commandExecutor.execute(new Command<Void>() {
+    insertLogs(logs, true);
+  }
 
-      public Void execute(CommandContext commandContext) {
-        for (MeterLogEntity meterLogEntity : logs) {
-          commandContext.getMeterLogManager().insert(meterLogEntity);
+  /**
+   * Inserts the given meter logs in a transaction of their own.
+   */
+  public void insertLogs(List<MeterLogEntity> logs) {
+    insertLogs(logs, false);
+  }
+
+  /**
+   * A concurrent report may insert the rollup of the same interval first,
+   * which fails the insert with an {@link OptimisticLockingException}. The
+   * logs are then inserted once more, adding their values to the rollup
+   * which was inserted in the meantime.
+   */
+  protected void insertLogs(final List<MeterLogEntity> logs, final boolean deleteExpiredRawLogs) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        commandExecutor.execute(new Command<Void>() {
+
+          public Void execute(CommandContext commandContext) {
+            commandContext.getMeterLogManager().insert(logs);
+            if (deleteExpiredRawLogs) {
+              deleteExpiredRawLogs(commandContext);
+            }
+            return null;
+          }
+        });
+        return;
+      }
+      catch (OptimisticLockingException e) {
+        if (attempt >= MAX_INSERT_ATTEMPTS) {
+          throw e;
         }
-        return null;
       }
-    });
+    }
+  }
+
+  /**
+   * Removes the raw meter logs which are older than the configured time to live.
+   * The hourly and daily rollups are kept.
+   */
+  protected void deleteExpiredRawLogs(CommandContext commandContext) {
+    Integer rawLogTimeToLive = commandContext.getProcessEngineConfiguration().getMetricsRawLogTimeToLive();
+    if (rawLogTimeToLive != null) {
+      long timeToLiveMillis = rawLogTimeToLive * 24L * 60 * 60 * 1000;
+      Date expirationDate = new Date(ClockUtil.getCurrentTime().getTime() - timeToLiveMillis);
+      commandContext.getMeterLogManager().deleteRawLogsByTimestamp(expirationDate);
+    }
+  }
+
+  /**
+   * Takes the interval snapshots of all latency histograms. They are not written
+   * to the database but kept by the {@link MetricsRegistry} for in-memory access.
+   */
+  protected void collectHistogramSnapshots() {
+    Map<String, LatencyHistogram.Snapshot> snapshots = metricsRegistry.collectHistogramSnapshots();
+    for (LatencyHistogram.Snapshot snapshot : snapshots.values()) {
+      LOG.logLatencySnapshot(snapshot);
+    }
   }
 
   public String getReporter() {
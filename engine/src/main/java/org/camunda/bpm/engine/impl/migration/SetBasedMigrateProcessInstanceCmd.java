@@ -0,0 +1,375 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.migration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.ProcessInstanceQueryImpl;
+import org.camunda.bpm.engine.impl.cfg.CommandChecker;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricIncidentEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricTaskInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.history.handler.CompositeDbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.AsyncContinuationJobHandler;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.IncidentEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TimerEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ProcessDefinitionImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
+import org.camunda.bpm.engine.migration.MigrationInstruction;
+import org.camunda.bpm.engine.migration.MigrationPlan;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+
+/**
+ * Migrates all process instances of a migration with a fixed number of bulk statements
+ * instead of parsing and migrating the activity instance tree of every process instance.
+ *
+ * <p>The command only migrates if the result equals the result of
+ * {@link MigrateProcessInstanceCmd}, which is the case if
+ * <ul>
+ *   <li>every instruction maps an activity to the activity with the same id and does not
+ *       update event triggers,</li>
+ *   <li>the mapped activities have the same behavior, type, scope, asynchronous continuations
+ *       and flow scope in both process definitions and are neither multi-instance activities
+ *       nor compensation handlers,</li>
+ *   <li>the boundary events and event sub process start events of the process and of the
+ *       mapped activities are the same in both process definitions and mapped as well,</li>
+ *   <li>history is written by the default database history event handler only and</li>
+ *   <li>all process instances belong to the source process definition and only have
+ *       executions, jobs, external tasks, incidents and event subscriptions of mapped
+ *       activities and no compensation state.</li>
+ * </ul>
+ * Otherwise, the command changes nothing and returns <code>false</code> so that the caller
+ * can fall back to {@link MigrateProcessInstanceCmd}.
+ */
+public class SetBasedMigrateProcessInstanceCmd extends AbstractMigrationCmd implements Command<Boolean> {
+
+  public SetBasedMigrateProcessInstanceCmd(MigrationPlanExecutionBuilderImpl executionBuilder) {
+    super(executionBuilder);
+  }
+
+  @Override
+  public Boolean execute(final CommandContext commandContext) {
+    MigrationPlan migrationPlan = executionBuilder.getMigrationPlan();
+    final List<String> processInstanceIds = new ArrayList<>(collectProcessInstanceIds());
+
+    // invalid input is reported by the per-instance migration
+    if (migrationPlan == null || processInstanceIds.isEmpty() || processInstanceIds.contains(null)) {
+      return false;
+    }
+
+    final ProcessDefinitionEntity sourceDefinition = resolveSourceProcessDefinition(commandContext);
+    final ProcessDefinitionEntity targetDefinition = resolveTargetProcessDefinition(commandContext);
+
+    Set<String> activityIds = collectMappedActivityIds(migrationPlan, sourceDefinition, targetDefinition);
+    if (activityIds == null || !isDefaultHistoryEventHandler(commandContext)) {
+      return false;
+    }
+
+    checkAuthorizations(commandContext, sourceDefinition, targetDefinition);
+
+    List<JobDefinitionEntity> sourceJobDefinitions = commandContext.getJobDefinitionManager()
+        .findByProcessDefinitionId(sourceDefinition.getId());
+    List<JobDefinitionEntity> targetJobDefinitions = commandContext.getJobDefinitionManager()
+        .findByProcessDefinitionId(targetDefinition.getId());
+    Map<String, String> jobDefinitionIds = mapJobDefinitions(sourceJobDefinitions, targetJobDefinitions);
+
+    final Map<String, Object> parameters = new HashMap<>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    parameters.put("activityIds", new ArrayList<>(activityIds));
+    parameters.put("sourceJobDefinitionIds", new ArrayList<>(jobDefinitionIds.keySet()));
+    parameters.put("targetProcessDefinitionId", targetDefinition.getId());
+    parameters.put("targetProcessDefinitionKey", targetDefinition.getKey());
+    parameters.put("targetDeploymentId", targetDefinition.getDeploymentId());
+    parameters.put("timerStoreEnabled", commandContext.getProcessEngineConfiguration().isTimerStoreEnabled());
+
+    boolean migratable = commandContext.runWithoutAuthorization(() ->
+        isMigratable(commandContext, processInstanceIds, sourceDefinition, targetDefinition, parameters));
+
+    if (!migratable) {
+      return false;
+    }
+
+    migrateRuntime(commandContext, parameters, jobDefinitionIds);
+    migrateHistory(commandContext, parameters, jobDefinitionIds, activityIds, sourceDefinition, targetDefinition);
+
+    return true;
+  }
+
+  /**
+   * @return the ids of the mapped activities or <code>null</code> if the migration plan
+   * cannot be executed with bulk statements
+   */
+  protected Set<String> collectMappedActivityIds(MigrationPlan migrationPlan,
+                                                 ProcessDefinitionEntity sourceDefinition,
+                                                 ProcessDefinitionEntity targetDefinition) {
+    Set<String> activityIds = new HashSet<>();
+    for (MigrationInstruction instruction : migrationPlan.getInstructions()) {
+      if (instruction.isUpdateEventTrigger()
+          || !instruction.getSourceActivityId().equals(instruction.getTargetActivityId())) {
+        return null;
+      }
+      activityIds.add(instruction.getSourceActivityId());
+    }
+
+    if (activityIds.isEmpty() || !hasSameEventActivities(sourceDefinition, targetDefinition, activityIds)) {
+      return null;
+    }
+
+    for (String activityId : activityIds) {
+      ActivityImpl sourceActivity = sourceDefinition.findActivity(activityId);
+      ActivityImpl targetActivity = targetDefinition.findActivity(activityId);
+
+      if (sourceActivity == null || targetActivity == null
+          || !isEquivalent(sourceActivity, targetActivity, activityIds)
+          || !hasSameEventActivities(sourceActivity, targetActivity, activityIds)) {
+        return null;
+      }
+    }
+
+    return activityIds;
+  }
+
+  protected boolean isEquivalent(ActivityImpl sourceActivity, ActivityImpl targetActivity, Set<String> activityIds) {
+    return getBehaviorClass(sourceActivity) == getBehaviorClass(targetActivity)
+        && Objects.equals(sourceActivity.getProperty("type"), targetActivity.getProperty("type"))
+        && sourceActivity.isScope() == targetActivity.isScope()
+        && sourceActivity.isAsyncBefore() == targetActivity.isAsyncBefore()
+        && sourceActivity.isAsyncAfter() == targetActivity.isAsyncAfter()
+        && !sourceActivity.isMultiInstance() && !targetActivity.isMultiInstance()
+        && !sourceActivity.isCompensationHandler() && !targetActivity.isCompensationHandler()
+        && hasSameFlowScope(sourceActivity, targetActivity, activityIds);
+  }
+
+  protected Class<?> getBehaviorClass(ActivityImpl activity) {
+    return activity.getActivityBehavior() != null ? activity.getActivityBehavior().getClass() : null;
+  }
+
+  protected boolean hasSameFlowScope(ActivityImpl sourceActivity, ActivityImpl targetActivity, Set<String> activityIds) {
+    ScopeImpl sourceFlowScope = sourceActivity.getFlowScope();
+    ScopeImpl targetFlowScope = targetActivity.getFlowScope();
+
+    if (sourceFlowScope instanceof ProcessDefinitionImpl) {
+      return targetFlowScope instanceof ProcessDefinitionImpl;
+    }
+    else {
+      return !(targetFlowScope instanceof ProcessDefinitionImpl)
+          && sourceFlowScope.getId().equals(targetFlowScope.getId())
+          && activityIds.contains(sourceFlowScope.getId());
+    }
+  }
+
+  protected boolean hasSameEventActivities(ScopeImpl sourceScope, ScopeImpl targetScope, Set<String> activityIds) {
+    Set<String> sourceEventActivityIds = collectIds(sourceScope.getEventActivities());
+    Set<String> targetEventActivityIds = collectIds(targetScope.getEventActivities());
+
+    return sourceEventActivityIds.equals(targetEventActivityIds) && activityIds.containsAll(sourceEventActivityIds);
+  }
+
+  protected Set<String> collectIds(Collection<ActivityImpl> activities) {
+    Set<String> ids = new HashSet<>();
+    for (ActivityImpl activity : activities) {
+      ids.add(activity.getId());
+    }
+    return ids;
+  }
+
+  protected boolean isDefaultHistoryEventHandler(CommandContext commandContext) {
+    ProcessEngineConfigurationImpl configuration = commandContext.getProcessEngineConfiguration();
+    HistoryEventHandler historyEventHandler = configuration.getHistoryEventHandler();
+
+    if (historyEventHandler == null) {
+      return false;
+    }
+    else if (historyEventHandler.getClass() == CompositeDbHistoryEventHandler.class) {
+      List<HistoryEventHandler> customHistoryEventHandlers = configuration.getCustomHistoryEventHandlers();
+      return customHistoryEventHandlers == null || customHistoryEventHandlers.isEmpty();
+    }
+    else {
+      return historyEventHandler.getClass() == DbHistoryEventHandler.class;
+    }
+  }
+
+  /**
+   * Maps the source job definitions to the target job definitions like the migrating
+   * instance parser does: by activity, job type and, for asynchronous continuations,
+   * job configuration.
+   */
+  protected Map<String, String> mapJobDefinitions(List<JobDefinitionEntity> sourceJobDefinitions,
+                                                  List<JobDefinitionEntity> targetJobDefinitions) {
+    Map<String, String> targetJobDefinitionIds = new HashMap<>();
+    for (JobDefinitionEntity targetJobDefinition : targetJobDefinitions) {
+      targetJobDefinitionIds.put(getJobDefinitionKey(targetJobDefinition), targetJobDefinition.getId());
+    }
+
+    Map<String, String> jobDefinitionIds = new HashMap<>();
+    for (JobDefinitionEntity sourceJobDefinition : sourceJobDefinitions) {
+      String targetJobDefinitionId = targetJobDefinitionIds.get(getJobDefinitionKey(sourceJobDefinition));
+      if (targetJobDefinitionId != null) {
+        jobDefinitionIds.put(sourceJobDefinition.getId(), targetJobDefinitionId);
+      }
+    }
+
+    return jobDefinitionIds;
+  }
+
+  protected String getJobDefinitionKey(JobDefinitionEntity jobDefinition) {
+    String key = jobDefinition.getActivityId() + "|" + jobDefinition.getJobType();
+    if (AsyncContinuationJobHandler.TYPE.equals(jobDefinition.getJobType())) {
+      key += "|" + jobDefinition.getJobConfiguration();
+    }
+    return key;
+  }
+
+  protected boolean isMigratable(CommandContext commandContext,
+                                 List<String> processInstanceIds,
+                                 ProcessDefinitionEntity sourceDefinition,
+                                 ProcessDefinitionEntity targetDefinition,
+                                 Map<String, Object> parameters) {
+    ProcessInstanceQueryImpl processInstanceQuery = new ProcessInstanceQueryImpl();
+    processInstanceQuery.processInstanceIds(new HashSet<>(processInstanceIds));
+    List<ProcessInstance> processInstances = processInstanceQuery.executeList(commandContext, null);
+
+    if (processInstances.size() != processInstanceIds.size()) {
+      return false;
+    }
+
+    List<CommandChecker> commandCheckers = commandContext.getProcessEngineConfiguration().getCommandCheckers();
+    for (ProcessInstance processInstance : processInstances) {
+      if (!sourceDefinition.getId().equals(processInstance.getProcessDefinitionId())) {
+        return false;
+      }
+      for (CommandChecker checker : commandCheckers) {
+        checker.checkMigrateProcessInstance((ExecutionEntity) processInstance, targetDefinition);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    List<Long> unmigratableCounts = commandContext.getDbEntityManager()
+        .selectList("selectUnmigratableElementCountsByProcessInstanceIds", parameters);
+    for (Long count : unmigratableCounts) {
+      if (count != null && count > 0) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  protected void migrateRuntime(CommandContext commandContext,
+                                Map<String, Object> parameters,
+                                Map<String, String> jobDefinitionIds) {
+    DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+
+    dbEntityManager.update(ExecutionEntity.class, "updateExecutionsProcessDefinitionByProcessInstanceIds", parameters);
+    dbEntityManager.update(TaskEntity.class, "updateTasksProcessDefinitionByProcessInstanceIds", parameters);
+    dbEntityManager.update(ExternalTaskEntity.class, "updateExternalTasksProcessDefinitionByProcessInstanceIds", parameters);
+    dbEntityManager.update(IncidentEntity.class, "updateIncidentsProcessDefinitionByProcessInstanceIds", parameters);
+
+    for (Map.Entry<String, String> jobDefinitionId : jobDefinitionIds.entrySet()) {
+      Map<String, Object> jobDefinitionParameters = withJobDefinition(parameters, jobDefinitionId);
+      dbEntityManager.update(JobEntity.class, "updateJobsProcessDefinitionByProcessInstanceIds", jobDefinitionParameters);
+      if (commandContext.getProcessEngineConfiguration().isTimerStoreEnabled()) {
+        dbEntityManager.update(TimerEntity.class, "updateParkedTimersProcessDefinitionByProcessInstanceIds", jobDefinitionParameters);
+      }
+      dbEntityManager.update(IncidentEntity.class, "updateIncidentsJobDefinitionByProcessInstanceIds", jobDefinitionParameters);
+    }
+  }
+
+  protected void migrateHistory(CommandContext commandContext,
+                                Map<String, Object> parameters,
+                                Map<String, String> jobDefinitionIds,
+                                Set<String> activityIds,
+                                ProcessDefinitionEntity sourceDefinition,
+                                ProcessDefinitionEntity targetDefinition) {
+    DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+    HistoryLevel historyLevel = commandContext.getProcessEngineConfiguration().getHistoryLevel();
+
+    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.PROCESS_INSTANCE_MIGRATE, null)) {
+      dbEntityManager.update(HistoricProcessInstanceEventEntity.class,
+          "updateHistoricProcessInstancesProcessDefinitionByProcessInstanceIds", parameters);
+    }
+
+    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.ACTIVITY_INSTANCE_MIGRATE, null)) {
+      dbEntityManager.update(HistoricActivityInstanceEventEntity.class,
+          "updateHistoricActivityInstancesProcessDefinitionByProcessInstanceIds", parameters);
+
+      for (String activityId : activityIds) {
+        Object sourceName = sourceDefinition.findActivity(activityId).getProperty("name");
+        Object targetName = targetDefinition.findActivity(activityId).getProperty("name");
+        if (!Objects.equals(sourceName, targetName)) {
+          Map<String, Object> activityParameters = new HashMap<>(parameters);
+          activityParameters.put("activityId", activityId);
+          activityParameters.put("activityName", targetName);
+          dbEntityManager.update(HistoricActivityInstanceEventEntity.class,
+              "updateHistoricActivityInstancesNameByProcessInstanceIds", activityParameters);
+        }
+      }
+    }
+
+    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.TASK_INSTANCE_MIGRATE, null)) {
+      dbEntityManager.update(HistoricTaskInstanceEventEntity.class,
+          "updateHistoricTaskInstancesProcessDefinitionByProcessInstanceIds", parameters);
+    }
+
+    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.VARIABLE_INSTANCE_MIGRATE, null)) {
+      dbEntityManager.update(HistoricVariableInstanceEntity.class,
+          "updateHistoricVariableInstancesProcessDefinitionByProcessInstanceIds", parameters);
+    }
+
+    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.INCIDENT_MIGRATE, null)) {
+      dbEntityManager.update(HistoricIncidentEventEntity.class,
+          "updateHistoricIncidentsProcessDefinitionByProcessInstanceIds", parameters);
+
+      for (Map.Entry<String, String> jobDefinitionId : jobDefinitionIds.entrySet()) {
+        dbEntityManager.update(HistoricIncidentEventEntity.class,
+            "updateHistoricIncidentsJobDefinitionByProcessInstanceIds", withJobDefinition(parameters, jobDefinitionId));
+      }
+    }
+  }
+
+  protected Map<String, Object> withJobDefinition(Map<String, Object> parameters, Map.Entry<String, String> jobDefinitionId) {
+    Map<String, Object> jobDefinitionParameters = new HashMap<>(parameters);
+    jobDefinitionParameters.put("sourceJobDefinitionId", jobDefinitionId.getKey());
+    jobDefinitionParameters.put("targetJobDefinitionId", jobDefinitionId.getValue());
+    return jobDefinitionParameters;
+  }
+
+}
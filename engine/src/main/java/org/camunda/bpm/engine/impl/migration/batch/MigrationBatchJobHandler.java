@@ -26,6 +26,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
 import org.camunda.bpm.engine.impl.json.MigrationBatchConfigurationJsonConverter;
 import org.camunda.bpm.engine.impl.migration.MigrationPlanExecutionBuilderImpl;
+import org.camunda.bpm.engine.impl.migration.SetBasedMigrateProcessInstanceCmd;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
@@ -96,13 +97,26 @@ public class MigrationBatchJobHandler extends AbstractBatchJobHandler<MigrationB
       executionBuilder.skipIoMappings();
     }
 
-    // uses internal API in order to skip writing user operation log (CommandContext#disableUserOperationLog
-    // is not sufficient with legacy engine config setting "restrictUserOperationLogToAuthenticatedUsers" = false)
-    ((MigrationPlanExecutionBuilderImpl) executionBuilder).execute(false);
+    if (!executeSetBased(commandContext, (MigrationPlanExecutionBuilderImpl) executionBuilder)) {
+      // uses internal API in order to skip writing user operation log (CommandContext#disableUserOperationLog
+      // is not sufficient with legacy engine config setting "restrictUserOperationLogToAuthenticatedUsers" = false)
+      ((MigrationPlanExecutionBuilderImpl) executionBuilder).execute(false);
+    }
 
     commandContext.getByteArrayManager().delete(configurationEntity);
   }
 
+  /**
+   * Migrates the process instances of the job with bulk statements if enabled and
+   * supported by the migration plan and the process instances.
+   *
+   * @return <code>true</code> if the process instances were migrated
+   */
+  protected boolean executeSetBased(CommandContext commandContext, MigrationPlanExecutionBuilderImpl executionBuilder) {
+    return commandContext.getProcessEngineConfiguration().isSetBasedBatchMigrationEnabled()
+        && new SetBasedMigrateProcessInstanceCmd(executionBuilder).execute(commandContext);
+  }
+
   protected ProcessDefinitionEntity getProcessDefinition(CommandContext commandContext, String processDefinitionId) {
     return commandContext.getProcessEngineConfiguration()
         .getDeploymentCache()
@@ -0,0 +1,80 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+
+/**
+ * <p>{@link IdGenerator} implementation which generates time-ordered
+ * UUIDs of version 7 (RFC 9562).</p>
+ *
+ * <p>The most significant 48 bits hold the unix timestamp in milliseconds,
+ * followed by a 12 bit counter which keeps ids generated in the same
+ * millisecond monotonic. The remaining bits are random. Ids of one generator
+ * are therefore strictly increasing, also in their string representation, so
+ * that inserts into B-tree indexes on id columns append to the right-most pages
+ * instead of random ones.</p>
+ *
+ * <p>Ids are generated lock-free. If more than 4096 ids are requested within
+ * one millisecond, the counter overflows into the timestamp, i.e. the generator
+ * runs slightly ahead of the clock until the rate drops.</p>
+ */
+public class TimeOrderedUuidGenerator implements IdGenerator {
+
+  protected static final int COUNTER_BITS = 12;
+  protected static final long VERSION = 0x7000L;
+  protected static final long VARIANT = 0x8000000000000000L;
+  protected static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+  // different ProcessEngines on the same classloader share the state
+  // so that their ids are ordered among each other as well
+  protected static final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+  public String getNextId() {
+    long timestampAndCounter = nextTimestampAndCounter();
+
+    long mostSigBits = ((timestampAndCounter >>> COUNTER_BITS) << 16)
+        | VERSION
+        | (timestampAndCounter & ((1L << COUNTER_BITS) - 1));
+
+    long leastSigBits = (ThreadLocalRandom.current().nextLong() & RANDOM_MASK) | VARIANT;
+
+    return new UUID(mostSigBits, leastSigBits).toString();
+  }
+
+  protected long nextTimestampAndCounter() {
+    long now = currentTimeMillis() << COUNTER_BITS;
+
+    while (true) {
+      long last = lastTimestampAndCounter.get();
+      long next = Math.max(now, last + 1);
+
+      if (lastTimestampAndCounter.compareAndSet(last, next)) {
+        return next;
+      }
+    }
+  }
+
+  protected long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+}
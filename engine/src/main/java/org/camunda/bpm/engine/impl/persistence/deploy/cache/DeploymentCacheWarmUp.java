@@ -0,0 +1,240 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+
+/**
+ * Loads the latest versions of the most recently deployed process definitions
+ * into the {@link DeploymentCache} at engine startup, so that the first
+ * commands after a restart do not have to parse them.
+ *
+ * <p>The definitions are loaded in parallel on daemon threads. {@link #start()}
+ * returns immediately, so engine startup does not wait for the warm-up. The
+ * warm-up is best effort: a definition that fails to load or is not loaded
+ * before the timeout is loaded lazily on first use, as without warm-up. The
+ * warm-up is {@link State#COMPLETED} only once all loading threads have
+ * terminated. If they have not terminated one more timeout after the
+ * remaining definitions were dropped, the warm-up gives up and is
+ * {@link State#STOPPED}.</p>
+ */
+public class DeploymentCacheWarmUp {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  public enum State {
+    NOT_STARTED, RUNNING, COMPLETED, STOPPED
+  }
+
+  protected static final String THREAD_NAME = "camunda-deployment-cache-warm-up";
+
+  protected final CommandExecutor commandExecutor;
+  protected final int size;
+  protected final int threads;
+  protected final long timeout;
+
+  protected volatile State state = State.NOT_STARTED;
+  protected volatile int total;
+  protected final AtomicInteger loaded = new AtomicInteger();
+  protected final AtomicInteger failed = new AtomicInteger();
+
+  protected Thread thread;
+  protected volatile ExecutorService executorService;
+  protected volatile boolean stopped;
+
+  /**
+   * @param size the maximum number of definitions to load
+   * @param threads the number of threads loading definitions
+   * @param timeout the maximum time to wait for the warm-up in milliseconds
+   */
+  public DeploymentCacheWarmUp(CommandExecutor commandExecutor, int size, int threads, long timeout) {
+    this.commandExecutor = commandExecutor;
+    this.size = size;
+    this.threads = threads;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Starts the warm-up in the background and returns immediately.
+   */
+  public synchronized void start() {
+    state = State.RUNNING;
+    thread = new Thread(new Runnable() {
+      public void run() {
+        try {
+          warmUp();
+        }
+        catch (RuntimeException e) {
+          state = State.STOPPED;
+          LOG.couldNotWarmUpDeploymentCache(e);
+        }
+      }
+    }, THREAD_NAME);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Stops a running warm-up and waits until its threads have terminated.
+   */
+  public synchronized void stop() {
+    stopped = true;
+    ExecutorService executorService = this.executorService;
+    if (executorService != null) {
+      executorService.shutdownNow();
+    }
+    if (thread != null) {
+      thread.interrupt();
+      try {
+        thread.join();
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Performs the warm-up in the calling thread.
+   */
+  public void warmUp() {
+    state = State.RUNNING;
+    long start = ClockUtil.getCurrentTime().getTime();
+
+    List<ProcessDefinition> definitions = commandExecutor.execute(new Command<List<ProcessDefinition>>() {
+      public List<ProcessDefinition> execute(CommandContext commandContext) {
+        return commandContext.getProcessEngineConfiguration()
+            .getRepositoryService()
+            .createProcessDefinitionQuery()
+            .latestVersion()
+            .orderByDeploymentTime()
+            .desc()
+            .listPage(0, size);
+      }
+    });
+    total = definitions.size();
+
+    ExecutorService executorService = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, total)), new WarmUpThreadFactory());
+    this.executorService = executorService;
+    boolean terminated = false;
+    try {
+      for (final ProcessDefinition definition : definitions) {
+        executorService.execute(new Runnable() {
+          public void run() {
+            if (!stopped) {
+              load(definition.getId());
+            }
+          }
+        });
+      }
+      executorService.shutdown();
+      if (!executorService.awaitTermination(timeout, TimeUnit.MILLISECONDS)) {
+        // drop the definitions not yet started and give the running ones one more timeout
+        executorService.shutdownNow();
+        if (!executorService.awaitTermination(timeout, TimeUnit.MILLISECONDS)) {
+          LOG.deploymentCacheWarmUpTimedOut(timeout);
+          return;
+        }
+      }
+      terminated = true;
+    }
+    catch (InterruptedException e) {
+      executorService.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+    finally {
+      state = terminated && !stopped ? State.COMPLETED : State.STOPPED;
+    }
+
+    LOG.deploymentCacheWarmedUp(loaded.get(), total, ClockUtil.getCurrentTime().getTime() - start);
+  }
+
+  protected void load(final String processDefinitionId) {
+    try {
+      commandExecutor.execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          commandContext.getProcessEngineConfiguration()
+              .getDeploymentCache()
+              .findDeployedProcessDefinitionById(processDefinitionId);
+          return null;
+        }
+      });
+      loaded.incrementAndGet();
+    }
+    catch (RuntimeException e) {
+      failed.incrementAndGet();
+      LOG.couldNotWarmUpProcessDefinition(processDefinitionId, e);
+    }
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  /**
+   * @return true once the warm-up is completed, regardless of how many
+   * definitions could be loaded
+   */
+  public boolean isCompleted() {
+    return state == State.COMPLETED;
+  }
+
+  /**
+   * @return true while definitions are loaded or loading threads have not yet terminated
+   */
+  public boolean isRunning() {
+    return state == State.RUNNING;
+  }
+
+  public int getTotal() {
+    return total;
+  }
+
+  public int getLoaded() {
+    return loaded.get();
+  }
+
+  public int getFailed() {
+    return failed.get();
+  }
+
+  protected static class WarmUpThreadFactory implements ThreadFactory {
+
+    protected final AtomicInteger threadNumber = new AtomicInteger();
+
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, THREAD_NAME + "-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+}
@@ -40,8 +40,17 @@ public abstract class ModelInstanceCache<InstanceType extends ModelInstance, Def
   protected Cache<String, InstanceType> instanceCache;
   protected ResourceDefinitionCache<DefinitionType> definitionCache;
 
+  // the id of the definition which was last loaded from a deployment resource; the
+  // definitions of a resource share its model instance, which is held by the instance
+  // cache only, so the capacity bounds the number of cached model instances
+  protected Cache<String, String> resourceDefinitionIds;
+  // the reverse of resourceDefinitionIds, to remove a definition without scanning it
+  protected Cache<String, String> definitionResourceKeys;
+
   public ModelInstanceCache(CacheFactory factory, int cacheCapacity, ResourceDefinitionCache<DefinitionType> definitionCache) {
     this.instanceCache = factory.createCache(cacheCapacity);
+    this.resourceDefinitionIds = factory.createCache(cacheCapacity);
+    this.definitionResourceKeys = factory.createCache(cacheCapacity);
     this.definitionCache = definitionCache;
   }
 
@@ -63,6 +72,27 @@ public abstract class ModelInstanceCache<InstanceType extends ModelInstance, Def
   }
 
   protected InstanceType loadAndCacheBpmnModelInstance(final DefinitionType definitionEntity) {
+    String resourceKey = getResourceKey(definitionEntity.getDeploymentId(), definitionEntity.getResourceName());
+
+    // another definition of the same resource may already have parsed it;
+    // the content of a deployment resource never changes
+    InstanceType bpmnModelInstance = null;
+    String resourceDefinitionId = resourceDefinitionIds.get(resourceKey);
+    if (resourceDefinitionId != null) {
+      bpmnModelInstance = instanceCache.get(resourceDefinitionId);
+    }
+
+    if (bpmnModelInstance == null) {
+      bpmnModelInstance = loadBpmnModelInstance(definitionEntity);
+    }
+
+    instanceCache.put(definitionEntity.getId(), bpmnModelInstance);
+    resourceDefinitionIds.put(resourceKey, definitionEntity.getId());
+    definitionResourceKeys.put(definitionEntity.getId(), resourceKey);
+    return bpmnModelInstance;
+  }
+
+  protected InstanceType loadBpmnModelInstance(final DefinitionType definitionEntity) {
     final CommandContext commandContext = Context.getCommandContext();
     InputStream bpmnResourceInputStream = commandContext.runWithoutAuthorization(new Callable<InputStream>() {
       public InputStream call() throws Exception {
@@ -71,21 +101,25 @@ public abstract class ModelInstanceCache<InstanceType extends ModelInstance, Def
     });
 
     try {
-      InstanceType bpmnModelInstance = readModelFromStream(bpmnResourceInputStream);
-      instanceCache.put(definitionEntity.getId(), bpmnModelInstance);
-      return bpmnModelInstance;
+      return readModelFromStream(bpmnResourceInputStream);
     } catch (Exception e) {
       throwLoadModelException(definitionEntity.getId(), e);
     }
     return null;
   }
 
+  protected String getResourceKey(String deploymentId, String resourceName) {
+    return deploymentId + "/" + resourceName;
+  }
+
   public void removeAllDefinitionsByDeploymentId(final String deploymentId) {
     // remove all definitions for a specific deployment
     List<? extends ResourceDefinition> allDefinitionsForDeployment = getAllDefinitionsForDeployment(deploymentId);
     for (ResourceDefinition definition : allDefinitionsForDeployment) {
       try {
         instanceCache.remove(definition.getId());
+        resourceDefinitionIds.remove(getResourceKey(deploymentId, definition.getResourceName()));
+        definitionResourceKeys.remove(definition.getId());
         definitionCache.removeDefinitionFromCache(definition.getId());
 
       } catch (Exception e) {
@@ -96,10 +130,20 @@ public abstract class ModelInstanceCache<InstanceType extends ModelInstance, Def
 
   public void remove(String definitionId) {
     instanceCache.remove(definitionId);
+
+    // another definition of the resource may have been loaded since, its model instance
+    // is then parsed again when the next definition of the resource is loaded
+    String resourceKey = definitionResourceKeys.get(definitionId);
+    if (resourceKey != null) {
+      definitionResourceKeys.remove(definitionId);
+      resourceDefinitionIds.remove(resourceKey);
+    }
   }
 
   public void clear() {
     instanceCache.clear();
+    resourceDefinitionIds.clear();
+    definitionResourceKeys.clear();
   }
 
   public Cache<String, InstanceType> getCache() {
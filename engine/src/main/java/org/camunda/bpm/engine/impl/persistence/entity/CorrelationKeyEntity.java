@@ -0,0 +1,118 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+
+/**
+ * Entry of the correlation key index.
+ *
+ * <p>An entry either indexes the value of a correlation key declared by a message
+ * event for one event subscription (<code>eventSubscriptionId</code> is set), or it
+ * records that every message event subscription of the event name indexes the key
+ * (<code>processDefinitionId</code> of the definition whose deployment verified it is set).
+ *
+ * @see CorrelationKeyManager
+ */
+public class CorrelationKeyEntity implements DbEntity, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String id;
+  protected String eventName;
+  protected String keyName;
+  protected Integer valueHash;
+  protected String eventSubscriptionId;
+  protected String executionId;
+  protected String processDefinitionId;
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getEventName() {
+    return eventName;
+  }
+
+  public void setEventName(String eventName) {
+    this.eventName = eventName;
+  }
+
+  public String getKeyName() {
+    return keyName;
+  }
+
+  public void setKeyName(String keyName) {
+    this.keyName = keyName;
+  }
+
+  public Integer getValueHash() {
+    return valueHash;
+  }
+
+  public void setValueHash(Integer valueHash) {
+    this.valueHash = valueHash;
+  }
+
+  public String getEventSubscriptionId() {
+    return eventSubscriptionId;
+  }
+
+  public void setEventSubscriptionId(String eventSubscriptionId) {
+    this.eventSubscriptionId = eventSubscriptionId;
+  }
+
+  public String getExecutionId() {
+    return executionId;
+  }
+
+  public void setExecutionId(String executionId) {
+    this.executionId = executionId;
+  }
+
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  public void setProcessDefinitionId(String processDefinitionId) {
+    this.processDefinitionId = processDefinitionId;
+  }
+
+  public Object getPersistentState() {
+    // entries are never updated, only inserted and deleted
+    return CorrelationKeyEntity.class;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+      + "[id=" + id
+      + ", eventName=" + eventName
+      + ", keyName=" + keyName
+      + ", valueHash=" + valueHash
+      + ", eventSubscriptionId=" + eventSubscriptionId
+      + ", executionId=" + executionId
+      + ", processDefinitionId=" + processDefinitionId
+      + "]";
+  }
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.camunda.bpm.engine.impl.bpmn.helper.BpmnProperties;
+import org.camunda.bpm.engine.impl.bpmn.parser.EventSubscriptionDeclaration;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.event.EventType;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ProcessDefinitionImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
+import org.camunda.bpm.engine.variable.value.PrimitiveValue;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+
+/**
+ * Maintains an index of the values of the correlation keys that message events declare with
+ * <code>camunda:correlationKey</code> extension elements.
+ *
+ * <p>For every message event subscription of an execution, the index holds one entry per declared
+ * key with the hash of the value that the process variable of that name had when the subscription
+ * was created. If every message event subscription of an event name has entries for a key, a coverage
+ * entry without subscription records that. Message correlation by that key then looks up the candidate
+ * executions in the index instead of joining the variable table. Coverage entries are created when a
+ * process definition whose message events all declare the key is deployed and no subscription lacks
+ * entries for it; they are removed as soon as a subscription without the key is created.
+ *
+ * <p>When a process variable that is declared as a correlation key is created, updated or deleted,
+ * the hashes of the entries of its process instance are updated.
+ *
+ * <p>If the index is disabled, the table is not touched at all. Since subscriptions are then created
+ * and deleted without maintaining their entries, all entries are removed when the engine starts with
+ * the index disabled, see {@link #deleteAllCorrelationKeys()}. Enabling the index again therefore
+ * starts from an empty index whose coverage is recorded by subsequent deployments.
+ */
+public class CorrelationKeyManager extends AbstractManager {
+
+  public static final String SELECT_EXECUTION_IDS = "selectExecutionIdsByCorrelationKey";
+  public static final String SELECT_COVERED_KEY_NAMES = "selectCoveredCorrelationKeyNames";
+  public static final String SELECT_BY_EVENT_SUBSCRIPTION = "selectCorrelationKeysByEventSubscriptionId";
+  public static final String SELECT_UNINDEXED_SUBSCRIPTION_COUNT = "selectEventSubscriptionCountWithoutCorrelationKey";
+  public static final String DELETE_BY_EVENT_SUBSCRIPTION = "deleteCorrelationKeysByEventSubscriptionId";
+  public static final String UPDATE_VALUE_HASH_BY_PROCESS_INSTANCE = "updateCorrelationKeyValueHashByProcessInstanceId";
+  public static final String DELETE_COVERAGE_BY_EVENT_NAME = "deleteCorrelationKeyCoverageByEventName";
+  public static final String DELETE_COVERAGE_BY_KEY_NAME = "deleteCorrelationKeyCoverageByKeyName";
+  public static final String DELETE_COVERAGE_BY_PROCESS_DEFINITION = "deleteCorrelationKeyCoverageByProcessDefinitionId";
+  public static final String DELETE_ALL = "deleteAllCorrelationKeys";
+
+  /**
+   * Indexes the correlation keys of a created message event subscription and removes the
+   * coverage of all keys of the event name that the subscription does not declare.
+   */
+  public void insertCorrelationKeys(EventSubscriptionEntity eventSubscription) {
+    if (!isCorrelationKeyIndexEnabled() || !isIndexedSubscription(eventSubscription)) {
+      return;
+    }
+
+    List<String> keyNames = getCorrelationKeyNames(eventSubscription.getActivity());
+    insertCorrelationKeys(eventSubscription, keyNames);
+    deleteCoverageOfOtherKeys(eventSubscription.getEventName(), keyNames);
+  }
+
+  protected void insertCorrelationKeys(EventSubscriptionEntity eventSubscription, List<String> keyNames) {
+    String eventName = eventSubscription.getEventName();
+
+    ExecutionEntity processInstance = eventSubscription.getExecution().getProcessInstance();
+    for (String keyName : keyNames) {
+      CorrelationKeyEntity correlationKey = new CorrelationKeyEntity();
+      correlationKey.setEventName(eventName);
+      correlationKey.setKeyName(keyName);
+      correlationKey.setValueHash(hash(processInstance.getVariableLocalTyped(keyName, false)));
+      correlationKey.setEventSubscriptionId(eventSubscription.getId());
+      correlationKey.setExecutionId(eventSubscription.getExecutionId());
+      getDbEntityManager().insert(correlationKey);
+    }
+  }
+
+  /**
+   * Removes the index entries of a deleted message event subscription.
+   */
+  public void deleteCorrelationKeys(EventSubscriptionEntity eventSubscription) {
+    // the activity may not be resolvable anymore, so the entries are deleted regardless of its declaration
+    if (isCorrelationKeyIndexEnabled() && isIndexedSubscription(eventSubscription)) {
+      getDbEntityManager().delete(CorrelationKeyEntity.class, DELETE_BY_EVENT_SUBSCRIPTION, eventSubscription.getId());
+    }
+  }
+
+  /**
+   * Re-indexes a message event subscription that was moved to another activity, e.g. by a migration.
+   */
+  @SuppressWarnings("unchecked")
+  public void updateCorrelationKeys(EventSubscriptionEntity eventSubscription) {
+    if (!isCorrelationKeyIndexEnabled() || !isIndexedSubscription(eventSubscription)) {
+      return;
+    }
+
+    // delete the entries one by one, a bulk delete would be flushed after the new entries are inserted
+    List<CorrelationKeyEntity> correlationKeys = getDbEntityManager().selectList(SELECT_BY_EVENT_SUBSCRIPTION, eventSubscription.getId());
+    for (CorrelationKeyEntity correlationKey : correlationKeys) {
+      getDbEntityManager().delete(correlationKey);
+    }
+
+    insertCorrelationKeys(eventSubscription);
+  }
+
+  /**
+   * Updates the hashes of the index entries of a process instance after a process variable that
+   * is declared as a correlation key was created, updated or deleted.
+   */
+  public void updateCorrelationKeyValues(VariableInstanceEntity variableInstance, boolean deleted) {
+    String processInstanceId = variableInstance.getProcessInstanceId();
+    if (!isCorrelationKeyIndexEnabled()
+        || processInstanceId == null
+        || !processInstanceId.equals(variableInstance.getExecutionId())
+        || variableInstance.getTaskId() != null) {
+      return;
+    }
+
+    ProcessDefinitionImpl processDefinition = variableInstance.getExecution().getProcessDefinition();
+    Set<String> keyNames = processDefinition.getProperties().get(BpmnProperties.CORRELATION_KEY_NAMES);
+    if (keyNames == null || !keyNames.contains(variableInstance.getName())) {
+      return;
+    }
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceId", processInstanceId);
+    parameters.put("keyName", variableInstance.getName());
+    parameters.put("valueHash", deleted ? null : hash(variableInstance.getTypedValue(false)));
+    getDbEntityManager().update(CorrelationKeyEntity.class, UPDATE_VALUE_HASH_BY_PROCESS_INSTANCE, parameters);
+  }
+
+  /**
+   * Records the coverage of the correlation keys that all message events of a newly deployed
+   * process definition declare for an event name, if no subscription of that name lacks them.
+   */
+  @SuppressWarnings("unchecked")
+  public void updateCoverage(ProcessDefinitionEntity processDefinition) {
+    if (!isCorrelationKeyIndexEnabled()) {
+      return;
+    }
+
+    // the key names that all message events of the definition declare, per event name
+    Map<String, Set<String>> commonKeyNames = new LinkedHashMap<String, Set<String>>();
+    for (EventSubscriptionDeclaration declaration : collectMessageDeclarations(processDefinition)) {
+      String eventName = declaration.getUnresolvedEventName();
+      Set<String> keyNames = commonKeyNames.get(eventName);
+      if (keyNames == null) {
+        commonKeyNames.put(eventName, new TreeSet<String>(declaration.getCorrelationKeyNames()));
+      }
+      else {
+        keyNames.retainAll(declaration.getCorrelationKeyNames());
+      }
+    }
+
+    for (Map.Entry<String, Set<String>> entry : commonKeyNames.entrySet()) {
+      String eventName = entry.getKey();
+      List<String> keyNames = new ArrayList<String>(entry.getValue());
+
+      List<String> coveredKeyNames = Collections.emptyList();
+      if (!keyNames.isEmpty()) {
+        coveredKeyNames = findCoveredKeyNames(eventName, keyNames);
+
+        for (String keyName : keyNames) {
+          if (!coveredKeyNames.contains(keyName) && countSubscriptionsWithoutKey(eventName, keyName) == 0) {
+            CorrelationKeyEntity coverage = new CorrelationKeyEntity();
+            coverage.setEventName(eventName);
+            coverage.setKeyName(keyName);
+            coverage.setProcessDefinitionId(processDefinition.getId());
+            getDbEntityManager().insert(coverage);
+
+            validateCoverageAfterCommit(eventName, keyName);
+          }
+        }
+      }
+
+      // the definition creates subscriptions without the other keys
+      deleteCoverageOfOtherKeys(eventName, keyNames);
+    }
+  }
+
+  protected void deleteCoverageOfOtherKeys(String eventName, List<String> keyNames) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("eventName", eventName);
+    parameters.put("keyNames", keyNames);
+    parameters.put("hasKeyNames", !keyNames.isEmpty());
+    getDbEntityManager().delete(CorrelationKeyEntity.class, DELETE_COVERAGE_BY_EVENT_NAME, parameters);
+  }
+
+  /**
+   * A subscription without the key that is created concurrently does not see the uncommitted
+   * coverage and cannot remove it. Once the coverage is committed, it is therefore checked again
+   * in a new transaction and removed if such a subscription exists.
+   */
+  protected void validateCoverageAfterCommit(final String eventName, final String keyName) {
+    Context.getCommandContext()
+      .getTransactionContext()
+      .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          commandContext.getProcessEngineConfiguration()
+            .getCommandExecutorTxRequiresNew()
+            .execute(new Command<Void>() {
+              public Void execute(CommandContext commandContext) {
+                commandContext.getCorrelationKeyManager().validateCoverage(eventName, keyName);
+                return null;
+              }
+            });
+        }
+      });
+  }
+
+  /**
+   * Removes the coverage of a key if a subscription of the event name lacks entries for it.
+   */
+  public void validateCoverage(String eventName, String keyName) {
+    if (countSubscriptionsWithoutKey(eventName, keyName) > 0) {
+      Map<String, Object> parameters = new HashMap<String, Object>();
+      parameters.put("eventName", eventName);
+      parameters.put("keyName", keyName);
+      getDbEntityManager().delete(CorrelationKeyEntity.class, DELETE_COVERAGE_BY_KEY_NAME, parameters);
+    }
+  }
+
+  public void deleteCorrelationKeyCoverage(String processDefinitionId) {
+    if (isCorrelationKeyIndexEnabled()) {
+      getDbEntityManager().delete(CorrelationKeyEntity.class, DELETE_COVERAGE_BY_PROCESS_DEFINITION, processDefinitionId);
+    }
+  }
+
+  /**
+   * Removes all entries and coverage of the index. Called when the engine starts with the index
+   * disabled, since the entries are not maintained anymore from then on.
+   */
+  public void deleteAllCorrelationKeys() {
+    getDbEntityManager().delete(CorrelationKeyEntity.class, DELETE_ALL, null);
+  }
+
+  /**
+   * Looks up the executions whose message event subscriptions of the given event name may match
+   * the given process variable values.
+   *
+   * @return the ids of the candidate executions or <code>null</code> if the index cannot narrow
+   * down the correlation, e.g. because no key is covered for the event name
+   */
+  @SuppressWarnings("unchecked")
+  public Set<String> findExecutionIdsByCorrelationKeys(String eventName, Map<String, Object> correlationKeys) {
+    if (!isCorrelationKeyIndexEnabled() || eventName == null || correlationKeys == null || correlationKeys.isEmpty()) {
+      return null;
+    }
+
+    List<String> coveredKeyNames = findCoveredKeyNames(eventName, new ArrayList<String>(correlationKeys.keySet()));
+    if (coveredKeyNames.isEmpty()) {
+      return null;
+    }
+
+    // a single covered key is enough to select the candidates, the correlation query checks all keys
+    String keyName = new TreeSet<String>(coveredKeyNames).first();
+    Object value = correlationKeys.get(keyName);
+    if (value instanceof TypedValue) {
+      if (!(value instanceof PrimitiveValue)) {
+        return null;
+      }
+      value = ((TypedValue) value).getValue();
+    }
+    if (value == null) {
+      return null;
+    }
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("eventName", eventName);
+    parameters.put("keyName", keyName);
+    parameters.put("valueHash", hash(value));
+    List<String> executionIds = getDbEntityManager().selectList(SELECT_EXECUTION_IDS, parameters);
+
+    return new HashSet<String>(executionIds);
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<String> findCoveredKeyNames(String eventName, List<String> keyNames) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("eventName", eventName);
+    parameters.put("keyNames", keyNames);
+    return getDbEntityManager().selectList(SELECT_COVERED_KEY_NAMES, parameters);
+  }
+
+  protected long countSubscriptionsWithoutKey(String eventName, String keyName) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("eventName", eventName);
+    parameters.put("keyName", keyName);
+    return (Long) getDbEntityManager().selectOne(SELECT_UNINDEXED_SUBSCRIPTION_COUNT, parameters);
+  }
+
+  protected List<EventSubscriptionDeclaration> collectMessageDeclarations(ScopeImpl scope) {
+    List<EventSubscriptionDeclaration> declarations = new ArrayList<EventSubscriptionDeclaration>();
+
+    for (EventSubscriptionDeclaration declaration : EventSubscriptionDeclaration.getDeclarationsForScope(scope).values()) {
+      if (EventType.MESSAGE.name().equals(declaration.getEventType()) && !declaration.isStartEvent()) {
+        declarations.add(declaration);
+      }
+    }
+
+    for (ActivityImpl activity : scope.getActivities()) {
+      declarations.addAll(collectMessageDeclarations(activity));
+    }
+
+    // event names with expressions cannot be covered
+    List<EventSubscriptionDeclaration> literalDeclarations = new ArrayList<EventSubscriptionDeclaration>();
+    for (EventSubscriptionDeclaration declaration : declarations) {
+      if (declaration.hasEventName() && declaration.isEventNameLiteralText()) {
+        literalDeclarations.add(declaration);
+      }
+    }
+    return literalDeclarations;
+  }
+
+  protected List<String> getCorrelationKeyNames(ActivityImpl activity) {
+    if (activity != null) {
+      EventSubscriptionDeclaration declaration = EventSubscriptionDeclaration
+        .getDeclarationsForScope(activity.getEventScope())
+        .get(activity.getId());
+
+      if (declaration != null && declaration.getCorrelationKeyNames() != null) {
+        return declaration.getCorrelationKeyNames();
+      }
+    }
+    return Collections.emptyList();
+  }
+
+  protected boolean isIndexedSubscription(EventSubscriptionEntity eventSubscription) {
+    return eventSubscription.isSubscriptionForEventType(EventType.MESSAGE)
+      && eventSubscription.getExecutionId() != null
+      && eventSubscription.getEventName() != null;
+  }
+
+  protected boolean isCorrelationKeyIndexEnabled() {
+    return Context.getProcessEngineConfiguration().isCorrelationKeyIndexEnabled();
+  }
+
+  /**
+   * Hashes a variable value such that values which are equal for a variable query have the
+   * same hash, e.g. numbers of different types. Returns <code>null</code> for values that
+   * cannot be indexed.
+   */
+  public static Integer hash(Object value) {
+    if (value instanceof TypedValue) {
+      if (!(value instanceof PrimitiveValue)) {
+        return null;
+      }
+      value = ((TypedValue) value).getValue();
+    }
+
+    if (value == null) {
+      return null;
+    }
+
+    String normalizedValue;
+    if (value instanceof Boolean) {
+      normalizedValue = ((Boolean) value) ? "1" : "0";
+    }
+    else if (value instanceof Date) {
+      normalizedValue = String.valueOf(((Date) value).getTime());
+    }
+    else if (value instanceof Number) {
+      double number = ((Number) value).doubleValue();
+      if (!Double.isInfinite(number) && number == Math.rint(number)) {
+        normalizedValue = String.valueOf((long) number);
+      }
+      else {
+        normalizedValue = String.valueOf(number);
+      }
+    }
+    else {
+      normalizedValue = String.valueOf(value);
+    }
+
+    return normalizedValue.hashCode();
+  }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.core.variable.scope.AbstractVariableScope;
+import org.camunda.bpm.engine.impl.core.variable.scope.VariableInstanceLifecycleListener;
+
+/**
+ * Keeps the correlation key index up to date with the values of the process variables.
+ *
+ * @see CorrelationKeyManager#updateCorrelationKeyValues(VariableInstanceEntity, boolean)
+ */
+public class CorrelationKeyVariableListener implements VariableInstanceLifecycleListener<VariableInstanceEntity> {
+
+  public static final CorrelationKeyVariableListener INSTANCE = new CorrelationKeyVariableListener();
+
+  @Override
+  public void onCreate(VariableInstanceEntity variableInstance, AbstractVariableScope sourceScope) {
+    getCorrelationKeyManager().updateCorrelationKeyValues(variableInstance, false);
+  }
+
+  @Override
+  public void onDelete(VariableInstanceEntity variableInstance, AbstractVariableScope sourceScope) {
+    getCorrelationKeyManager().updateCorrelationKeyValues(variableInstance, true);
+  }
+
+  @Override
+  public void onUpdate(VariableInstanceEntity variableInstance, AbstractVariableScope sourceScope) {
+    getCorrelationKeyManager().updateCorrelationKeyValues(variableInstance, false);
+  }
+
+  protected CorrelationKeyManager getCorrelationKeyManager() {
+    return Context.getCommandContext().getCorrelationKeyManager();
+  }
+
+}
@@ -31,6 +31,7 @@ import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.event.EventType;
 import org.camunda.bpm.engine.impl.jobexecutor.ProcessEventJobHandler;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.ImmutablePair;
 import org.camunda.bpm.engine.runtime.EventSubscription;
 import org.camunda.commons.utils.EnsureUtil;
 
@@ -50,6 +51,7 @@ public class EventSubscriptionManager extends AbstractManager {
     if (persistentObject.isSubscriptionForEventType(EventType.SIGNAL)) {
       createdSignalSubscriptions.add(persistentObject);
     }
+    getCorrelationKeyManager().insertCorrelationKeys(persistentObject);
   }
 
   public void deleteEventSubscription(EventSubscriptionEntity persistentObject) {
@@ -57,6 +59,7 @@ public class EventSubscriptionManager extends AbstractManager {
     if (persistentObject.isSubscriptionForEventType(EventType.SIGNAL)) {
       createdSignalSubscriptions.remove(persistentObject);
     }
+    getCorrelationKeyManager().deleteCorrelationKeys(persistentObject);
 
     // if the event subscription has been triggered asynchronously but not yet executed
     List<JobEntity> asyncJobs = getJobManager().findJobsByConfiguration(ProcessEventJobHandler.TYPE, persistentObject.getId(), persistentObject.getTenantId());
@@ -125,6 +128,33 @@ public class EventSubscriptionManager extends AbstractManager {
     return new ArrayList<EventSubscriptionEntity>(eventSubscriptions);
   }
 
+  /**
+   * Returns the ids of signal event subscriptions with the given event name
+   * (and tenant, if set), mapped to the deployment of their process definition.
+   * The subscriptions are ordered by id and only the ones with an id greater
+   * than <code>afterId</code> are returned, so that large result sets can be
+   * fetched page by page.
+   */
+  @SuppressWarnings("unchecked")
+  public List<ImmutablePair<String, String>> findSignalEventSubscriptionDeploymentIdMappings(String eventName, String tenantId,
+      boolean isTenantIdSet, String afterId, int maxResults) {
+    Map<String, Object> parameter = new HashMap<String, Object>();
+    parameter.put("eventName", eventName);
+    parameter.put("tenantId", tenantId);
+    parameter.put("isTenantIdSet", isTenantIdSet);
+    parameter.put("afterId", afterId);
+
+    ListQueryParameterObject query = configureParameterizedQuery(parameter);
+    query.setMaxResults(maxResults);
+
+    return getDbEntityManager().selectList("selectSignalEventSubscriptionDeploymentIdMappings", query);
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<EventSubscriptionEntity> findEventSubscriptionsByIds(List<String> ids) {
+    return getDbEntityManager().selectList("selectEventSubscriptionsByIds", ids);
+  }
+
   /**
    * Find all signal event subscriptions with the given event name which belongs to the given tenant or no tenant.
    */
@@ -271,6 +301,15 @@ public class EventSubscriptionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectMessageStartEventSubscriptionByName", configureParameterizedQuery(messageName));
   }
 
+  /**
+   * @return the names out of the given ones that have at least one message event subscription,
+   *   of an execution or a message start event
+   */
+  @SuppressWarnings("unchecked")
+  public List<String> findMessageEventSubscriptionNames(List<String> messageNames) {
+    return getDbEntityManager().selectList("selectMessageEventSubscriptionNames", messageNames);
+  }
+
   /**
    * @return the message start event subscription with the given message name and tenant id
    *
@@ -1680,6 +1680,7 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     listeners.add(getVariablePersistenceListener());
     listeners.add((VariableInstanceLifecycleListener) new VariableInstanceConcurrentLocalInitializer(this));
     listeners.add((VariableInstanceLifecycleListener) VariableInstanceSequenceCounterListener.INSTANCE);
+    listeners.add((VariableInstanceLifecycleListener) CorrelationKeyVariableListener.INSTANCE);
 
     listeners.add((VariableInstanceLifecycleListener) VariableInstanceHistoryListener.INSTANCE);
 
@@ -16,7 +16,9 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +33,7 @@ import org.camunda.bpm.engine.impl.cfg.auth.ResourceAuthorizationProvider;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.impl.util.ImmutablePair;
 import org.camunda.bpm.engine.runtime.Execution;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
@@ -113,6 +116,43 @@ public class ExecutionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectExecutionsByProcessInstanceId", processInstanceId);
   }
 
+  /**
+   * Loads the executions of the given process instances with a single query and
+   * restores their execution trees, so that navigating the trees afterwards
+   * does not fetch each tree (or each level of it) separately.
+   */
+  @SuppressWarnings("unchecked")
+  public void prefetchExecutionTrees(Collection<String> processInstanceIds) {
+    if (processInstanceIds.isEmpty()) {
+      return;
+    }
+
+    List<ExecutionEntity> executions = getDbEntityManager()
+        .selectList("selectExecutionsByProcessInstanceIds", new ArrayList<String>(processInstanceIds));
+
+    Map<String, List<ExecutionEntity>> executionsByProcessInstance = new HashMap<String, List<ExecutionEntity>>();
+    for (ExecutionEntity execution : executions) {
+      CollectionUtil.addToMapOfLists(executionsByProcessInstance, execution.getProcessInstanceId(), execution);
+    }
+
+    for (List<ExecutionEntity> executionTree : executionsByProcessInstance.values()) {
+      ExecutionEntity processInstance = null;
+      boolean isInitialized = false;
+
+      for (ExecutionEntity execution : executionTree) {
+        if (execution.isProcessInstanceExecution()) {
+          processInstance = execution;
+        }
+        isInitialized |= execution.executions != null;
+      }
+
+      // trees which were already navigated in this command are left as they are
+      if (processInstance != null && !isInitialized) {
+        processInstance.restoreProcessInstance(executionTree, null, null, null, null, null, null);
+      }
+    }
+  }
+
   public ExecutionEntity findExecutionById(String executionId) {
     return getDbEntityManager().selectById(ExecutionEntity.class, executionId);
   }
@@ -29,7 +29,11 @@ import java.util.List;
 import org.camunda.bpm.engine.filter.Filter;
 import org.camunda.bpm.engine.impl.AbstractQuery;
 import org.camunda.bpm.engine.impl.QueryValidators.StoredQueryValidator;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.filter.FilterQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 
 /**
@@ -57,6 +61,8 @@ public class FilterManager extends AbstractManager {
       getDbEntityManager().merge((FilterEntity) filter);
     }
 
+    invalidateFilterCountsAfterCommit(filter.getId());
+
     return filter;
   }
 
@@ -70,6 +76,8 @@ public class FilterManager extends AbstractManager {
     deleteAuthorizations(FILTER, filterId);
     // delete the filter itself
     getDbEntityManager().delete(filter);
+
+    invalidateFilterCountsAfterCommit(filterId);
   }
 
   public FilterEntity findFilterById(String filterId) {
@@ -93,6 +101,22 @@ public class FilterManager extends AbstractManager {
     return (Long) getDbEntityManager().selectOne("selectFilterCountByQueryCriteria", filterQuery);
   }
 
+  /**
+   * Counts computed by concurrent transactions until the commit still see
+   * the old filter, so the cached counts are removed once it is committed.
+   */
+  protected void invalidateFilterCountsAfterCommit(final String filterId) {
+    Context.getCommandContext()
+      .getTransactionContext()
+      .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          commandContext.getProcessEngineConfiguration()
+            .getFilterCountCache()
+            .invalidate(filterId);
+        }
+      });
+  }
+
   // authorization utils /////////////////////////////////
 
   protected void createDefaultAuthorizations(Filter filter) {
@@ -34,6 +34,7 @@ import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryPartitionManager;
 import org.camunda.bpm.engine.impl.persistence.AbstractHistoricManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.util.ImmutablePair;
@@ -270,47 +271,47 @@ public class HistoricProcessInstanceManager extends AbstractHistoricManager {
     Map<Class<? extends DbEntity>, DbOperation> deleteOperations = new HashMap<>();
 
     DbOperation deleteActivityInstances = commandContext.getHistoricActivityInstanceManager()
-      .deleteHistoricActivityInstancesByRemovalTime(removalTime, minuteFrom, minuteTo, batchSize);
+      .deleteHistoricActivityInstancesByRemovalTime(getRowRemovalTime("ACT_HI_ACTINST", removalTime), minuteFrom, minuteTo, batchSize);
 
     deleteOperations.put(deleteActivityInstances.getEntityType(), deleteActivityInstances);
 
     DbOperation deleteTaskInstances = commandContext.getHistoricTaskInstanceManager()
-      .deleteHistoricTaskInstancesByRemovalTime(removalTime, minuteFrom, minuteTo, batchSize);
+      .deleteHistoricTaskInstancesByRemovalTime(getRowRemovalTime("ACT_HI_TASKINST", removalTime), minuteFrom, minuteTo, batchSize);
 
     deleteOperations.put(deleteTaskInstances.getEntityType(), deleteTaskInstances);
 
     DbOperation deleteVariableInstances = commandContext.getHistoricVariableInstanceManager()
-      .deleteHistoricVariableInstancesByRemovalTime(removalTime, minuteFrom, minuteTo, batchSize);
+      .deleteHistoricVariableInstancesByRemovalTime(getRowRemovalTime("ACT_HI_VARINST", removalTime), minuteFrom, minuteTo, batchSize);
 
     deleteOperations.put(deleteVariableInstances.getEntityType(), deleteVariableInstances);
 
     DbOperation deleteDetails = commandContext.getHistoricDetailManager()
-      .deleteHistoricDetailsByRemovalTime(removalTime, minuteFrom, minuteTo, batchSize);
+      .deleteHistoricDetailsByRemovalTime(getRowRemovalTime("ACT_HI_DETAIL", removalTime), minuteFrom, minuteTo, batchSize);
 
     deleteOperations.put(deleteDetails.getEntityType(), deleteDetails);
 
     DbOperation deleteIncidents = commandContext.getHistoricIncidentManager()
-      .deleteHistoricIncidentsByRemovalTime(removalTime, minuteFrom, minuteTo, batchSize);
+      .deleteHistoricIncidentsByRemovalTime(getRowRemovalTime("ACT_HI_INCIDENT", removalTime), minuteFrom, minuteTo, batchSize);
 
     deleteOperations.put(deleteIncidents.getEntityType(), deleteIncidents);
 
     DbOperation deleteTaskLog = commandContext.getHistoricExternalTaskLogManager()
-      .deleteExternalTaskLogByRemovalTime(removalTime, minuteFrom, minuteTo, batchSize);
+      .deleteExternalTaskLogByRemovalTime(getRowRemovalTime("ACT_HI_EXT_TASK_LOG", removalTime), minuteFrom, minuteTo, batchSize);
 
     deleteOperations.put(deleteTaskLog.getEntityType(), deleteTaskLog);
 
     DbOperation deleteJobLog = commandContext.getHistoricJobLogManager()
-      .deleteJobLogByRemovalTime(removalTime, minuteFrom, minuteTo, batchSize);
+      .deleteJobLogByRemovalTime(getRowRemovalTime("ACT_HI_JOB_LOG", removalTime), minuteFrom, minuteTo, batchSize);
 
     deleteOperations.put(deleteJobLog.getEntityType(), deleteJobLog);
 
     DbOperation deleteOperationLog = commandContext.getOperationLogManager()
-      .deleteOperationLogByRemovalTime(removalTime, minuteFrom, minuteTo, batchSize);
+      .deleteOperationLogByRemovalTime(getRowRemovalTime("ACT_HI_OP_LOG", removalTime), minuteFrom, minuteTo, batchSize);
 
     deleteOperations.put(deleteOperationLog.getEntityType(), deleteOperationLog);
 
     DbOperation deleteIdentityLinkLog = commandContext.getHistoricIdentityLinkManager()
-      .deleteHistoricIdentityLinkLogByRemovalTime(removalTime, minuteFrom, minuteTo, batchSize);
+      .deleteHistoricIdentityLinkLogByRemovalTime(getRowRemovalTime("ACT_HI_IDENTITYLINK", removalTime), minuteFrom, minuteTo, batchSize);
 
     deleteOperations.put(deleteIdentityLinkLog.getEntityType(), deleteIdentityLinkLog);
 
@@ -351,6 +352,21 @@ public class HistoricProcessInstanceManager extends AbstractHistoricManager {
     return deleteOperations;
   }
 
+  /**
+   * Rows of partitioned history tables which lie in a daily partition are removed
+   * by dropping the partition instead of deleting them row by row.
+   */
+  protected Date getRowRemovalTime(String tableName, Date removalTime) {
+    HistoryPartitionManager partitionManager = Context.getProcessEngineConfiguration()
+        .getHistoryPartitionManager();
+
+    if (partitionManager == null) {
+      return removalTime;
+    }
+
+    return partitionManager.getRowRemovalTime(tableName, removalTime);
+  }
+
   protected boolean isEnableHistoricInstancePermissions() {
     return Context.getProcessEngineConfiguration()
         .isEnableHistoricInstancePermissions();
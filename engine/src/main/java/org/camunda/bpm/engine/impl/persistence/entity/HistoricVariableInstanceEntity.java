@@ -75,7 +75,7 @@ public class HistoricVariableInstanceEntity implements ValueFields, HistoricVari
 
   protected Date removalTime;
 
-  protected ByteArrayField byteArrayField = new ByteArrayField(this, ResourceTypes.HISTORY);
+  protected ByteArrayField byteArrayField = new ByteArrayField(this, ResourceTypes.HISTORY, true);
 
   protected TypedValueField typedValueField = new TypedValueField(this, false);
 
@@ -140,6 +140,7 @@ public class HistoricVariableInstanceEntity implements ValueFields, HistoricVari
     state.add(processDefinitionId);
     state.add(processDefinitionKey);
     state.add(getByteArrayId());
+    state.add(getInlineByteArrayValue());
     return state;
   }
 
@@ -183,6 +184,14 @@ public class HistoricVariableInstanceEntity implements ValueFields, HistoricVari
     byteArrayField.setByteArrayValue(bytes);
   }
 
+  public byte[] getInlineByteArrayValue() {
+    return byteArrayField.getInlineValue();
+  }
+
+  public void setInlineByteArrayValue(byte[] inlineByteArrayValue) {
+    byteArrayField.setInlineValue(inlineByteArrayValue);
+  }
+
   // entity lifecycle /////////////////////////////////////////////////////////
 
   public void postLoad() {
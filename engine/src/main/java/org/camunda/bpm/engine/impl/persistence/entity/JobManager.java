@@ -21,6 +21,7 @@ import static org.camunda.bpm.engine.impl.jobexecutor.TimerEventJobHandler.JOB_H
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -37,6 +38,7 @@ import org.camunda.bpm.engine.impl.cfg.TransactionListener;
 import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.jobexecutor.ExclusiveJobAddedNotification;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
@@ -74,6 +76,11 @@ public class JobManager extends AbstractManager {
   public void insertJob(JobEntity job) {
     job.setCreateTime(ClockUtil.getCurrentTime());
 
+    if (job instanceof TimerEntity && isTimerStoreEnabled()) {
+      // timers due beyond the horizon are kept out of the job acquisition
+      ((TimerEntity) job).setParked(job.getLockOwner() == null && isBeyondTimerStoreHorizon(job.getDuedate()));
+    }
+
     getDbEntityManager().insert(job);
     getHistoricJobLogManager().fireJobCreatedEvent(job);
   }
@@ -293,28 +300,28 @@ public class JobManager extends AbstractManager {
     Map<String, Object> parameters = new HashMap<>();
     parameters.put("jobId", jobId);
     parameters.put("suspensionState", suspensionState.getStateCode());
-    getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", configureParameterizedQuery(parameters));
+    updateJobSuspensionStateByParameters(parameters);
   }
 
   public void updateJobSuspensionStateByJobDefinitionId(String jobDefinitionId, SuspensionState suspensionState) {
     Map<String, Object> parameters = new HashMap<>();
     parameters.put("jobDefinitionId", jobDefinitionId);
     parameters.put("suspensionState", suspensionState.getStateCode());
-    getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", configureParameterizedQuery(parameters));
+    updateJobSuspensionStateByParameters(parameters);
   }
 
   public void updateJobSuspensionStateByProcessInstanceId(String processInstanceId, SuspensionState suspensionState) {
     Map<String, Object> parameters = new HashMap<>();
     parameters.put("processInstanceId", processInstanceId);
     parameters.put("suspensionState", suspensionState.getStateCode());
-    getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", configureParameterizedQuery(parameters));
+    updateJobSuspensionStateByParameters(parameters);
   }
 
   public void updateJobSuspensionStateByProcessDefinitionId(String processDefinitionId, SuspensionState suspensionState) {
     Map<String, Object> parameters = new HashMap<>();
     parameters.put("processDefinitionId", processDefinitionId);
     parameters.put("suspensionState", suspensionState.getStateCode());
-    getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", configureParameterizedQuery(parameters));
+    updateJobSuspensionStateByParameters(parameters);
   }
 
   public void updateStartTimerJobSuspensionStateByProcessDefinitionId(String processDefinitionId, SuspensionState suspensionState) {
@@ -322,7 +329,7 @@ public class JobManager extends AbstractManager {
     parameters.put("processDefinitionId", processDefinitionId);
     parameters.put("suspensionState", suspensionState.getStateCode());
     parameters.put("handlerType", TimerStartEventJobHandler.TYPE);
-    getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", configureParameterizedQuery(parameters));
+    updateJobSuspensionStateByParameters(parameters);
   }
 
   public void updateJobSuspensionStateByProcessDefinitionKey(String processDefinitionKey, SuspensionState suspensionState) {
@@ -330,7 +337,7 @@ public class JobManager extends AbstractManager {
     parameters.put("processDefinitionKey", processDefinitionKey);
     parameters.put("isProcessDefinitionTenantIdSet", false);
     parameters.put("suspensionState", suspensionState.getStateCode());
-    getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", configureParameterizedQuery(parameters));
+    updateJobSuspensionStateByParameters(parameters);
   }
 
   public void updateJobSuspensionStateByProcessDefinitionKeyAndTenantId(String processDefinitionKey, String processDefinitionTenantId, SuspensionState suspensionState) {
@@ -339,7 +346,7 @@ public class JobManager extends AbstractManager {
     parameters.put("isProcessDefinitionTenantIdSet", true);
     parameters.put("processDefinitionTenantId", processDefinitionTenantId);
     parameters.put("suspensionState", suspensionState.getStateCode());
-    getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", configureParameterizedQuery(parameters));
+    updateJobSuspensionStateByParameters(parameters);
   }
 
   public void updateStartTimerJobSuspensionStateByProcessDefinitionKey(String processDefinitionKey, SuspensionState suspensionState) {
@@ -348,7 +355,7 @@ public class JobManager extends AbstractManager {
     parameters.put("isProcessDefinitionTenantIdSet", false);
     parameters.put("suspensionState", suspensionState.getStateCode());
     parameters.put("handlerType", TimerStartEventJobHandler.TYPE);
-    getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", configureParameterizedQuery(parameters));
+    updateJobSuspensionStateByParameters(parameters);
   }
 
   public void updateStartTimerJobSuspensionStateByProcessDefinitionKeyAndTenantId(String processDefinitionKey, String processDefinitionTenantId, SuspensionState suspensionState) {
@@ -358,7 +365,7 @@ public class JobManager extends AbstractManager {
     parameters.put("processDefinitionTenantId", processDefinitionTenantId);
     parameters.put("suspensionState", suspensionState.getStateCode());
     parameters.put("handlerType", TimerStartEventJobHandler.TYPE);
-    getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", configureParameterizedQuery(parameters));
+    updateJobSuspensionStateByParameters(parameters);
   }
 
   public void updateFailedJobRetriesByJobDefinitionId(String jobDefinitionId, int retries) {
@@ -366,6 +373,9 @@ public class JobManager extends AbstractManager {
     parameters.put("jobDefinitionId", jobDefinitionId);
     parameters.put("retries", retries);
     getDbEntityManager().update(JobEntity.class, "updateFailedJobRetriesByParameters", parameters);
+    if (isTimerStoreEnabled()) {
+      getDbEntityManager().update(TimerEntity.class, "updateFailedParkedTimerRetriesByParameters", parameters);
+    }
   }
 
   public void updateJobPriorityByDefinitionId(String jobDefinitionId, long priority) {
@@ -373,6 +383,60 @@ public class JobManager extends AbstractManager {
     parameters.put("jobDefinitionId", jobDefinitionId);
     parameters.put("priority", priority);
     getDbEntityManager().update(JobEntity.class, "updateJobPriorityByDefinitionId", parameters);
+    if (isTimerStoreEnabled()) {
+      getDbEntityManager().update(TimerEntity.class, "updateParkedTimerPriorityByDefinitionId", parameters);
+    }
+  }
+
+  protected void updateJobSuspensionStateByParameters(Map<String, Object> parameters) {
+    ListQueryParameterObject parameterObject = configureParameterizedQuery(parameters);
+    getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", parameterObject);
+    if (isTimerStoreEnabled()) {
+      getDbEntityManager().update(TimerEntity.class, "updateParkedTimerSuspensionStateByParameters", parameterObject);
+    }
+  }
+
+  // timer store //////////////////////////////////////////////////////////////
+
+  @SuppressWarnings("unchecked")
+  public List<String> findParkedTimerIdsToPromote(Date horizon, int maxResults) {
+    ListQueryParameterObject parameter = new ListQueryParameterObject(horizon, 0, maxResults);
+    return getDbEntityManager().selectList("selectParkedTimerIdsToPromote", parameter);
+  }
+
+  /**
+   * Moves the given parked timers to ACT_RU_JOB, where the job acquisition finds them.
+   * The rows are locked first, so concurrent changes of the parked timers are either
+   * moved along or fail with an optimistic locking exception.
+   */
+  public void promoteParkedTimers(List<String> timerIds) {
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("timerIds", timerIds);
+
+    DbEntityManager dbEntityManager = getDbEntityManager();
+    dbEntityManager.updatePreserveOrder(TimerEntity.class, "lockParkedTimersToPromote", parameters);
+    dbEntityManager.updatePreserveOrder(TimerEntity.class, "insertPromotedTimers", parameters);
+    dbEntityManager.deletePreserveOrder(TimerEntity.class, "deletePromotedTimers", parameters);
+  }
+
+  /**
+   * Promotes a parked timer right away if its due date was moved into the horizon
+   * of the timer store.
+   */
+  public void promoteTimerIfWithinHorizon(JobEntity job) {
+    if (job instanceof TimerEntity && ((TimerEntity) job).isParked() && !isBeyondTimerStoreHorizon(job.getDuedate())) {
+      promoteParkedTimers(Collections.singletonList(job.getId()));
+    }
+  }
+
+  protected boolean isBeyondTimerStoreHorizon(Date duedate) {
+    ProcessEngineConfigurationImpl engineConfiguration = Context.getProcessEngineConfiguration();
+    long horizon = ClockUtil.getCurrentTime().getTime() + engineConfiguration.getTimerStoreHorizon() * 1000L;
+    return duedate != null && duedate.getTime() > horizon;
+  }
+
+  protected boolean isTimerStoreEnabled() {
+    return Context.getProcessEngineConfiguration().isTimerStoreEnabled();
   }
 
   protected void configureQuery(JobQueryImpl query) {
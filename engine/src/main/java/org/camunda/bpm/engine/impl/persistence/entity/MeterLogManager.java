@@ -17,13 +17,16 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.metrics.Meter;
 import org.camunda.bpm.engine.impl.metrics.MetricsQueryImpl;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
@@ -40,10 +43,109 @@ public class MeterLogManager extends AbstractManager {
   public static final String SELECT_METER_SUM = "selectMeterLogSum";
   public static final String DELETE_ALL_METER = "deleteAllMeterLogEntries";
   public static final String DELETE_ALL_METER_BY_TIMESTAMP_AND_REPORTER = "deleteMeterLogEntriesByTimestampAndReporter";
+  public static final String SELECT_METER_MIN_MILLISECONDS = "selectMeterLogMinMilliseconds";
+
+  public static final String SELECT_ROLLUP_INTERVAL = "selectMeterRollupAggregatedByTimeInterval";
+  public static final String SELECT_ROLLUPS_BY_REPORTER_AND_INTERVALS = "selectMeterRollupsByReporterAndIntervals";
+  public static final String SELECT_ROLLUP_MIN_INTERVAL = "selectMeterRollupMinInterval";
+  public static final String UPDATE_ROLLUP_VALUE = "updateMeterRollupValue";
+  public static final String UPDATE_ROLLUP_VALUE_FROM_LOG = "updateMeterRollupValueFromMeterLog";
+  public static final String DELETE_ALL_ROLLUP = "deleteAllMeterRollups";
+  public static final String DELETE_ROLLUP_BY_TIMESTAMP_AND_REPORTER = "deleteMeterRollupsByTimestampAndReporter";
+
+  /**
+   * the resolutions (in seconds) of the maintained rollups, from fine to coarse
+   */
+  public static final int[] ROLLUP_RESOLUTIONS = {
+    MeterRollupEntity.RESOLUTION_HOUR,
+    MeterRollupEntity.RESOLUTION_DAY
+  };
 
   public void insert(MeterLogEntity meterLogEntity) {
-    getDbEntityManager()
-     .insert(meterLogEntity);
+    insert(Collections.singletonList(meterLogEntity));
+  }
+
+  /**
+   * Inserts the given meter logs and adds their values to the hourly and
+   * daily rollups, if enabled.
+   */
+  public void insert(List<MeterLogEntity> meterLogEntities) {
+    for (MeterLogEntity meterLogEntity : meterLogEntities) {
+      getDbEntityManager()
+        .insert(meterLogEntity);
+    }
+
+    if (isMetricsRollupEnabled()) {
+      updateRollups(meterLogEntities);
+    }
+  }
+
+  protected void updateRollups(List<MeterLogEntity> meterLogEntities) {
+    Map<String, List<MeterLogEntity>> logsByReporter = new HashMap<String, List<MeterLogEntity>>();
+    for (MeterLogEntity meterLogEntity : meterLogEntities) {
+      List<MeterLogEntity> logs = logsByReporter.get(meterLogEntity.getReporter());
+      if (logs == null) {
+        logs = new ArrayList<MeterLogEntity>();
+        logsByReporter.put(meterLogEntity.getReporter(), logs);
+      }
+      logs.add(meterLogEntity);
+    }
+
+    for (Map.Entry<String, List<MeterLogEntity>> logs : logsByReporter.entrySet()) {
+      updateRollups(logs.getKey(), logs.getValue());
+    }
+  }
+
+  protected void updateRollups(String reporter, List<MeterLogEntity> meterLogEntities) {
+    // sum up the new values per rollup
+    Map<String, MeterRollupEntity> rollups = new LinkedHashMap<String, MeterRollupEntity>();
+    Map<String, MeterRollupEntity> intervals = new LinkedHashMap<String, MeterRollupEntity>();
+    for (MeterLogEntity meterLogEntity : meterLogEntities) {
+      long milliseconds = meterLogEntity.getMilliseconds() != null
+          ? meterLogEntity.getMilliseconds() : meterLogEntity.getTimestamp().getTime();
+
+      for (int resolution : ROLLUP_RESOLUTIONS) {
+        long interval = MeterRollupEntity.getIntervalStart(milliseconds, resolution);
+        String rollupKey = getRollupKey(meterLogEntity.getName(), resolution, interval);
+
+        MeterRollupEntity rollup = rollups.get(rollupKey);
+        if (rollup == null) {
+          rollup = new MeterRollupEntity(meterLogEntity.getName(), reporter, resolution, interval, 0);
+          rollups.put(rollupKey, rollup);
+          intervals.put(getRollupKey(null, resolution, interval), rollup);
+        }
+        rollup.setValue(rollup.getValue() + meterLogEntity.getValue());
+      }
+    }
+
+    // add them to the existing rollups with a relative update, so that
+    // concurrent reports never overwrite each other
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("reporter", reporter);
+    parameters.put("intervals", new ArrayList<MeterRollupEntity>(intervals.values()));
+    List<MeterRollupEntity> existingRollups = getDbEntityManager()
+      .selectList(SELECT_ROLLUPS_BY_REPORTER_AND_INTERVALS, new ListQueryParameterObject(parameters, 0, Integer.MAX_VALUE));
+
+    for (MeterRollupEntity existingRollup : existingRollups) {
+      String rollupKey = getRollupKey(existingRollup.getName(), existingRollup.getResolution(), existingRollup.getInterval());
+      MeterRollupEntity rollup = rollups.remove(rollupKey);
+
+      if (rollup != null && rollup.getValue() != 0) {
+        Map<String, Object> updateParameters = new HashMap<String, Object>();
+        updateParameters.put("id", existingRollup.getId());
+        updateParameters.put("value", rollup.getValue());
+        getDbEntityManager().update(MeterRollupEntity.class, UPDATE_ROLLUP_VALUE, updateParameters);
+      }
+    }
+
+    // rollups of intervals without any previous report
+    for (MeterRollupEntity rollup : rollups.values()) {
+      getDbEntityManager().insert(rollup);
+    }
+  }
+
+  protected String getRollupKey(String name, int resolution, long interval) {
+    return name + "|" + resolution + "|" + interval;
   }
 
   public Long executeSelectSum(MetricsQueryImpl query) {
@@ -64,7 +166,11 @@ public class MeterLogManager extends AbstractManager {
   }
 
   public List<MetricIntervalValue> executeSelectInterval(MetricsQueryImpl query) {
-    List<MetricIntervalValue> intervalResult = getDbEntityManager().selectList(SELECT_METER_INTERVAL, query);
+    Integer rollupResolution = selectRollupResolution(query);
+    query.setRollupResolution(rollupResolution);
+
+    String statement = rollupResolution != null ? SELECT_ROLLUP_INTERVAL : SELECT_METER_INTERVAL;
+    List<MetricIntervalValue> intervalResult = getDbEntityManager().selectList(statement, query);
     intervalResult = intervalResult != null ? intervalResult : new ArrayList<MetricIntervalValue>();
 
     String reporterId = Context.getProcessEngineConfiguration().getDbMetricsReporter().getMetricsCollectionTask().getReporter();
@@ -95,6 +201,64 @@ public class MeterLogManager extends AbstractManager {
     return intervalResult;
   }
 
+  /**
+   * @return the resolution of the coarsest rollup which answers the query
+   * with the same result as the raw meter log, or <code>null</code> if the
+   * raw meter log has to be queried
+   */
+  protected Integer selectRollupResolution(MetricsQueryImpl query) {
+    if (!isMetricsRollupEnabled()) {
+      return null;
+    }
+
+    Long firstLogMilliseconds = null;
+    boolean firstLogSelected = false;
+
+    for (int i = ROLLUP_RESOLUTIONS.length - 1; i >= 0; i--) {
+      int resolution = ROLLUP_RESOLUTIONS[i];
+
+      if (isAlignedToRollup(query, resolution)) {
+        if (!firstLogSelected) {
+          firstLogMilliseconds = (Long) getDbEntityManager().selectOne(SELECT_METER_MIN_MILLISECONDS, null);
+          firstLogSelected = true;
+        }
+
+        if (isRawLogCoveredByRollup(firstLogMilliseconds, resolution)) {
+          return resolution;
+        }
+      }
+    }
+
+    return null;
+  }
+
+  protected boolean isAlignedToRollup(MetricsQueryImpl query, int resolution) {
+    long resolutionMillis = resolution * 1000L;
+    return query.getInterval() > 0
+        && query.getInterval() % resolution == 0
+        && (query.getStartDate() == null || query.getStartDateMilliseconds() % resolutionMillis == 0)
+        && (query.getEndDate() == null || query.getEndDateMilliseconds() % resolutionMillis == 0);
+  }
+
+  /**
+   * Meter logs which were written before the rollups existed (e.g. prior to
+   * a schema update) are only contained in the raw meter log. The rollup can
+   * only be used once these logs were removed.
+   */
+  protected boolean isRawLogCoveredByRollup(Long firstLogMilliseconds, int resolution) {
+    if (firstLogMilliseconds == null) {
+      return true;
+    }
+
+    Long firstRollupInterval = (Long) getDbEntityManager().selectOne(SELECT_ROLLUP_MIN_INTERVAL, resolution);
+    return firstRollupInterval != null
+        && firstRollupInterval <= MeterRollupEntity.getIntervalStart(firstLogMilliseconds, resolution);
+  }
+
+  protected boolean isMetricsRollupEnabled() {
+    return Context.getProcessEngineConfiguration().isMetricsRollupEnabled();
+  }
+
   protected boolean isEndTimeAfterLastReportInterval(MetricsQueryImpl query) {
     long reportingIntervalInSeconds = Context.getProcessEngineConfiguration()
       .getDbMetricsReporter()
@@ -112,6 +276,7 @@ public class MeterLogManager extends AbstractManager {
 
   public void deleteAll() {
     getDbEntityManager().delete(MeterLogEntity.class, DELETE_ALL_METER, null);
+    getDbEntityManager().delete(MeterRollupEntity.class, DELETE_ALL_ROLLUP, null);
   }
 
   public void deleteByTimestampAndReporter(Date timestamp, String reporter) {
@@ -121,6 +286,47 @@ public class MeterLogManager extends AbstractManager {
     }
     parameters.put("reporter", reporter);
     getDbEntityManager().delete(MeterLogEntity.class, DELETE_ALL_METER_BY_TIMESTAMP_AND_REPORTER, parameters);
+    // only rollups of intervals which lie completely before the timestamp are removed
+    getDbEntityManager().delete(MeterRollupEntity.class, DELETE_ROLLUP_BY_TIMESTAMP_AND_REPORTER, parameters);
+
+    if (timestamp != null) {
+      for (int resolution : ROLLUP_RESOLUTIONS) {
+        recomputeRollup(resolution, timestamp.getTime(), reporter);
+      }
+    }
+  }
+
+  /**
+   * The rollups of the interval which contains the given timestamp still
+   * hold the values of the meter logs which were deleted up to it. Their
+   * value is set to the sum of the raw meter logs which remain in that
+   * interval.
+   */
+  protected void recomputeRollup(int resolution, long milliseconds, String reporter) {
+    long interval = MeterRollupEntity.getIntervalStart(milliseconds, resolution);
+    long intervalEnd = interval + resolution * 1000L;
+    if (milliseconds == intervalEnd - 1) {
+      // the whole interval was deleted
+      return;
+    }
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("reporter", reporter);
+    parameters.put("resolution", resolution);
+    parameters.put("interval", interval);
+    parameters.put("milliseconds", milliseconds);
+    parameters.put("intervalEnd", intervalEnd);
+    getDbEntityManager().update(MeterRollupEntity.class, UPDATE_ROLLUP_VALUE_FROM_LOG, parameters);
+  }
+
+  /**
+   * Deletes the raw meter logs of all reporters up to the given timestamp
+   * but keeps the rollups.
+   */
+  public void deleteRawLogsByTimestamp(Date timestamp) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("milliseconds", timestamp.getTime());
+    getDbEntityManager().delete(MeterLogEntity.class, DELETE_ALL_METER_BY_TIMESTAMP_AND_REPORTER, parameters);
   }
 
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbReferences;
+
+/**
+ * Pre-aggregated sum of all meter log values of one metric and reporter
+ * that fall into a time bucket of a fixed resolution.
+ *
+ * Rollups are maintained incrementally by the {@link MeterLogManager}
+ * whenever meter logs are inserted. Their value is never updated through the
+ * entity itself but by relative bulk updates, so concurrent reports of
+ * different reporters never overwrite each other.
+ */
+public class MeterRollupEntity implements DbEntity, HasDbReferences, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final int RESOLUTION_HOUR = 60 * 60;
+  public static final int RESOLUTION_DAY = 24 * RESOLUTION_HOUR;
+
+  protected String id;
+  protected String name;
+  protected String reporter;
+  protected int resolution;
+  protected long interval;
+  protected long value;
+
+  public MeterRollupEntity(String name, String reporter, int resolution, long interval, long value) {
+    this.name = name;
+    this.reporter = reporter;
+    this.resolution = resolution;
+    this.interval = interval;
+    this.value = value;
+  }
+
+  public MeterRollupEntity() {
+  }
+
+  /**
+   * @return the start of the bucket of the given resolution (in seconds)
+   * which contains the given point in time (in milliseconds)
+   */
+  public static long getIntervalStart(long milliseconds, int resolution) {
+    long resolutionMillis = resolution * 1000L;
+    return Math.floorDiv(milliseconds, resolutionMillis) * resolutionMillis;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getReporter() {
+    return reporter;
+  }
+
+  public void setReporter(String reporter) {
+    this.reporter = reporter;
+  }
+
+  public int getResolution() {
+    return resolution;
+  }
+
+  public void setResolution(int resolution) {
+    this.resolution = resolution;
+  }
+
+  public long getInterval() {
+    return interval;
+  }
+
+  public void setInterval(long interval) {
+    this.interval = interval;
+  }
+
+  public long getValue() {
+    return value;
+  }
+
+  public void setValue(long value) {
+    this.value = value;
+  }
+
+  public Object getPersistentState() {
+    // the value is only changed by bulk updates
+    return MeterRollupEntity.class;
+  }
+
+  @Override
+  public Set<String> getReferencedEntityIds() {
+    return new HashSet<String>();
+  }
+
+  @Override
+  public Map<String, Class> getReferencedEntitiesIdAndClass() {
+    return new HashMap<String, Class>();
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+      + "[id=" + id
+      + ", name=" + name
+      + ", reporter=" + reporter
+      + ", resolution=" + resolution
+      + ", interval=" + interval
+      + ", value=" + value
+      + "]";
+  }
+}
@@ -375,6 +375,9 @@ public class ProcessDefinitionManager extends AbstractManager implements Abstrac
 
     deleteSubscriptionsForProcessDefinition(processDefinitionId);
 
+    // remove the correlation key coverage recorded for the process definition
+    getCorrelationKeyManager().deleteCorrelationKeyCoverage(processDefinitionId);
+
     // delete job definitions
     getJobDefinitionManager().deleteJobDefinitionsByProcessDefinitionId(processDefinition.getId());
 
@@ -46,6 +46,9 @@ public class TimerEntity extends JobEntity {
 
   protected long repeatOffset;
 
+  /** true if the timer is stored in the table of parked timers, see {@link JobManager#insertJob(JobEntity)} */
+  protected boolean parked;
+
   public TimerEntity() {
   }
 
@@ -138,6 +141,14 @@ public class TimerEntity extends JobEntity {
     this.repeatOffset = repeatOffset;
   }
 
+  public boolean isParked() {
+    return parked;
+  }
+
+  public void setParked(boolean parked) {
+    this.parked = parked;
+  }
+
   @Override
   public String getType() {
     return TYPE;
@@ -159,6 +170,7 @@ public class TimerEntity extends JobEntity {
            + ", revision=" + revision
            + ", duedate=" + duedate
            + ", repeatOffset=" + repeatOffset
+           + ", parked=" + parked
            + ", lockOwner=" + lockOwner
            + ", lockExpirationTime=" + lockExpirationTime
            + ", executionId=" + executionId
@@ -75,7 +75,7 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
   protected String textValue;
   protected String textValue2;
 
-  protected ByteArrayField byteArrayField = new ByteArrayField(this, ResourceTypes.RUNTIME);
+  protected ByteArrayField byteArrayField = new ByteArrayField(this, ResourceTypes.RUNTIME, true);
 
   protected TypedValueField typedValueField = new TypedValueField(this, true);
 
@@ -183,6 +183,9 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
     if (byteArrayField.getByteArrayId() != null) {
       persistentState.put("byteArrayValueId", byteArrayField.getByteArrayId());
     }
+    if (byteArrayField.getInlineValue() != null) {
+      persistentState.put("inlineByteArrayValue", byteArrayField.getInlineValue());
+    }
 
     persistentState.put("sequenceCounter", getSequenceCounter());
     persistentState.put("concurrentLocal", isConcurrentLocal);
@@ -254,6 +257,14 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
     return byteArrayField.getByteArrayValue();
   }
 
+  public byte[] getInlineByteArrayValue() {
+    return byteArrayField.getInlineValue();
+  }
+
+  public void setInlineByteArrayValue(byte[] inlineByteArrayValue) {
+    byteArrayField.setInlineValue(inlineByteArrayValue);
+  }
+
   public void setByteArrayValue(byte[] bytes) {
     byteArrayField.setByteArrayValue(bytes, isTransient);
   }
@@ -294,6 +305,9 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
       deleteByteArrayValue();
       setByteArrayValueId(null);
     }
+    else {
+      byteArrayField.setInlineValue(null);
+    }
   }
 
   public String getTypeName() {
@@ -36,7 +36,7 @@ public class VariableInstanceHistoryListener implements VariableInstanceLifecycl
   @Override
   public void onCreate(final VariableInstanceEntity variableInstance, final AbstractVariableScope sourceScope) {
     if (getHistoryLevel().isHistoryEventProduced(HistoryEventTypes.VARIABLE_INSTANCE_CREATE, variableInstance) && !variableInstance.isTransient()) {
-      HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
+      processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
         @Override
         public HistoryEvent createHistoryEvent(HistoryEventProducer producer) {
           return producer.createHistoricVariableCreateEvt(variableInstance, sourceScope);
@@ -48,7 +48,7 @@ public class VariableInstanceHistoryListener implements VariableInstanceLifecycl
   @Override
   public void onDelete(final VariableInstanceEntity variableInstance, final AbstractVariableScope sourceScope) {
     if (getHistoryLevel().isHistoryEventProduced(HistoryEventTypes.VARIABLE_INSTANCE_DELETE, variableInstance) && !variableInstance.isTransient()) {
-      HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
+      processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
         @Override
         public HistoryEvent createHistoryEvent(HistoryEventProducer producer) {
           return producer.createHistoricVariableDeleteEvt(variableInstance, sourceScope);
@@ -60,7 +60,7 @@ public class VariableInstanceHistoryListener implements VariableInstanceLifecycl
   @Override
   public void onUpdate(final VariableInstanceEntity variableInstance, final AbstractVariableScope sourceScope) {
     if (getHistoryLevel().isHistoryEventProduced(HistoryEventTypes.VARIABLE_INSTANCE_UPDATE, variableInstance) && !variableInstance.isTransient()) {
-      HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
+      processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
         @Override
         public HistoryEvent createHistoryEvent(HistoryEventProducer producer) {
           return producer.createHistoricVariableUpdateEvt(variableInstance, sourceScope);
@@ -69,6 +69,10 @@ public class VariableInstanceHistoryListener implements VariableInstanceLifecycl
     }
   }
 
+  protected void processHistoryEvents(HistoryEventProcessor.HistoryEventCreator creator) {
+    HistoryEventProcessor.processHistoryEvents(creator);
+  }
+
   protected HistoryLevel getHistoryLevel() {
     return Context.getProcessEngineConfiguration().getHistoryLevel();
   }
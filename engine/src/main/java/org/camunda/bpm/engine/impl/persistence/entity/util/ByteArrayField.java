@@ -16,6 +16,7 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity.util;
 
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.Nameable;
@@ -28,15 +29,21 @@ import java.util.Date;
  * A byte array value field what load and save {@link ByteArrayEntity}. It can
  * be used in an entity which implements {@link ValueFields}.
  *
+ * <p>If the owning entity supports inlining, values that do not exceed the
+ * configured {@link ProcessEngineConfigurationImpl#getByteArrayValueInlineThreshold() threshold}
+ * are kept in the entity's own row instead of a separate {@link ByteArrayEntity}.
+ *
  * @author Philipp Ossler
  */
 public class ByteArrayField {
 
   protected ByteArrayEntity byteArrayValue;
   protected String byteArrayId;
+  protected byte[] inlineValue;
 
   protected final Nameable nameProvider;
   protected ResourceType type;
+  protected boolean inliningSupported;
 
   protected String rootProcessInstanceId;
   protected Date removalTime;
@@ -48,8 +55,13 @@ public class ByteArrayField {
   }
 
   public ByteArrayField(Nameable nameProvider, ResourceType type) {
+    this(nameProvider, type, false);
+  }
+
+  public ByteArrayField(Nameable nameProvider, ResourceType type, boolean inliningSupported) {
     this.nameProvider = nameProvider;
     this.type = type;
+    this.inliningSupported = inliningSupported;
   }
 
   public String getByteArrayId() {
@@ -61,7 +73,19 @@ public class ByteArrayField {
     this.byteArrayValue = null;
   }
 
+  public byte[] getInlineValue() {
+    return inlineValue;
+  }
+
+  public void setInlineValue(byte[] inlineValue) {
+    this.inlineValue = inlineValue;
+  }
+
   public byte[] getByteArrayValue() {
+    if (inlineValue != null) {
+      return inlineValue;
+    }
+
     getByteArrayEntity();
 
     if (byteArrayValue != null) {
@@ -94,7 +118,14 @@ public class ByteArrayField {
   }
 
   public void setByteArrayValue(byte[] bytes, boolean isTransient) {
-    if (bytes != null) {
+    if (bytes != null && isInlinable(bytes)) {
+      deleteByteArrayValue();
+      byteArrayValue = null;
+      inlineValue = bytes;
+    }
+    else if (bytes != null) {
+      inlineValue = null;
+
       // note: there can be cases where byteArrayId is not null
       //   but the corresponding byte array entity has been removed in parallel;
       //   thus we also need to check if the actual byte array entity still exists
@@ -123,7 +154,23 @@ public class ByteArrayField {
 
   }
 
+  protected boolean isInlinable(byte[] bytes) {
+    if (!inliningSupported) {
+      return false;
+    }
+
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+    if (configuration == null) {
+      return false;
+    }
+
+    int threshold = configuration.getByteArrayValueInlineThreshold();
+    return threshold > 0 && bytes.length <= threshold;
+  }
+
   public void deleteByteArrayValue() {
+    inlineValue = null;
+
     if (byteArrayId != null) {
       // the next apparently useless line is probably to ensure consistency in the DbSqlSession cache,
       // but should be checked and docked here (or removed if it turns out to be unnecessary)
@@ -31,6 +31,9 @@ import org.camunda.bpm.engine.impl.db.DbEntityLifecycleAware;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandContextListener;
+import org.camunda.bpm.engine.impl.variable.serializer.AbstractSerializableValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.CompressingValueFields;
+import org.camunda.bpm.engine.impl.variable.serializer.SerializedValueCompression;
 import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.ValueFields;
 import org.camunda.bpm.engine.impl.variable.serializer.ValueFieldsImpl;
@@ -129,7 +132,7 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
     }
 
     // set new value
-    writeValue(value, valueFields);
+    writeValue(value, getPersistentValueFields());
 
     // cache the value
     cachedValue = value;
@@ -154,7 +157,7 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
 
   protected boolean isValuedImplicitlyUpdated() {
     if (cachedValue != null && isMutableValue(cachedValue)) {
-      byte[] byteArray = valueFields.getByteArrayValue();
+      byte[] byteArray = SerializedValueCompression.decompress(valueFields.getByteArrayValue());
 
       ValueFieldsImpl tempValueFields = new ValueFieldsImpl();
       writeValue(cachedValue, tempValueFields);
@@ -167,6 +170,20 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
     return false;
   }
 
+  /**
+   * The serialized form of serializable values is compressed when it is
+   * stored. The in-memory value fields which detect implicit updates keep it
+   * uncompressed.
+   */
+  protected ValueFields getPersistentValueFields() {
+    if (serializer instanceof AbstractSerializableValueSerializer) {
+      return new CompressingValueFields(valueFields, serializerName);
+    }
+    else {
+      return valueFields;
+    }
+  }
+
   @SuppressWarnings("unchecked")
   protected void writeValue(TypedValue value, ValueFields valueFields) {
     ((TypedValueSerializer<TypedValue>) getSerializer()).writeValue(value, valueFields);
@@ -76,6 +76,7 @@ public class ActivityImpl extends ScopeImpl implements PvmActivity, HasDIBounds
         throw new PvmException("activity '"+id+" has duplicate transition '"+transitionId+"'");
       }
       namedOutgoingTransitions.put(transitionId, transition);
+      processDefinition.addToTransitionIndex(transition);
     }
 
     return transition;
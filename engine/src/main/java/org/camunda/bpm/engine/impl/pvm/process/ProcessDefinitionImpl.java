@@ -47,6 +47,10 @@ public class ProcessDefinitionImpl extends ScopeImpl implements PvmProcessDefini
   protected List<LaneSet> laneSets;
   protected ParticipantProcess participantProcess;
 
+  /** all named activities and transitions of the process, regardless of their flow scope */
+  protected Map<String, ActivityImpl> activityIndex = new HashMap<String, ActivityImpl>();
+  protected Map<String, TransitionImpl> transitionIndex = new HashMap<String, TransitionImpl>();
+
   public ProcessDefinitionImpl(String id) {
     super(id, null);
     processDefinition = this;
@@ -151,6 +155,30 @@ public class ProcessDefinitionImpl extends ScopeImpl implements PvmProcessDefini
     return null;
   }
 
+  /**
+   * Looks the activity up in the index of the process definition instead of
+   * walking the activity tree.
+   */
+  @Override
+  public ActivityImpl findActivity(String activityId) {
+    return activityIndex.get(activityId);
+  }
+
+  @Override
+  public TransitionImpl findTransition(String transitionId) {
+    return transitionIndex.get(transitionId);
+  }
+
+  protected void addToActivityIndex(ActivityImpl activity) {
+    activityIndex.put(activity.getId(), activity);
+  }
+
+  protected void addToTransitionIndex(TransitionImpl transition) {
+    if (!transitionIndex.containsKey(transition.getId())) {
+      transitionIndex.put(transition.getId(), transition);
+    }
+  }
+
   @Override
   public CoreActivityBehavior<? extends BaseDelegateExecution> getActivityBehavior() {
     // unsupported in PVM
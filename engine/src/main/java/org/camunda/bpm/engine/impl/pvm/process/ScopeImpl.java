@@ -160,6 +160,7 @@ public abstract class ScopeImpl extends CoreActivity implements PvmScope {
         BACKLOG.remove(activityId);
       }
       namedFlowActivities.put(activityId, activity);
+      processDefinition.addToActivityIndex(activity);
     }
     activity.flowScope = this;
     flowActivities.add(activity);
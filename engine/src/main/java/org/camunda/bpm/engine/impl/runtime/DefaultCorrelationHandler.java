@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.impl.ExecutionQueryImpl;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
@@ -85,6 +86,18 @@ public class DefaultCorrelationHandler implements CorrelationHandler {
     ExecutionQueryImpl query = new ExecutionQueryImpl();
 
     Map<String, Object> correlationKeys = correlationSet.getCorrelationKeys();
+
+    // narrow down the candidates by the correlation key index if it covers one of the keys
+    Set<String> candidateExecutionIds = commandContext
+      .getCorrelationKeyManager()
+      .findExecutionIdsByCorrelationKeys(messageName, correlationKeys);
+    if (candidateExecutionIds != null) {
+      if (candidateExecutionIds.isEmpty()) {
+        return Collections.emptyList();
+      }
+      query.executionIds(candidateExecutionIds);
+    }
+
     if (correlationKeys != null) {
       for (Map.Entry<String, Object> correlationKey : correlationKeys.entrySet()) {
         query.processVariableValueEquals(correlationKey.getKey(), correlationKey.getValue());
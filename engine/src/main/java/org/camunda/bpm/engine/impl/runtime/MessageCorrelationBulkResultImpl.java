@@ -0,0 +1,77 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.runtime;
+
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResult;
+
+public class MessageCorrelationBulkResultImpl implements MessageCorrelationBulkResult {
+
+  protected final int index;
+  protected final String messageName;
+  protected final MessageCorrelationResult correlationResult;
+  protected final RuntimeException failure;
+
+  protected MessageCorrelationBulkResultImpl(int index, String messageName, MessageCorrelationResult correlationResult, RuntimeException failure) {
+    this.index = index;
+    this.messageName = messageName;
+    this.correlationResult = correlationResult;
+    this.failure = failure;
+  }
+
+  public static MessageCorrelationBulkResultImpl success(int index, String messageName, MessageCorrelationResult correlationResult) {
+    return new MessageCorrelationBulkResultImpl(index, messageName, correlationResult, null);
+  }
+
+  public static MessageCorrelationBulkResultImpl failure(int index, String messageName, RuntimeException failure) {
+    return new MessageCorrelationBulkResultImpl(index, messageName, null, failure);
+  }
+
+  @Override
+  public int getIndex() {
+    return index;
+  }
+
+  @Override
+  public String getMessageName() {
+    return messageName;
+  }
+
+  @Override
+  public boolean isSuccessful() {
+    return failure == null;
+  }
+
+  @Override
+  public MessageCorrelationResult getCorrelationResult() {
+    return correlationResult;
+  }
+
+  @Override
+  public RuntimeException getFailure() {
+    return failure;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName()
+      + "[index=" + index
+      + ", messageName=" + messageName
+      + ", successful=" + isSuccessful()
+      + "]";
+  }
+}
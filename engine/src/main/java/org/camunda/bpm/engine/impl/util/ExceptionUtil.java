@@ -159,20 +159,28 @@ public class ExceptionUtil {
   }
 
   public static boolean checkVariableIntegrityViolation(Throwable cause) {
+    return checkUniqueConstraintViolation(cause, "act_uniq_variable");
+  }
+
+  public static boolean checkMeterRollupIntegrityViolation(Throwable cause) {
+    return checkUniqueConstraintViolation(cause, "act_uniq_meter_rollup");
+  }
+
+  protected static boolean checkUniqueConstraintViolation(Throwable cause, String constraintName) {
 
     List<SQLException> relatedSqlExceptions = findRelatedSqlExceptions(cause);
     for (SQLException exception : relatedSqlExceptions) {
       if (
         // MySQL & MariaDB
-        (exception.getMessage().toLowerCase().contains("act_uniq_variable") && "23000".equals(exception.getSQLState()) && exception.getErrorCode() == 1062)
+        (exception.getMessage().toLowerCase().contains(constraintName) && "23000".equals(exception.getSQLState()) && exception.getErrorCode() == 1062)
         // PostgreSQL
-        || (exception.getMessage().toLowerCase().contains("act_uniq_variable") && "23505".equals(exception.getSQLState()) && exception.getErrorCode() == 0)
+        || (exception.getMessage().toLowerCase().contains(constraintName) && "23505".equals(exception.getSQLState()) && exception.getErrorCode() == 0)
         // SqlServer
-        || (exception.getMessage().toLowerCase().contains("act_uniq_variable") && "23000".equals(exception.getSQLState()) && exception.getErrorCode() == 2601)
+        || (exception.getMessage().toLowerCase().contains(constraintName) && "23000".equals(exception.getSQLState()) && exception.getErrorCode() == 2601)
         // Oracle
-        || (exception.getMessage().toLowerCase().contains("act_uniq_variable") && "23000".equals(exception.getSQLState()) && exception.getErrorCode() == 1)
+        || (exception.getMessage().toLowerCase().contains(constraintName) && "23000".equals(exception.getSQLState()) && exception.getErrorCode() == 1)
         // H2
-        || (exception.getMessage().toLowerCase().contains("act_uniq_variable") && "23505".equals(exception.getSQLState()) && exception.getErrorCode() == 23505)
+        || (exception.getMessage().toLowerCase().contains(constraintName) && "23505".equals(exception.getSQLState()) && exception.getErrorCode() == 23505)
         ) {
         return true;
       }
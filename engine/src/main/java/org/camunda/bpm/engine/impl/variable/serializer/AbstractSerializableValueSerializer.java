@@ -73,7 +73,7 @@ public abstract class AbstractSerializableValueSerializer<T extends Serializable
 
   public T readValue(ValueFields valueFields, boolean deserializeObjectValue, boolean asTransientValue) {
 
-    byte[] serializedByteValue = readSerializedValueFromFields(valueFields);
+    byte[] serializedByteValue = SerializedValueCompression.decompress(readSerializedValueFromFields(valueFields));
     String serializedStringValue = getSerializedStringValue(serializedByteValue);
 
     if(deserializeObjectValue) {
@@ -0,0 +1,79 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer;
+
+/**
+ * Value fields which compress the serialized value written to the wrapped
+ * value fields, see {@link SerializedValueCompression}. Serializers always
+ * write uncompressed values; the value fields of persistent entities are
+ * wrapped when a value is stored.
+ */
+public class CompressingValueFields implements ValueFields {
+
+  protected final ValueFields valueFields;
+  protected final String serializerName;
+
+  public CompressingValueFields(ValueFields valueFields, String serializerName) {
+    this.valueFields = valueFields;
+    this.serializerName = serializerName;
+  }
+
+  public String getName() {
+    return valueFields.getName();
+  }
+
+  public String getTextValue() {
+    return valueFields.getTextValue();
+  }
+
+  public void setTextValue(String textValue) {
+    valueFields.setTextValue(textValue);
+  }
+
+  public String getTextValue2() {
+    return valueFields.getTextValue2();
+  }
+
+  public void setTextValue2(String textValue2) {
+    valueFields.setTextValue2(textValue2);
+  }
+
+  public Long getLongValue() {
+    return valueFields.getLongValue();
+  }
+
+  public void setLongValue(Long longValue) {
+    valueFields.setLongValue(longValue);
+  }
+
+  public Double getDoubleValue() {
+    return valueFields.getDoubleValue();
+  }
+
+  public void setDoubleValue(Double doubleValue) {
+    valueFields.setDoubleValue(doubleValue);
+  }
+
+  public byte[] getByteArrayValue() {
+    return valueFields.getByteArrayValue();
+  }
+
+  public void setByteArrayValue(byte[] bytes) {
+    valueFields.setByteArrayValue(SerializedValueCompression.compress(serializerName, bytes));
+  }
+
+}
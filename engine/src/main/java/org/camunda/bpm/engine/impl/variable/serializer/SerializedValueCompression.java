@@ -0,0 +1,152 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * Compresses the serialized form of {@link AbstractSerializableValueSerializer serializable values}
+ * before it is written to the byte array field and restores it on read.
+ *
+ * <p>A compressed value starts with {@link #MARKER}, followed by the id of the algorithm.
+ * Values without the marker are returned unchanged by {@link #decompress(byte[])}, so values
+ * written before compression was enabled remain readable, and so do compressed values after
+ * it is disabled again.
+ */
+public class SerializedValueCompression {
+
+  protected static final byte[] MARKER = new byte[] { 0x00, 'C', 'Z' };
+
+  /** algorithm id of the zlib deflate format provided by {@link Deflater} */
+  public static final byte DEFLATE = 1;
+
+  protected static final int HEADER_LENGTH = MARKER.length + 1;
+  protected static final int BUFFER_SIZE = 4096;
+
+  /**
+   * @return the compressed bytes, or the given bytes if compression is disabled,
+   * the value is smaller than the threshold of the serializer or compression does not reduce its size
+   */
+  public static byte[] compress(String serializerName, byte[] bytes) {
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+
+    if (bytes == null
+        || configuration == null
+        || !configuration.isSerializedValueCompressionEnabled()
+        || bytes.length < configuration.getSerializedValueCompressionThreshold(serializerName)) {
+      return bytes;
+    }
+
+    long startNanos = System.nanoTime();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(bytes.length / 2, HEADER_LENGTH));
+    out.write(MARKER, 0, MARKER.length);
+    out.write(DEFLATE);
+
+    Deflater deflater = new Deflater(configuration.getSerializedValueCompressionLevel());
+    try {
+      deflater.setInput(bytes);
+      deflater.finish();
+
+      byte[] buffer = new byte[BUFFER_SIZE];
+      while (!deflater.finished()) {
+        int length = deflater.deflate(buffer);
+        out.write(buffer, 0, length);
+      }
+    }
+    finally {
+      deflater.end();
+    }
+
+    byte[] compressed = out.toByteArray();
+
+    if (configuration.isMetricsEnabled()) {
+      MetricsRegistry metricsRegistry = configuration.getMetricsRegistry();
+      metricsRegistry.markOccurrence(Metrics.SERIALIZED_VALUE_UNCOMPRESSED_BYTES, bytes.length);
+      metricsRegistry.markOccurrence(Metrics.SERIALIZED_VALUE_COMPRESSED_BYTES, Math.min(compressed.length, bytes.length));
+      metricsRegistry.recordLatency(Metrics.SERIALIZED_VALUE_COMPRESSION_LATENCY, System.nanoTime() - startNanos);
+    }
+
+    return compressed.length < bytes.length ? compressed : bytes;
+  }
+
+  /**
+   * @return the decompressed bytes, or the given bytes if they are not compressed
+   */
+  public static byte[] decompress(byte[] bytes) {
+    if (!isCompressed(bytes)) {
+      return bytes;
+    }
+
+    long startNanos = System.nanoTime();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 4);
+
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+
+      byte[] buffer = new byte[BUFFER_SIZE];
+      while (!inflater.finished()) {
+        int length = inflater.inflate(buffer);
+        if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          // truncated input: this is not a value written by compress
+          return bytes;
+        }
+        out.write(buffer, 0, length);
+      }
+    }
+    catch (DataFormatException e) {
+      // an uncompressed value that happens to start with the marker
+      return bytes;
+    }
+    finally {
+      inflater.end();
+    }
+
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+    if (configuration != null && configuration.isMetricsEnabled()) {
+      configuration.getMetricsRegistry()
+        .recordLatency(Metrics.SERIALIZED_VALUE_DECOMPRESSION_LATENCY, System.nanoTime() - startNanos);
+    }
+
+    return out.toByteArray();
+  }
+
+  public static boolean isCompressed(byte[] bytes) {
+    if (bytes == null || bytes.length < HEADER_LENGTH) {
+      return false;
+    }
+
+    for (int i = 0; i < MARKER.length; i++) {
+      if (bytes[i] != MARKER[i]) {
+        return false;
+      }
+    }
+
+    return bytes[MARKER.length] == DEFLATE;
+  }
+
+}
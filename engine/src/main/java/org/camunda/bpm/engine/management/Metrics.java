@@ -73,4 +73,43 @@ public class Metrics {
   public final static String HISTORY_CLEANUP_REMOVED_CASE_INSTANCES = "history-cleanup-removed-case-instances";
   public final static String HISTORY_CLEANUP_REMOVED_DECISION_INSTANCES = "history-cleanup-removed-decision-instances";
   public final static String HISTORY_CLEANUP_REMOVED_BATCH_OPERATIONS = "history-cleanup-removed-batch-operations";
+
+  /**
+   * Prefix of the number of rows removed per table by the removal-time based
+   * history cleanup, e.g. <code>history-cleanup-removed-rows-act-hi-actinst</code>.
+   */
+  public final static String HISTORY_CLEANUP_REMOVED_ROWS = "history-cleanup-removed-rows";
+
+  /**
+   * Number of fetch and lock requests for external tasks
+   */
+  public final static String EXTERNAL_TASK_FETCH_ATTEMPT = "external-task-fetch-attempt";
+
+  /**
+   * Number of external tasks successfully locked by fetch and lock requests
+   */
+  public final static String EXTERNAL_TASK_FETCHED = "external-task-fetched";
+
+  /**
+   * Latency of commands which open a new command context, of job execution and
+   * of flushing the database session. These are kept as in-memory histograms
+   * only and are not reported to the database.
+   */
+  public final static String COMMAND_EXECUTION_LATENCY = "command-execution-latency";
+  public final static String JOB_EXECUTION_LATENCY = "job-execution-latency";
+  public final static String FLUSH_LATENCY = "flush-latency";
+
+  /**
+   * Size in bytes of serialized variable values before and after compression.
+   * Their quotient is the compression ratio. Only registered if compression is enabled.
+   */
+  public final static String SERIALIZED_VALUE_UNCOMPRESSED_BYTES = "serialized-value-uncompressed-bytes";
+  public final static String SERIALIZED_VALUE_COMPRESSED_BYTES = "serialized-value-compressed-bytes";
+
+  /**
+   * Time spent compressing and decompressing serialized variable values.
+   * These are kept as in-memory histograms only.
+   */
+  public final static String SERIALIZED_VALUE_COMPRESSION_LATENCY = "serialized-value-compression-latency";
+  public final static String SERIALIZED_VALUE_DECOMPRESSION_LATENCY = "serialized-value-decompression-latency";
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.runtime;
+
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.RuntimeService;
+
+/**
+ * <p>A fluent builder for correlating many messages at once, see
+ * {@link RuntimeService#createMessageCorrelationBulk()}.</p>
+ *
+ * <p>Each message is correlated like {@link MessageCorrelationBuilder#correlateWithResult()},
+ * in the order the messages were added. The messages are correlated in chunks, where a
+ * chunk shares one command and transaction. A message begins a new chunk if it correlates
+ * to a process instance which an earlier message of the chunk already changed, or if it
+ * does not match while an earlier message of the chunk created message subscriptions.</p>
+ *
+ * <p>If a chunk fails, e.g. because of an optimistic locking conflict or an exception
+ * thrown by the process, its messages are correlated again one by one in their own
+ * commands. Optimistic locking conflicts of a single message are retried.</p>
+ */
+public interface MessageCorrelationBulkBuilder {
+
+  /**
+   * Adds a message correlation. Only the correlation criteria and the variables of the
+   * given builder are used, it must not be correlated itself.
+   *
+   * @param messageCorrelation a builder created by {@link RuntimeService#createMessageCorrelation(String)}
+   * @return the builder
+   */
+  MessageCorrelationBulkBuilder messageCorrelation(MessageCorrelationBuilder messageCorrelation);
+
+  /**
+   * Adds the correlation of a message by process instance variables.
+   *
+   * @param messageName the name of the message
+   * @param correlationKeys the process instance variables to correlate on, may be <code>null</code>
+   * @param processVariables the variables to set on the process instance, may be <code>null</code>
+   * @return the builder
+   */
+  MessageCorrelationBulkBuilder messageCorrelation(String messageName, Map<String, Object> correlationKeys, Map<String, Object> processVariables);
+
+  /**
+   * Sets the maximal number of messages correlated in one command, default is 100.
+   *
+   * @return the builder
+   */
+  MessageCorrelationBulkBuilder chunkSize(int chunkSize);
+
+  /**
+   * Correlates all added messages. Must not be called inside a command, e.g. from a
+   * {@link org.camunda.bpm.engine.delegate.JavaDelegate}, since the chunks need
+   * transactions of their own.
+   *
+   * @return one result per added message, in the order the messages were added
+   * @throws org.camunda.bpm.engine.ProcessEngineException if called inside a command
+   */
+  List<MessageCorrelationBulkResult> correlate();
+
+}
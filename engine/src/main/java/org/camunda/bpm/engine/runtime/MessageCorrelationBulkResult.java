@@ -0,0 +1,51 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.runtime;
+
+/**
+ * The outcome of the correlation of one message by a {@link MessageCorrelationBulkBuilder}.
+ */
+public interface MessageCorrelationBulkResult {
+
+  /**
+   * @return the position of the message in the bulk correlation, starting with 0
+   */
+  int getIndex();
+
+  /**
+   * @return the name of the correlated message
+   */
+  String getMessageName();
+
+  /**
+   * @return true if the message was correlated
+   */
+  boolean isSuccessful();
+
+  /**
+   * @return the correlation result if the message was correlated, <code>null</code> otherwise
+   */
+  MessageCorrelationResult getCorrelationResult();
+
+  /**
+   * @return the exception that prevented the correlation of the message, e.g. a
+   *   {@link org.camunda.bpm.engine.MismatchingMessageCorrelationException}, or <code>null</code>
+   *   if the message was correlated
+   */
+  RuntimeException getFailure();
+
+}
@@ -19,9 +19,12 @@ package org.camunda.bpm.engine.runtime;
 import java.util.Map;
 
 import org.camunda.bpm.engine.AuthorizationException;
+import org.camunda.bpm.engine.BadUserRequestException;
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.authorization.BatchPermissions;
 import org.camunda.bpm.engine.authorization.Permissions;
 import org.camunda.bpm.engine.authorization.Resources;
+import org.camunda.bpm.engine.batch.Batch;
 
 /**
  * Fluent builder to notify the process engine that a signal event has been
@@ -96,4 +99,34 @@ public interface SignalEventReceivedBuilder {
    */
   void send();
 
+  /**
+   * <p>
+   * Delivers the signal to waiting executions and process definitions
+   * asynchronously using a {@link Batch}. The subscriptions to the signal are
+   * determined when the batch is created; subscriptions created afterwards do
+   * not receive the signal. Each batch job notifies a chunk of the subscriptions
+   * in its own transaction, so that broadcasting a signal to a large number of
+   * waiting executions does not have to fit into a single transaction. The
+   * progress can be followed by the returned batch.
+   * </p>
+   *
+   * <p>
+   * In contrast to {@link #send()}, variables can only have <code>null</code>,
+   * string, boolean, number or date values, because they are stored with the
+   * batch. Subscriptions whose execution has been suspended or has ended by the
+   * time its batch job runs do not receive the signal.
+   * </p>
+   *
+   * @return the batch which delivers the signal
+   *
+   * @throws BadUserRequestException
+   *           if a single execution is specified or a variable has an
+   *           unsupported value
+   * @throws AuthorizationException
+   *           if the user has no {@link Permissions#CREATE} or
+   *           {@link BatchPermissions#CREATE_BATCH_BROADCAST_SIGNAL} permission on
+   *           {@link Resources#BATCH}.
+   */
+  Batch sendAsync();
+
 }
@@ -112,6 +112,7 @@ create table ACT_HI_VARINST (
     CREATE_TIME_ timestamp,
     REV_ integer,
     BYTEARRAY_ID_ varchar(64),
+    BYTES_ longvarbinary,
     DOUBLE_ double,
     LONG_ bigint,
     TEXT_ varchar(4000),
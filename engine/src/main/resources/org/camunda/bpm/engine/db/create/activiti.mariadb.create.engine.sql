@@ -63,7 +63,7 @@ create table ACT_GE_SCHEMA_LOG (
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE utf8_bin;
 
 insert into ACT_GE_SCHEMA_LOG
-values ('0', CURRENT_TIMESTAMP, '7.13.0');
+values ('0', CURRENT_TIMESTAMP, '7.14.0');
 
 create table ACT_RE_DEPLOYMENT (
     ID_ varchar(64),
@@ -211,6 +211,7 @@ create table ACT_RU_VARIABLE (
     CASE_INST_ID_ varchar(64),
     TASK_ID_ varchar(64),
     BYTEARRAY_ID_ varchar(64),
+    BYTES_ LONGBLOB,
     DOUBLE_ double,
     LONG_ bigint,
     TEXT_ varchar(4000),
@@ -290,6 +291,57 @@ create table ACT_RU_METER_LOG (
   primary key (ID_)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE utf8_bin;
 
+create table ACT_RU_METER_ROLLUP (
+  ID_ varchar(64) not null,
+  NAME_ varchar(64) not null,
+  REPORTER_ varchar(255),
+  RESOLUTION_ integer not null,
+  INTERVAL_ bigint not null,
+  VALUE_ bigint,
+  primary key (ID_)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE utf8_bin;
+
+create table ACT_RU_CORR_KEY (
+  ID_ varchar(64) not null,
+  EVENT_NAME_ varchar(255) not null,
+  KEY_NAME_ varchar(255) not null,
+  VALUE_HASH_ integer,
+  EVENT_SUBSCR_ID_ varchar(64),
+  EXECUTION_ID_ varchar(64),
+  PROC_DEF_ID_ varchar(64),
+  primary key (ID_)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE utf8_bin;
+
+create table ACT_RU_TIMER_PARKED (
+    ID_ varchar(64) NOT NULL,
+    REV_ integer,
+    TYPE_ varchar(255) NOT NULL,
+    LOCK_EXP_TIME_ datetime(3) NULL,
+    LOCK_OWNER_ varchar(255),
+    EXCLUSIVE_ boolean,
+    EXECUTION_ID_ varchar(64),
+    PROCESS_INSTANCE_ID_ varchar(64),
+    PROCESS_DEF_ID_ varchar(64),
+    PROCESS_DEF_KEY_ varchar(255),
+    RETRIES_ integer,
+    EXCEPTION_STACK_ID_ varchar(64),
+    EXCEPTION_MSG_ varchar(4000),
+    FAILED_ACT_ID_ varchar(255),
+    DUEDATE_ datetime(3) NULL,
+    REPEAT_ varchar(255),
+    REPEAT_OFFSET_ bigint DEFAULT 0,
+    HANDLER_TYPE_ varchar(255),
+    HANDLER_CFG_ varchar(4000),
+    DEPLOYMENT_ID_ varchar(64),
+    SUSPENSION_STATE_ integer NOT NULL DEFAULT 1,
+    JOB_DEF_ID_ varchar(64),
+    PRIORITY_ bigint NOT NULL DEFAULT 0,
+    SEQUENCE_COUNTER_ bigint,
+    TENANT_ID_ varchar(64),
+    CREATE_TIME_ datetime(3),
+    primary key (ID_)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE utf8_bin;
+
 create table ACT_RU_EXT_TASK (
   ID_ varchar(64) not null,
   REV_ integer not null,
@@ -361,6 +413,23 @@ CREATE INDEX ACT_IDX_METER_LOG_REPORT ON ACT_RU_METER_LOG(NAME_, REPORTER_, MILL
 CREATE INDEX ACT_IDX_METER_LOG_TIME ON ACT_RU_METER_LOG(TIMESTAMP_);
 CREATE INDEX ACT_IDX_METER_LOG ON ACT_RU_METER_LOG(NAME_, TIMESTAMP_);
 
+-- metric rollups
+create index ACT_IDX_METER_ROLLUP_RES on ACT_RU_METER_ROLLUP(RESOLUTION_, INTERVAL_);
+create index ACT_IDX_METER_ROLLUP_NAME on ACT_RU_METER_ROLLUP(RESOLUTION_, NAME_, INTERVAL_);
+create unique index ACT_UNIQ_METER_ROLLUP on ACT_RU_METER_ROLLUP(NAME_, REPORTER_, RESOLUTION_, INTERVAL_);
+
+-- correlation keys
+create index ACT_IDX_CORR_KEY_LOOKUP on ACT_RU_CORR_KEY(EVENT_NAME_, KEY_NAME_, VALUE_HASH_);
+create index ACT_IDX_CORR_KEY_SUBSCR on ACT_RU_CORR_KEY(EVENT_SUBSCR_ID_);
+create index ACT_IDX_CORR_KEY_PROCDEF on ACT_RU_CORR_KEY(PROC_DEF_ID_);
+
+-- parked timers
+create index ACT_IDX_TIMER_PARKED_DUEDATE on ACT_RU_TIMER_PARKED(DUEDATE_);
+create index ACT_IDX_TIMER_PARKED_EXEC on ACT_RU_TIMER_PARKED(EXECUTION_ID_);
+create index ACT_IDX_TIMER_PARKED_PROCINST on ACT_RU_TIMER_PARKED(PROCESS_INSTANCE_ID_);
+create index ACT_IDX_TIMER_PARKED_JOBDEF on ACT_RU_TIMER_PARKED(JOB_DEF_ID_);
+create index ACT_IDX_TIMER_PARKED_HANDLER on ACT_RU_TIMER_PARKED(HANDLER_TYPE_);
+
 create index ACT_IDX_EXT_TASK_TOPIC on ACT_RU_EXT_TASK(TOPIC_NAME_);
 create index ACT_IDX_EXT_TASK_TENANT_ID on ACT_RU_EXT_TASK(TENANT_ID_);
 create index ACT_IDX_EXT_TASK_PRIORITY ON ACT_RU_EXT_TASK(PRIORITY_);
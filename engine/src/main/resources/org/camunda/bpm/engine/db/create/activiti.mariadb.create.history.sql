@@ -112,6 +112,7 @@ create table ACT_HI_VARINST (
     CREATE_TIME_ datetime(3),
     REV_ integer,
     BYTEARRAY_ID_ varchar(64),
+    BYTES_ LONGBLOB,
     DOUBLE_ double,
     LONG_ bigint,
     TEXT_ varchar(4000),
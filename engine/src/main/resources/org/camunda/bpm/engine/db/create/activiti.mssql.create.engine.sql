@@ -63,7 +63,7 @@ create table ACT_GE_SCHEMA_LOG (
 );
 
 insert into ACT_GE_SCHEMA_LOG
-values ('0', CURRENT_TIMESTAMP, '7.13.0');
+values ('0', CURRENT_TIMESTAMP, '7.14.0');
 
 create table ACT_RE_DEPLOYMENT (
     ID_ nvarchar(64),
@@ -211,6 +211,7 @@ create table ACT_RU_VARIABLE (
     CASE_INST_ID_ nvarchar(64),
     TASK_ID_ nvarchar(64),
     BYTEARRAY_ID_ nvarchar(64),
+    BYTES_ image,
     DOUBLE_ double precision,
     LONG_ numeric(19,0),
     TEXT_ nvarchar(4000),
@@ -290,6 +291,57 @@ create table ACT_RU_METER_LOG (
   primary key (ID_)
 );
 
+create table ACT_RU_METER_ROLLUP (
+  ID_ nvarchar(64) not null,
+  NAME_ nvarchar(64) not null,
+  REPORTER_ nvarchar(255),
+  RESOLUTION_ int not null,
+  INTERVAL_ numeric(19,0) not null,
+  VALUE_ numeric(19,0),
+  primary key (ID_)
+);
+
+create table ACT_RU_CORR_KEY (
+  ID_ nvarchar(64) not null,
+  EVENT_NAME_ nvarchar(255) not null,
+  KEY_NAME_ nvarchar(255) not null,
+  VALUE_HASH_ int,
+  EVENT_SUBSCR_ID_ nvarchar(64),
+  EXECUTION_ID_ nvarchar(64),
+  PROC_DEF_ID_ nvarchar(64),
+  primary key (ID_)
+);
+
+create table ACT_RU_TIMER_PARKED (
+    ID_ nvarchar(64) NOT NULL,
+    REV_ int,
+    TYPE_ nvarchar(255) NOT NULL,
+    LOCK_EXP_TIME_ datetime2,
+    LOCK_OWNER_ nvarchar(255),
+    EXCLUSIVE_ bit,
+    EXECUTION_ID_ nvarchar(64),
+    PROCESS_INSTANCE_ID_ nvarchar(64),
+    PROCESS_DEF_ID_ nvarchar(64),
+    PROCESS_DEF_KEY_ nvarchar(255),
+    RETRIES_ int,
+    EXCEPTION_STACK_ID_ nvarchar(64),
+    EXCEPTION_MSG_ nvarchar(4000),
+    FAILED_ACT_ID_ nvarchar(255),
+    DUEDATE_ datetime2 NULL,
+    REPEAT_ nvarchar(255),
+    REPEAT_OFFSET_ numeric(19,0) DEFAULT 0,
+    HANDLER_TYPE_ nvarchar(255),
+    HANDLER_CFG_ nvarchar(4000),
+    DEPLOYMENT_ID_ nvarchar(64),
+    SUSPENSION_STATE_ tinyint NOT NULL DEFAULT 1,
+    PRIORITY_ numeric(19,0) NOT NULL DEFAULT 0,
+    JOB_DEF_ID_ nvarchar(64),
+    SEQUENCE_COUNTER_ numeric(19,0),
+    TENANT_ID_ nvarchar(64),
+    CREATE_TIME_ datetime2,
+    primary key (ID_)
+);
+
 create table ACT_RU_EXT_TASK (
   ID_ nvarchar(64) not null,
   REV_ integer not null,
@@ -362,6 +414,23 @@ CREATE INDEX ACT_IDX_METER_LOG_REPORT ON ACT_RU_METER_LOG(NAME_, REPORTER_, MILL
 CREATE INDEX ACT_IDX_METER_LOG_TIME ON ACT_RU_METER_LOG(TIMESTAMP_);
 CREATE INDEX ACT_IDX_METER_LOG ON ACT_RU_METER_LOG(NAME_, TIMESTAMP_);
 
+-- metric rollups
+create index ACT_IDX_METER_ROLLUP_RES on ACT_RU_METER_ROLLUP(RESOLUTION_, INTERVAL_);
+create index ACT_IDX_METER_ROLLUP_NAME on ACT_RU_METER_ROLLUP(RESOLUTION_, NAME_, INTERVAL_);
+create unique index ACT_UNIQ_METER_ROLLUP on ACT_RU_METER_ROLLUP(NAME_, REPORTER_, RESOLUTION_, INTERVAL_);
+
+-- correlation keys
+create index ACT_IDX_CORR_KEY_LOOKUP on ACT_RU_CORR_KEY(EVENT_NAME_, KEY_NAME_, VALUE_HASH_);
+create index ACT_IDX_CORR_KEY_SUBSCR on ACT_RU_CORR_KEY(EVENT_SUBSCR_ID_);
+create index ACT_IDX_CORR_KEY_PROCDEF on ACT_RU_CORR_KEY(PROC_DEF_ID_);
+
+-- parked timers
+create index ACT_IDX_TIMER_PARKED_DUEDATE on ACT_RU_TIMER_PARKED(DUEDATE_);
+create index ACT_IDX_TIMER_PARKED_EXEC on ACT_RU_TIMER_PARKED(EXECUTION_ID_);
+create index ACT_IDX_TIMER_PARKED_PROCINST on ACT_RU_TIMER_PARKED(PROCESS_INSTANCE_ID_);
+create index ACT_IDX_TIMER_PARKED_JOBDEF on ACT_RU_TIMER_PARKED(JOB_DEF_ID_);
+create index ACT_IDX_TIMER_PARKED_HANDLER on ACT_RU_TIMER_PARKED(HANDLER_TYPE_);
+
 create index ACT_IDX_EXT_TASK_TOPIC on ACT_RU_EXT_TASK(TOPIC_NAME_);
 create index ACT_IDX_EXT_TASK_TENANT_ID on ACT_RU_EXT_TASK(TENANT_ID_);
 create index ACT_IDX_EXT_TASK_PRIORITY ON ACT_RU_EXT_TASK(PRIORITY_);
@@ -112,6 +112,7 @@ create table ACT_HI_VARINST (
     CREATE_TIME_ datetime2,
     REV_ int,
     BYTEARRAY_ID_ nvarchar(64),
+    BYTES_ image,
     DOUBLE_ double precision,
     LONG_ numeric(19,0),
     TEXT_ nvarchar(4000),
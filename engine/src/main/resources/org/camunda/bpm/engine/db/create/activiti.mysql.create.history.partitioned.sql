@@ -0,0 +1,83 @@
+--
+-- Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+-- under one or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information regarding copyright
+-- ownership. Camunda licenses this file to you under the Apache License,
+-- Version 2.0; you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+-- Optional variant of the history schema which range-partitions the large
+-- ACT_HI_* tables by REMOVAL_TIME_ (MySQL 8). Apply it after the regular
+-- history create script; existing rows are kept. The partitions themselves
+-- are maintained by the engine if 'historyPartitioningEnabled' is set, see
+-- HistoryPartitionManager.
+--
+-- Layout per table:
+--   P_NULL        rows without removal time
+--   P<yyyyMMdd>   one partition per removal day
+--   P_MAX         rows removable after the last daily partition
+--
+-- Primary keys must contain the partition key, so ID_ is indexed instead.
+
+alter table ACT_HI_ACTINST drop primary key, add index ACT_IDX_HI_ACTINST_ID_KEY(ID_);
+alter table ACT_HI_ACTINST partition by range columns(REMOVAL_TIME_) (
+    partition P_NULL values less than ('1970-01-02 00:00:00'),
+    partition P_MAX values less than (MAXVALUE)
+);
+
+alter table ACT_HI_TASKINST drop primary key, add index ACT_IDX_HI_TASKINST_ID_KEY(ID_);
+alter table ACT_HI_TASKINST partition by range columns(REMOVAL_TIME_) (
+    partition P_NULL values less than ('1970-01-02 00:00:00'),
+    partition P_MAX values less than (MAXVALUE)
+);
+
+alter table ACT_HI_VARINST drop primary key, add index ACT_IDX_HI_VARINST_ID_KEY(ID_);
+alter table ACT_HI_VARINST partition by range columns(REMOVAL_TIME_) (
+    partition P_NULL values less than ('1970-01-02 00:00:00'),
+    partition P_MAX values less than (MAXVALUE)
+);
+
+alter table ACT_HI_DETAIL drop primary key, add index ACT_IDX_HI_DETAIL_ID_KEY(ID_);
+alter table ACT_HI_DETAIL partition by range columns(REMOVAL_TIME_) (
+    partition P_NULL values less than ('1970-01-02 00:00:00'),
+    partition P_MAX values less than (MAXVALUE)
+);
+
+alter table ACT_HI_IDENTITYLINK drop primary key, add index ACT_IDX_HI_IDENTITYLINK_ID_KEY(ID_);
+alter table ACT_HI_IDENTITYLINK partition by range columns(REMOVAL_TIME_) (
+    partition P_NULL values less than ('1970-01-02 00:00:00'),
+    partition P_MAX values less than (MAXVALUE)
+);
+
+alter table ACT_HI_OP_LOG drop primary key, add index ACT_IDX_HI_OP_LOG_ID_KEY(ID_);
+alter table ACT_HI_OP_LOG partition by range columns(REMOVAL_TIME_) (
+    partition P_NULL values less than ('1970-01-02 00:00:00'),
+    partition P_MAX values less than (MAXVALUE)
+);
+
+alter table ACT_HI_INCIDENT drop primary key, add index ACT_IDX_HI_INCIDENT_ID_KEY(ID_);
+alter table ACT_HI_INCIDENT partition by range columns(REMOVAL_TIME_) (
+    partition P_NULL values less than ('1970-01-02 00:00:00'),
+    partition P_MAX values less than (MAXVALUE)
+);
+
+alter table ACT_HI_JOB_LOG drop primary key, add index ACT_IDX_HI_JOB_LOG_ID_KEY(ID_);
+alter table ACT_HI_JOB_LOG partition by range columns(REMOVAL_TIME_) (
+    partition P_NULL values less than ('1970-01-02 00:00:00'),
+    partition P_MAX values less than (MAXVALUE)
+);
+
+alter table ACT_HI_EXT_TASK_LOG drop primary key, add index ACT_IDX_HI_EXT_TASK_LOG_ID_KEY(ID_);
+alter table ACT_HI_EXT_TASK_LOG partition by range columns(REMOVAL_TIME_) (
+    partition P_NULL values less than ('1970-01-02 00:00:00'),
+    partition P_MAX values less than (MAXVALUE)
+);
@@ -112,6 +112,7 @@ create table ACT_HI_VARINST (
     CREATE_TIME_ TIMESTAMP(6),
     REV_ INTEGER,
     BYTEARRAY_ID_ NVARCHAR2(64),
+    BYTES_ BLOB,
     DOUBLE_ NUMBER(*,10),
     LONG_ NUMBER(19,0),
     TEXT_ NVARCHAR2(2000),
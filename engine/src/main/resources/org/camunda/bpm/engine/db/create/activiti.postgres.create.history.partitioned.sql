@@ -0,0 +1,190 @@
+--
+-- Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+-- under one or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information regarding copyright
+-- ownership. Camunda licenses this file to you under the Apache License,
+-- Version 2.0; you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+-- Optional variant of the history schema which range-partitions the large
+-- ACT_HI_* tables by REMOVAL_TIME_ (PostgreSQL 11 or later). Apply it after
+-- the regular history create script; existing rows are copied into the
+-- partitioned tables. The partitions themselves are maintained by the
+-- engine if 'historyPartitioningEnabled' is set, see HistoryPartitionManager.
+--
+-- Layout per table:
+--   <TABLE>_DEFAULT      rows without removal time
+--   <TABLE>_PAST         rows removable before the first daily partition
+--   <TABLE>_P<yyyyMMdd>  one partition per removal day
+--   <TABLE>_FUTURE       rows removable after the last daily partition
+--
+-- Primary keys must contain the partition key, so ID_ is indexed instead.
+
+alter table ACT_HI_ACTINST rename to ACT_HI_ACTINST_UNPART;
+create table ACT_HI_ACTINST (like ACT_HI_ACTINST_UNPART including defaults) partition by range (REMOVAL_TIME_);
+create table ACT_HI_ACTINST_DEFAULT partition of ACT_HI_ACTINST default;
+create table ACT_HI_ACTINST_FUTURE partition of ACT_HI_ACTINST for values from (MINVALUE) to (MAXVALUE);
+insert into ACT_HI_ACTINST select * from ACT_HI_ACTINST_UNPART;
+drop table ACT_HI_ACTINST_UNPART;
+
+alter table ACT_HI_TASKINST rename to ACT_HI_TASKINST_UNPART;
+create table ACT_HI_TASKINST (like ACT_HI_TASKINST_UNPART including defaults) partition by range (REMOVAL_TIME_);
+create table ACT_HI_TASKINST_DEFAULT partition of ACT_HI_TASKINST default;
+create table ACT_HI_TASKINST_FUTURE partition of ACT_HI_TASKINST for values from (MINVALUE) to (MAXVALUE);
+insert into ACT_HI_TASKINST select * from ACT_HI_TASKINST_UNPART;
+drop table ACT_HI_TASKINST_UNPART;
+
+alter table ACT_HI_VARINST rename to ACT_HI_VARINST_UNPART;
+create table ACT_HI_VARINST (like ACT_HI_VARINST_UNPART including defaults) partition by range (REMOVAL_TIME_);
+create table ACT_HI_VARINST_DEFAULT partition of ACT_HI_VARINST default;
+create table ACT_HI_VARINST_FUTURE partition of ACT_HI_VARINST for values from (MINVALUE) to (MAXVALUE);
+insert into ACT_HI_VARINST select * from ACT_HI_VARINST_UNPART;
+drop table ACT_HI_VARINST_UNPART;
+
+alter table ACT_HI_DETAIL rename to ACT_HI_DETAIL_UNPART;
+create table ACT_HI_DETAIL (like ACT_HI_DETAIL_UNPART including defaults) partition by range (REMOVAL_TIME_);
+create table ACT_HI_DETAIL_DEFAULT partition of ACT_HI_DETAIL default;
+create table ACT_HI_DETAIL_FUTURE partition of ACT_HI_DETAIL for values from (MINVALUE) to (MAXVALUE);
+insert into ACT_HI_DETAIL select * from ACT_HI_DETAIL_UNPART;
+drop table ACT_HI_DETAIL_UNPART;
+
+alter table ACT_HI_IDENTITYLINK rename to ACT_HI_IDENTITYLINK_UNPART;
+create table ACT_HI_IDENTITYLINK (like ACT_HI_IDENTITYLINK_UNPART including defaults) partition by range (REMOVAL_TIME_);
+create table ACT_HI_IDENTITYLINK_DEFAULT partition of ACT_HI_IDENTITYLINK default;
+create table ACT_HI_IDENTITYLINK_FUTURE partition of ACT_HI_IDENTITYLINK for values from (MINVALUE) to (MAXVALUE);
+insert into ACT_HI_IDENTITYLINK select * from ACT_HI_IDENTITYLINK_UNPART;
+drop table ACT_HI_IDENTITYLINK_UNPART;
+
+alter table ACT_HI_OP_LOG rename to ACT_HI_OP_LOG_UNPART;
+create table ACT_HI_OP_LOG (like ACT_HI_OP_LOG_UNPART including defaults) partition by range (REMOVAL_TIME_);
+create table ACT_HI_OP_LOG_DEFAULT partition of ACT_HI_OP_LOG default;
+create table ACT_HI_OP_LOG_FUTURE partition of ACT_HI_OP_LOG for values from (MINVALUE) to (MAXVALUE);
+insert into ACT_HI_OP_LOG select * from ACT_HI_OP_LOG_UNPART;
+drop table ACT_HI_OP_LOG_UNPART;
+
+alter table ACT_HI_INCIDENT rename to ACT_HI_INCIDENT_UNPART;
+create table ACT_HI_INCIDENT (like ACT_HI_INCIDENT_UNPART including defaults) partition by range (REMOVAL_TIME_);
+create table ACT_HI_INCIDENT_DEFAULT partition of ACT_HI_INCIDENT default;
+create table ACT_HI_INCIDENT_FUTURE partition of ACT_HI_INCIDENT for values from (MINVALUE) to (MAXVALUE);
+insert into ACT_HI_INCIDENT select * from ACT_HI_INCIDENT_UNPART;
+drop table ACT_HI_INCIDENT_UNPART;
+
+alter table ACT_HI_JOB_LOG rename to ACT_HI_JOB_LOG_UNPART;
+create table ACT_HI_JOB_LOG (like ACT_HI_JOB_LOG_UNPART including defaults) partition by range (REMOVAL_TIME_);
+create table ACT_HI_JOB_LOG_DEFAULT partition of ACT_HI_JOB_LOG default;
+create table ACT_HI_JOB_LOG_FUTURE partition of ACT_HI_JOB_LOG for values from (MINVALUE) to (MAXVALUE);
+insert into ACT_HI_JOB_LOG select * from ACT_HI_JOB_LOG_UNPART;
+drop table ACT_HI_JOB_LOG_UNPART;
+
+alter table ACT_HI_EXT_TASK_LOG rename to ACT_HI_EXT_TASK_LOG_UNPART;
+create table ACT_HI_EXT_TASK_LOG (like ACT_HI_EXT_TASK_LOG_UNPART including defaults) partition by range (REMOVAL_TIME_);
+create table ACT_HI_EXT_TASK_LOG_DEFAULT partition of ACT_HI_EXT_TASK_LOG default;
+create table ACT_HI_EXT_TASK_LOG_FUTURE partition of ACT_HI_EXT_TASK_LOG for values from (MINVALUE) to (MAXVALUE);
+insert into ACT_HI_EXT_TASK_LOG select * from ACT_HI_EXT_TASK_LOG_UNPART;
+drop table ACT_HI_EXT_TASK_LOG_UNPART;
+
+create index ACT_IDX_HI_ACTINST_ID_KEY on ACT_HI_ACTINST(ID_);
+create index ACT_IDX_HI_ACTINST_ROOT_PI on ACT_HI_ACTINST(ROOT_PROC_INST_ID_);
+create index ACT_IDX_HI_ACT_INST_START_END on ACT_HI_ACTINST(START_TIME_, END_TIME_);
+create index ACT_IDX_HI_ACT_INST_END on ACT_HI_ACTINST(END_TIME_);
+create index ACT_IDX_HI_ACT_INST_PROCINST on ACT_HI_ACTINST(PROC_INST_ID_, ACT_ID_);
+create index ACT_IDX_HI_ACT_INST_COMP on ACT_HI_ACTINST(EXECUTION_ID_, ACT_ID_, END_TIME_, ID_);
+create index ACT_IDX_HI_ACT_INST_STATS on ACT_HI_ACTINST(PROC_DEF_ID_, PROC_INST_ID_, ACT_ID_, END_TIME_, ACT_INST_STATE_);
+create index ACT_IDX_HI_ACT_INST_TENANT_ID on ACT_HI_ACTINST(TENANT_ID_);
+create index ACT_IDX_HI_ACT_INST_PROC_DEF_KEY on ACT_HI_ACTINST(PROC_DEF_KEY_);
+create index ACT_IDX_HI_AI_PDEFID_END_TIME on ACT_HI_ACTINST(PROC_DEF_ID_, END_TIME_);
+create index ACT_IDX_HI_ACT_INST_RM_TIME on ACT_HI_ACTINST(REMOVAL_TIME_);
+
+create index ACT_IDX_HI_TASKINST_ID_KEY on ACT_HI_TASKINST(ID_);
+create index ACT_IDX_HI_TASKINST_ROOT_PI on ACT_HI_TASKINST(ROOT_PROC_INST_ID_);
+create index ACT_IDX_HI_TASK_INST_TENANT_ID on ACT_HI_TASKINST(TENANT_ID_);
+create index ACT_IDX_HI_TASK_INST_PROC_DEF_KEY on ACT_HI_TASKINST(PROC_DEF_KEY_);
+create index ACT_IDX_HI_TASKINST_PROCINST on ACT_HI_TASKINST(PROC_INST_ID_);
+create index ACT_IDX_HI_TASKINSTID_PROCINST on ACT_HI_TASKINST(ID_,PROC_INST_ID_);
+create index ACT_IDX_HI_TASK_INST_RM_TIME on ACT_HI_TASKINST(REMOVAL_TIME_);
+create index ACT_IDX_HI_TASK_INST_START on ACT_HI_TASKINST(START_TIME_);
+create index ACT_IDX_HI_TASK_INST_END on ACT_HI_TASKINST(END_TIME_);
+
+create index ACT_IDX_HI_VARINST_ID_KEY on ACT_HI_VARINST(ID_);
+create index ACT_IDX_HI_VARINST_ROOT_PI on ACT_HI_VARINST(ROOT_PROC_INST_ID_);
+create index ACT_IDX_HI_PROCVAR_PROC_INST on ACT_HI_VARINST(PROC_INST_ID_);
+create index ACT_IDX_HI_PROCVAR_NAME_TYPE on ACT_HI_VARINST(NAME_, VAR_TYPE_);
+create index ACT_IDX_HI_CASEVAR_CASE_INST on ACT_HI_VARINST(CASE_INST_ID_);
+create index ACT_IDX_HI_VAR_INST_TENANT_ID on ACT_HI_VARINST(TENANT_ID_);
+create index ACT_IDX_HI_VAR_INST_PROC_DEF_KEY on ACT_HI_VARINST(PROC_DEF_KEY_);
+create index ACT_IDX_HI_VARINST_BYTEAR on ACT_HI_VARINST(BYTEARRAY_ID_);
+create index ACT_IDX_HI_VARINST_RM_TIME on ACT_HI_VARINST(REMOVAL_TIME_);
+create index ACT_IDX_HI_VAR_PI_NAME_TYPE on ACT_HI_VARINST(PROC_INST_ID_, NAME_, VAR_TYPE_);
+
+create index ACT_IDX_HI_DETAIL_ID_KEY on ACT_HI_DETAIL(ID_);
+create index ACT_IDX_HI_DETAIL_ROOT_PI on ACT_HI_DETAIL(ROOT_PROC_INST_ID_);
+create index ACT_IDX_HI_DETAIL_PROC_INST on ACT_HI_DETAIL(PROC_INST_ID_);
+create index ACT_IDX_HI_DETAIL_ACT_INST on ACT_HI_DETAIL(ACT_INST_ID_);
+create index ACT_IDX_HI_DETAIL_CASE_INST on ACT_HI_DETAIL(CASE_INST_ID_);
+create index ACT_IDX_HI_DETAIL_CASE_EXEC on ACT_HI_DETAIL(CASE_EXECUTION_ID_);
+create index ACT_IDX_HI_DETAIL_TIME on ACT_HI_DETAIL(TIME_);
+create index ACT_IDX_HI_DETAIL_NAME on ACT_HI_DETAIL(NAME_);
+create index ACT_IDX_HI_DETAIL_TASK_ID on ACT_HI_DETAIL(TASK_ID_);
+create index ACT_IDX_HI_DETAIL_TENANT_ID on ACT_HI_DETAIL(TENANT_ID_);
+create index ACT_IDX_HI_DETAIL_PROC_DEF_KEY on ACT_HI_DETAIL(PROC_DEF_KEY_);
+create index ACT_IDX_HI_DETAIL_BYTEAR on ACT_HI_DETAIL(BYTEARRAY_ID_);
+create index ACT_IDX_HI_DETAIL_RM_TIME on ACT_HI_DETAIL(REMOVAL_TIME_);
+create index ACT_IDX_HI_DETAIL_TASK_BYTEAR on ACT_HI_DETAIL(BYTEARRAY_ID_, TASK_ID_);
+create index ACT_IDX_HI_DETAIL_VAR_INST_ID on ACT_HI_DETAIL(VAR_INST_ID_);
+
+create index ACT_IDX_HI_IDENTITYLINK_ID_KEY on ACT_HI_IDENTITYLINK(ID_);
+create index ACT_IDX_HI_IDENT_LNK_ROOT_PI on ACT_HI_IDENTITYLINK(ROOT_PROC_INST_ID_);
+create index ACT_IDX_HI_IDENT_LNK_USER on ACT_HI_IDENTITYLINK(USER_ID_);
+create index ACT_IDX_HI_IDENT_LNK_GROUP on ACT_HI_IDENTITYLINK(GROUP_ID_);
+create index ACT_IDX_HI_IDENT_LNK_TENANT_ID on ACT_HI_IDENTITYLINK(TENANT_ID_);
+create index ACT_IDX_HI_IDENT_LNK_PROC_DEF_KEY on ACT_HI_IDENTITYLINK(PROC_DEF_KEY_);
+create index ACT_IDX_HI_IDENT_LINK_TASK on ACT_HI_IDENTITYLINK(TASK_ID_);
+create index ACT_IDX_HI_IDENT_LINK_RM_TIME on ACT_HI_IDENTITYLINK(REMOVAL_TIME_);
+create index ACT_IDX_HI_IDENT_LNK_TIMESTAMP on ACT_HI_IDENTITYLINK(TIMESTAMP_);
+
+create index ACT_IDX_HI_OP_LOG_ID_KEY on ACT_HI_OP_LOG(ID_);
+create index ACT_IDX_HI_OP_LOG_ROOT_PI on ACT_HI_OP_LOG(ROOT_PROC_INST_ID_);
+create index ACT_IDX_HI_OP_LOG_PROCINST on ACT_HI_OP_LOG(PROC_INST_ID_);
+create index ACT_IDX_HI_OP_LOG_PROCDEF on ACT_HI_OP_LOG(PROC_DEF_ID_);
+create index ACT_IDX_HI_OP_LOG_TASK on ACT_HI_OP_LOG(TASK_ID_);
+create index ACT_IDX_HI_OP_LOG_RM_TIME on ACT_HI_OP_LOG(REMOVAL_TIME_);
+create index ACT_IDX_HI_OP_LOG_TIMESTAMP on ACT_HI_OP_LOG(TIMESTAMP_);
+create index ACT_IDX_HI_OP_LOG_USER_ID on ACT_HI_OP_LOG(USER_ID_);
+create index ACT_IDX_HI_OP_LOG_OP_TYPE on ACT_HI_OP_LOG(OPERATION_TYPE_);
+create index ACT_IDX_HI_OP_LOG_ENTITY_TYPE on ACT_HI_OP_LOG(ENTITY_TYPE_);
+
+create index ACT_IDX_HI_INCIDENT_ID_KEY on ACT_HI_INCIDENT(ID_);
+create index ACT_IDX_HI_INCIDENT_TENANT_ID on ACT_HI_INCIDENT(TENANT_ID_);
+create index ACT_IDX_HI_INCIDENT_PROC_DEF_KEY on ACT_HI_INCIDENT(PROC_DEF_KEY_);
+create index ACT_IDX_HI_INCIDENT_ROOT_PI on ACT_HI_INCIDENT(ROOT_PROC_INST_ID_);
+create index ACT_IDX_HI_INCIDENT_PROCINST on ACT_HI_INCIDENT(PROC_INST_ID_);
+create index ACT_IDX_HI_INCIDENT_RM_TIME on ACT_HI_INCIDENT(REMOVAL_TIME_);
+
+create index ACT_IDX_HI_JOB_LOG_ID_KEY on ACT_HI_JOB_LOG(ID_);
+create index ACT_IDX_HI_JOB_LOG_ROOT_PI on ACT_HI_JOB_LOG(ROOT_PROC_INST_ID_);
+create index ACT_IDX_HI_JOB_LOG_PROCINST on ACT_HI_JOB_LOG(PROCESS_INSTANCE_ID_);
+create index ACT_IDX_HI_JOB_LOG_PROCDEF on ACT_HI_JOB_LOG(PROCESS_DEF_ID_);
+create index ACT_IDX_HI_JOB_LOG_TENANT_ID on ACT_HI_JOB_LOG(TENANT_ID_);
+create index ACT_IDX_HI_JOB_LOG_JOB_DEF_ID on ACT_HI_JOB_LOG(JOB_DEF_ID_);
+create index ACT_IDX_HI_JOB_LOG_PROC_DEF_KEY on ACT_HI_JOB_LOG(PROCESS_DEF_KEY_);
+create index ACT_IDX_HI_JOB_LOG_EX_STACK on ACT_HI_JOB_LOG(JOB_EXCEPTION_STACK_ID_);
+create index ACT_IDX_HI_JOB_LOG_RM_TIME on ACT_HI_JOB_LOG(REMOVAL_TIME_);
+create index ACT_IDX_HI_JOB_LOG_JOB_CONF on ACT_HI_JOB_LOG(JOB_DEF_CONFIGURATION_);
+
+create index ACT_IDX_HI_EXT_TASK_LOG_ID_KEY on ACT_HI_EXT_TASK_LOG(ID_);
+create index ACT_HI_EXT_TASK_LOG_ROOT_PI on ACT_HI_EXT_TASK_LOG(ROOT_PROC_INST_ID_);
+create index ACT_HI_EXT_TASK_LOG_PROCINST on ACT_HI_EXT_TASK_LOG(PROC_INST_ID_);
+create index ACT_HI_EXT_TASK_LOG_PROCDEF on ACT_HI_EXT_TASK_LOG(PROC_DEF_ID_);
+create index ACT_HI_EXT_TASK_LOG_PROC_DEF_KEY on ACT_HI_EXT_TASK_LOG(PROC_DEF_KEY_);
+create index ACT_HI_EXT_TASK_LOG_TENANT_ID on ACT_HI_EXT_TASK_LOG(TENANT_ID_);
+create index ACT_IDX_HI_EXTTASKLOG_ERRORDET on ACT_HI_EXT_TASK_LOG(ERROR_DETAILS_ID_);
+create index ACT_HI_EXT_TASK_LOG_RM_TIME on ACT_HI_EXT_TASK_LOG(REMOVAL_TIME_);
@@ -135,6 +135,23 @@ DROP INDEX ACT_IDX_METER_LOG_REPORT;
 DROP INDEX ACT_IDX_METER_LOG_TIME;
 DROP INDEX ACT_IDX_METER_LOG;
 
+-- metric rollups
+DROP INDEX ACT_IDX_METER_ROLLUP_RES;
+DROP INDEX ACT_IDX_METER_ROLLUP_NAME;
+DROP INDEX ACT_UNIQ_METER_ROLLUP;
+
+-- correlation keys
+DROP INDEX ACT_IDX_CORR_KEY_LOOKUP;
+DROP INDEX ACT_IDX_CORR_KEY_SUBSCR;
+DROP INDEX ACT_IDX_CORR_KEY_PROCDEF;
+
+-- parked timers
+DROP INDEX ACT_IDX_TIMER_PARKED_DUEDATE;
+DROP INDEX ACT_IDX_TIMER_PARKED_EXEC;
+DROP INDEX ACT_IDX_TIMER_PARKED_PROCINST;
+DROP INDEX ACT_IDX_TIMER_PARKED_JOBDEF;
+DROP INDEX ACT_IDX_TIMER_PARKED_HANDLER;
+
 drop index ACT_IDX_AUTH_RESOURCE_ID;
 drop index ACT_IDX_EXT_TASK_TOPIC;
 drop index ACT_IDX_EXT_TASK_EXEC;
@@ -187,6 +204,9 @@ drop table ACT_RU_INCIDENT if exists;
 drop table ACT_RU_AUTHORIZATION if exists;
 drop table ACT_RU_FILTER if exists;
 drop table ACT_RU_METER_LOG if exists;
+drop table ACT_RU_METER_ROLLUP if exists;
+drop table ACT_RU_CORR_KEY if exists;
+drop table ACT_RU_TIMER_PARKED if exists;
 drop table ACT_RU_EXT_TASK if exists;
 drop table ACT_RU_BATCH if exists;
 drop table ACT_GE_SCHEMA_LOG if exists;
@@ -41,6 +41,23 @@ DROP INDEX ACT_RU_METER_LOG.ACT_IDX_METER_LOG_REPORT;
 DROP INDEX ACT_RU_METER_LOG.ACT_IDX_METER_LOG_TIME;
 DROP INDEX ACT_RU_METER_LOG.ACT_IDX_METER_LOG;
 
+-- metric rollups
+DROP INDEX ACT_RU_METER_ROLLUP.ACT_IDX_METER_ROLLUP_RES;
+DROP INDEX ACT_RU_METER_ROLLUP.ACT_IDX_METER_ROLLUP_NAME;
+DROP INDEX ACT_RU_METER_ROLLUP.ACT_UNIQ_METER_ROLLUP;
+
+-- correlation keys
+DROP INDEX ACT_RU_CORR_KEY.ACT_IDX_CORR_KEY_LOOKUP;
+DROP INDEX ACT_RU_CORR_KEY.ACT_IDX_CORR_KEY_SUBSCR;
+DROP INDEX ACT_RU_CORR_KEY.ACT_IDX_CORR_KEY_PROCDEF;
+
+-- parked timers
+DROP INDEX ACT_RU_TIMER_PARKED.ACT_IDX_TIMER_PARKED_DUEDATE;
+DROP INDEX ACT_RU_TIMER_PARKED.ACT_IDX_TIMER_PARKED_EXEC;
+DROP INDEX ACT_RU_TIMER_PARKED.ACT_IDX_TIMER_PARKED_PROCINST;
+DROP INDEX ACT_RU_TIMER_PARKED.ACT_IDX_TIMER_PARKED_JOBDEF;
+DROP INDEX ACT_RU_TIMER_PARKED.ACT_IDX_TIMER_PARKED_HANDLER;
+
 
 -- indexes for concurrency problems - https://app.camunda.com/jira/browse/CAM-1646 --
 drop index ACT_RU_EXECUTION.ACT_IDX_EXECUTION_PROC;
@@ -195,6 +212,9 @@ if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = '
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_AUTHORIZATION') drop table ACT_RU_AUTHORIZATION;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_FILTER') drop table ACT_RU_FILTER;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_METER_LOG') drop table ACT_RU_METER_LOG;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_METER_ROLLUP') drop table ACT_RU_METER_ROLLUP;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_CORR_KEY') drop table ACT_RU_CORR_KEY;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_TIMER_PARKED') drop table ACT_RU_TIMER_PARKED;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_EXT_TASK') drop table ACT_RU_EXT_TASK;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_BATCH') drop table ACT_RU_BATCH;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_GE_SCHEMA_LOG') drop table ACT_GE_SCHEMA_LOG;
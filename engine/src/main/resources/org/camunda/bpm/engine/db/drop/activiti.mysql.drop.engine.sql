@@ -37,6 +37,23 @@ DROP INDEX ACT_IDX_METER_LOG_REPORT ON ACT_RU_METER_LOG;
 DROP INDEX ACT_IDX_METER_LOG_TIME ON ACT_RU_METER_LOG;
 DROP INDEX ACT_IDX_METER_LOG ON ACT_RU_METER_LOG;
 
+-- metric rollups
+DROP INDEX ACT_IDX_METER_ROLLUP_RES ON ACT_RU_METER_ROLLUP;
+DROP INDEX ACT_IDX_METER_ROLLUP_NAME ON ACT_RU_METER_ROLLUP;
+DROP INDEX ACT_UNIQ_METER_ROLLUP ON ACT_RU_METER_ROLLUP;
+
+-- correlation keys
+DROP INDEX ACT_IDX_CORR_KEY_LOOKUP ON ACT_RU_CORR_KEY;
+DROP INDEX ACT_IDX_CORR_KEY_SUBSCR ON ACT_RU_CORR_KEY;
+DROP INDEX ACT_IDX_CORR_KEY_PROCDEF ON ACT_RU_CORR_KEY;
+
+-- parked timers
+DROP INDEX ACT_IDX_TIMER_PARKED_DUEDATE ON ACT_RU_TIMER_PARKED;
+DROP INDEX ACT_IDX_TIMER_PARKED_EXEC ON ACT_RU_TIMER_PARKED;
+DROP INDEX ACT_IDX_TIMER_PARKED_PROCINST ON ACT_RU_TIMER_PARKED;
+DROP INDEX ACT_IDX_TIMER_PARKED_JOBDEF ON ACT_RU_TIMER_PARKED;
+DROP INDEX ACT_IDX_TIMER_PARKED_HANDLER ON ACT_RU_TIMER_PARKED;
+
 drop index ACT_IDX_EXT_TASK_TOPIC on ACT_RU_EXT_TASK;
 
 drop index ACT_IDX_JOB_EXECUTION_ID on ACT_RU_JOB;
@@ -178,6 +195,9 @@ drop table if exists ACT_RU_INCIDENT;
 drop table if exists ACT_RU_AUTHORIZATION;
 drop table if exists ACT_RU_FILTER;
 drop table if exists ACT_RU_METER_LOG;
+drop table if exists ACT_RU_METER_ROLLUP;
+drop table if exists ACT_RU_CORR_KEY;
+drop table if exists ACT_RU_TIMER_PARKED;
 drop table if exists ACT_RU_EXT_TASK;
 drop table if exists ACT_RU_BATCH;
 drop table if exists ACT_GE_SCHEMA_LOG;
@@ -51,6 +51,23 @@ DROP INDEX ACT_IDX_METER_LOG_REPORT;
 DROP INDEX ACT_IDX_METER_LOG_TIME;
 DROP INDEX ACT_IDX_METER_LOG;
 
+-- metric rollups
+DROP INDEX ACT_IDX_METER_ROLLUP_RES;
+DROP INDEX ACT_IDX_METER_ROLLUP_NAME;
+DROP INDEX ACT_UNIQ_METER_ROLLUP;
+
+-- correlation keys
+DROP INDEX ACT_IDX_CORR_KEY_LOOKUP;
+DROP INDEX ACT_IDX_CORR_KEY_SUBSCR;
+DROP INDEX ACT_IDX_CORR_KEY_PROCDEF;
+
+-- parked timers
+DROP INDEX ACT_IDX_TIMER_PARKED_DUEDATE;
+DROP INDEX ACT_IDX_TIMER_PARKED_EXEC;
+DROP INDEX ACT_IDX_TIMER_PARKED_PROCINST;
+DROP INDEX ACT_IDX_TIMER_PARKED_JOBDEF;
+DROP INDEX ACT_IDX_TIMER_PARKED_HANDLER;
+
 drop index ACT_IDX_EXT_TASK_TOPIC;
 
 drop index ACT_IDX_JOB_EXECUTION_ID;
@@ -199,6 +216,9 @@ drop table  ACT_RU_INCIDENT;
 drop table  ACT_RU_AUTHORIZATION;
 drop table  ACT_RU_FILTER;
 drop table  ACT_RU_METER_LOG;
+drop table  ACT_RU_METER_ROLLUP;
+drop table  ACT_RU_CORR_KEY;
+drop table  ACT_RU_TIMER_PARKED;
 drop table  ACT_RU_EXT_TASK;
 drop table  ACT_RU_BATCH;
 drop table  ACT_GE_SCHEMA_LOG;
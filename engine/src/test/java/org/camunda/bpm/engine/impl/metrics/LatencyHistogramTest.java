@@ -0,0 +1,139 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void shouldPlaceValuesIntoBucketsWithBoundedError() {
+    for (long value = 0; value < 100000; value += 7) {
+      int index = LatencyHistogram.bucketIndex(value);
+      long upperBound = LatencyHistogram.bucketUpperBound(index);
+
+      assertThat(upperBound).isGreaterThanOrEqualTo(value);
+      assertThat(upperBound - value).isLessThanOrEqualTo(value / 8);
+      if (index > 0) {
+        assertThat(LatencyHistogram.bucketUpperBound(index - 1)).isLessThan(value);
+      }
+    }
+
+    assertThat(LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  public void shouldReportPercentiles() {
+    // given
+    LatencyHistogram histogram = new LatencyHistogram("latency");
+
+    // when
+    for (long value = 1; value <= 1000; value++) {
+      histogram.record(value * 1000);
+    }
+
+    // then
+    LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+    assertThat(snapshot.getCount()).isEqualTo(1000);
+    assertThat(snapshot.getMaxNanos()).isEqualTo(1000000);
+    assertThat(snapshot.getMeanNanos()).isEqualTo(500500);
+    assertThat(snapshot.getValueAtPercentile(50)).isBetween(500000L, 500000L + 500000L / 8);
+    assertThat(snapshot.getValueAtPercentile(99)).isBetween(990000L, 1000000L);
+    assertThat(snapshot.getValueAtPercentile(100)).isEqualTo(1000000);
+  }
+
+  @Test
+  public void shouldResetOnIntervalSnapshot() {
+    // given
+    LatencyHistogram histogram = new LatencyHistogram("latency");
+    histogram.record(10);
+    histogram.record(20);
+
+    // when
+    LatencyHistogram.Snapshot first = histogram.getSnapshotAndReset();
+    histogram.record(30);
+    LatencyHistogram.Snapshot second = histogram.getSnapshotAndReset();
+
+    // then
+    assertThat(first.getCount()).isEqualTo(2);
+    assertThat(first.getTotalNanos()).isEqualTo(30);
+    assertThat(second.getCount()).isEqualTo(1);
+    assertThat(second.getMaxNanos()).isEqualTo(30);
+    assertThat(histogram.getSnapshot().getCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldNotLoseConcurrentOccurrences() throws Exception {
+    // given
+    final Meter meter = new Meter("meter");
+    final LatencyHistogram histogram = new LatencyHistogram("latency");
+    final int threadCount = 4;
+    final int occurrences = 100000;
+
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < threadCount; i++) {
+      threads.add(new Thread() {
+        public void run() {
+          for (int j = 0; j < occurrences; j++) {
+            meter.mark();
+            histogram.record(j);
+          }
+        }
+      });
+    }
+
+    // when
+    long meterSum = 0;
+    long histogramCount = 0;
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      while (thread.isAlive()) {
+        meterSum += meter.getAndClear();
+        histogramCount += histogram.getSnapshotAndReset().getCount();
+      }
+      thread.join();
+    }
+    meterSum += meter.getAndClear();
+    histogramCount += histogram.getSnapshotAndReset().getCount();
+
+    // then
+    assertThat(meterSum).isEqualTo(threadCount * occurrences);
+    assertThat(histogramCount).isEqualTo(threadCount * occurrences);
+  }
+
+  @Test
+  public void shouldRegisterMetersAtRuntime() {
+    // given
+    MetricsRegistry registry = new MetricsRegistry();
+
+    // when
+    Meter meter = registry.getOrCreateMeter("custom");
+    registry.markOccurrence("custom", 3);
+
+    // then
+    assertThat(registry.getOrCreateMeter("custom")).isSameAs(meter);
+    assertThat(registry.getMeterByName("custom").get()).isEqualTo(3);
+  }
+
+}
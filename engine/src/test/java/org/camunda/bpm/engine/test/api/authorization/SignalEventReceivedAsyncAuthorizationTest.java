@@ -0,0 +1,160 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.authorization;
+
+import static org.camunda.bpm.engine.authorization.Authorization.ANY;
+import static org.camunda.bpm.engine.authorization.BatchPermissions.CREATE_BATCH_BROADCAST_SIGNAL;
+import static org.camunda.bpm.engine.authorization.Permissions.CREATE;
+import static org.camunda.bpm.engine.authorization.Permissions.CREATE_INSTANCE;
+import static org.camunda.bpm.engine.authorization.Permissions.UPDATE;
+import static org.camunda.bpm.engine.authorization.Resources.BATCH;
+import static org.camunda.bpm.engine.authorization.Resources.PROCESS_DEFINITION;
+import static org.camunda.bpm.engine.authorization.Resources.PROCESS_INSTANCE;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.AuthorizationException;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.task.Task;
+
+public class SignalEventReceivedAsyncAuthorizationTest extends AuthorizationTest {
+
+  protected static final String SIGNAL_BOUNDARY_PROCESS_KEY = "signalBoundaryProcess";
+  protected static final String SIGNAL_START_PROCESS_KEY = "signalStartProcess";
+
+  protected String deploymentId;
+
+  @Override
+  public void setUp() throws Exception {
+    deploymentId = createDeployment(null,
+        "org/camunda/bpm/engine/test/api/authorization/signalBoundaryEventProcess.bpmn20.xml",
+        "org/camunda/bpm/engine/test/api/authorization/signalStartEventProcess.bpmn20.xml"
+        ).getId();
+    super.setUp();
+  }
+
+  @Override
+  public void tearDown() {
+    disableAuthorization();
+    for (Batch batch : managementService.createBatchQuery().list()) {
+      managementService.deleteBatch(batch.getId(), true);
+    }
+    enableAuthorization();
+    super.tearDown();
+    deleteDeployment(deploymentId);
+  }
+
+  public void testSignalEventReceivedAsyncWithoutPermissionOnProcessInstance() {
+    // given
+    String processInstanceId = startProcessInstanceByKey(SIGNAL_BOUNDARY_PROCESS_KEY).getId();
+    createGrantAuthorization(BATCH, ANY, userId, CREATE_BATCH_BROADCAST_SIGNAL);
+
+    try {
+      // when
+      runtimeService.createSignalEvent("alert").sendAsync();
+      fail("Exception expected");
+    } catch (AuthorizationException e) {
+      // then
+      String message = e.getMessage();
+      assertTextPresent(userId, message);
+      assertTextPresent(UPDATE.getName(), message);
+      assertTextPresent(processInstanceId, message);
+      assertTextPresent(PROCESS_INSTANCE.resourceName(), message);
+    }
+
+    disableAuthorization();
+    assertEquals(0, managementService.createBatchQuery().count());
+    enableAuthorization();
+  }
+
+  public void testSignalEventReceivedAsyncWithUpdatePermissionOnProcessInstance() {
+    // given
+    String processInstanceId = startProcessInstanceByKey(SIGNAL_BOUNDARY_PROCESS_KEY).getId();
+    createGrantAuthorization(BATCH, ANY, userId, CREATE_BATCH_BROADCAST_SIGNAL);
+    createGrantAuthorization(PROCESS_INSTANCE, processInstanceId, userId, UPDATE);
+
+    // when
+    Batch batch = runtimeService.createSignalEvent("alert").sendAsync();
+    executeBatch(batch);
+
+    // then
+    Task task = selectSingleTask();
+    assertNotNull(task);
+    assertEquals("taskAfterBoundaryEvent", task.getTaskDefinitionKey());
+  }
+
+  public void testStartProcessInstanceBySignalEventReceivedAsyncWithoutAuthorization() {
+    // given
+    createGrantAuthorization(BATCH, ANY, userId, CREATE_BATCH_BROADCAST_SIGNAL);
+
+    try {
+      // when
+      runtimeService.createSignalEvent("warning").sendAsync();
+      fail("Exception expected");
+    } catch (AuthorizationException e) {
+      // then
+      assertTextPresent("The user with id 'test' does not have 'CREATE' permission on resource 'ProcessInstance'", e.getMessage());
+    }
+  }
+
+  public void testStartProcessInstanceBySignalEventReceivedAsyncWithCreatePermissionOnProcessInstance() {
+    // given
+    createGrantAuthorization(BATCH, ANY, userId, CREATE_BATCH_BROADCAST_SIGNAL);
+    createGrantAuthorization(PROCESS_INSTANCE, ANY, userId, CREATE);
+
+    try {
+      // when
+      runtimeService.createSignalEvent("warning").sendAsync();
+      fail("Exception expected");
+    } catch (AuthorizationException e) {
+      // then
+      assertTextPresent("The user with id 'test' does not have 'CREATE_INSTANCE' permission on resource 'signalStartProcess' of type 'ProcessDefinition'", e.getMessage());
+    }
+  }
+
+  public void testStartProcessInstanceBySignalEventReceivedAsync() {
+    // given
+    createGrantAuthorization(BATCH, ANY, userId, CREATE_BATCH_BROADCAST_SIGNAL);
+    createGrantAuthorization(PROCESS_INSTANCE, ANY, userId, CREATE);
+    createGrantAuthorization(PROCESS_DEFINITION, SIGNAL_START_PROCESS_KEY, userId, CREATE_INSTANCE);
+
+    // when
+    Batch batch = runtimeService.createSignalEvent("warning").sendAsync();
+    executeBatch(batch);
+
+    // then
+    disableAuthorization();
+    Task task = taskService.createTaskQuery().singleResult();
+    enableAuthorization();
+    assertNotNull(task);
+    assertEquals("task", task.getTaskDefinitionKey());
+  }
+
+  protected void executeBatch(Batch batch) {
+    disableAuthorization();
+    Job seedJob = managementService.createJobQuery().jobDefinitionId(batch.getSeedJobDefinitionId()).singleResult();
+    managementService.executeJob(seedJob.getId());
+
+    List<Job> batchJobs = managementService.createJobQuery().jobDefinitionId(batch.getBatchJobDefinitionId()).list();
+    for (Job batchJob : batchJobs) {
+      managementService.executeJob(batchJob.getId());
+    }
+    enableAuthorization();
+  }
+
+}
@@ -169,6 +169,61 @@ public class DeploymentCacheCfgTest {
     assertNotNull(modelInstance);
   }
 
+  @Test
+  public void testModelInstanceIsSharedByDefinitionsOfSameResource() {
+
+    // given
+    testRule.deploy(repositoryService.createDeployment()
+        .addClasspathResource("org/camunda/bpm/engine/test/repository/twoProcesses.bpmn20.xml"));
+    String processDefinitionIdOne = repositoryService.createProcessDefinitionQuery()
+        .processDefinitionKey("one")
+        .singleResult()
+        .getId();
+    String processDefinitionIdTwo = repositoryService.createProcessDefinitionQuery()
+        .processDefinitionKey("two")
+        .singleResult()
+        .getId();
+
+    // when
+    BpmnModelInstance modelInstanceOne = repositoryService.getBpmnModelInstance(processDefinitionIdOne);
+    BpmnModelInstance modelInstanceTwo = repositoryService.getBpmnModelInstance(processDefinitionIdTwo);
+
+    // then the resource is parsed only once
+    assertNotNull(modelInstanceOne);
+    assertSame(modelInstanceOne, modelInstanceTwo);
+  }
+
+  @Test
+  public void testModelInstanceIsRemovedTogetherWithDefinition() {
+
+    // given
+    testRule.deploy(repositoryService.createDeployment()
+        .addClasspathResource("org/camunda/bpm/engine/test/repository/twoProcesses.bpmn20.xml"));
+    String processDefinitionIdOne = repositoryService.createProcessDefinitionQuery()
+        .processDefinitionKey("one")
+        .singleResult()
+        .getId();
+    String processDefinitionIdTwo = repositoryService.createProcessDefinitionQuery()
+        .processDefinitionKey("two")
+        .singleResult()
+        .getId();
+    BpmnModelInstance modelInstance = repositoryService.getBpmnModelInstance(processDefinitionIdOne);
+    repositoryService.getBpmnModelInstance(processDefinitionIdTwo);
+
+    DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
+
+    // when
+    deploymentCache.removeProcessDefinition(processDefinitionIdOne);
+    deploymentCache.removeProcessDefinition(processDefinitionIdTwo);
+
+    // then no model instance is kept for the removed definitions
+    assertTrue(deploymentCache.getBpmnModelInstanceCache().isEmpty());
+
+    BpmnModelInstance reloadedModelInstance = repositoryService.getBpmnModelInstance(processDefinitionIdOne);
+    assertNotNull(reloadedModelInstance);
+    assertNotSame(modelInstance, reloadedModelInstance);
+  }
+
   @Test
   public void testDescriptionIsNullWhenFetchProcessDefinitionDescriptionIsDisabled() {
 
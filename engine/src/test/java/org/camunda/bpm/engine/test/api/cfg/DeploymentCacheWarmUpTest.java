@@ -0,0 +1,154 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import java.util.Date;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheWarmUp;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.model.bpmn.Bpmn;
+
+public class DeploymentCacheWarmUpTest extends PluggableProcessEngineTestCase {
+
+  @Override
+  protected void tearDown() throws Exception {
+    ClockUtil.reset();
+    super.tearDown();
+  }
+
+  public void testWarmUpLoadsLatestProcessDefinitions() {
+    // given
+    deployment(
+        Bpmn.createExecutableProcess("process1").startEvent().userTask().endEvent().done(),
+        Bpmn.createExecutableProcess("process2").startEvent().userTask().endEvent().done());
+    deployment(Bpmn.createExecutableProcess("process1").startEvent().endEvent().done());
+
+    DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
+    deploymentCache.discardProcessDefinitionCache();
+
+    DeploymentCacheWarmUp warmUp = new DeploymentCacheWarmUp(
+        processEngineConfiguration.getCommandExecutorTxRequired(), 10, 2, 10000);
+
+    // when
+    warmUp.warmUp();
+
+    // then
+    assertTrue(warmUp.isCompleted());
+    assertEquals(2, warmUp.getTotal());
+    assertEquals(2, warmUp.getLoaded());
+    assertEquals(0, warmUp.getFailed());
+
+    for (ProcessDefinition definition : repositoryService.createProcessDefinitionQuery().latestVersion().list()) {
+      assertNotNull(deploymentCache.findProcessDefinitionFromCache(definition.getId()));
+    }
+    ProcessDefinition firstVersion = repositoryService.createProcessDefinitionQuery()
+        .processDefinitionKey("process1")
+        .processDefinitionVersion(1)
+        .singleResult();
+    assertNull(deploymentCache.findProcessDefinitionFromCache(firstVersion.getId()));
+  }
+
+  public void testWarmUpIsLimitedToSize() {
+    // given
+    ClockUtil.setCurrentTime(new Date(1000));
+    deployment(Bpmn.createExecutableProcess("process1").startEvent().endEvent().done());
+    ClockUtil.setCurrentTime(new Date(2000));
+    deployment(Bpmn.createExecutableProcess("process2").startEvent().endEvent().done());
+
+    processEngineConfiguration.getDeploymentCache().discardProcessDefinitionCache();
+
+    DeploymentCacheWarmUp warmUp = new DeploymentCacheWarmUp(
+        processEngineConfiguration.getCommandExecutorTxRequired(), 1, 2, 10000);
+
+    // when
+    warmUp.warmUp();
+
+    // then the most recently deployed definition is loaded
+    assertEquals(1, warmUp.getLoaded());
+    String latestId = repositoryService.createProcessDefinitionQuery().processDefinitionKey("process2").singleResult().getId();
+    assertNotNull(processEngineConfiguration.getDeploymentCache().findProcessDefinitionFromCache(latestId));
+  }
+
+  public void testStartWarmsUpInBackground() throws Exception {
+    // given
+    deployment(Bpmn.createExecutableProcess("process1").startEvent().endEvent().done());
+    processEngineConfiguration.getDeploymentCache().discardProcessDefinitionCache();
+
+    DeploymentCacheWarmUp warmUp = new DeploymentCacheWarmUp(
+        processEngineConfiguration.getCommandExecutorTxRequired(), 10, 2, 10000);
+
+    // when
+    warmUp.start();
+    waitForWarmUp(warmUp);
+
+    // then
+    assertTrue(warmUp.isCompleted());
+    assertEquals(1, warmUp.getLoaded());
+  }
+
+  public void testStopWaitsForWarmUpThreads() {
+    // given
+    deployment(Bpmn.createExecutableProcess("process1").startEvent().endEvent().done());
+    processEngineConfiguration.getDeploymentCache().discardProcessDefinitionCache();
+
+    DeploymentCacheWarmUp warmUp = new DeploymentCacheWarmUp(
+        processEngineConfiguration.getCommandExecutorTxRequired(), 10, 2, 10000);
+    warmUp.start();
+
+    // when
+    warmUp.stop();
+
+    // then
+    assertFalse(warmUp.isRunning());
+  }
+
+  public void testWarmUpIsDisabledByDefault() {
+    assertEquals(0, processEngineConfiguration.getDeploymentCacheWarmUpSize());
+    assertNull(processEngineConfiguration.getDeploymentCacheWarmUp());
+  }
+
+  public void testNonPositiveTimeoutIsRejected() {
+    // given
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration.createStandaloneInMemProcessEngineConfiguration()
+        .setJdbcUrl("jdbc:h2:mem:camunda" + getClass().getSimpleName());
+    configuration.setDeploymentCacheWarmUpTimeout(0);
+
+    // when
+    try {
+      configuration.buildProcessEngine();
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      // then
+      assertTextPresent("deploymentCacheWarmUpTimeout", e.getMessage());
+    }
+  }
+
+  protected void waitForWarmUp(DeploymentCacheWarmUp warmUp) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10000;
+    while (warmUp.isRunning() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+}
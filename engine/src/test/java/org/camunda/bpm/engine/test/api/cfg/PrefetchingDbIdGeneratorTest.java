@@ -0,0 +1,132 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.model.bpmn.Bpmn;
+
+public class PrefetchingDbIdGeneratorTest extends ResourceProcessEngineTestCase {
+
+  public PrefetchingDbIdGeneratorTest() {
+    super("org/camunda/bpm/engine/test/api/cfg/PrefetchingDbIdGeneratorTest.camunda.cfg.xml");
+  }
+
+  public void testPrefetchingIdGeneratorIsConfigured() {
+    IdGenerator idGenerator = processEngineConfiguration.getIdGenerator();
+
+    assertTrue(idGenerator instanceof PrefetchingDbIdGenerator);
+    assertEquals("node1", ((PrefetchingDbIdGenerator) idGenerator).getNodePrefix());
+  }
+
+  public void testIdsArePrefixed() {
+    deployment(Bpmn.createExecutableProcess("process").startEvent().userTask().endEvent().done());
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    assertTrue(processInstance.getId().startsWith("node1-"));
+    assertNotNull(managementService.getProperties().get("next.dbid.node1"));
+  }
+
+  public void testConcurrentIdGeneration() throws InterruptedException {
+    final IdGenerator idGenerator = processEngineConfiguration.getIdGenerator();
+    final Set<String> ids = ConcurrentHashMap.newKeySet();
+
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < 20; i++) {
+      Thread thread = new Thread() {
+        public void run() {
+          for (int j = 0; j < 100; j++) {
+            ids.add(idGenerator.getNextId());
+          }
+        }
+      };
+      thread.start();
+      threads.add(thread);
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(2000, ids.size());
+  }
+
+  public void testNextBlockIsPrefetchedInBackground() {
+    final List<String> fetchingThreads = Collections.synchronizedList(new ArrayList<String>());
+
+    PrefetchingDbIdGenerator idGenerator = new PrefetchingDbIdGenerator() {
+      protected IdRange fetchRange() {
+        fetchingThreads.add(Thread.currentThread().getName());
+        return super.fetchRange();
+      }
+    };
+    idGenerator.setIdBlockSize(10);
+    idGenerator.setPrefetchThreshold(5);
+    idGenerator.setCommandExecutor(processEngineConfiguration.getCommandExecutorTxRequiresNew());
+
+    Set<String> ids = new HashSet<String>();
+    for (int i = 0; i < 20; i++) {
+      ids.add(idGenerator.getNextId());
+    }
+
+    assertEquals(20, ids.size());
+    // the first block is fetched on demand, the second one in the background
+    assertEquals(Thread.currentThread().getName(), fetchingThreads.get(0));
+    assertEquals(PrefetchingDbIdGenerator.PREFETCH_THREAD_NAME, fetchingThreads.get(1));
+  }
+
+  public void testNoBlockIsPrefetchedAfterClose() {
+    final List<String> fetchingThreads = Collections.synchronizedList(new ArrayList<String>());
+
+    PrefetchingDbIdGenerator idGenerator = new PrefetchingDbIdGenerator() {
+      protected IdRange fetchRange() {
+        fetchingThreads.add(Thread.currentThread().getName());
+        return super.fetchRange();
+      }
+    };
+    idGenerator.setIdBlockSize(10);
+    idGenerator.setPrefetchThreshold(5);
+    idGenerator.setCommandExecutor(processEngineConfiguration.getCommandExecutorTxRequiresNew());
+    idGenerator.getNextId();
+
+    // when
+    idGenerator.close();
+
+    Set<String> ids = new HashSet<String>();
+    for (int i = 0; i < 20; i++) {
+      ids.add(idGenerator.getNextId());
+    }
+
+    // then the next blocks are fetched on demand
+    assertEquals(20, ids.size());
+    assertEquals(3, fetchingThreads.size());
+    for (String fetchingThread : fetchingThreads) {
+      assertEquals(Thread.currentThread().getName(), fetchingThread);
+    }
+  }
+
+}
@@ -16,14 +16,22 @@
  */
 package org.camunda.bpm.engine.test.api.filter;
 
+import java.util.Date;
 import java.util.HashMap;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.filter.Filter;
 import org.camunda.bpm.engine.impl.TaskQueryImpl;
+import org.camunda.bpm.engine.impl.cmd.SaveFilterCmd;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DefaultCacheFactory;
 import org.camunda.bpm.engine.impl.persistence.entity.FilterEntity;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.task.TaskQuery;
 
 /**
@@ -49,6 +57,10 @@ public class FilterServiceTest extends PluggableProcessEngineTestCase {
     for (Filter filter : filterService.createTaskFilterQuery().list()) {
       filterService.deleteFilter(filter.getId());
     }
+    for (Task task : taskService.createTaskQuery().list()) {
+      taskService.deleteTask(task.getId(), true);
+    }
+    ClockUtil.reset();
   }
 
   public void testCreateFilter() {
@@ -164,6 +176,77 @@ public class FilterServiceTest extends PluggableProcessEngineTestCase {
     }
   }
 
+  public void testCachedCountIsCached() {
+    long timeToLive = processEngineConfiguration.getFilterCountCacheTimeToLive();
+    Date now = new Date();
+    ClockUtil.setCurrentTime(now);
+
+    taskService.saveTask(taskService.newTask());
+    assertEquals(Long.valueOf(1), filterService.cachedCount(filter.getId()));
+
+    // when
+    taskService.saveTask(taskService.newTask());
+
+    // then the cached count is returned until it expires
+    assertEquals(Long.valueOf(2), filterService.count(filter.getId()));
+    assertEquals(Long.valueOf(1), filterService.cachedCount(filter.getId()));
+
+    ClockUtil.setCurrentTime(new Date(now.getTime() + timeToLive + 1));
+    assertEquals(Long.valueOf(2), filterService.cachedCount(filter.getId()));
+  }
+
+  public void testCachedCountIsInvalidatedOnSave() {
+    taskService.saveTask(taskService.newTask());
+    assertEquals(Long.valueOf(1), filterService.cachedCount(filter.getId()));
+
+    // when
+    taskService.saveTask(taskService.newTask());
+    filter.setName("newName");
+    filterService.saveFilter(filter);
+
+    // then
+    assertEquals(Long.valueOf(2), filterService.cachedCount(filter.getId()));
+  }
+
+  public void testCachedCountIsNotInvalidatedOnRollback() {
+    taskService.saveTask(taskService.newTask());
+    assertEquals(Long.valueOf(1), filterService.cachedCount(filter.getId()));
+    taskService.saveTask(taskService.newTask());
+
+    // when
+    try {
+      processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          filter.setName("newName");
+          new SaveFilterCmd(filter).execute(commandContext);
+          throw new ProcessEngineException("rollback");
+        }
+      });
+      fail("Exception expected");
+    }
+    catch (ProcessEngineException e) {
+      // expected
+    }
+
+    // then
+    assertEquals(Long.valueOf(1), filterService.cachedCount(filter.getId()));
+  }
+
+  public void testFilterCountCacheEvictsLeastRecentlyUsedCounts() {
+    FilterCountCache countCache = new FilterCountCache(new DefaultCacheFactory(), 2, 1000);
+    countCache.put("filter1", "key", 1);
+    countCache.put("filter2", "key", 2);
+
+    // when
+    countCache.get("filter1", "key");
+    countCache.put("filter3", "key", 3);
+
+    // then
+    assertEquals(Long.valueOf(1), countCache.get("filter1", "key"));
+    assertNull(countCache.get("filter2", "key"));
+    assertEquals(Long.valueOf(3), countCache.get("filter3", "key"));
+  }
+
   public static void compareFilter(Filter filter1, Filter filter2) {
     assertNotNull(filter1);
     assertNotNull(filter2);
@@ -23,6 +23,7 @@ import org.camunda.bpm.engine.FormService;
 import org.camunda.bpm.engine.HistoryService;
 import org.camunda.bpm.engine.IdentityService;
 import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.RepositoryService;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.TaskService;
@@ -73,6 +74,7 @@ import org.camunda.bpm.engine.runtime.Job;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.task.Attachment;
 import org.camunda.bpm.engine.task.Comment;
+import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.test.Deployment;
 import org.camunda.bpm.engine.test.ProcessEngineRule;
 import org.camunda.bpm.engine.test.RequiredHistoryLevel;
@@ -104,7 +106,9 @@ import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_FULL;
 import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_END;
 import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_START;
 import static org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHandler.MAX_BATCH_SIZE;
+import static org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHandler.MAX_REMOVAL_TIME_BATCH_SIZE;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.hamcrest.core.IsNull.nullValue;
@@ -159,6 +163,7 @@ public class HistoryCleanupRemovalTimeTest {
     engineConfiguration.setHistoryCleanupStrategy(HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED);
 
     engineConfiguration.setHistoryCleanupBatchSize(MAX_BATCH_SIZE);
+    engineConfiguration.setHistoryCleanupRemovalTimeBatchSize(null);
     engineConfiguration.setHistoryCleanupBatchWindowStartTime(null);
     engineConfiguration.setHistoryCleanupDegreeOfParallelism(1);
 
@@ -193,6 +198,7 @@ public class HistoryCleanupRemovalTimeTest {
       engineConfiguration.setHistoryCleanupStrategy(HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED);
 
       engineConfiguration.setHistoryCleanupBatchSize(MAX_BATCH_SIZE);
+      engineConfiguration.setHistoryCleanupRemovalTimeBatchSize(null);
       engineConfiguration.setHistoryCleanupBatchWindowStartTime(null);
       engineConfiguration.setHistoryCleanupDegreeOfParallelism(1);
 
@@ -575,6 +581,92 @@ public class HistoryCleanupRemovalTimeTest {
     assertThat(removedProcessInstancesSum, is(2L));
   }
 
+  @Test
+  public void shouldReportRemovedRowsPerTable() {
+    // given
+    testRule.deploy(CALLING_PROCESS);
+
+    testRule.deploy(PROCESS);
+
+    runtimeService.startProcessInstanceByKey(CALLING_PROCESS_KEY);
+
+    String taskId = historyService.createHistoricTaskInstanceQuery().singleResult().getId();
+
+    ClockUtil.setCurrentTime(END_DATE);
+
+    taskService.complete(taskId);
+
+    long activityInstanceCount = historyService.createHistoricActivityInstanceQuery().count();
+
+    ClockUtil.setCurrentTime(addDays(END_DATE, 5));
+
+    // when
+    runHistoryCleanup();
+
+    // then
+    long removedProcessInstanceRows = managementService.createMetricsQuery()
+      .name(Metrics.HISTORY_CLEANUP_REMOVED_ROWS + "-act-hi-procinst")
+      .sum();
+    long removedActivityInstanceRows = managementService.createMetricsQuery()
+      .name(Metrics.HISTORY_CLEANUP_REMOVED_ROWS + "-act-hi-actinst")
+      .sum();
+    long removedTaskInstanceRows = managementService.createMetricsQuery()
+      .name(Metrics.HISTORY_CLEANUP_REMOVED_ROWS + "-act-hi-taskinst")
+      .sum();
+
+    assertThat(removedProcessInstanceRows, is(2L));
+    assertThat(removedActivityInstanceRows, is(activityInstanceCount));
+    assertThat(removedTaskInstanceRows, is(1L));
+  }
+
+  @Test
+  public void shouldDeleteInRemovalTimeBatches() {
+    // given
+    engineConfiguration.setHistoryCleanupRemovalTimeBatchSize(1);
+
+    testRule.deploy(PROCESS);
+
+    runtimeService.startProcessInstanceByKey(PROCESS_KEY);
+    runtimeService.startProcessInstanceByKey(PROCESS_KEY);
+
+    ClockUtil.setCurrentTime(END_DATE);
+
+    for (Task task : taskService.createTaskQuery().list()) {
+      taskService.complete(task.getId());
+    }
+
+    ClockUtil.setCurrentTime(addDays(END_DATE, 5));
+
+    // when
+    List<Job> jobs = runHistoryCleanup();
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().count(), is(1L));
+
+    // the cleanup is rescheduled immediately since the batch was full
+    Job job = managementService.createJobQuery().jobId(jobs.get(0).getId()).singleResult();
+    assertThat(job.getDuedate(), is(ClockUtil.getCurrentTime()));
+
+    // clean up the remaining history
+    engineConfiguration.setHistoryCleanupRemovalTimeBatchSize(null);
+    runHistoryCleanup();
+  }
+
+  @Test
+  public void shouldRejectRemovalTimeBatchSizeAboveMaximum() {
+    // given
+    engineConfiguration.setHistoryCleanupRemovalTimeBatchSize(MAX_REMOVAL_TIME_BATCH_SIZE + 1);
+
+    try {
+      // when
+      engineConfiguration.initHistoryCleanup();
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      // then
+      assertThat(e.getMessage().contains("historyCleanupRemovalTimeBatchSize"), is(true));
+    }
+  }
+
   @Test
   public void shouldCleanupActivityInstance() {
     // given
@@ -0,0 +1,421 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.history.removaltime.cleanup;
+
+import static org.apache.commons.lang3.time.DateUtils.addDays;
+import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED;
+import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_FULL;
+import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_END;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSession;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.history.DefaultHistoryRemovalTimeProvider;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryPartitionManager;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.test.RequiredDatabase;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(HISTORY_FULL)
+public class HistoryPartitionManagerTest {
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected static final String PROCESS_KEY = "process";
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess(PROCESS_KEY)
+    .camundaHistoryTimeToLive(5)
+    .startEvent()
+      .userTask("userTask")
+    .endEvent().done();
+
+  protected static final Date END_DATE = new Date(1363608000000L);
+
+  protected static final String TEST_TABLE = "ACT_HI_PARTITION_TEST";
+
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+  protected TaskService taskService;
+  protected ManagementService managementService;
+
+  protected ProcessEngineConfigurationImpl engineConfiguration;
+
+  protected RecordingPartitionManager partitionManager;
+
+  protected Set<String> jobIds;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+    taskService = engineRule.getTaskService();
+    managementService = engineRule.getManagementService();
+
+    engineConfiguration = engineRule.getProcessEngineConfiguration();
+
+    engineConfiguration
+      .setHistoryRemovalTimeStrategy(HISTORY_REMOVAL_TIME_STRATEGY_END)
+      .setHistoryRemovalTimeProvider(new DefaultHistoryRemovalTimeProvider())
+      .initHistoryRemovalTime();
+
+    engineConfiguration.setHistoryCleanupStrategy(HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED);
+    engineConfiguration.setHistoryCleanupDegreeOfParallelism(1);
+    engineConfiguration.initHistoryCleanup();
+
+    partitionManager = new RecordingPartitionManager(3);
+    engineConfiguration.setHistoryPartitionManager(partitionManager);
+
+    jobIds = new HashSet<>();
+  }
+
+  @After
+  public void tearDown() {
+    engineConfiguration.setHistoryPartitionManager(null);
+
+    engineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      for (String jobId : jobIds) {
+        commandContext.getHistoricJobLogManager().deleteHistoricJobLogByJobId(jobId);
+
+        JobEntity job = commandContext.getJobManager().findJobById(jobId);
+        if (job != null) {
+          commandContext.getJobManager().delete(job);
+        }
+      }
+
+      commandContext.getMeterLogManager().deleteAll();
+      return null;
+    });
+
+    engineConfiguration
+      .setHistoryRemovalTimeProvider(null)
+      .setHistoryRemovalTimeStrategy(null)
+      .initHistoryRemovalTime();
+
+    ClockUtil.reset();
+  }
+
+  @Test
+  public void shouldCreateDailyPartitionsAhead() {
+    // given
+    partitionManager.partitionNames.put("ACT_HI_ACTINST", Arrays.asList("P_NULL", "P_MAX"));
+
+    ClockUtil.setCurrentTime(END_DATE);
+
+    // when
+    runHistoryCleanup();
+
+    // then
+    assertThat(partitionManager.createdPartitions.get("ACT_HI_ACTINST"),
+      contains(dailyPartition(END_DATE), dailyPartition(addDays(END_DATE, 1)), dailyPartition(addDays(END_DATE, 2))));
+    assertThat(partitionManager.createdPartitions.size(), is(1));
+    assertThat(partitionManager.droppedPartitions, empty());
+  }
+
+  @Test
+  public void shouldExtendPartitionsAndDropExpiredOnes() {
+    // given
+    partitionManager.partitionNames.put("ACT_HI_ACTINST", Arrays.asList("P_NULL",
+      dailyPartition(addDays(END_DATE, -1)), dailyPartition(END_DATE), "P_MAX"));
+
+    ClockUtil.setCurrentTime(END_DATE);
+
+    // when
+    runHistoryCleanup();
+
+    // then
+    assertThat(partitionManager.createdPartitions.get("ACT_HI_ACTINST"),
+      contains(dailyPartition(addDays(END_DATE, 1)), dailyPartition(addDays(END_DATE, 2))));
+    assertThat(partitionManager.droppedPartitions, contains(dailyPartition(addDays(END_DATE, -1))));
+  }
+
+  @Test
+  public void shouldMaintainPartitionsInSeparateTransaction() {
+    // given
+    partitionManager.partitionNames.put("ACT_HI_ACTINST", Arrays.asList("P_NULL",
+      dailyPartition(addDays(END_DATE, -1)), "P_MAX"));
+
+    ClockUtil.setCurrentTime(END_DATE);
+
+    // when
+    runHistoryCleanup();
+
+    // then
+    assertThat(partitionManager.maintenanceCommandContexts.size(), is(2));
+    for (CommandContext maintenanceCommandContext : partitionManager.maintenanceCommandContexts) {
+      assertThat(maintenanceCommandContext, not(sameInstance(partitionManager.cleanupCommandContext)));
+    }
+  }
+
+  @Test
+  @RequiredDatabase(excludes = {DbSqlSessionFactory.H2, DbSqlSessionFactory.ORACLE, DbSqlSessionFactory.MSSQL, DbSqlSessionFactory.DB2})
+  public void shouldMaintainPartitionsOfPartitionedTable() {
+    // given
+    String tableName = engineConfiguration.getDatabaseTablePrefix() + TEST_TABLE;
+    boolean isPostgres = DbSqlSessionFactory.POSTGRES.equals(engineConfiguration.getDatabaseType());
+
+    if (isPostgres) {
+      executeStatements(
+        "create table " + tableName + " (ID_ varchar(64), REMOVAL_TIME_ timestamp) partition by range (REMOVAL_TIME_)",
+        "create table " + tableName + "_DEFAULT partition of " + tableName + " default",
+        "create table " + tableName + "_FUTURE partition of " + tableName + " for values from (MINVALUE) to (MAXVALUE)");
+    } else {
+      executeStatements(
+        "create table " + tableName + " (ID_ varchar(64), REMOVAL_TIME_ datetime) partition by range columns(REMOVAL_TIME_) ("
+          + "partition P_NULL values less than ('1970-01-02 00:00:00'), partition P_MAX values less than (MAXVALUE))");
+    }
+
+    String partitionPrefix = isPostgres ? TEST_TABLE + "_" : "";
+    TablePartitionManager tablePartitionManager = new TablePartitionManager(3, TEST_TABLE);
+
+    try {
+      executeStatements("insert into " + tableName + " values ('1', '"
+        + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(addDays(END_DATE, 1)) + "')");
+
+      ClockUtil.setCurrentTime(END_DATE);
+
+      // when
+      refreshPartitions(tablePartitionManager);
+
+      // then
+      assertThat(selectPartitionNames(tablePartitionManager), hasItems(
+        partitionPrefix + dailyPartition(END_DATE),
+        partitionPrefix + dailyPartition(addDays(END_DATE, 1)),
+        partitionPrefix + dailyPartition(addDays(END_DATE, 2))));
+      assertThat(countRows(tableName), is(1L));
+
+      // when
+      ClockUtil.setCurrentTime(addDays(END_DATE, 1));
+      refreshPartitions(tablePartitionManager);
+
+      // then
+      List<String> partitionNames = selectPartitionNames(tablePartitionManager);
+      assertThat(partitionNames, not(hasItem(partitionPrefix + dailyPartition(END_DATE))));
+      assertThat(partitionNames, hasItem(partitionPrefix + dailyPartition(addDays(END_DATE, 3))));
+      assertThat(countRows(tableName), is(1L));
+
+    } finally {
+      executeStatements("drop table " + tableName);
+    }
+  }
+
+  @Test
+  public void shouldLeaveRowsOfDailyPartitionsToPartitionDrop() {
+    // given
+    testRule.deploy(PROCESS);
+
+    runtimeService.startProcessInstanceByKey(PROCESS_KEY);
+
+    ClockUtil.setCurrentTime(END_DATE);
+
+    String taskId = taskService.createTaskQuery().singleResult().getId();
+    taskService.complete(taskId);
+
+    Date removalTime = addDays(END_DATE, 5);
+    partitionManager.partitionNames.put("ACT_HI_ACTINST", Arrays.asList("P_NULL", dailyPartition(removalTime), "P_MAX"));
+
+    ClockUtil.setCurrentTime(removalTime);
+
+    // when
+    runHistoryCleanup();
+
+    // then
+    assertThat(historyService.createHistoricActivityInstanceQuery().count(), is(3L));
+    assertThat(historyService.createHistoricTaskInstanceQuery().count(), is(0L));
+    assertThat(historyService.createHistoricProcessInstanceQuery().count(), is(0L));
+
+    // the partition drop is not done on h2, delete the rows instead
+    engineConfiguration.setHistoryPartitionManager(null);
+    runHistoryCleanup();
+
+    assertThat(historyService.createHistoricActivityInstanceQuery().count(), is(0L));
+  }
+
+  // helper ////////////////////////////////////////////////////////////////////
+
+  protected List<Job> runHistoryCleanup() {
+    historyService.cleanUpHistoryAsync(true);
+
+    List<Job> jobs = historyService.findHistoryCleanupJobs();
+    for (Job job : jobs) {
+      jobIds.add(job.getId());
+      managementService.executeJob(job.getId());
+    }
+
+    return jobs;
+  }
+
+  protected String dailyPartition(Date day) {
+    return "P" + new SimpleDateFormat("yyyyMMdd").format(day);
+  }
+
+  protected void refreshPartitions(final HistoryPartitionManager partitionManager) {
+    engineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      partitionManager.refreshPartitions(commandContext, true);
+      return null;
+    });
+  }
+
+  protected List<String> selectPartitionNames(final TablePartitionManager partitionManager) {
+    return engineConfiguration.getCommandExecutorTxRequired().execute(commandContext ->
+      partitionManager.selectPartitionNames(commandContext.getDbSqlSession()));
+  }
+
+  protected void executeStatements(String... sqlStatements) {
+    try (Connection connection = engineConfiguration.getDataSource().getConnection()) {
+      boolean autoCommit = connection.getAutoCommit();
+      connection.setAutoCommit(true);
+
+      try (Statement statement = connection.createStatement()) {
+        for (String sqlStatement : sqlStatements) {
+          statement.execute(sqlStatement);
+        }
+      } finally {
+        connection.setAutoCommit(autoCommit);
+      }
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  protected long countRows(String tableName) {
+    try (Connection connection = engineConfiguration.getDataSource().getConnection();
+         Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery("select count(*) from " + tableName)) {
+      resultSet.next();
+      return resultSet.getLong(1);
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Pretends partitioned tables on any database and records the partition DDL
+   * instead of executing it.
+   */
+  protected static class RecordingPartitionManager extends HistoryPartitionManager {
+
+    protected Map<String, List<String>> partitionNames = new HashMap<>();
+    protected Map<String, List<String>> createdPartitions = new HashMap<>();
+    protected List<String> droppedPartitions = new ArrayList<>();
+
+    protected CommandContext cleanupCommandContext;
+    protected List<CommandContext> maintenanceCommandContexts = new ArrayList<>();
+
+    public RecordingPartitionManager(int daysAhead) {
+      super(daysAhead);
+    }
+
+    public void refreshPartitions(CommandContext commandContext, boolean maintainPartitions) {
+      cleanupCommandContext = commandContext;
+      super.refreshPartitions(commandContext, maintainPartitions);
+    }
+
+    protected boolean isSupported(String databaseType) {
+      return true;
+    }
+
+    protected List<String> selectPartitionNames(DbSqlSession dbSqlSession, String tableName) {
+      List<String> names = partitionNames.get(tableName);
+      return names != null ? names : Collections.<String>emptyList();
+    }
+
+    protected List<String> createMySqlPartitions(DbSqlSession dbSqlSession, String tableName, Date from, Date to) {
+      maintenanceCommandContexts.add(Context.getCommandContext());
+
+      List<String> created = new ArrayList<>();
+      for (Date day = from; day.before(to); day = addDays(day, 1)) {
+        created.add(getDailyPartitionName("mysql", tableName, day));
+      }
+
+      createdPartitions.put(tableName, created);
+      return created;
+    }
+
+    protected void dropPartition(DbSqlSession dbSqlSession, String tableName, String partitionName) {
+      maintenanceCommandContexts.add(Context.getCommandContext());
+      droppedPartitions.add(partitionName);
+    }
+
+  }
+
+  /**
+   * Maintains the partitions of a single table on the actual database.
+   */
+  protected static class TablePartitionManager extends HistoryPartitionManager {
+
+    protected String tableName;
+
+    public TablePartitionManager(int daysAhead, String tableName) {
+      super(daysAhead);
+      this.tableName = tableName;
+    }
+
+    protected List<String> getPartitionedTables() {
+      return Collections.singletonList(tableName);
+    }
+
+    public List<String> selectPartitionNames(DbSqlSession dbSqlSession) {
+      return selectPartitionNames(dbSqlSession, tableName);
+    }
+
+  }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.StartProcessInstanceCmd;
+import org.camunda.bpm.engine.impl.jobexecutor.AsyncContinuationJobHandler;
+import org.camunda.bpm.engine.impl.metrics.instrumentation.EngineInstrumentation;
+import org.camunda.bpm.engine.impl.metrics.instrumentation.JfrEngineInstrumentationProvider;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class EngineInstrumentationTest {
+
+  protected static RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setEngineInstrumentation(instrumentation);
+    }
+  };
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+
+  @Before
+  public void setUp() {
+    runtimeService = engineRule.getRuntimeService();
+    instrumentation.clear();
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/mgmt/metrics/asyncServiceTaskProcess.bpmn20.xml")
+  @Test
+  public void shouldRecordCommandsStatementsAndFlushes() {
+    // when
+    runtimeService.startProcessInstanceByKey("asyncServiceTaskProcess");
+
+    // then
+    assertThat(instrumentation.commands).contains(StartProcessInstanceCmd.class.getName());
+    assertThat(instrumentation.statements).contains(
+        "org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity.selectLatestProcessDefinitionByKey",
+        "org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity.insertExecution");
+    assertThat(instrumentation.flushes).isNotEmpty();
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/mgmt/metrics/asyncServiceTaskProcess.bpmn20.xml")
+  @Test
+  public void shouldRecordJobs() {
+    // given
+    runtimeService.startProcessInstanceByKey("asyncServiceTaskProcess");
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs(5000);
+
+    // then
+    assertThat(instrumentation.jobs).contains(AsyncContinuationJobHandler.TYPE);
+  }
+
+  @Test
+  public void shouldCreateJfrInstrumentationOnlyIfAvailable() {
+    // when
+    EngineInstrumentation jfrInstrumentation = JfrEngineInstrumentationProvider.createInstrumentation();
+
+    // then
+    if (JfrEngineInstrumentationProvider.isJfrAvailable()) {
+      assertThat(jfrInstrumentation.getClass().getName()).isEqualTo(JfrEngineInstrumentationProvider.INSTRUMENTATION_CLASS_NAME);
+    }
+    else {
+      assertThat(jfrInstrumentation).isNull();
+    }
+  }
+
+  public static class RecordingInstrumentation implements EngineInstrumentation {
+
+    protected List<String> commands = new CopyOnWriteArrayList<String>();
+    protected List<String> statements = new CopyOnWriteArrayList<String>();
+    protected List<Long> flushes = new CopyOnWriteArrayList<Long>();
+    protected List<String> jobs = new CopyOnWriteArrayList<String>();
+
+    public void commandExecuted(Class<?> commandType, long durationNanos, boolean failed) {
+      commands.add(commandType.getName());
+    }
+
+    public void statementExecuted(String statementId, long durationNanos, boolean failed) {
+      statements.add(statementId);
+    }
+
+    public void flushed(long durationNanos) {
+      flushes.add(durationNanos);
+    }
+
+    public void jobExecuted(String jobHandlerType, long durationNanos, boolean failed) {
+      jobs.add(jobHandlerType);
+    }
+
+    public void clear() {
+      commands.clear();
+      statements.clear();
+      flushes.clear();
+      jobs.clear();
+    }
+  }
+
+}
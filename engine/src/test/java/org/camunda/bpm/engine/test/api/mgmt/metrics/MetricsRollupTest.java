@@ -0,0 +1,330 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.reporter.MetricsCollectionTask;
+import org.camunda.bpm.engine.impl.persistence.entity.MeterLogEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MeterRollupEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.MetricIntervalValue;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.management.MetricsQuery;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class MetricsRollupTest {
+
+  protected static final String REPORTER_ID = "REPORTER_ID";
+  protected static final long HOUR = 60 * 60 * 1000;
+  protected static final long DAY = 24 * HOUR;
+
+  @Rule
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected ManagementService managementService;
+  protected MetricsRegistry metricsRegistry;
+  protected String lastReporterId;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    managementService = engineRule.getManagementService();
+    metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+
+    clearMetrics();
+
+    processEngineConfiguration.setDbMetricsReporterActivate(true);
+    lastReporterId = processEngineConfiguration.getDbMetricsReporter().getMetricsCollectionTask().getReporter();
+    processEngineConfiguration.getDbMetricsReporter().setReporterId(REPORTER_ID);
+  }
+
+  @After
+  public void tearDown() {
+    ClockUtil.reset();
+    processEngineConfiguration.setMetricsRollupEnabled(true);
+    processEngineConfiguration.setMetricsRawLogTimeToLive(null);
+    processEngineConfiguration.setDbMetricsReporterActivate(false);
+    processEngineConfiguration.getDbMetricsReporter().setReporterId(lastReporterId);
+    clearMetrics();
+  }
+
+  @Test
+  public void shouldAnswerHourlyIntervalsLikeRawLog() {
+    // given
+    generateMeterData(2 * DAY, 20 * 60 * 1000);
+
+    // when
+    List<MetricIntervalValue> rollupResult = createQuery().interval(3600);
+    List<MetricIntervalValue> rawResult = intervalFromRawLog(createQuery(), 3600);
+
+    // then
+    assertEquals(48, rollupResult.size());
+    assertSameIntervals(rawResult, rollupResult);
+  }
+
+  @Test
+  public void shouldAnswerDailyIntervalsLikeRawLog() {
+    // given
+    generateMeterData(3 * DAY, 5 * HOUR);
+
+    // when
+    List<MetricIntervalValue> rollupResult = createQuery().interval(2 * 86400);
+    List<MetricIntervalValue> rawResult = intervalFromRawLog(createQuery(), 2 * 86400);
+
+    // then
+    assertEquals(2, rollupResult.size());
+    assertSameIntervals(rawResult, rollupResult);
+  }
+
+  @Test
+  public void shouldAnswerAlignedTimeRangeLikeRawLog() {
+    // given
+    generateMeterData(DAY, 10 * 60 * 1000);
+
+    // when
+    List<MetricIntervalValue> rollupResult = createQuery()
+        .startDate(new Date(DAY + 3 * HOUR))
+        .endDate(new Date(DAY + 9 * HOUR))
+        .interval(2 * 3600);
+    List<MetricIntervalValue> rawResult = intervalFromRawLog(createQuery()
+        .startDate(new Date(DAY + 3 * HOUR))
+        .endDate(new Date(DAY + 9 * HOUR)), 2 * 3600);
+
+    // then
+    assertEquals(4, rollupResult.size());
+    assertSameIntervals(rawResult, rollupResult);
+  }
+
+  @Test
+  public void shouldKeepRollupsWhenRawLogExpires() {
+    // given
+    generateMeterData(DAY, HOUR);
+    List<MetricIntervalValue> expected = createQuery().interval(3600);
+
+    // when reporting two days later with a raw log time to live of one day
+    processEngineConfiguration.setMetricsRawLogTimeToLive(1);
+    ClockUtil.setCurrentTime(new Date(4 * DAY));
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    // then the raw logs of the first day are removed
+    assertEquals(0, intervalFromRawLog(createQuery().endDate(new Date(2 * DAY)), 3600).size());
+
+    // but the hourly intervals are still answered from the rollup
+    List<MetricIntervalValue> result = createQuery().endDate(new Date(2 * DAY)).interval(3600);
+    assertSameIntervals(expected, result);
+  }
+
+  @Test
+  public void shouldQueryRawLogForUnalignedInterval() {
+    // given
+    generateMeterData(DAY, 10 * 60 * 1000);
+
+    // when
+    List<MetricIntervalValue> result = createQuery().interval(1800);
+    List<MetricIntervalValue> rawResult = intervalFromRawLog(createQuery(), 1800);
+
+    // then
+    assertEquals(48, result.size());
+    assertSameIntervals(rawResult, result);
+  }
+
+  @Test
+  public void shouldQueryRawLogIfNotCoveredByRollup() {
+    // given a raw meter log which was written before the rollups existed
+    final MeterLogEntity legacyLog = new MeterLogEntity(Metrics.ACTIVTY_INSTANCE_START, REPORTER_ID, 7, new Date(HOUR));
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext.getDbEntityManager().insert(legacyLog);
+        return null;
+      }
+    });
+    generateMeterData(DAY, HOUR);
+
+    // when
+    List<MetricIntervalValue> result = createQuery().interval(3600);
+    List<MetricIntervalValue> rawResult = intervalFromRawLog(createQuery(), 3600);
+
+    // then
+    assertSameIntervals(rawResult, result);
+    assertEquals(new Date(HOUR), result.get(result.size() - 1).getTimestamp());
+  }
+
+  @Test
+  public void shouldDeleteRollups() {
+    // given
+    generateMeterData(DAY, HOUR);
+
+    // when
+    managementService.deleteMetrics(null);
+
+    // then
+    Long rollupCount = managementService.getTableCount()
+        .get(processEngineConfiguration.getDatabaseTablePrefix() + "ACT_RU_METER_ROLLUP");
+    assertEquals(0L, (long) rollupCount);
+  }
+
+  @Test
+  public void shouldDeleteRollupsBeforeTimestamp() {
+    // given
+    generateMeterData(2 * DAY, HOUR);
+
+    // when
+    managementService.deleteMetrics(new Date(2 * DAY - 1));
+
+    // then the rollups of the first day are removed, the second day is kept
+    List<MetricIntervalValue> result = createQuery().interval(86400);
+    assertEquals(1, result.size());
+    assertEquals(new Date(2 * DAY), result.get(0).getTimestamp());
+  }
+
+  @Test
+  public void shouldRecomputeRollupsOfPartiallyDeletedInterval() {
+    // given
+    generateMeterData(DAY, 10 * 60 * 1000);
+
+    // when
+    managementService.deleteMetrics(new Date(DAY + 3 * HOUR + 30 * 60 * 1000));
+
+    // then the rollups only contain the remaining meter logs
+    assertSameIntervals(intervalFromRawLog(createQuery(), 3600), createQuery().interval(3600));
+    assertSameIntervals(intervalFromRawLog(createQuery(), 86400), createQuery().interval(86400));
+  }
+
+  @Test
+  public void shouldRejectDuplicateRollup() {
+    // given
+    insertRollup();
+
+    try {
+      // when
+      insertRollup();
+      fail("exception expected");
+    }
+    catch (OptimisticLockingException e) {
+      // then
+    }
+  }
+
+  @Test
+  public void shouldRetryReportOnConcurrentRollupInsert() {
+    // given a report which inserts the same rollups concurrently
+    ClockUtil.setCurrentTime(new Date(DAY));
+    final AtomicInteger attempts = new AtomicInteger();
+    MetricsCollectionTask task = new MetricsCollectionTask(metricsRegistry, processEngineConfiguration.getCommandExecutorTxRequired()) {
+      protected void deleteExpiredRawLogs(CommandContext commandContext) {
+        if (attempts.incrementAndGet() == 1) {
+          commandContext.getProcessEngineConfiguration().getCommandExecutorTxRequiresNew().execute(new Command<Void>() {
+            public Void execute(CommandContext commandContext) {
+              commandContext.getMeterLogManager()
+                .insert(new MeterLogEntity(Metrics.ACTIVTY_INSTANCE_START, REPORTER_ID, 3, ClockUtil.getCurrentTime()));
+              return null;
+            }
+          });
+        }
+      }
+    };
+    task.setReporter(REPORTER_ID);
+    metricsRegistry.markOccurrence(Metrics.ACTIVTY_INSTANCE_START, 5);
+
+    // when
+    task.run();
+
+    // then the values of both reports are added to the rollups
+    assertEquals(2, attempts.get());
+    List<MetricIntervalValue> result = createQuery().interval(86400);
+    assertSameIntervals(intervalFromRawLog(createQuery(), 86400), result);
+    assertEquals(8, result.get(0).getValue());
+  }
+
+  protected void insertRollup() {
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext.getDbEntityManager()
+          .insert(new MeterRollupEntity(Metrics.ACTIVTY_INSTANCE_START, REPORTER_ID, MeterRollupEntity.RESOLUTION_HOUR, DAY, 1));
+        return null;
+      }
+    });
+  }
+
+  protected MetricsQuery createQuery() {
+    return managementService.createMetricsQuery().name(Metrics.ACTIVTY_INSTANCE_START);
+  }
+
+  protected List<MetricIntervalValue> intervalFromRawLog(MetricsQuery query, long interval) {
+    processEngineConfiguration.setMetricsRollupEnabled(false);
+    try {
+      return query.interval(interval);
+    }
+    finally {
+      processEngineConfiguration.setMetricsRollupEnabled(true);
+    }
+  }
+
+  /**
+   * Reports metrics in the given period starting at the first day after epoch.
+   */
+  protected void generateMeterData(long period, long reportInterval) {
+    long startTime = DAY;
+    long value = 1;
+    for (long time = startTime; time < startTime + period; time += reportInterval) {
+      ClockUtil.setCurrentTime(new Date(time));
+      for (String metricName : metricsRegistry.getMeters().keySet()) {
+        metricsRegistry.markOccurrence(metricName, value++);
+      }
+      processEngineConfiguration.getDbMetricsReporter().reportNow();
+    }
+  }
+
+  protected void assertSameIntervals(List<MetricIntervalValue> expected, List<MetricIntervalValue> actual) {
+    assertTrue(!expected.isEmpty());
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getTimestamp(), actual.get(i).getTimestamp());
+      assertEquals(expected.get(i).getName(), actual.get(i).getName());
+      assertEquals(expected.get(i).getReporter(), actual.get(i).getReporter());
+      assertEquals(expected.get(i).getValue(), actual.get(i).getValue());
+    }
+  }
+
+  protected void clearMetrics() {
+    for (Meter meter : metricsRegistry.getMeters().values()) {
+      meter.getAndClear();
+    }
+    managementService.deleteMetrics(null);
+  }
+
+}
@@ -23,11 +23,13 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.Collection;
 import java.util.Date;
+import java.util.Map;
 
 import org.camunda.bpm.engine.ManagementService;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.LatencyHistogram;
 import org.camunda.bpm.engine.impl.metrics.Meter;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.management.Metrics;
@@ -389,4 +391,56 @@ public class MetricsTest {
     processEngineConfiguration.getDbMetricsReporter().setReporterId(null);
   }
 
+  @Test
+  public void testLatencyHistogramsAreCollected() {
+    // given
+    processEngineConfiguration.getMetricsRegistry().collectHistogramSnapshots();
+
+    // when
+    runtimeService.startProcessInstanceByKey("testProcess");
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    // then
+    Map<String, LatencyHistogram.Snapshot> snapshots = processEngineConfiguration.getMetricsRegistry().getHistogramSnapshots();
+    assertTrue(snapshots.get(Metrics.COMMAND_EXECUTION_LATENCY).getCount() > 0);
+    assertTrue(snapshots.get(Metrics.FLUSH_LATENCY).getCount() > 0);
+    assertEquals(0, snapshots.get(Metrics.JOB_EXECUTION_LATENCY).getCount());
+  }
+
+  @Test
+  public void testExternalTaskFetchMetrics() {
+    // given
+    TEST_RULE.deploy(Bpmn.createExecutableProcess("externalTaskProcess")
+                         .startEvent()
+                         .serviceTask().camundaExternalTask("aTopic")
+                         .endEvent()
+                         .done());
+    runtimeService.startProcessInstanceByKey("externalTaskProcess");
+    runtimeService.startProcessInstanceByKey("externalTaskProcess");
+
+    // when
+    ENGINE_RULE.getExternalTaskService().fetchAndLock(10, "aWorker").topic("aTopic", 1000L).execute();
+    ENGINE_RULE.getExternalTaskService().fetchAndLock(10, "aWorker").topic("aTopic", 1000L).execute();
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    // then
+    assertEquals(2l, managementService.createMetricsQuery().name(Metrics.EXTERNAL_TASK_FETCH_ATTEMPT).sum());
+    assertEquals(2l, managementService.createMetricsQuery().name(Metrics.EXTERNAL_TASK_FETCHED).sum());
+  }
+
+  @Test
+  public void testMeterTotalIsNotAffectedByReporting() {
+    // given
+    Meter meter = processEngineConfiguration.getMetricsRegistry().getMeterByName(Metrics.ACTIVTY_INSTANCE_START);
+    long totalBefore = meter.getTotal();
+
+    // when
+    runtimeService.startProcessInstanceByKey("testProcess");
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    // then
+    assertEquals(0l, meter.get());
+    assertEquals(totalBefore + 3, meter.getTotal());
+  }
+
 }
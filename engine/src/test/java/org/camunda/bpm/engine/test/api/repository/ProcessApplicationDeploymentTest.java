@@ -406,6 +406,34 @@ public class ProcessApplicationDeploymentTest {
     assertEquals(2, registration.getDeploymentIds().size());
   }
 
+  @Test
+  public void testPartialChangesResumePreviousVersionOfPrefixedBpmnAndCmmnResources() {
+    String prefixedBpmn = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+        + "<bpmn:definitions xmlns:bpmn=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" targetNamespace=\"Examples\">"
+        + "<bpmn:process id=\"prefixedProcess\" isExecutable=\"true\"><bpmn:startEvent id=\"start\" /></bpmn:process>"
+        + "</bpmn:definitions>";
+    String cmmnResource = "org/camunda/bpm/engine/test/api/cmmn/oneTaskCase.cmmn";
+
+    // create initial deployment
+    testRule.deploy(repositoryService
+        .createDeployment(processApplication.getReference())
+        .name("deployment")
+        .addString("prefixed.bpmn20.xml", prefixedBpmn)
+        .addClasspathResource(cmmnResource));
+
+    ProcessApplicationDeployment deployment2 = testRule.deploy(repositoryService
+        .createDeployment(processApplication.getReference())
+        .name("deployment")
+        .enableDuplicateFiltering(true)
+        .resumePreviousVersions()
+        .addString("prefixed.bpmn20.xml", prefixedBpmn)
+        .addClasspathResource(cmmnResource)
+        .addModelInstance("process2.bpmn20.xml", Bpmn.createExecutableProcess("process2").done()));
+
+    ProcessApplicationRegistration registration = deployment2.getProcessApplicationRegistration();
+    assertEquals(2, registration.getDeploymentIds().size());
+  }
+
   @Test
   public void testProcessApplicationDeploymentResumePreviousVersions() {
     // create initial deployment
@@ -0,0 +1,335 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.BootstrapEngineCommand;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.event.EventType;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class CorrelationKeyIndexTest {
+
+  protected static final String KEYED_PROCESS = "org/camunda/bpm/engine/test/api/runtime/CorrelationKeyIndexTest.keyedMessageProcess.bpmn20.xml";
+  protected static final String KEYED_RECEIVE_TASK_PROCESS = "org/camunda/bpm/engine/test/api/runtime/CorrelationKeyIndexTest.keyedReceiveTaskProcess.bpmn20.xml";
+  protected static final String UNKEYED_PROCESS = "org/camunda/bpm/engine/test/api/runtime/CorrelationKeyIndexTest.unkeyedMessageProcess.bpmn20.xml";
+
+  protected static final String MESSAGE_NAME = "orderMessage";
+  protected static final String KEY_NAME = "orderId";
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setCorrelationKeyIndexEnabled(true);
+      return configuration;
+    }
+  };
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected ManagementService managementService;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    managementService = engineRule.getManagementService();
+  }
+
+  @After
+  public void resetConfiguration() {
+    engineRule.getProcessEngineConfiguration().setCorrelationKeyIndexEnabled(true);
+  }
+
+  @Test
+  public void shouldCorrelateByIndexedKey() {
+    // given
+    testRule.deploy(KEYED_PROCESS);
+    runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables().putValue(KEY_NAME, 1));
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables().putValue(KEY_NAME, 2));
+
+    // when
+    Set<String> candidates = findCandidates(2);
+    runtimeService.createMessageCorrelation(MESSAGE_NAME)
+      .processInstanceVariableEquals(KEY_NAME, 2)
+      .correlate();
+
+    // then
+    assertThat(candidates).hasSize(1);
+    assertEquals(processInstance.getId(), taskService.createTaskQuery().singleResult().getProcessInstanceId());
+  }
+
+  @Test
+  public void shouldCorrelateReceiveTaskByIndexedKey() {
+    // given
+    testRule.deploy(KEYED_RECEIVE_TASK_PROCESS);
+    runtimeService.startProcessInstanceByKey("keyedReceiveTaskProcess", Variables.createVariables().putValue(KEY_NAME, "a"));
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("keyedReceiveTaskProcess", Variables.createVariables().putValue(KEY_NAME, "b"));
+
+    // when
+    runtimeService.createMessageCorrelation(MESSAGE_NAME)
+      .processInstanceVariableEquals(KEY_NAME, "b")
+      .correlate();
+
+    // then
+    assertThat(findCandidates("b")).isEmpty();
+    assertEquals(processInstance.getId(), taskService.createTaskQuery().singleResult().getProcessInstanceId());
+  }
+
+  @Test
+  public void shouldNotCorrelateWithoutIndexedCandidate() {
+    // given
+    testRule.deploy(KEYED_PROCESS);
+    runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables().putValue(KEY_NAME, 1));
+
+    // then
+    assertThat(findCandidates(3)).isEmpty();
+    assertThat(runtimeService.createMessageCorrelation(MESSAGE_NAME)
+        .processInstanceVariableEquals(KEY_NAME, 3)
+        .correlateAllWithResult()).isEmpty();
+
+    try {
+      runtimeService.createMessageCorrelation(MESSAGE_NAME)
+        .processInstanceVariableEquals(KEY_NAME, 3)
+        .correlate();
+      fail("exception expected");
+    } catch (MismatchingMessageCorrelationException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void shouldFallBackIfSubscriptionWithoutKeyExists() {
+    // given a subscription without indexed key
+    testRule.deploy(UNKEYED_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("unkeyedProcess", Variables.createVariables().putValue(KEY_NAME, 5));
+
+    // when
+    testRule.deploy(KEYED_PROCESS);
+    runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables().putValue(KEY_NAME, 6));
+
+    // then the key is not covered
+    assertNull(findCandidates(5));
+
+    runtimeService.createMessageCorrelation(MESSAGE_NAME)
+      .processInstanceVariableEquals(KEY_NAME, 5)
+      .correlate();
+    assertEquals(processInstance.getId(), taskService.createTaskQuery().singleResult().getProcessInstanceId());
+  }
+
+  @Test
+  public void shouldRemoveCoverageOnSubscriptionWithoutKey() {
+    // given
+    testRule.deploy(UNKEYED_PROCESS);
+    testRule.deploy(KEYED_PROCESS);
+    runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables().putValue(KEY_NAME, 7));
+    assertNotNull(findCandidates(7));
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("unkeyedProcess", Variables.createVariables().putValue(KEY_NAME, 8));
+
+    // then
+    assertNull(findCandidates(8));
+
+    runtimeService.createMessageCorrelation(MESSAGE_NAME)
+      .processInstanceVariableEquals(KEY_NAME, 8)
+      .correlate();
+    assertEquals(processInstance.getId(), taskService.createTaskQuery().singleResult().getProcessInstanceId());
+  }
+
+  @Test
+  public void shouldDeleteIndexEntriesWithSubscription() {
+    // given
+    testRule.deploy(KEYED_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables().putValue(KEY_NAME, 9));
+    runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables().putValue(KEY_NAME, 10));
+
+    // entries of both subscriptions and the coverage
+    assertEquals(3L, (long) managementService.getTableCount().get("ACT_RU_CORR_KEY"));
+
+    // when
+    runtimeService.createMessageCorrelation(MESSAGE_NAME)
+      .processInstanceVariableEquals(KEY_NAME, 9)
+      .correlate();
+    runtimeService.deleteProcessInstance(processInstance.getId(), null);
+
+    // then
+    assertEquals(2L, (long) managementService.getTableCount().get("ACT_RU_CORR_KEY"));
+    assertThat(findCandidates(9)).isEmpty();
+    assertThat(findCandidates(10)).hasSize(1);
+  }
+
+  @Test
+  public void shouldCorrelateByKeySetAfterSubscription() {
+    // given
+    testRule.deploy(KEYED_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("keyedProcess");
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), KEY_NAME, 11);
+
+    // then
+    assertThat(findCandidates(11)).hasSize(1);
+    runtimeService.createMessageCorrelation(MESSAGE_NAME)
+      .processInstanceVariableEquals(KEY_NAME, 11)
+      .correlate();
+    assertEquals(processInstance.getId(), taskService.createTaskQuery().singleResult().getProcessInstanceId());
+  }
+
+  @Test
+  public void shouldCorrelateByChangedKey() {
+    // given
+    testRule.deploy(KEYED_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables().putValue(KEY_NAME, 12));
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), KEY_NAME, 13);
+
+    // then
+    assertThat(findCandidates(12)).isEmpty();
+    assertThat(findCandidates(13)).hasSize(1);
+    runtimeService.createMessageCorrelation(MESSAGE_NAME)
+      .processInstanceVariableEquals(KEY_NAME, 13)
+      .correlate();
+    assertEquals(processInstance.getId(), taskService.createTaskQuery().singleResult().getProcessInstanceId());
+  }
+
+  @Test
+  public void shouldNotFindCandidateAfterKeyIsRemoved() {
+    // given
+    testRule.deploy(KEYED_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables().putValue(KEY_NAME, 14));
+
+    // when
+    runtimeService.removeVariable(processInstance.getId(), KEY_NAME);
+
+    // then
+    assertThat(findCandidates(14)).isEmpty();
+  }
+
+  @Test
+  public void shouldRemoveCoverageOnValidationIfSubscriptionWithoutKeyExists() {
+    // given
+    testRule.deploy(KEYED_PROCESS);
+    final ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables().putValue(KEY_NAME, 15));
+    assertNotNull(findCandidates(15));
+
+    // a subscription without the key that did not remove the coverage, as if it was created concurrently
+    engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        EventSubscriptionEntity subscription = new EventSubscriptionEntity(
+            commandContext.getExecutionManager().findExecutionById(processInstance.getId()), EventType.MESSAGE);
+        subscription.setEventName(MESSAGE_NAME);
+        commandContext.getDbEntityManager().insert(subscription);
+        return null;
+      }
+    });
+
+    // when
+    engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext.getCorrelationKeyManager().validateCoverage(MESSAGE_NAME, KEY_NAME);
+        return null;
+      }
+    });
+
+    // then
+    assertNull(findCandidates(15));
+  }
+
+  @Test
+  public void shouldNotMaintainIndexWhenDisabled() {
+    // given
+    testRule.deploy(KEYED_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables().putValue(KEY_NAME, 16));
+    assertEquals(2L, (long) managementService.getTableCount().get("ACT_RU_CORR_KEY"));
+
+    // when
+    engineRule.getProcessEngineConfiguration().setCorrelationKeyIndexEnabled(false);
+    runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables().putValue(KEY_NAME, 17));
+    runtimeService.deleteProcessInstance(processInstance.getId(), null);
+
+    // then
+    assertEquals(2L, (long) managementService.getTableCount().get("ACT_RU_CORR_KEY"));
+
+    // the entry of the deleted subscription is only removed when the engine starts
+    engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired().execute(new BootstrapEngineCommand());
+  }
+
+  @Test
+  public void shouldDeleteIndexOnBootstrapWhenDisabled() {
+    // given
+    testRule.deploy(KEYED_PROCESS);
+    runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables().putValue(KEY_NAME, 18));
+    engineRule.getProcessEngineConfiguration().setCorrelationKeyIndexEnabled(false);
+    ProcessInstance unindexedInstance = runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables().putValue(KEY_NAME, 19));
+
+    // when
+    engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired().execute(new BootstrapEngineCommand());
+
+    // then
+    assertEquals(0L, (long) managementService.getTableCount().get("ACT_RU_CORR_KEY"));
+
+    engineRule.getProcessEngineConfiguration().setCorrelationKeyIndexEnabled(true);
+    assertNull(findCandidates(19));
+    runtimeService.createMessageCorrelation(MESSAGE_NAME)
+      .processInstanceVariableEquals(KEY_NAME, 19)
+      .correlate();
+    assertEquals(unindexedInstance.getId(), taskService.createTaskQuery().processInstanceId(unindexedInstance.getId()).singleResult().getProcessInstanceId());
+  }
+
+  protected Set<String> findCandidates(final Object value) {
+    return engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired().execute(new Command<Set<String>>() {
+      public Set<String> execute(CommandContext commandContext) {
+        return commandContext.getCorrelationKeyManager()
+          .findExecutionIdsByCorrelationKeys(MESSAGE_NAME, Collections.singletonMap(KEY_NAME, value));
+      }
+    });
+  }
+
+}
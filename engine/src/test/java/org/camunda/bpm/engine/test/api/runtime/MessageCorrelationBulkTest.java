@@ -0,0 +1,235 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResultType;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class MessageCorrelationBulkTest {
+
+  protected static final String MESSAGE_NAME = "orderMessage";
+  protected static final String OTHER_MESSAGE_NAME = "paymentMessage";
+  protected static final String START_MESSAGE_NAME = "newOrderMessage";
+
+  protected static final BpmnModelInstance MESSAGE_PROCESS = Bpmn.createExecutableProcess("process")
+    .startEvent()
+    .intermediateCatchEvent("order").message(MESSAGE_NAME)
+    .serviceTask().camundaClass(FailingDelegate.class.getName())
+    .userTask("task")
+    .endEvent()
+    .done();
+
+  protected static final BpmnModelInstance TWO_MESSAGES_PROCESS = Bpmn.createExecutableProcess("twoMessagesProcess")
+    .startEvent()
+    .intermediateCatchEvent("order").message(MESSAGE_NAME)
+    .intermediateCatchEvent("payment").message(OTHER_MESSAGE_NAME)
+    .userTask("task")
+    .endEvent()
+    .done();
+
+  protected static final BpmnModelInstance START_MESSAGE_PROCESS = Bpmn.createExecutableProcess("startMessageProcess")
+    .startEvent().message(START_MESSAGE_NAME)
+    .userTask("task")
+    .endEvent()
+    .done();
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+  }
+
+  @Test
+  public void shouldCorrelateMessagesInChunks() {
+    // given
+    testRule.deploy(MESSAGE_PROCESS);
+    for (int i = 0; i < 5; i++) {
+      startInstance(i, false);
+    }
+
+    // when
+    List<MessageCorrelationBulkResult> results = runtimeService.createMessageCorrelationBulk()
+      .messageCorrelation(MESSAGE_NAME, Collections.<String, Object>singletonMap("orderId", 0), null)
+      .messageCorrelation(MESSAGE_NAME, Collections.<String, Object>singletonMap("orderId", 1), null)
+      .messageCorrelation(runtimeService.createMessageCorrelation(MESSAGE_NAME).processInstanceVariableEquals("orderId", 2))
+      .messageCorrelation(MESSAGE_NAME, Collections.<String, Object>singletonMap("orderId", 3), Collections.<String, Object>singletonMap("paid", true))
+      .chunkSize(2)
+      .correlate();
+
+    // then
+    assertEquals(4, results.size());
+    for (int i = 0; i < results.size(); i++) {
+      MessageCorrelationBulkResult result = results.get(i);
+      assertEquals(i, result.getIndex());
+      assertTrue(result.isSuccessful());
+      assertNull(result.getFailure());
+      assertEquals(MessageCorrelationResultType.Execution, result.getCorrelationResult().getResultType());
+    }
+    assertEquals(4, taskService.createTaskQuery().count());
+    assertEquals(1, runtimeService.createVariableInstanceQuery().variableName("paid").count());
+  }
+
+  @Test
+  public void shouldReportMismatchingMessages() {
+    // given
+    testRule.deploy(MESSAGE_PROCESS);
+    startInstance(1, false);
+
+    // when
+    List<MessageCorrelationBulkResult> results = runtimeService.createMessageCorrelationBulk()
+      .messageCorrelation("unknownMessage", null, null)
+      .messageCorrelation(MESSAGE_NAME, Collections.<String, Object>singletonMap("orderId", 2), null)
+      .messageCorrelation(MESSAGE_NAME, Collections.<String, Object>singletonMap("orderId", 1), null)
+      .correlate();
+
+    // then
+    assertFalse(results.get(0).isSuccessful());
+    assertThat(results.get(0).getFailure()).isInstanceOf(MismatchingMessageCorrelationException.class);
+    assertFalse(results.get(1).isSuccessful());
+    assertThat(results.get(1).getFailure()).isInstanceOf(MismatchingMessageCorrelationException.class);
+    assertTrue(results.get(2).isSuccessful());
+    assertEquals(1, taskService.createTaskQuery().count());
+  }
+
+  @Test
+  public void shouldCorrelateOtherMessagesIfProcessFails() {
+    // given
+    testRule.deploy(MESSAGE_PROCESS);
+    startInstance(1, false);
+    startInstance(2, true);
+    startInstance(3, false);
+
+    // when
+    List<MessageCorrelationBulkResult> results = runtimeService.createMessageCorrelationBulk()
+      .messageCorrelation(MESSAGE_NAME, Collections.<String, Object>singletonMap("orderId", 1), null)
+      .messageCorrelation(MESSAGE_NAME, Collections.<String, Object>singletonMap("orderId", 2), null)
+      .messageCorrelation(MESSAGE_NAME, Collections.<String, Object>singletonMap("orderId", 3), null)
+      .correlate();
+
+    // then
+    assertTrue(results.get(0).isSuccessful());
+    assertFalse(results.get(1).isSuccessful());
+    assertThat(results.get(1).getFailure())
+      .isInstanceOf(ProcessEngineException.class)
+      .hasMessage(FailingDelegate.EXCEPTION_MESSAGE);
+    assertTrue(results.get(2).isSuccessful());
+    assertEquals(2, taskService.createTaskQuery().count());
+  }
+
+  @Test
+  public void shouldCorrelateMessagesToSameProcessInstance() {
+    // given
+    testRule.deploy(TWO_MESSAGES_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("twoMessagesProcess");
+
+    // when
+    List<MessageCorrelationBulkResult> results = runtimeService.createMessageCorrelationBulk()
+      .messageCorrelation(runtimeService.createMessageCorrelation(MESSAGE_NAME).processInstanceId(processInstance.getId()))
+      .messageCorrelation(runtimeService.createMessageCorrelation(OTHER_MESSAGE_NAME).processInstanceId(processInstance.getId()))
+      .correlate();
+
+    // then
+    assertTrue(results.get(0).isSuccessful());
+    assertTrue(results.get(1).isSuccessful());
+    assertEquals(processInstance.getId(), taskService.createTaskQuery().singleResult().getProcessInstanceId());
+  }
+
+  @Test
+  public void shouldNotCorrelateInsideCommand() {
+    // given
+    testRule.deploy(MESSAGE_PROCESS);
+    startInstance(1, false);
+    final MessageCorrelationBulkBuilder bulkCorrelation = runtimeService.createMessageCorrelationBulk()
+      .messageCorrelation(MESSAGE_NAME, Collections.<String, Object>singletonMap("orderId", 1), null);
+
+    // when
+    try {
+      engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          bulkCorrelation.correlate();
+          return null;
+        }
+      });
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      // then
+      assertThat(e).hasMessageContaining("Cannot correlate messages in bulk inside a command");
+    }
+    assertEquals(0, taskService.createTaskQuery().count());
+  }
+
+  @Test
+  public void shouldStartProcessInstances() {
+    // given
+    testRule.deploy(START_MESSAGE_PROCESS);
+
+    // when
+    List<MessageCorrelationBulkResult> results = runtimeService.createMessageCorrelationBulk()
+      .messageCorrelation(START_MESSAGE_NAME, null, Collections.<String, Object>singletonMap("orderId", 1))
+      .messageCorrelation(runtimeService.createMessageCorrelation(START_MESSAGE_NAME).processInstanceBusinessKey("order-2"))
+      .correlate();
+
+    // then
+    assertEquals(MessageCorrelationResultType.ProcessDefinition, results.get(0).getCorrelationResult().getResultType());
+    assertEquals(MessageCorrelationResultType.ProcessDefinition, results.get(1).getCorrelationResult().getResultType());
+    assertEquals(2, runtimeService.createProcessInstanceQuery().processDefinitionKey("startMessageProcess").count());
+    assertEquals(1, runtimeService.createProcessInstanceQuery().processInstanceBusinessKey("order-2").count());
+  }
+
+  protected void startInstance(int orderId, boolean fail) {
+    runtimeService.startProcessInstanceByKey("process", Variables.createVariables()
+      .putValue("orderId", orderId)
+      .putValue("fail", fail));
+  }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.api.AbstractAsyncOperationsTest;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class SignalBroadcastAsyncTest extends AbstractAsyncOperationsTest {
+
+  protected static final String SIGNAL_NAME = "alert";
+
+  protected static final BpmnModelInstance CATCH_SIGNAL_PROCESS = Bpmn.createExecutableProcess("catchSignal")
+      .startEvent()
+      .intermediateCatchEvent("catch").signal(SIGNAL_NAME)
+      .userTask("afterCatch")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance SIGNAL_START_PROCESS = Bpmn.createExecutableProcess("signalStart")
+      .startEvent().signal(SIGNAL_NAME)
+      .userTask("afterStart")
+      .endEvent()
+      .done();
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  @Before
+  public void setup() {
+    initDefaults(engineRule);
+  }
+
+  @Test
+  public void shouldBroadcastSignalToAllSubscriptions() {
+    // given
+    testRule.deploy(CATCH_SIGNAL_PROCESS, SIGNAL_START_PROCESS);
+    startCatchSignalProcesses(3);
+
+    // when
+    Batch batch = runtimeService.createSignalEvent(SIGNAL_NAME).sendAsync();
+
+    completeSeedJobs(batch);
+    executeBatchJobs(batch);
+
+    // then
+    assertThat(batch.getType()).isEqualTo(Batch.TYPE_SIGNAL_BROADCAST);
+    assertThat(batch.getTotalJobs()).isEqualTo(4);
+    assertThat(runtimeService.createEventSubscriptionQuery().eventType("signal").count()).isEqualTo(1);
+    assertThat(engineRule.getTaskService().createTaskQuery().taskDefinitionKey("afterCatch").count()).isEqualTo(3);
+    assertThat(engineRule.getTaskService().createTaskQuery().taskDefinitionKey("afterStart").count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldPassVariables() {
+    // given
+    testRule.deploy(CATCH_SIGNAL_PROCESS);
+    ProcessInstance processInstance = startCatchSignalProcesses(1).get(0);
+    Date date = new Date(1000L);
+
+    // when
+    Batch batch = runtimeService.createSignalEvent(SIGNAL_NAME)
+        .setVariables(Variables.createVariables()
+            .putValue("string", "foo")
+            .putValue("long", 42L)
+            .putValue("short", (short) 7)
+            .putValue("double", 1.5)
+            .putValue("boolean", true)
+            .putValue("date", date)
+            .putValue("null", null))
+        .sendAsync();
+
+    completeSeedJobs(batch);
+    executeBatchJobs(batch);
+
+    // then
+    String processInstanceId = processInstance.getId();
+    assertThat(runtimeService.getVariable(processInstanceId, "string")).isEqualTo("foo");
+    assertThat(runtimeService.getVariable(processInstanceId, "long")).isEqualTo(42L);
+    assertThat(runtimeService.getVariable(processInstanceId, "short")).isEqualTo((short) 7);
+    assertThat(runtimeService.getVariable(processInstanceId, "double")).isEqualTo(1.5);
+    assertThat(runtimeService.getVariable(processInstanceId, "boolean")).isEqualTo(true);
+    assertThat(runtimeService.getVariable(processInstanceId, "date")).isEqualTo(date);
+    assertThat(runtimeService.getVariables(processInstanceId)).containsKey("null");
+    assertThat(runtimeService.getVariable(processInstanceId, "null")).isNull();
+  }
+
+  @Test
+  public void shouldSplitSubscriptionsIntoBatchJobs() {
+    // given
+    engineConfiguration.setInvocationsPerBatchJob(2);
+    testRule.deploy(CATCH_SIGNAL_PROCESS);
+    startCatchSignalProcesses(5);
+
+    // when
+    Batch batch = runtimeService.createSignalEvent(SIGNAL_NAME).sendAsync();
+    completeSeedJobs(batch);
+
+    // then
+    List<Job> batchJobs = managementService.createJobQuery().jobDefinitionId(batch.getBatchJobDefinitionId()).list();
+    assertThat(batchJobs).hasSize(3);
+
+    executeBatchJobs(batch);
+    assertThat(engineRule.getTaskService().createTaskQuery().taskDefinitionKey("afterCatch").count()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldSkipSubscriptionsSuspendedAfterBatchCreation() {
+    // given
+    testRule.deploy(CATCH_SIGNAL_PROCESS);
+    List<ProcessInstance> processInstances = startCatchSignalProcesses(2);
+    Batch batch = runtimeService.createSignalEvent(SIGNAL_NAME).sendAsync();
+    completeSeedJobs(batch);
+
+    String suspendedId = processInstances.get(0).getId();
+    runtimeService.suspendProcessInstanceById(suspendedId);
+
+    // when
+    executeBatchJobs(batch);
+
+    // then
+    assertThat(engineRule.getTaskService().createTaskQuery().taskDefinitionKey("afterCatch").count()).isEqualTo(1);
+    assertThat(runtimeService.createEventSubscriptionQuery().processInstanceId(suspendedId).count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldCreateEmptyBatchWithoutSubscriptions() {
+    // when
+    Batch batch = runtimeService.createSignalEvent(SIGNAL_NAME).sendAsync();
+
+    // then
+    assertThat(batch.getTotalJobs()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldFailWithUnsupportedVariable() {
+    assertThatThrownBy(() -> runtimeService.createSignalEvent(SIGNAL_NAME)
+        .setVariables(Variables.createVariables().putValue("list", new ArrayList<String>()))
+        .sendAsync())
+      .isInstanceOf(BadUserRequestException.class)
+      .hasMessageContaining("list");
+  }
+
+  @Test
+  public void shouldFailWithExecutionId() {
+    assertThatThrownBy(() -> runtimeService.createSignalEvent(SIGNAL_NAME).executionId("anExecutionId").sendAsync())
+      .isInstanceOf(BadUserRequestException.class);
+  }
+
+  protected List<ProcessInstance> startCatchSignalProcesses(int count) {
+    List<ProcessInstance> processInstances = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      processInstances.add(runtimeService.startProcessInstanceByKey("catchSignal"));
+    }
+    return processInstances;
+  }
+
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime.migration.batch;
+
+import static org.camunda.bpm.engine.test.api.runtime.migration.ModifiableBpmnModelInstance.modify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.history.HistoricTaskInstance;
+import org.camunda.bpm.engine.impl.batch.BatchJobHandler;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
+import org.camunda.bpm.engine.impl.migration.MigrationPlanExecutionBuilderImpl;
+import org.camunda.bpm.engine.impl.migration.batch.MigrationBatchJobHandler;
+import org.camunda.bpm.engine.impl.persistence.entity.TimerEntity;
+import org.camunda.bpm.engine.management.JobDefinition;
+import org.camunda.bpm.engine.migration.MigrationPlan;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.api.runtime.migration.MigrationTestRule;
+import org.camunda.bpm.engine.test.api.runtime.migration.models.ProcessModels;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+public class SetBasedBatchMigrationTest {
+
+  protected static final BpmnModelInstance TIMER_BOUNDARY_PROCESS = modify(ProcessModels.ONE_TASK_PROCESS)
+      .activityBuilder(ProcessModels.USER_TASK_ID)
+      .boundaryEvent("timer")
+        .timerWithDuration("PT5M")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance PARKED_TIMER_BOUNDARY_PROCESS = modify(ProcessModels.ONE_TASK_PROCESS)
+      .activityBuilder(ProcessModels.USER_TASK_ID)
+      .boundaryEvent("timer")
+        .timerWithDuration("PT2H")
+      .endEvent()
+      .done();
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected MigrationTestRule migrationRule = new MigrationTestRule(engineRule);
+  protected BatchMigrationHelper helper = new BatchMigrationHelper(engineRule, migrationRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(migrationRule);
+
+  protected ProcessEngineConfigurationImpl configuration;
+  protected RuntimeService runtimeService;
+  protected ManagementService managementService;
+  protected HistoryService historyService;
+
+  protected RecordingMigrationBatchJobHandler batchJobHandler = new RecordingMigrationBatchJobHandler();
+  protected BatchJobHandler<?> defaultBatchJobHandler;
+  protected JobHandler defaultJobHandler;
+  protected int defaultInvocationsPerBatchJob;
+  protected boolean defaultTimerStoreEnabled;
+
+  @Before
+  public void setUp() {
+    configuration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    managementService = engineRule.getManagementService();
+    historyService = engineRule.getHistoryService();
+
+    defaultBatchJobHandler = configuration.getBatchHandlers().put(Batch.TYPE_PROCESS_INSTANCE_MIGRATION, batchJobHandler);
+    defaultJobHandler = configuration.getJobHandlers().put(Batch.TYPE_PROCESS_INSTANCE_MIGRATION, batchJobHandler);
+    configuration.setSetBasedBatchMigrationEnabled(true);
+
+    // migrate all process instances of a test with one batch job
+    defaultInvocationsPerBatchJob = configuration.getInvocationsPerBatchJob();
+    configuration.setInvocationsPerBatchJob(10);
+
+    defaultTimerStoreEnabled = configuration.isTimerStoreEnabled();
+  }
+
+  @After
+  public void tearDown() {
+    configuration.getBatchHandlers().put(Batch.TYPE_PROCESS_INSTANCE_MIGRATION, defaultBatchJobHandler);
+    configuration.getJobHandlers().put(Batch.TYPE_PROCESS_INSTANCE_MIGRATION, defaultJobHandler);
+    configuration.setSetBasedBatchMigrationEnabled(false);
+    configuration.setInvocationsPerBatchJob(defaultInvocationsPerBatchJob);
+    configuration.setTimerStoreEnabled(defaultTimerStoreEnabled);
+
+    helper.removeAllRunningAndHistoricBatches();
+  }
+
+  @Test
+  public void shouldMigrateWithBulkStatements() {
+    // given
+    ProcessDefinition sourceDefinition = migrationRule.deployAndGetDefinition(ProcessModels.ONE_TASK_PROCESS);
+    ProcessDefinition targetDefinition = migrationRule.deployAndGetDefinition(modify(ProcessModels.ONE_TASK_PROCESS)
+        .changeElementName(ProcessModels.USER_TASK_ID, "Renamed Task"));
+
+    List<String> processInstanceIds = startProcessInstances(sourceDefinition, 3);
+
+    MigrationPlan migrationPlan = runtimeService
+        .createMigrationPlan(sourceDefinition.getId(), targetDefinition.getId())
+        .mapEqualActivities()
+        .build();
+
+    // when
+    executeBatch(migrationPlan, processInstanceIds);
+
+    // then
+    assertEquals(1, batchJobHandler.setBasedExecutions);
+    assertEquals(0, batchJobHandler.perInstanceExecutions);
+
+    assertEquals(3, runtimeService.createProcessInstanceQuery().processDefinitionId(targetDefinition.getId()).count());
+    assertEquals(3, engineRule.getTaskService().createTaskQuery().processDefinitionId(targetDefinition.getId()).count());
+
+    for (HistoricProcessInstance historicProcessInstance : historyService.createHistoricProcessInstanceQuery().list()) {
+      assertEquals(targetDefinition.getId(), historicProcessInstance.getProcessDefinitionId());
+      assertEquals(targetDefinition.getKey(), historicProcessInstance.getProcessDefinitionKey());
+    }
+
+    List<HistoricActivityInstance> userTaskInstances = historyService.createHistoricActivityInstanceQuery()
+        .activityId(ProcessModels.USER_TASK_ID)
+        .list();
+    assertEquals(3, userTaskInstances.size());
+    for (HistoricActivityInstance userTaskInstance : userTaskInstances) {
+      assertEquals(targetDefinition.getId(), userTaskInstance.getProcessDefinitionId());
+      assertEquals("Renamed Task", userTaskInstance.getActivityName());
+    }
+
+    for (HistoricTaskInstance historicTask : historyService.createHistoricTaskInstanceQuery().list()) {
+      assertEquals(targetDefinition.getId(), historicTask.getProcessDefinitionId());
+    }
+
+    // and the process instances continue on the target definition
+    for (Task task : engineRule.getTaskService().createTaskQuery().list()) {
+      engineRule.getTaskService().complete(task.getId());
+    }
+    assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+  }
+
+  @Test
+  public void shouldMigrateJobsToTargetJobDefinition() {
+    // given
+    ProcessDefinition sourceDefinition = migrationRule.deployAndGetDefinition(TIMER_BOUNDARY_PROCESS);
+    ProcessDefinition targetDefinition = migrationRule.deployAndGetDefinition(TIMER_BOUNDARY_PROCESS);
+
+    List<String> processInstanceIds = startProcessInstances(sourceDefinition, 2);
+
+    MigrationPlan migrationPlan = runtimeService
+        .createMigrationPlan(sourceDefinition.getId(), targetDefinition.getId())
+        .mapEqualActivities()
+        .build();
+
+    // when
+    executeBatch(migrationPlan, processInstanceIds);
+
+    // then
+    assertEquals(1, batchJobHandler.setBasedExecutions);
+
+    JobDefinition targetJobDefinition = managementService.createJobDefinitionQuery()
+        .processDefinitionId(targetDefinition.getId())
+        .singleResult();
+
+    List<Job> timerJobs = managementService.createJobQuery().timers().list();
+    assertEquals(2, timerJobs.size());
+    for (Job timerJob : timerJobs) {
+      assertEquals(targetJobDefinition.getId(), timerJob.getJobDefinitionId());
+      assertEquals(targetDefinition.getId(), timerJob.getProcessDefinitionId());
+      assertEquals(targetDefinition.getDeploymentId(), timerJob.getDeploymentId());
+    }
+
+    // and the timer fires on the target definition
+    managementService.executeJob(timerJobs.get(0).getId());
+    assertEquals(1, runtimeService.createProcessInstanceQuery().processDefinitionId(targetDefinition.getId()).count());
+  }
+
+  @Test
+  public void shouldFallBackToPerInstanceMigrationForChangedActivityIds() {
+    // given
+    ProcessDefinition sourceDefinition = migrationRule.deployAndGetDefinition(ProcessModels.ONE_TASK_PROCESS);
+    ProcessDefinition targetDefinition = migrationRule.deployAndGetDefinition(modify(ProcessModels.ONE_TASK_PROCESS)
+        .changeElementId(ProcessModels.USER_TASK_ID, "newUserTask"));
+
+    List<String> processInstanceIds = startProcessInstances(sourceDefinition, 2);
+
+    MigrationPlan migrationPlan = runtimeService
+        .createMigrationPlan(sourceDefinition.getId(), targetDefinition.getId())
+        .mapActivities(ProcessModels.USER_TASK_ID, "newUserTask")
+        .build();
+
+    // when
+    executeBatch(migrationPlan, processInstanceIds);
+
+    // then
+    assertEquals(0, batchJobHandler.setBasedExecutions);
+    assertEquals(1, batchJobHandler.perInstanceExecutions);
+    assertEquals(2, engineRule.getTaskService().createTaskQuery()
+        .processDefinitionId(targetDefinition.getId())
+        .taskDefinitionKey("newUserTask")
+        .count());
+  }
+
+  @Test
+  public void shouldFallBackToPerInstanceMigrationForUnmappedActivityInstances() {
+    // given
+    ProcessDefinition sourceDefinition = migrationRule.deployAndGetDefinition(ProcessModels.SUBPROCESS_PROCESS);
+    ProcessDefinition targetDefinition = migrationRule.deployAndGetDefinition(ProcessModels.ONE_TASK_PROCESS);
+
+    List<String> processInstanceIds = startProcessInstances(sourceDefinition, 1);
+
+    MigrationPlan migrationPlan = runtimeService
+        .createMigrationPlan(sourceDefinition.getId(), targetDefinition.getId())
+        .mapActivities(ProcessModels.USER_TASK_ID, ProcessModels.USER_TASK_ID)
+        .build();
+
+    // when
+    executeBatch(migrationPlan, processInstanceIds);
+
+    // then
+    assertEquals(0, batchJobHandler.setBasedExecutions);
+    assertEquals(1, batchJobHandler.perInstanceExecutions);
+    assertEquals(1, runtimeService.createProcessInstanceQuery().processDefinitionId(targetDefinition.getId()).count());
+  }
+
+  @Test
+  public void shouldFallBackToPerInstanceMigrationForUnmappedParkedTimers() {
+    // given
+    configuration.setTimerStoreEnabled(true);
+
+    ProcessDefinition sourceDefinition = migrationRule.deployAndGetDefinition(PARKED_TIMER_BOUNDARY_PROCESS);
+    ProcessDefinition targetDefinition = migrationRule.deployAndGetDefinition(PARKED_TIMER_BOUNDARY_PROCESS);
+
+    List<String> processInstanceIds = startProcessInstances(sourceDefinition, 1);
+    Job timer = managementService.createJobQuery().timers().singleResult();
+    assertTrue(isParked(timer.getId()));
+
+    // a timer without job definition cannot be mapped to the target
+    clearJobDefinition(timer.getId());
+
+    MigrationPlan migrationPlan = runtimeService
+        .createMigrationPlan(sourceDefinition.getId(), targetDefinition.getId())
+        .mapEqualActivities()
+        .build();
+
+    // when
+    executeBatch(migrationPlan, processInstanceIds);
+
+    // then the unmapped parked timer prevents the bulk statements
+    assertEquals(0, batchJobHandler.setBasedExecutions);
+    assertEquals(1, batchJobHandler.perInstanceExecutions);
+    assertEquals(1, runtimeService.createProcessInstanceQuery().processDefinitionId(targetDefinition.getId()).count());
+
+    // the parked timer is only deleted while the timer store is enabled
+    runtimeService.deleteProcessInstance(processInstanceIds.get(0), null);
+  }
+
+  @Test
+  public void shouldNotUseBulkStatementsIfDisabled() {
+    // given
+    configuration.setSetBasedBatchMigrationEnabled(false);
+    configuration.setInvocationsPerBatchJob(defaultInvocationsPerBatchJob);
+
+    ProcessDefinition sourceDefinition = migrationRule.deployAndGetDefinition(ProcessModels.ONE_TASK_PROCESS);
+    ProcessDefinition targetDefinition = migrationRule.deployAndGetDefinition(ProcessModels.ONE_TASK_PROCESS);
+
+    List<String> processInstanceIds = startProcessInstances(sourceDefinition, 1);
+
+    MigrationPlan migrationPlan = runtimeService
+        .createMigrationPlan(sourceDefinition.getId(), targetDefinition.getId())
+        .mapEqualActivities()
+        .build();
+
+    // when
+    executeBatch(migrationPlan, processInstanceIds);
+
+    // then
+    assertEquals(0, batchJobHandler.setBasedExecutions);
+    assertEquals(1, batchJobHandler.perInstanceExecutions);
+    assertEquals(1, runtimeService.createProcessInstanceQuery().processDefinitionId(targetDefinition.getId()).count());
+  }
+
+  protected List<String> startProcessInstances(ProcessDefinition processDefinition, int count) {
+    List<String> processInstanceIds = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      ProcessInstance processInstance = runtimeService.startProcessInstanceById(processDefinition.getId());
+      processInstanceIds.add(processInstance.getId());
+    }
+    return processInstanceIds;
+  }
+
+  protected boolean isParked(final String timerId) {
+    return configuration.getCommandExecutorTxRequired().execute(new Command<Boolean>() {
+      public Boolean execute(CommandContext commandContext) {
+        return ((TimerEntity) commandContext.getJobManager().findJobById(timerId)).isParked();
+      }
+    });
+  }
+
+  protected void clearJobDefinition(final String timerId) {
+    configuration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext.getJobManager().findJobById(timerId).setJobDefinitionId(null);
+        return null;
+      }
+    });
+  }
+
+  protected void executeBatch(MigrationPlan migrationPlan, List<String> processInstanceIds) {
+    Batch batch = runtimeService.newMigration(migrationPlan)
+        .processInstanceIds(processInstanceIds)
+        .executeAsync();
+
+    helper.completeSeedJobs(batch);
+    helper.executeJobs(batch);
+
+    assertTrue(helper.getExecutionJobs(batch).isEmpty());
+  }
+
+  public static class RecordingMigrationBatchJobHandler extends MigrationBatchJobHandler {
+
+    protected int setBasedExecutions;
+    protected int perInstanceExecutions;
+
+    @Override
+    protected boolean executeSetBased(CommandContext commandContext, MigrationPlanExecutionBuilderImpl executionBuilder) {
+      boolean executed = super.executeSetBased(commandContext, executionBuilder);
+      if (executed) {
+        setBasedExecutions++;
+      }
+      else {
+        perInstanceExecutions++;
+      }
+      return executed;
+    }
+  }
+
+}
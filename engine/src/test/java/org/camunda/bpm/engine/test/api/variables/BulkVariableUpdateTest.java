@@ -0,0 +1,275 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+public class BulkVariableUpdateTest {
+
+  protected static final int VARIABLE_COUNT = 300;
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .subProcess()
+        .embeddedSubProcess()
+        .startEvent()
+        .userTask("task")
+        .endEvent()
+      .subProcessDone()
+      .endEvent()
+      .done();
+
+  protected static RecordingHistoryEventHandler historyEventHandler = new RecordingHistoryEventHandler();
+  protected static SingleEventHistoryEventHandler customHistoryEventHandler = new SingleEventHistoryEventHandler();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      // the recording handler replaces the default db history event handler
+      configuration.setEnableDefaultDbHistoryEventHandler(false);
+      configuration.setCustomHistoryEventHandlers(Arrays.<HistoryEventHandler>asList(historyEventHandler, customHistoryEventHandler));
+      return configuration;
+    }
+  };
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected HistoryService historyService;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    historyService = engineRule.getHistoryService();
+
+    testRule.deploy(PROCESS);
+    historyEventHandler.clear();
+    customHistoryEventHandler.clear();
+  }
+
+  @Test
+  public void shouldHandleHistoryEventsOfAllVariablesTogether() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    historyEventHandler.clear();
+
+    // when
+    runtimeService.setVariables(processInstance.getId(), createVariables("var", VARIABLE_COUNT));
+
+    // then
+    assertThat(runtimeService.createVariableInstanceQuery().count()).isEqualTo(VARIABLE_COUNT);
+    assertThat(historyService.createHistoricVariableInstanceQuery().count()).isEqualTo(VARIABLE_COUNT);
+    assertThat(historyService.createHistoricDetailQuery().variableUpdates().count()).isEqualTo(VARIABLE_COUNT);
+
+    assertThat(historyEventHandler.getSingleVariableEvents()).isZero();
+    assertThat(historyEventHandler.getVariableEventBatchSizes()).containsExactly(VARIABLE_COUNT);
+  }
+
+  @Test
+  public void shouldHandHistoryEventsToCustomHandlerOneByOne() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    customHistoryEventHandler.clear();
+
+    // when
+    runtimeService.setVariables(processInstance.getId(), createVariables("var", VARIABLE_COUNT));
+
+    // then
+    assertThat(customHistoryEventHandler.getSingleVariableEvents()).isEqualTo(VARIABLE_COUNT);
+  }
+
+  @Test
+  public void shouldHandHistoryEventsOneByOneToCustomHandlerReplacingTheComposite() {
+    // given
+    ProcessEngineConfigurationImpl configuration = engineRule.getProcessEngineConfiguration();
+    HistoryEventHandler compositeHistoryEventHandler = configuration.getHistoryEventHandler();
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    configuration.setHistoryEventHandler(customHistoryEventHandler);
+    customHistoryEventHandler.clear();
+
+    try {
+      // when
+      runtimeService.setVariables(processInstance.getId(), createVariables("var", VARIABLE_COUNT));
+
+    } finally {
+      configuration.setHistoryEventHandler(compositeHistoryEventHandler);
+    }
+
+    // then
+    assertThat(customHistoryEventHandler.getSingleVariableEvents()).isEqualTo(VARIABLE_COUNT);
+  }
+
+  @Test
+  public void shouldUpdateVariablesInParentScopes() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    runtimeService.setVariables(processInstance.getId(), createVariables("var", VARIABLE_COUNT));
+    Task task = taskService.createTaskQuery().singleResult();
+
+    VariableMap variables = createVariables("var", VARIABLE_COUNT);
+    variables.putValue("var0", "updated");
+    variables.putValue("taskVar", "new");
+    historyEventHandler.clear();
+
+    // when
+    taskService.setVariables(task.getId(), variables);
+
+    // then
+    assertThat(runtimeService.createVariableInstanceQuery().processInstanceIdIn(processInstance.getId()).count())
+      .isEqualTo(VARIABLE_COUNT + 1);
+    assertThat(runtimeService.getVariable(processInstance.getId(), "var0")).isEqualTo("updated");
+    assertThat(runtimeService.getVariableLocal(processInstance.getId(), "taskVar")).isEqualTo("new");
+    assertThat(historyService.createHistoricDetailQuery().variableUpdates().count()).isEqualTo(2 * VARIABLE_COUNT + 1);
+
+    assertThat(historyEventHandler.getVariableEventBatchSizes()).containsExactly(VARIABLE_COUNT + 1);
+  }
+
+  @Test
+  public void shouldSetVariablesLocal() {
+    // given
+    runtimeService.startProcessInstanceByKey("process");
+    Task task = taskService.createTaskQuery().singleResult();
+
+    // when
+    taskService.setVariablesLocal(task.getId(), createVariables("localVar", VARIABLE_COUNT));
+
+    // then
+    assertThat(taskService.getVariablesLocal(task.getId())).hasSize(VARIABLE_COUNT);
+    assertThat(historyService.createHistoricVariableInstanceQuery().taskIdIn(task.getId()).count()).isEqualTo(VARIABLE_COUNT);
+    assertThat(historyEventHandler.getVariableEventBatchSizes()).containsExactly(VARIABLE_COUNT);
+  }
+
+  protected VariableMap createVariables(String prefix, int count) {
+    VariableMap variables = Variables.createVariables();
+    for (int i = 0; i < count; i++) {
+      variables.putValue(prefix + i, i);
+    }
+    return variables;
+  }
+
+  public static class RecordingHistoryEventHandler extends DbHistoryEventHandler {
+
+    protected int singleVariableEvents;
+    protected List<Integer> variableEventBatchSizes = new ArrayList<>();
+
+    public void handleEvent(HistoryEvent historyEvent) {
+      super.handleEvent(historyEvent);
+      if (isVariableEvent(historyEvent)) {
+        singleVariableEvents++;
+      }
+    }
+
+    public void handleEvents(List<HistoryEvent> historyEvents) {
+      for (HistoryEvent historyEvent : historyEvents) {
+        super.handleEvent(historyEvent);
+      }
+
+      int variableEvents = 0;
+      for (HistoryEvent historyEvent : historyEvents) {
+        if (isVariableEvent(historyEvent)) {
+          variableEvents++;
+        }
+      }
+      if (variableEvents > 0) {
+        variableEventBatchSizes.add(variableEvents);
+      }
+    }
+
+    protected boolean isVariableEvent(HistoryEvent historyEvent) {
+      return historyEvent.isEventOfType(HistoryEventTypes.VARIABLE_INSTANCE_CREATE)
+          || historyEvent.isEventOfType(HistoryEventTypes.VARIABLE_INSTANCE_UPDATE);
+    }
+
+    public void clear() {
+      singleVariableEvents = 0;
+      variableEventBatchSizes.clear();
+    }
+
+    public int getSingleVariableEvents() {
+      return singleVariableEvents;
+    }
+
+    public List<Integer> getVariableEventBatchSizes() {
+      return variableEventBatchSizes;
+    }
+
+  }
+
+  /**
+   * Implements {@link #handleEvent(HistoryEvent)} only, like many custom handlers do.
+   */
+  public static class SingleEventHistoryEventHandler implements HistoryEventHandler {
+
+    protected int singleVariableEvents;
+
+    public void handleEvent(HistoryEvent historyEvent) {
+      if (historyEvent.isEventOfType(HistoryEventTypes.VARIABLE_INSTANCE_CREATE)
+          || historyEvent.isEventOfType(HistoryEventTypes.VARIABLE_INSTANCE_UPDATE)) {
+        singleVariableEvents++;
+      }
+    }
+
+    public void handleEvents(List<HistoryEvent> historyEvents) {
+    }
+
+    public void clear() {
+      singleVariableEvents = 0;
+    }
+
+    public int getSingleVariableEvents() {
+      return singleVariableEvents;
+    }
+
+  }
+
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.FileValue;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class InlineByteArrayValueTest {
+
+  protected static final int THRESHOLD = 2048;
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+
+  protected ProcessInstance processInstance;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+
+    processEngineConfiguration.setByteArrayValueInlineThreshold(THRESHOLD);
+
+    testRule.deploy(PROCESS);
+    processInstance = runtimeService.startProcessInstanceByKey("process");
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration.setByteArrayValueInlineThreshold(0);
+  }
+
+  @Test
+  public void shouldStoreSmallValueInline() {
+    // given
+    byte[] bytes = createBytes(THRESHOLD);
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "bytes", bytes);
+
+    // then
+    VariableInstanceEntity variableInstance = getVariableInstance("bytes");
+    assertThat(variableInstance.getByteArrayValueId()).isNull();
+    assertThat(variableInstance.getInlineByteArrayValue()).isEqualTo(bytes);
+    assertThat((byte[]) runtimeService.getVariable(processInstance.getId(), "bytes")).isEqualTo(bytes);
+  }
+
+  @Test
+  public void shouldStoreLargeValueInByteArrayTable() {
+    // given
+    byte[] bytes = createBytes(THRESHOLD + 1);
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "bytes", bytes);
+
+    // then
+    VariableInstanceEntity variableInstance = getVariableInstance("bytes");
+    assertThat(variableInstance.getByteArrayValueId()).isNotNull();
+    assertThat(variableInstance.getInlineByteArrayValue()).isNull();
+    assertThat((byte[]) runtimeService.getVariable(processInstance.getId(), "bytes")).isEqualTo(bytes);
+  }
+
+  @Test
+  public void shouldNotStoreValueInlineIfDisabled() {
+    // given
+    processEngineConfiguration.setByteArrayValueInlineThreshold(0);
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "bytes", createBytes(1));
+
+    // then
+    VariableInstanceEntity variableInstance = getVariableInstance("bytes");
+    assertThat(variableInstance.getByteArrayValueId()).isNotNull();
+    assertThat(variableInstance.getInlineByteArrayValue()).isNull();
+  }
+
+  @Test
+  public void shouldMoveGrowingValueToByteArrayTable() {
+    // given
+    runtimeService.setVariable(processInstance.getId(), "bytes", createBytes(10));
+    byte[] bytes = createBytes(THRESHOLD + 1);
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "bytes", bytes);
+
+    // then
+    VariableInstanceEntity variableInstance = getVariableInstance("bytes");
+    assertThat(variableInstance.getByteArrayValueId()).isNotNull();
+    assertThat(variableInstance.getInlineByteArrayValue()).isNull();
+    assertThat((byte[]) runtimeService.getVariable(processInstance.getId(), "bytes")).isEqualTo(bytes);
+  }
+
+  @Test
+  public void shouldMoveShrinkingValueInline() {
+    // given
+    runtimeService.setVariable(processInstance.getId(), "bytes", createBytes(THRESHOLD + 1));
+    String byteArrayId = getVariableInstance("bytes").getByteArrayValueId();
+    byte[] bytes = createBytes(10);
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "bytes", bytes);
+
+    // then
+    VariableInstanceEntity variableInstance = getVariableInstance("bytes");
+    assertThat(variableInstance.getByteArrayValueId()).isNull();
+    assertThat(variableInstance.getInlineByteArrayValue()).isEqualTo(bytes);
+    assertThat(findByteArray(byteArrayId)).isNull();
+  }
+
+  @Test
+  public void shouldStoreFileValueInline() {
+    // given
+    byte[] bytes = createBytes(100);
+    FileValue fileValue = Variables.fileValue("file.bin").file(bytes).mimeType("application/octet-stream").create();
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "file", fileValue);
+
+    // then
+    assertThat(getVariableInstance("file").getByteArrayValueId()).isNull();
+
+    FileValue storedValue = runtimeService.getVariableTyped(processInstance.getId(), "file");
+    assertThat(storedValue.getFilename()).isEqualTo("file.bin");
+    assertThat(storedValue.getMimeType()).isEqualTo("application/octet-stream");
+    assertThat(storedValue.getValue()).hasSameContentAs(new ByteArrayInputStream(bytes));
+  }
+
+  @Test
+  public void shouldClearInlineValueWhenTypeChanges() {
+    // given
+    runtimeService.setVariable(processInstance.getId(), "var", createBytes(10));
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "var", "a string");
+
+    // then
+    VariableInstanceEntity variableInstance = getVariableInstance("var");
+    assertThat(variableInstance.getInlineByteArrayValue()).isNull();
+    assertThat(runtimeService.getVariable(processInstance.getId(), "var")).isEqualTo("a string");
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_AUDIT)
+  public void shouldStoreSmallHistoricValueInline() {
+    // given
+    byte[] bytes = createBytes(THRESHOLD);
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "bytes", bytes);
+
+    // then
+    HistoricVariableInstanceEntity historicVariable = (HistoricVariableInstanceEntity) historyService
+        .createHistoricVariableInstanceQuery()
+        .variableName("bytes")
+        .singleResult();
+
+    assertThat(historicVariable.getByteArrayId()).isNull();
+    assertThat(historicVariable.getInlineByteArrayValue()).isEqualTo(bytes);
+    assertThat((byte[]) historicVariable.getValue()).isEqualTo(bytes);
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_AUDIT)
+  public void shouldMoveShrinkingHistoricValueInline() {
+    // given
+    runtimeService.setVariable(processInstance.getId(), "bytes", createBytes(THRESHOLD + 1));
+    byte[] bytes = createBytes(10);
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "bytes", bytes);
+
+    // then
+    HistoricVariableInstanceEntity historicVariable = (HistoricVariableInstanceEntity) historyService
+        .createHistoricVariableInstanceQuery()
+        .variableName("bytes")
+        .singleResult();
+
+    assertThat(historicVariable.getByteArrayId()).isNull();
+    assertThat((byte[]) historicVariable.getValue()).isEqualTo(bytes);
+  }
+
+  protected VariableInstanceEntity getVariableInstance(String name) {
+    return (VariableInstanceEntity) runtimeService
+        .createVariableInstanceQuery()
+        .variableName(name)
+        .singleResult();
+  }
+
+  protected ByteArrayEntity findByteArray(String id) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext ->
+        commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, id));
+  }
+
+  protected static byte[] createBytes(int length) {
+    byte[] bytes = new byte[length];
+    Arrays.fill(bytes, (byte) length);
+    return bytes;
+  }
+
+}
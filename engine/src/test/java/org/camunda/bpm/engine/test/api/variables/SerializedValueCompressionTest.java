@@ -0,0 +1,274 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.camunda.bpm.engine.variable.Variables.objectValue;
+
+import java.util.Collections;
+import java.util.HashMap;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.history.HistoricVariableUpdate;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.impl.variable.serializer.JavaObjectSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.SerializedValueCompression;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.ObjectValue;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class SerializedValueCompressionTest {
+
+  protected static final int THRESHOLD = 1024;
+
+  protected static final String JAVA_DATA_FORMAT = Variables.SerializationDataFormats.JAVA.getName();
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setJavaSerializationFormatEnabled(true);
+      // creates the compression meters
+      configuration.setSerializedValueCompressionEnabled(true);
+      return configuration;
+    }
+  };
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+
+  protected ProcessInstance processInstance;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+
+    processEngineConfiguration
+      .setSerializedValueCompressionEnabled(true)
+      .setSerializedValueCompressionThreshold(THRESHOLD);
+
+    testRule.deploy(PROCESS);
+    processInstance = runtimeService.startProcessInstanceByKey("process");
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration
+      .setSerializedValueCompressionEnabled(false)
+      .setSerializedValueCompressionThresholds(new HashMap<>());
+  }
+
+  @Test
+  public void shouldCompressLargeValue() {
+    // given
+    JavaSerializable value = createValue(THRESHOLD);
+
+    // when
+    setVariable("var", value);
+
+    // then
+    byte[] storedBytes = getStoredBytes("var");
+    assertThat(SerializedValueCompression.isCompressed(storedBytes)).isTrue();
+    assertThat(storedBytes.length).isLessThan(THRESHOLD);
+
+    assertThat(runtimeService.getVariable(processInstance.getId(), "var")).isEqualTo(value);
+  }
+
+  @Test
+  public void shouldNotCompressSmallValue() {
+    // when
+    setVariable("var", createValue(THRESHOLD / 4));
+
+    // then
+    assertThat(SerializedValueCompression.isCompressed(getStoredBytes("var"))).isFalse();
+  }
+
+  @Test
+  public void shouldApplyThresholdOfSerializer() {
+    // given
+    processEngineConfiguration.setSerializedValueCompressionThresholds(
+        Collections.singletonMap(JavaObjectSerializer.NAME, THRESHOLD / 8));
+    JavaSerializable value = createValue(THRESHOLD / 4);
+
+    // when
+    setVariable("var", value);
+
+    // then
+    assertThat(SerializedValueCompression.isCompressed(getStoredBytes("var"))).isTrue();
+    assertThat(runtimeService.getVariable(processInstance.getId(), "var")).isEqualTo(value);
+  }
+
+  @Test
+  public void shouldKeepSerializedValueUncompressed() {
+    // given
+    JavaSerializable value = createValue(THRESHOLD);
+    setVariable("compressed", value);
+
+    processEngineConfiguration.setSerializedValueCompressionEnabled(false);
+    setVariable("uncompressed", value);
+
+    // when
+    ObjectValue compressedValue = runtimeService.getVariableTyped(processInstance.getId(), "compressed", false);
+    ObjectValue uncompressedValue = runtimeService.getVariableTyped(processInstance.getId(), "uncompressed", false);
+
+    // then
+    assertThat(compressedValue.getValueSerialized()).isEqualTo(uncompressedValue.getValueSerialized());
+  }
+
+  @Test
+  public void shouldCompressOnlyWhenValueIsStored() {
+    // given
+    final ObjectValue value = objectValue(createValue(THRESHOLD)).serializationDataFormat(JAVA_DATA_FORMAT).create();
+
+    // when the serializer writes to value fields of a transient variable
+    byte[] writtenBytes = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<byte[]>() {
+      public byte[] execute(CommandContext commandContext) {
+        VariableInstanceEntity variable = VariableInstanceEntity.create("var", Variables.untypedNullValue(), true);
+        new JavaObjectSerializer().writeValue(value, variable);
+        return variable.getByteArrayValue();
+      }
+    });
+
+    // then the value is not compressed
+    assertThat(SerializedValueCompression.isCompressed(writtenBytes)).isFalse();
+  }
+
+  @Test
+  public void shouldReadUncompressedValueAfterCompressionIsEnabled() {
+    // given
+    processEngineConfiguration.setSerializedValueCompressionEnabled(false);
+    JavaSerializable value = createValue(THRESHOLD);
+    setVariable("var", value);
+
+    // when
+    processEngineConfiguration.setSerializedValueCompressionEnabled(true);
+
+    // then
+    assertThat(SerializedValueCompression.isCompressed(getStoredBytes("var"))).isFalse();
+    assertThat(runtimeService.getVariable(processInstance.getId(), "var")).isEqualTo(value);
+  }
+
+  @Test
+  public void shouldReadCompressedValueAfterCompressionIsDisabled() {
+    // given
+    JavaSerializable value = createValue(THRESHOLD);
+    setVariable("var", value);
+
+    // when
+    processEngineConfiguration.setSerializedValueCompressionEnabled(false);
+
+    // then
+    assertThat(runtimeService.getVariable(processInstance.getId(), "var")).isEqualTo(value);
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+  public void shouldReadCompressedHistoricValues() {
+    // given
+    JavaSerializable value = createValue(THRESHOLD);
+
+    // when
+    setVariable("var", value);
+
+    // then
+    assertThat(historyService.createHistoricVariableInstanceQuery().variableName("var").singleResult().getValue())
+      .isEqualTo(value);
+
+    HistoricVariableUpdate detail = (HistoricVariableUpdate) historyService.createHistoricDetailQuery()
+      .variableUpdates()
+      .processInstanceId(processInstance.getId())
+      .singleResult();
+    assertThat(detail.getValue()).isEqualTo(value);
+  }
+
+  @Test
+  public void shouldReportCompressionMetrics() {
+    // given
+    MetricsRegistry metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+    long uncompressedBytes = metricsRegistry.getMeterByName(Metrics.SERIALIZED_VALUE_UNCOMPRESSED_BYTES).getTotal();
+    long compressedBytes = metricsRegistry.getMeterByName(Metrics.SERIALIZED_VALUE_COMPRESSED_BYTES).getTotal();
+    long compressions = metricsRegistry.getHistogramByName(Metrics.SERIALIZED_VALUE_COMPRESSION_LATENCY).getSnapshot().getCount();
+
+    // when
+    setVariable("var", createValue(THRESHOLD));
+
+    // then
+    long addedUncompressedBytes = metricsRegistry.getMeterByName(Metrics.SERIALIZED_VALUE_UNCOMPRESSED_BYTES).getTotal() - uncompressedBytes;
+    long addedCompressedBytes = metricsRegistry.getMeterByName(Metrics.SERIALIZED_VALUE_COMPRESSED_BYTES).getTotal() - compressedBytes;
+
+    assertThat(addedUncompressedBytes).isGreaterThan(THRESHOLD);
+    assertThat(addedCompressedBytes).isPositive().isLessThan(addedUncompressedBytes);
+    assertThat(metricsRegistry.getHistogramByName(Metrics.SERIALIZED_VALUE_COMPRESSION_LATENCY).getSnapshot().getCount())
+      .isEqualTo(compressions + 1);
+  }
+
+  protected void setVariable(String name, JavaSerializable value) {
+    runtimeService.setVariable(processInstance.getId(), name,
+        objectValue(value).serializationDataFormat(JAVA_DATA_FORMAT).create());
+  }
+
+  protected byte[] getStoredBytes(String name) {
+    String variableInstanceId = runtimeService.createVariableInstanceQuery()
+        .variableName(name)
+        .singleResult()
+        .getId();
+
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext ->
+        commandContext.getDbEntityManager().selectById(VariableInstanceEntity.class, variableInstanceId).getByteArrayValue());
+  }
+
+  protected static JavaSerializable createValue(int length) {
+    StringBuilder builder = new StringBuilder(length);
+    while (builder.length() < length) {
+      builder.append("compressible ");
+    }
+    return new JavaSerializable(builder.substring(0, length));
+  }
+
+}
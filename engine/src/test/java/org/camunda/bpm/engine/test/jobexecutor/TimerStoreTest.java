@@ -0,0 +1,266 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.BootstrapEngineCommand;
+import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.TimerStorePromotionJobHandler;
+import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TimerEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class TimerStoreTest {
+
+  protected static final int HORIZON_SECONDS = 3600;
+
+  protected static final BpmnModelInstance FAR_TIMER_PROCESS = timerProcess("farTimerProcess", "PT2H");
+  protected static final BpmnModelInstance NEAR_TIMER_PROCESS = timerProcess("nearTimerProcess", "PT10M");
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setTimerStoreEnabled(true);
+      configuration.setTimerStoreHorizon(HORIZON_SECONDS);
+      configuration.setJobExecutorActivate(false);
+      return configuration;
+    }
+  };
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected ManagementService managementService;
+  protected CommandExecutor commandExecutor;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    managementService = engineRule.getManagementService();
+    commandExecutor = engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired();
+
+    // the promotion job is created on engine bootstrap, but removed after each test
+    commandExecutor.execute(new BootstrapEngineCommand());
+
+    testRule.deploy(FAR_TIMER_PROCESS, NEAR_TIMER_PROCESS);
+  }
+
+  @After
+  public void deletePromotionJob() {
+    ClockUtil.reset();
+    commandExecutor.execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        for (Job job : commandContext.getJobManager().findJobsByHandlerType(TimerStorePromotionJobHandler.TYPE)) {
+          commandContext.getJobManager().deleteJob((JobEntity) job);
+          commandContext.getHistoricJobLogManager().deleteHistoricJobLogByJobId(job.getId());
+        }
+        return null;
+      }
+    });
+  }
+
+  @Test
+  public void shouldParkTimerBeyondHorizon() {
+    // when
+    runtimeService.startProcessInstanceByKey("farTimerProcess");
+
+    // then
+    Job timer = managementService.createJobQuery().timers().singleResult();
+    assertThat(timer).isNotNull();
+    assertThat(isParked(timer.getId())).isTrue();
+    assertThat(managementService.createJobQuery().jobId(timer.getId()).count()).isEqualTo(1);
+
+    // and the timer is not acquirable once it is due
+    ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + 3 * HORIZON_SECONDS * 1000L));
+    assertThat(findAcquirableJobIds()).doesNotContain(timer.getId());
+  }
+
+  @Test
+  public void shouldNotParkTimerWithinHorizon() {
+    // when
+    runtimeService.startProcessInstanceByKey("nearTimerProcess");
+
+    // then
+    Job timer = managementService.createJobQuery().timers().singleResult();
+    assertThat(isParked(timer.getId())).isFalse();
+
+    ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + HORIZON_SECONDS * 1000L));
+    assertThat(findAcquirableJobIds()).contains(timer.getId());
+  }
+
+  @Test
+  public void shouldPromoteTimerEnteringHorizon() {
+    // given
+    Date start = ClockUtil.getCurrentTime();
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("farTimerProcess");
+    Job timer = managementService.createJobQuery().timers().singleResult();
+
+    // when
+    ClockUtil.setCurrentTime(new Date(start.getTime() + 90 * 60 * 1000L));
+    managementService.executeJob(findPromotionJob().getId());
+
+    // then
+    assertThat(isParked(timer.getId())).isFalse();
+    assertThat(managementService.createJobQuery().timers().singleResult().getId()).isEqualTo(timer.getId());
+
+    ClockUtil.setCurrentTime(new Date(start.getTime() + 3 * HORIZON_SECONDS * 1000L));
+    assertThat(findAcquirableJobIds()).contains(timer.getId());
+
+    managementService.executeJob(timer.getId());
+    assertThat(runtimeService.createProcessInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .activityIdIn("userTask")
+        .count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotPromoteTimerBeyondHorizon() {
+    // given
+    runtimeService.startProcessInstanceByKey("farTimerProcess");
+    Job timer = managementService.createJobQuery().timers().singleResult();
+
+    // when
+    managementService.executeJob(findPromotionJob().getId());
+
+    // then
+    assertThat(isParked(timer.getId())).isTrue();
+  }
+
+  @Test
+  public void shouldReschedulePromotionJob() {
+    // given
+    Date now = new Date();
+    ClockUtil.setCurrentTime(now);
+
+    // when
+    managementService.executeJob(findPromotionJob().getId());
+
+    // then
+    Job promotionJob = findPromotionJob();
+    assertThat(promotionJob.getDuedate()).isEqualTo(new Date(now.getTime() + HORIZON_SECONDS * 500L));
+  }
+
+  @Test
+  public void shouldPromoteTimerOnDuedateChange() {
+    // given
+    runtimeService.startProcessInstanceByKey("farTimerProcess");
+    Job timer = managementService.createJobQuery().timers().singleResult();
+
+    // when
+    managementService.setJobDuedate(timer.getId(), ClockUtil.getCurrentTime());
+
+    // then
+    assertThat(isParked(timer.getId())).isFalse();
+    assertThat(findAcquirableJobIds()).contains(timer.getId());
+  }
+
+  @Test
+  public void shouldSuspendParkedTimer() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("farTimerProcess");
+
+    // when
+    runtimeService.suspendProcessInstanceById(processInstance.getId());
+
+    // then
+    assertThat(managementService.createJobQuery().timers().suspended().count()).isEqualTo(1);
+
+    // and the suspension state is kept on promotion
+    managementService.setJobDuedate(managementService.createJobQuery().timers().singleResult().getId(), ClockUtil.getCurrentTime());
+    assertThat(managementService.createJobQuery().timers().suspended().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldDeleteParkedTimer() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("farTimerProcess");
+
+    // when
+    runtimeService.deleteProcessInstance(processInstance.getId(), null);
+
+    // then
+    assertThat(managementService.createJobQuery().timers().count()).isEqualTo(0);
+  }
+
+  protected static BpmnModelInstance timerProcess(String processKey, String duration) {
+    return Bpmn.createExecutableProcess(processKey)
+      .startEvent()
+      .intermediateCatchEvent("timer")
+        .timerWithDuration(duration)
+      .userTask("userTask")
+      .endEvent()
+      .done();
+  }
+
+  protected boolean isParked(final String timerId) {
+    return commandExecutor.execute(new Command<Boolean>() {
+      public Boolean execute(CommandContext commandContext) {
+        return ((TimerEntity) commandContext.getJobManager().findJobById(timerId)).isParked();
+      }
+    });
+  }
+
+  protected List<String> findAcquirableJobIds() {
+    return commandExecutor.execute(new Command<List<String>>() {
+      public List<String> execute(CommandContext commandContext) {
+        List<String> jobIds = new ArrayList<>();
+        for (AcquirableJobEntity job : commandContext.getJobManager().findNextJobsToExecute(new Page(0, 100))) {
+          jobIds.add(job.getId());
+        }
+        return jobIds;
+      }
+    });
+  }
+
+  protected Job findPromotionJob() {
+    return commandExecutor.execute(new Command<Job>() {
+      public Job execute(CommandContext commandContext) {
+        return commandContext.getJobManager().findJobsByHandlerType(TimerStorePromotionJobHandler.TYPE).get(0);
+      }
+    });
+  }
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.calendar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.camunda.bpm.engine.impl.calendar.CompiledCronExpression;
+import org.camunda.bpm.engine.impl.calendar.CronExpression;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompiledCronExpressionTest {
+
+  protected static final String[] TIME_ZONES = {
+      "UTC", "Europe/Berlin", "America/New_York", "Australia/Lord_Howe", "Asia/Kolkata" };
+
+  protected static final long SEED = 20201019L;
+
+  protected TimeZone defaultTimeZone;
+  protected Random random;
+
+  @Before
+  public void setUp() {
+    defaultTimeZone = TimeZone.getDefault();
+    random = new Random(SEED);
+  }
+
+  @After
+  public void tearDown() {
+    TimeZone.setDefault(defaultTimeZone);
+  }
+
+  @Test
+  public void shouldComputeNextFireTime() throws Exception {
+    TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+    CompiledCronExpression expression = CompiledCronExpression.compile("0 30 9 ? * MON-FRI");
+
+    // friday evening
+    Date next = expression.getTimeAfter(new Date(1602869400000L)); // 2020-10-16T17:30:00Z
+
+    assertThat(next).isEqualTo(new Date(1603099800000L)); // 2020-10-19T09:30:00Z
+  }
+
+  @Test
+  public void shouldReturnNullIfExpressionDoesNotFireAnymore() throws Exception {
+    CompiledCronExpression expression = CompiledCronExpression.compile("0 0 0 1 1 ? 2000");
+
+    assertThat(expression.getTimeAfter(new Date())).isNull();
+  }
+
+  @Test
+  public void shouldCacheCompiledExpression() throws Exception {
+    assertThat(CompiledCronExpression.compile("0 0/5 * * * ?"))
+      .isSameAs(CompiledCronExpression.compile("0 0/5 * * * ?"));
+  }
+
+  @Test(expected = ParseException.class)
+  public void shouldFailOnInvalidExpression() throws Exception {
+    CompiledCronExpression.compile("0 0 0 * * *");
+  }
+
+  @Test
+  public void shouldMatchCronExpressionForRandomExpressions() throws Exception {
+    for (String timeZone : TIME_ZONES) {
+      TimeZone.setDefault(TimeZone.getTimeZone(timeZone));
+
+      for (int i = 0; i < 2000; i++) {
+        String expression = randomExpression();
+        Date time = new Date(randomTime());
+
+        assertSameFireTimes(expression, time, timeZone);
+      }
+    }
+  }
+
+  @Test
+  public void shouldMatchCronExpressionAroundDaylightSavingChanges() throws Exception {
+    String[] expressions = { "0 * * * * ?", "0 0/30 * * * ?", "0 30 2 * * ?", "0 0 * ? * *", "15 59 1,2,3 * * ?" };
+    long[] transitions = {
+        1603587600000L, // 2020-10-25T01:00:00Z, Europe/Berlin
+        1616893200000L, // 2021-03-28T01:00:00Z, Europe/Berlin
+        1604214000000L, // 2020-11-01T07:00:00Z, America/New_York
+        1615705200000L  // 2021-03-14T07:00:00Z, America/New_York
+    };
+
+    for (String timeZone : TIME_ZONES) {
+      TimeZone.setDefault(TimeZone.getTimeZone(timeZone));
+
+      for (String expression : expressions) {
+        for (long transition : transitions) {
+          for (long offset = -3 * 3600000L; offset <= 3 * 3600000L; offset += 7 * 60000L + 13000L) {
+            assertSameFireTimes(expression, new Date(transition + offset), timeZone);
+          }
+        }
+      }
+    }
+  }
+
+  protected void assertSameFireTimes(String expression, Date time, String timeZone) throws ParseException {
+    CronExpression cronExpression = new CronExpression(expression);
+    CompiledCronExpression compiledExpression = CompiledCronExpression.compile(expression);
+
+    Date expected = time;
+    Date actual = time;
+    for (int fire = 0; fire < 3 && expected != null; fire++) {
+      expected = cronExpression.getTimeAfter(expected);
+      actual = compiledExpression.getTimeAfter(actual);
+
+      assertThat(actual)
+        .describedAs("'%s' after %s in %s (seed %d)", expression, time.getTime(), timeZone, SEED)
+        .isEqualTo(expected);
+    }
+  }
+
+  protected long randomTime() {
+    // between 1990 and 2050
+    return 631152000000L + (long) (random.nextDouble() * 1893456000000L);
+  }
+
+  protected String randomExpression() {
+    StringBuilder expression = new StringBuilder();
+    expression.append(randomField(0, 59)).append(' ');
+    expression.append(randomField(0, 59)).append(' ');
+    expression.append(randomField(0, 23)).append(' ');
+
+    int dayRule = random.nextInt(10);
+    if (dayRule < 5) {
+      expression.append(randomField(1, 31)).append(" ").append(randomField(1, 12)).append(" ?");
+    } else if (dayRule < 9) {
+      expression.append("? ").append(randomField(1, 12)).append(' ').append(randomField(1, 7));
+    } else {
+      expression.append(randomSpecialDays());
+    }
+
+    if (random.nextInt(10) == 0) {
+      int year = 1990 + random.nextInt(70);
+      expression.append(' ').append(year).append('-').append(year + random.nextInt(5));
+    }
+
+    return expression.toString();
+  }
+
+  protected String randomField(int min, int max) {
+    int values = max - min + 1;
+    switch (random.nextInt(6)) {
+      case 0:
+        return "*";
+      case 1:
+        return String.valueOf(min + random.nextInt(values));
+      case 2:
+        int start = min + random.nextInt(values);
+        return start + "-" + (start + random.nextInt(max - start + 1));
+      case 3:
+        return (min + random.nextInt(values)) + "," + (min + random.nextInt(values)) + "," + (min + random.nextInt(values));
+      case 4:
+        return (min + random.nextInt(values)) + "/" + (1 + random.nextInt(max - min));
+      default:
+        return "*/" + (1 + random.nextInt(max - min));
+    }
+  }
+
+  protected String randomSpecialDays() {
+    String month = randomField(1, 12);
+    switch (random.nextInt(4)) {
+      case 0:
+        return "L " + month + " ?";
+      case 1:
+        return (1 + random.nextInt(28)) + "W " + month + " ?";
+      case 2:
+        return "? " + month + " " + (1 + random.nextInt(7)) + "L";
+      default:
+        return "? " + month + " " + (1 + random.nextInt(7)) + "#" + (1 + random.nextInt(5));
+    }
+  }
+
+}
@@ -403,4 +403,41 @@ public class PvmEmbeddedSubProcessTest extends PvmTestCase {
     assertEquals(expectedActiveActivityIds, processInstance.findActiveActivityIds());
   }
 
+  public void testFindActivitiesAndTransitionsInScope() {
+    ProcessDefinitionImpl processDefinition = (ProcessDefinitionImpl) new ProcessDefinitionBuilder()
+      .createActivity("start")
+        .initial()
+        .behavior(new Automatic())
+        .transition("embeddedsubprocess")
+      .endActivity()
+      .createActivity("embeddedsubprocess")
+        .scope()
+        .behavior(new EmbeddedSubProcess())
+        .createActivity("startInside")
+          .behavior(new Automatic())
+          .transition("endInside", "innerFlow")
+        .endActivity()
+        .createActivity("endInside")
+          .behavior(new End())
+        .endActivity()
+        .transition("end")
+      .endActivity()
+      .createActivity("end")
+        .behavior(new WaitState())
+      .endActivity()
+    .buildProcessDefinition();
+
+    ActivityImpl subProcess = processDefinition.findActivity("embeddedsubprocess");
+    ActivityImpl endInside = processDefinition.findActivity("endInside");
+
+    assertNotNull(endInside);
+    assertSame(subProcess, endInside.getFlowScope());
+    assertSame(endInside, subProcess.findActivity("endInside"));
+    assertNull(processDefinition.findActivity("unknown"));
+
+    assertSame(processDefinition.findActivity("startInside"),
+        processDefinition.findTransition("innerFlow").getSource());
+    assertSame(endInside, processDefinition.findTransition("innerFlow").getDestination());
+  }
+
 }
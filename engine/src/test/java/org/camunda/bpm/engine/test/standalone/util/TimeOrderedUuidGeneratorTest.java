@@ -0,0 +1,91 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.util;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.camunda.bpm.engine.impl.persistence.TimeOrderedUuidGenerator;
+import org.junit.Test;
+
+public class TimeOrderedUuidGeneratorTest {
+
+  protected TimeOrderedUuidGenerator idGenerator = new TimeOrderedUuidGenerator();
+
+  @Test
+  public void shouldGenerateVersion7Uuid() {
+    UUID uuid = UUID.fromString(idGenerator.getNextId());
+
+    assertThat(uuid.version(), is(7));
+    assertThat(uuid.variant(), is(2));
+  }
+
+  @Test
+  public void shouldEncodeCurrentTime() {
+    long before = System.currentTimeMillis();
+
+    UUID uuid = UUID.fromString(idGenerator.getNextId());
+
+    long timestamp = uuid.getMostSignificantBits() >>> 16;
+    assertThat(timestamp >= before, is(true));
+    // the counter may run slightly ahead of the clock
+    assertThat(timestamp <= System.currentTimeMillis() + 1000, is(true));
+  }
+
+  @Test
+  public void shouldGenerateMonotonicIds() {
+    String previousId = idGenerator.getNextId();
+
+    for (int i = 0; i < 100000; i++) {
+      String id = idGenerator.getNextId();
+      assertThat(id.compareTo(previousId), greaterThan(0));
+      previousId = id;
+    }
+  }
+
+  @Test
+  public void shouldGenerateUniqueIdsConcurrently() throws InterruptedException {
+    final Set<String> ids = ConcurrentHashMap.newKeySet();
+
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < 16; i++) {
+      Thread thread = new Thread() {
+        public void run() {
+          for (int j = 0; j < 10000; j++) {
+            ids.add(idGenerator.getNextId());
+          }
+        }
+      };
+      thread.start();
+      threads.add(thread);
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(ids.size(), is(160000));
+  }
+
+}
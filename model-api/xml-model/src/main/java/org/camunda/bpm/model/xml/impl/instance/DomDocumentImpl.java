@@ -17,15 +17,14 @@
 package org.camunda.bpm.model.xml.impl.instance;
 
 import org.camunda.bpm.model.xml.ModelException;
-import org.camunda.bpm.model.xml.impl.util.DomUtil;
 import org.camunda.bpm.model.xml.impl.util.XmlQName;
 import org.camunda.bpm.model.xml.instance.DomDocument;
 import org.camunda.bpm.model.xml.instance.DomElement;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
 
 import javax.xml.transform.dom.DOMSource;
+import java.util.ArrayList;
 import java.util.List;
 
 import static javax.xml.XMLConstants.XMLNS_ATTRIBUTE_NS_URI;
@@ -66,6 +65,7 @@ public class DomDocumentImpl implements DomDocument {
       else {
         document.appendChild(newDocumentElement);
       }
+      DomElementIndex.invalidate(document);
     }
   }
 
@@ -91,8 +91,12 @@ public class DomDocumentImpl implements DomDocument {
 
   public List<DomElement> getElementsByNameNs(String namespaceUri, String localName) {
     synchronized(document) {
-      NodeList elementsByTagNameNS = document.getElementsByTagNameNS(namespaceUri, localName);
-      return DomUtil.filterNodeListByName(elementsByTagNameNS, namespaceUri, localName);
+      List<Element> elements = DomElementIndex.getIndex(document).getElements(namespaceUri, localName);
+      List<DomElement> domElements = new ArrayList<DomElement>(elements.size());
+      for (Element element : elements) {
+        domElements.add(new DomElementImpl(element));
+      }
+      return domElements;
     }
   }
 
@@ -143,6 +143,7 @@ public class DomElementImpl implements DomElement {
       Element existingElement = ((DomElementImpl) existingChildDomElement).getElement();
       try {
         element.replaceChild(newElement, existingElement);
+        DomElementIndex.invalidate(document);
       }
       catch (DOMException e) {
         throw new ModelException("Unable to replace child <" + existingElement + "> of element <" + element + "> with element <" + newElement + ">", e);
@@ -155,6 +156,7 @@ public class DomElementImpl implements DomElement {
       Element childElement = ((DomElementImpl) childDomElement).getElement();
       try {
         element.removeChild(childElement);
+        DomElementIndex.invalidate(document);
         return true;
       }
       catch (DOMException e) {
@@ -166,13 +168,16 @@ public class DomElementImpl implements DomElement {
   public void appendChild(DomElement childDomElement) {
     synchronized(document) {
       Element childElement = ((DomElementImpl) childDomElement).getElement();
+      boolean moved = DomElementIndex.isPartOfDocument(childElement);
       element.appendChild(childElement);
+      updateIndex(childElement, moved);
     }
   }
 
   public void insertChildElementAfter(DomElement elementToInsert, DomElement insertAfter) {
     synchronized(document) {
       Element newElement = ((DomElementImpl) elementToInsert).getElement();
+      boolean moved = DomElementIndex.isPartOfDocument(newElement);
       // find node to insert before
       Node insertBeforeNode;
       if (insertAfter == null) {
@@ -189,9 +194,28 @@ public class DomElementImpl implements DomElement {
       else {
         element.appendChild(newElement);
       }
+      updateIndex(newElement, moved);
     }
   }
 
+  protected void updateIndex(Element insertedElement, boolean moved) {
+    if (moved) {
+      DomElementIndex.invalidate(document);
+    }
+    else {
+      DomElementIndex.elementInserted(document, insertedElement);
+    }
+  }
+
+  protected boolean hasChildElements() {
+    for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+      if (child.getNodeType() == Node.ELEMENT_NODE) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public boolean hasAttribute(String localName) {
     return hasAttribute(null, localName);
   }
@@ -284,6 +308,9 @@ public class DomElementImpl implements DomElement {
 
   public void setTextContent(String textContent) {
     synchronized(document) {
+      if (hasChildElements()) {
+        DomElementIndex.invalidate(document);
+      }
       element.setTextContent(textContent);
     }
   }
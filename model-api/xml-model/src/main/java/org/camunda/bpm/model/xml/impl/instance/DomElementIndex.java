@@ -0,0 +1,162 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.xml.impl.instance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Index of the elements of a DOM document by namespace URI and local name.
+ *
+ * <p>The index is built on first use and attached to the document. Elements
+ * inserted through {@link DomElementImpl} are added to it, any other change
+ * of the document structure drops it, so that it is built again on next use.
+ * Changes which bypass the model API are not tracked.</p>
+ *
+ * <p>Callers must hold the lock on the document.</p>
+ */
+public class DomElementIndex {
+
+  protected static final String INDEX_KEY = "camunda.elementIndex";
+
+  protected static final Comparator<Element> DOCUMENT_ORDER = new Comparator<Element>() {
+    public int compare(Element element1, Element element2) {
+      if (element1 == element2) {
+        return 0;
+      }
+      short position = element1.compareDocumentPosition(element2);
+      return (position & Node.DOCUMENT_POSITION_FOLLOWING) != 0 ? -1 : 1;
+    }
+  };
+
+  protected final Map<String, ElementList> elementsByName = new HashMap<String, ElementList>();
+
+  /**
+   * @return the index of the document, built if it does not exist yet
+   */
+  public static DomElementIndex getIndex(Document document) {
+    DomElementIndex index = (DomElementIndex) document.getUserData(INDEX_KEY);
+    if (index == null) {
+      index = new DomElementIndex(document);
+      document.setUserData(INDEX_KEY, index, null);
+    }
+    return index;
+  }
+
+  /**
+   * Adds the element and its descendants to the index of the document,
+   * if the document is indexed and the element is part of the document.
+   */
+  public static void elementInserted(Document document, Element element) {
+    DomElementIndex index = (DomElementIndex) document.getUserData(INDEX_KEY);
+    if (index != null && isPartOfDocument(element)) {
+      index.addAll(element);
+    }
+  }
+
+  /**
+   * Drops the index of the document, e.g. after elements were removed.
+   */
+  public static void invalidate(Document document) {
+    if (document != null && document.getUserData(INDEX_KEY) != null) {
+      document.setUserData(INDEX_KEY, null, null);
+    }
+  }
+
+  public static boolean isPartOfDocument(Node node) {
+    Node parent = node.getParentNode();
+    while (parent != null && parent.getNodeType() != Node.DOCUMENT_NODE) {
+      parent = parent.getParentNode();
+    }
+    return parent != null;
+  }
+
+  protected DomElementIndex(Document document) {
+    Element documentElement = document.getDocumentElement();
+    if (documentElement != null) {
+      addAll(documentElement);
+    }
+  }
+
+  /**
+   * @return the elements with the given name in document order
+   */
+  public List<Element> getElements(String namespaceUri, String localName) {
+    ElementList elements = elementsByName.get(key(namespaceUri, localName));
+    if (elements == null) {
+      return Collections.emptyList();
+    }
+    return elements.getElements();
+  }
+
+  protected void addAll(Element element) {
+    add(element);
+    for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+      if (child.getNodeType() == Node.ELEMENT_NODE) {
+        addAll((Element) child);
+      }
+    }
+  }
+
+  protected void add(Element element) {
+    String key = key(element.getNamespaceURI(), element.getLocalName());
+    ElementList elements = elementsByName.get(key);
+    if (elements == null) {
+      elements = new ElementList();
+      elementsByName.put(key, elements);
+    }
+    elements.add(element);
+  }
+
+  protected String key(String namespaceUri, String localName) {
+    return namespaceUri == null ? localName : "{" + namespaceUri + "}" + localName;
+  }
+
+  /**
+   * Elements with the same name. Appended elements usually follow the
+   * existing ones in the document, otherwise the list is sorted on next read.
+   */
+  protected static class ElementList {
+
+    protected final List<Element> elements = new ArrayList<Element>();
+    protected boolean sorted = true;
+
+    protected void add(Element element) {
+      if (sorted && !elements.isEmpty() && DOCUMENT_ORDER.compare(elements.get(elements.size() - 1), element) > 0) {
+        sorted = false;
+      }
+      elements.add(element);
+    }
+
+    protected List<Element> getElements() {
+      if (!sorted) {
+        Collections.sort(elements, DOCUMENT_ORDER);
+        sorted = true;
+      }
+      return elements;
+    }
+  }
+
+}
@@ -16,20 +16,34 @@
  */
 package org.camunda.bpm.model.xml.impl.parser;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
 import org.camunda.bpm.model.xml.ModelInstance;
+import org.camunda.bpm.model.xml.ModelParseException;
 import org.camunda.bpm.model.xml.ModelValidationException;
+import org.camunda.bpm.model.xml.impl.instance.DomDocumentImpl;
 import org.camunda.bpm.model.xml.impl.util.DomUtil;
 import org.camunda.bpm.model.xml.impl.util.ReflectUtil;
 import org.camunda.bpm.model.xml.instance.DomDocument;
@@ -46,10 +60,27 @@ public abstract class AbstractModelParser {
   protected static final String JAXP_ACCESS_EXTERNAL_SCHEMA_SYSTEM_PROPERTY = "javax.xml.accessExternalSchema";
   protected static final String JAXP_ACCESS_EXTERNAL_SCHEMA_ALL = "all";
 
+  protected static final String CONTENT_HASH_ALGORITHM = "SHA-256";
+  protected static final int VALIDATED_DOCUMENTS_CACHE_SIZE = 1000;
+
   private final DocumentBuilderFactory documentBuilderFactory;
   protected SchemaFactory schemaFactory;
   protected Map<String, Schema> schemas = new HashMap<>();
 
+  // document builders and validators are not thread-safe, idle ones are pooled for reuse
+  protected Queue<DocumentBuilder> documentBuilders = new ConcurrentLinkedQueue<>();
+  protected Map<Schema, Queue<Validator>> validators = new ConcurrentHashMap<>();
+
+  // content hashes of parsed documents which passed the schema validation
+  protected Set<ByteBuffer> validatedDocuments = Collections.synchronizedSet(Collections.newSetFromMap(
+      new LinkedHashMap<ByteBuffer, Boolean>() {
+        private static final long serialVersionUID = 1L;
+
+        protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Boolean> eldest) {
+          return size() > VALIDATED_DOCUMENTS_CACHE_SIZE;
+        }
+      }));
+
   protected AbstractModelParser() {
     DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
     configureFactory(dbf);
@@ -125,13 +156,32 @@ public abstract class AbstractModelParser {
   }
 
   public ModelInstance parseModelFromStream(InputStream inputStream) {
+    MessageDigest contentDigest = createContentDigest();
+    ByteBuffer contentHash = null;
+    if (contentDigest != null) {
+      byte[] content = readContent(inputStream);
+      contentHash = ByteBuffer.wrap(contentDigest.digest(content));
+      inputStream = new ByteArrayInputStream(content);
+    }
+
     DomDocument document = null;
 
-    synchronized(documentBuilderFactory) {
-      document = DomUtil.parseInputStream(documentBuilderFactory, inputStream);
+    DocumentBuilder documentBuilder = acquireDocumentBuilder();
+    try {
+      document = DomUtil.parseInputStream(documentBuilder, inputStream);
+    }
+    finally {
+      releaseDocumentBuilder(documentBuilder);
+    }
+
+    // byte-identical documents are only validated once
+    if (contentHash == null || !validatedDocuments.contains(contentHash)) {
+      validateModel(document);
+      if (contentHash != null) {
+        validatedDocuments.add(contentHash);
+      }
     }
 
-    validateModel(document);
     return createModelInstance(document);
 
   }
@@ -139,8 +189,12 @@ public abstract class AbstractModelParser {
   public ModelInstance getEmptyModel() {
     DomDocument document = null;
 
-    synchronized(documentBuilderFactory) {
-      document = DomUtil.getEmptyDocument(documentBuilderFactory);
+    DocumentBuilder documentBuilder = acquireDocumentBuilder();
+    try {
+      document = new DomDocumentImpl(documentBuilder.newDocument());
+    }
+    finally {
+      releaseDocumentBuilder(documentBuilder);
     }
 
     return createModelInstance(document);
@@ -159,7 +213,7 @@ public abstract class AbstractModelParser {
       return;
     }
 
-    Validator validator = schema.newValidator();
+    Validator validator = acquireValidator(schema);
     try {
       synchronized(document) {
         validator.validate(document.getDomSource());
@@ -168,6 +222,83 @@ public abstract class AbstractModelParser {
       throw new ModelValidationException("Error during DOM document validation", e);
     } catch (SAXException e) {
       throw new ModelValidationException("DOM document is not valid", e);
+    } finally {
+      releaseValidator(schema, validator);
+    }
+  }
+
+  protected DocumentBuilder acquireDocumentBuilder() {
+    DocumentBuilder documentBuilder = documentBuilders.poll();
+    if (documentBuilder == null) {
+      synchronized(documentBuilderFactory) {
+        try {
+          documentBuilder = documentBuilderFactory.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+          throw new ModelParseException("ParserConfigurationException while creating document builder", e);
+        }
+      }
+    }
+    return documentBuilder;
+  }
+
+  protected void releaseDocumentBuilder(DocumentBuilder documentBuilder) {
+    try {
+      documentBuilder.reset();
+      documentBuilders.offer(documentBuilder);
+    } catch (UnsupportedOperationException e) {
+      // builder cannot be reused
+    }
+  }
+
+  protected Validator acquireValidator(Schema schema) {
+    Validator validator = getValidatorPool(schema).poll();
+    if (validator == null) {
+      validator = schema.newValidator();
+    }
+    return validator;
+  }
+
+  protected void releaseValidator(Schema schema, Validator validator) {
+    try {
+      validator.reset();
+      getValidatorPool(schema).offer(validator);
+    } catch (UnsupportedOperationException e) {
+      // validator cannot be reused
+    }
+  }
+
+  protected Queue<Validator> getValidatorPool(Schema schema) {
+    Queue<Validator> pool = validators.get(schema);
+    if (pool == null) {
+      validators.putIfAbsent(schema, new ConcurrentLinkedQueue<Validator>());
+      pool = validators.get(schema);
+    }
+    return pool;
+  }
+
+  protected byte[] readContent(InputStream inputStream) {
+    try {
+      ByteArrayOutputStream content = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int length;
+      while ((length = inputStream.read(buffer)) != -1) {
+        content.write(buffer, 0, length);
+      }
+      return content.toByteArray();
+    } catch (IOException e) {
+      throw new ModelParseException("IOException while reading input stream", e);
+    }
+  }
+
+  /**
+   * @return a digest to hash the content of parsed documents, or null if
+   * validation results should not be reused
+   */
+  protected MessageDigest createContentDigest() {
+    try {
+      return MessageDigest.getInstance(CONTENT_HASH_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      return null;
     }
   }
 
@@ -236,11 +236,25 @@ public final class DomUtil {
 
     try {
       DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
-      documentBuilder.setErrorHandler(new DomErrorHandler());
-      return new DomDocumentImpl(documentBuilder.parse(inputStream));
+      return parseInputStream(documentBuilder, inputStream);
     } catch (ParserConfigurationException e) {
       throw new ModelParseException("ParserConfigurationException while parsing input stream", e);
+    }
+  }
 
+  /**
+   * Create a new DOM document from the input stream
+   *
+   * @param documentBuilder the builder to build the DOM document, not used concurrently
+   * @param inputStream the input stream to parse
+   * @return the new DOM document
+   * @throws ModelParseException if a parsing or IO error is triggered
+   */
+  public static DomDocument parseInputStream(DocumentBuilder documentBuilder, InputStream inputStream) {
+
+    try {
+      documentBuilder.setErrorHandler(new DomErrorHandler());
+      return new DomDocumentImpl(documentBuilder.parse(inputStream));
     } catch (SAXException e) {
       throw new ModelParseException("SAXException while parsing input stream", e);
 
@@ -18,10 +18,19 @@ package org.camunda.bpm.model.xml.impl.parser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.camunda.bpm.model.xml.ModelInstance;
 import org.camunda.bpm.model.xml.ModelParseException;
+import org.camunda.bpm.model.xml.instance.DomDocument;
 import org.camunda.bpm.model.xml.testmodel.TestModelParser;
 import org.junit.Assume;
 import org.junit.Rule;
@@ -110,6 +119,54 @@ public class ParserTest {
     }
   }
 
+  @Test
+  public void shouldValidateIdenticalDocumentsOnce() {
+    // given
+    final AtomicInteger validations = new AtomicInteger();
+    TestModelParser modelParser = new TestModelParser() {
+      public void validateModel(DomDocument document) {
+        validations.incrementAndGet();
+        super.validateModel(document);
+      }
+    };
+
+    // when
+    modelParser.parseModelFromStream(new ByteArrayInputStream(animals("tweety").getBytes()));
+    modelParser.parseModelFromStream(new ByteArrayInputStream(animals("tweety").getBytes()));
+    modelParser.parseModelFromStream(new ByteArrayInputStream(animals("timmy").getBytes()));
+
+    // then
+    assertThat(validations.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldParseConcurrently() throws Exception {
+    final TestModelParser modelParser = new TestModelParser();
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+    try {
+      List<Future<ModelInstance>> results = new ArrayList<Future<ModelInstance>>();
+      for (int i = 0; i < 20; i++) {
+        final String id = "bird" + i;
+        results.add(executorService.submit(new Callable<ModelInstance>() {
+          public ModelInstance call() {
+            return modelParser.parseModelFromStream(new ByteArrayInputStream(animals(id).getBytes()));
+          }
+        }));
+      }
+
+      for (int i = 0; i < 20; i++) {
+        assertThat((Object) results.get(i).get().getModelElementById("bird" + i)).isNotNull();
+      }
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
+  protected String animals(String birdId) {
+    return "<animals xmlns=\"http://camunda.org/animals\"><bird id=\"" + birdId + "\" gender=\"Male\" /></animals>";
+  }
+
   protected boolean doesJdkSupportExternalSchemaAccessProperty() {
     String jvmVendor = System.getProperty("java.vm.vendor");
     String javaVersion = System.getProperty("java.version");
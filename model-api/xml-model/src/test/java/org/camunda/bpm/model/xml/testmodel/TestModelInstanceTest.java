@@ -17,9 +17,15 @@
 package org.camunda.bpm.model.xml.testmodel;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import org.camunda.bpm.model.xml.ModelInstance;
 import org.camunda.bpm.model.xml.testmodel.instance.Animal;
 import org.camunda.bpm.model.xml.testmodel.instance.Animals;
@@ -46,6 +52,48 @@ public class TestModelInstanceTest {
     assertThat(getFirstAnimal(cloneInstance).getId(), is(equalTo("TestId2")));
   }
 
+  @Test
+  public void testModelElementsByTypeFollowChanges() {
+    ModelInstance modelInstance = new TestModelParser().getEmptyModel();
+
+    Animals animals = modelInstance.newInstance(Animals.class);
+    modelInstance.setDocumentElement(animals);
+    animals.addChildElement(createBird(modelInstance, "bird1"));
+    Bird bird2 = createBird(modelInstance, "bird2");
+    animals.addChildElement(bird2);
+
+    assertThat(getIds(modelInstance.getModelElementsByType(Bird.class)), is(equalTo(asList("bird1", "bird2"))));
+
+    // when elements are added
+    animals.addChildElement(createBird(modelInstance, "bird3"));
+    animals.insertElementAfter(createBird(modelInstance, "bird0"), null);
+
+    // then they are found in document order
+    assertThat(getIds(modelInstance.getModelElementsByType(Bird.class)), is(equalTo(asList("bird0", "bird1", "bird2", "bird3"))));
+    assertThat(getIds(modelInstance.getModelElementsByType(Animal.class)), is(equalTo(asList("bird0", "bird1", "bird2", "bird3"))));
+
+    // when an element is removed
+    animals.removeChildElement(bird2);
+
+    // then it is not found anymore
+    assertThat(getIds(modelInstance.getModelElementsByType(Bird.class)), is(equalTo(asList("bird0", "bird1", "bird3"))));
+    assertThat(modelInstance.getModelElementById("bird2"), is(nullValue()));
+  }
+
+  protected Bird createBird(ModelInstance modelInstance, String id) {
+    Bird bird = modelInstance.newInstance(Bird.class);
+    bird.setId(id);
+    return bird;
+  }
+
+  protected List<String> getIds(Collection<? extends Animal> animals) {
+    List<String> ids = new ArrayList<String>();
+    for (Animal animal : animals) {
+      ids.add(animal.getId());
+    }
+    return ids;
+  }
+
   protected Animal getFirstAnimal(ModelInstance modelInstance) {
     Animals animals = (Animals) modelInstance.getDocumentElement();
     return animals.getAnimals().iterator().next();
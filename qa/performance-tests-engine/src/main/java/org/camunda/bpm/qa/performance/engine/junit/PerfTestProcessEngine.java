@@ -25,6 +25,7 @@ import org.apache.tomcat.jdbc.pool.DataSource;
 import org.apache.tomcat.jdbc.pool.PoolProperties;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
 import org.camunda.bpm.engine.impl.cfg.StandaloneProcessEngineConfiguration;
@@ -64,6 +65,16 @@ public class PerfTestProcessEngine {
 
     processEngineConfiguration.setJdbcBatchProcessing(Boolean.valueOf(properties.getProperty("jdbcBatchProcessing")));
 
+    // use a custom id generator, e.g. to compare insert throughput
+    String idGeneratorName = properties.getProperty("idGenerator", "");
+    if(idGeneratorName.length() > 0) {
+      Object idGeneratorInstance = ReflectUtil.instantiate(idGeneratorName);
+      if(!(idGeneratorInstance instanceof IdGenerator)) {
+        throw new PerfTestException("Id generator "+idGeneratorName +" is not an instance of IdGenerator");
+      }
+      processEngineConfiguration.setIdGenerator((IdGenerator) idGeneratorInstance);
+    }
+
     // load plugins
     String processEnginePlugins = properties.getProperty("processEnginePlugins", "");
     for (String pluginName : processEnginePlugins.split(",")) {
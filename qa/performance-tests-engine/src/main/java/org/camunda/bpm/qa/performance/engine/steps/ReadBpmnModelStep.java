@@ -0,0 +1,50 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.steps;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRunContext;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestStepBehavior;
+
+/**
+ * Reads a BPMN model instance from the given XML with {@link Bpmn#readModelFromStream}.
+ * If distinct, a unique comment is appended to the XML on every execution,
+ * so that no two parsed documents are byte-identical.
+ */
+public class ReadBpmnModelStep implements PerfTestStepBehavior {
+
+  protected static final AtomicLong COUNTER = new AtomicLong();
+
+  protected String xml;
+  protected boolean distinct;
+
+  public ReadBpmnModelStep(String xml, boolean distinct) {
+    this.xml = xml;
+    this.distinct = distinct;
+  }
+
+  @Override
+  public void execute(PerfTestRunContext context) {
+    String content = distinct ? xml + "<!-- " + COUNTER.incrementAndGet() + " -->" : xml;
+    Bpmn.readModelFromStream(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+  }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.bpmn;
+
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.EXECUTION_ID;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.camunda.bpm.qa.performance.engine.bpmn.delegate.NoopDelegate;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.ExecutionIdRecorder;
+import org.camunda.bpm.qa.performance.engine.steps.SignalExecutionStep;
+import org.camunda.bpm.qa.performance.engine.steps.StartProcessInstanceStep;
+import org.junit.Test;
+
+/**
+ * Measures the throughput of process instances which run to completion in a
+ * single command, i.e. the cost of dispatching atomic operations.
+ */
+public class SynchronousThroughputPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  @Test
+  public void serviceTaskChain10Steps() {
+    deploy(serviceTaskChain(10));
+
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process"))
+    .run();
+  }
+
+  @Test
+  public void serviceTaskChain100Steps() {
+    deploy(serviceTaskChain(100));
+
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process"))
+    .run();
+  }
+
+  @Test
+  public void parallelMultiInstance1000Instances() {
+    deploy(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaClass(NoopDelegate.class.getName())
+        .multiInstance()
+          .parallel()
+          .cardinality("1000")
+        .multiInstanceDone()
+      .endEvent()
+      .done());
+
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process"))
+    .run();
+  }
+
+  /**
+   * The wait state is nested in the last of many embedded sub processes, so
+   * resolving the activity of the loaded execution has to find it in the
+   * whole activity tree.
+   */
+  @Test
+  public void resumeWaitStateInNestedScope() {
+    AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess("process").startEvent();
+    for (int i = 0; i < 100; i++) {
+      builder = builder.subProcess().embeddedSubProcess()
+        .startEvent()
+        .serviceTask()
+          .camundaClass(NoopDelegate.class.getName())
+        .endEvent()
+        .subProcessDone();
+    }
+    deploy(builder.subProcess().embeddedSubProcess()
+        .startEvent()
+        .receiveTask("wait")
+          .camundaExecutionListenerClass("start", ExecutionIdRecorder.class.getName())
+        .endEvent()
+        .subProcessDone()
+      .endEvent()
+      .done());
+
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process"))
+      .step(new SignalExecutionStep(engine, EXECUTION_ID))
+    .run();
+  }
+
+  protected BpmnModelInstance serviceTaskChain(int length) {
+    AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess("process").startEvent();
+    for (int i = 0; i < length; i++) {
+      builder = builder.serviceTask().camundaClass(NoopDelegate.class.getName());
+    }
+    return builder.endEvent().done();
+  }
+
+  protected void deploy(BpmnModelInstance process) {
+    repositoryService.createDeployment()
+      .addModelInstance("process.bpmn", process)
+      .deploy();
+  }
+
+}
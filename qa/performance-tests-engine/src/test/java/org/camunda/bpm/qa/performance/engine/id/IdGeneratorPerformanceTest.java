@@ -0,0 +1,87 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.id;
+
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.DbIdGenerator;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
+import org.camunda.bpm.engine.impl.persistence.StrongUuidGenerator;
+import org.camunda.bpm.engine.impl.persistence.TimeOrderedUuidGenerator;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.GenerateIdsStep;
+import org.junit.Test;
+
+/**
+ * Compares the id generators. Run with a high number of threads
+ * (e.g. <code>-DnumberOfThreads=64</code>) to measure contention.
+ *
+ * <p>To compare the insert throughput of the id generators, run the
+ * other benchmarks with <code>-DidGenerator=&lt;class name&gt;</code>.</p>
+ */
+public class IdGeneratorPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  protected static final int IDS_PER_STEP = 1000;
+
+  @Test
+  public void dbIdGenerator() {
+    DbIdGenerator idGenerator = new DbIdGenerator();
+    configure(idGenerator);
+
+    generateIds(idGenerator);
+  }
+
+  @Test
+  public void prefetchingDbIdGenerator() {
+    PrefetchingDbIdGenerator idGenerator = new PrefetchingDbIdGenerator();
+    configure(idGenerator);
+
+    generateIds(idGenerator);
+  }
+
+  @Test
+  public void prefetchingDbIdGeneratorWithNodePrefix() {
+    PrefetchingDbIdGenerator idGenerator = new PrefetchingDbIdGenerator();
+    idGenerator.setNodePrefix("perf-node");
+    configure(idGenerator);
+
+    generateIds(idGenerator);
+  }
+
+  @Test
+  public void strongUuidGenerator() {
+    generateIds(new StrongUuidGenerator());
+  }
+
+  @Test
+  public void timeOrderedUuidGenerator() {
+    generateIds(new TimeOrderedUuidGenerator());
+  }
+
+  protected void configure(DbIdGenerator idGenerator) {
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) engine.getProcessEngineConfiguration();
+    idGenerator.setIdBlockSize(configuration.getIdBlockSize());
+    idGenerator.setCommandExecutor(configuration.getCommandExecutorTxRequiresNew());
+  }
+
+  protected void generateIds(IdGenerator idGenerator) {
+    performanceTest()
+      .step(new GenerateIdsStep(idGenerator, IDS_PER_STEP))
+    .run();
+  }
+
+}
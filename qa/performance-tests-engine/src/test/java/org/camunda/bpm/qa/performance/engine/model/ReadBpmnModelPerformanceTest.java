@@ -0,0 +1,60 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.model;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.ReadBpmnModelStep;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Measures reading large BPMN models with the model API. Run with
+ * several threads (e.g. <code>-DnumberOfThreads=8</code>) to measure
+ * contention in the parser.
+ */
+public class ReadBpmnModelPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  protected static final int NUMBER_OF_TASKS = 1000;
+
+  protected static String largeModel;
+
+  @BeforeClass
+  public static void createLargeModel() {
+    AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess("largeProcess").startEvent();
+    for (int i = 0; i < NUMBER_OF_TASKS; i++) {
+      builder = builder.userTask("task" + i);
+    }
+    largeModel = Bpmn.convertToString(builder.endEvent().done());
+  }
+
+  @Test
+  public void readIdenticalLargeModels() {
+    performanceTest()
+      .step(new ReadBpmnModelStep(largeModel, false))
+    .run();
+  }
+
+  @Test
+  public void readDistinctLargeModels() {
+    performanceTest()
+      .step(new ReadBpmnModelStep(largeModel, true))
+    .run();
+  }
+
+}
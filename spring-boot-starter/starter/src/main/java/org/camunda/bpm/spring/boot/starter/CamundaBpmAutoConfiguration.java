@@ -42,6 +42,7 @@ import org.springframework.context.annotation.Primary;
 @Import({
   CamundaBpmConfiguration.class,
   CamundaBpmActuatorConfiguration.class,
+  CamundaBpmMicrometerConfiguration.class,
   CamundaBpmPluginConfiguration.class,
   SpringProcessEngineServicesConfiguration.class
 })
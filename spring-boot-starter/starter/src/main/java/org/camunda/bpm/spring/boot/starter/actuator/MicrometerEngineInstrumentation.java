@@ -0,0 +1,116 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.spring.boot.starter.actuator;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.camunda.bpm.engine.impl.metrics.instrumentation.EngineInstrumentation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * Publishes the timings of the {@link EngineInstrumentation} as Micrometer timers.
+ * Timers are created once per command class, statement id and job handler type
+ * and looked up without allocation afterwards.
+ *
+ * <p>The timers are kept in an own composite registry to which the application's
+ * registries are added by {@link #bindTo(MeterRegistry)}. The engine can thus be
+ * built and record timings before the application's registry exists.</p>
+ */
+public class MicrometerEngineInstrumentation implements EngineInstrumentation, MeterBinder {
+
+  public static final String COMMAND_TIMER = "camunda.engine.command";
+  public static final String STATEMENT_TIMER = "camunda.engine.statement";
+  public static final String FLUSH_TIMER = "camunda.engine.flush";
+  public static final String JOB_TIMER = "camunda.engine.job";
+
+  protected final CompositeMeterRegistry meterRegistry = new CompositeMeterRegistry();
+
+  protected final Timers<Class<?>> commandTimers;
+  protected final Timers<String> statementTimers;
+  protected final Timers<String> jobTimers;
+  protected final Timer flushTimer;
+
+  public MicrometerEngineInstrumentation() {
+    this.commandTimers = new Timers<>(COMMAND_TIMER, "command", Class::getSimpleName);
+    this.statementTimers = new Timers<>(STATEMENT_TIMER, "statement", Function.identity());
+    this.jobTimers = new Timers<>(JOB_TIMER, "type", Function.identity());
+    this.flushTimer = Timer.builder(FLUSH_TIMER)
+      .description("Time to flush the database session of a command")
+      .register(meterRegistry);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    meterRegistry.add(registry);
+  }
+
+  @Override
+  public void commandExecuted(Class<?> commandType, long durationNanos, boolean failed) {
+    commandTimers.get(commandType, failed).record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void statementExecuted(String statementId, long durationNanos, boolean failed) {
+    statementTimers.get(statementId, failed).record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void flushed(long durationNanos) {
+    flushTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void jobExecuted(String jobHandlerType, long durationNanos, boolean failed) {
+    jobTimers.get(jobHandlerType != null ? jobHandlerType : "unknown", failed).record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  protected class Timers<K> {
+
+    protected final String name;
+    protected final String tag;
+    protected final Function<K, String> tagValue;
+
+    protected final ConcurrentMap<K, Timer> succeeded = new ConcurrentHashMap<>();
+    protected final ConcurrentMap<K, Timer> failed = new ConcurrentHashMap<>();
+
+    protected Timers(String name, String tag, Function<K, String> tagValue) {
+      this.name = name;
+      this.tag = tag;
+      this.tagValue = tagValue;
+    }
+
+    protected Timer get(K key, boolean isFailed) {
+      ConcurrentMap<K, Timer> timers = isFailed ? failed : succeeded;
+      Timer timer = timers.get(key);
+      if (timer == null) {
+        timer = timers.computeIfAbsent(key, k -> Timer.builder(name)
+          .tag(tag, tagValue.apply(k))
+          .tag("failed", String.valueOf(isFailed))
+          .register(meterRegistry));
+      }
+      return timer;
+    }
+  }
+
+}
@@ -16,7 +16,12 @@
  */
 package org.camunda.bpm.spring.boot.starter.actuator;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheWarmUp;
 import org.springframework.boot.actuate.health.AbstractHealthIndicator;
 import org.springframework.boot.actuate.health.Health.Builder;
 import org.springframework.util.Assert;
@@ -32,7 +37,31 @@ public class ProcessEngineHealthIndicator extends AbstractHealthIndicator {
 
   @Override
   protected void doHealthCheck(Builder builder) throws Exception {
-    builder.up().withDetail("name", processEngine.getName());
+    DeploymentCacheWarmUp warmUp = getDeploymentCacheWarmUp();
+
+    // not ready to serve traffic while the deployment cache is warmed up
+    if (warmUp != null && warmUp.isRunning()) {
+      builder.outOfService();
+    } else {
+      builder.up();
+    }
+    builder.withDetail("name", processEngine.getName());
+
+    if (warmUp != null) {
+      Map<String, Object> details = new LinkedHashMap<>();
+      details.put("state", warmUp.getState());
+      details.put("total", warmUp.getTotal());
+      details.put("loaded", warmUp.getLoaded());
+      details.put("failed", warmUp.getFailed());
+      builder.withDetail("deploymentCacheWarmUp", details);
+    }
+  }
+
+  protected DeploymentCacheWarmUp getDeploymentCacheWarmUp() {
+    if (processEngine instanceof ProcessEngineImpl) {
+      return ((ProcessEngineImpl) processEngine).getProcessEngineConfiguration().getDeploymentCacheWarmUp();
+    }
+    return null;
   }
 
 }
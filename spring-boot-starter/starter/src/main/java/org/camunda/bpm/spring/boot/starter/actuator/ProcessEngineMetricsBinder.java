@@ -0,0 +1,144 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.spring.boot.starter.actuator;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.ToDoubleFunction;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.ThreadPoolJobExecutor;
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.spring.components.jobexecutor.SpringJobExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the meters of the engine's {@link MetricsRegistry} and the state of the
+ * job executor thread pool to Micrometer. All values are read from memory, so
+ * scraping them does not query <code>ACT_RU_METER_LOG</code> and works with the
+ * db metrics reporter switched off.
+ */
+public class ProcessEngineMetricsBinder implements MeterBinder {
+
+  public static final String METER_PREFIX = "camunda.";
+  public static final String JOB_EXECUTOR_PREFIX = "camunda.job.executor.";
+
+  protected final ProcessEngine processEngine;
+
+  public ProcessEngineMetricsBinder(ProcessEngine processEngine) {
+    this.processEngine = processEngine;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+    Tags tags = Tags.of("engine", processEngine.getName());
+
+    MetricsRegistry metricsRegistry = configuration.getMetricsRegistry();
+    if (configuration.isMetricsEnabled() && metricsRegistry != null) {
+      bindMeters(registry, metricsRegistry, tags);
+    }
+
+    JobExecutor jobExecutor = configuration.getJobExecutor();
+    if (jobExecutor != null) {
+      bindJobExecutor(registry, jobExecutor, tags);
+    }
+  }
+
+  protected void bindMeters(MeterRegistry registry, MetricsRegistry metricsRegistry, Tags tags) {
+    // meters created later on are published as soon as they are created;
+    // registering a meter twice returns the already registered counter
+    metricsRegistry.addMeterListener(meter -> bindMeter(registry, meter, tags));
+
+    for (Meter meter : metricsRegistry.getMeters().values()) {
+      bindMeter(registry, meter, tags);
+    }
+  }
+
+  protected void bindMeter(MeterRegistry registry, Meter meter, Tags tags) {
+    // meters are cleared by the db metrics reporter, the total is monotonic
+    FunctionCounter.builder(meterName(meter.getName()), meter, Meter::getTotal)
+      .tags(tags)
+      .register(registry);
+  }
+
+  protected void bindJobExecutor(MeterRegistry registry, JobExecutor jobExecutor, Tags tags) {
+    Gauge.builder(JOB_EXECUTOR_PREFIX + "active", jobExecutor, executor -> executor.isActive() ? 1 : 0)
+      .description("Whether the job executor is running")
+      .tags(tags)
+      .register(registry);
+
+    threadPoolGauge(registry, jobExecutor, tags, "threads.active", "Number of threads executing jobs",
+      ThreadPoolExecutor::getActiveCount);
+    threadPoolGauge(registry, jobExecutor, tags, "threads.pool", "Number of threads in the pool",
+      ThreadPoolExecutor::getPoolSize);
+    threadPoolGauge(registry, jobExecutor, tags, "queue.size", "Number of job batches waiting for a thread",
+      executor -> executor.getQueue().size());
+    threadPoolGauge(registry, jobExecutor, tags, "queue.remaining", "Remaining capacity of the job queue",
+      executor -> executor.getQueue().remainingCapacity());
+  }
+
+  protected void threadPoolGauge(MeterRegistry registry, JobExecutor jobExecutor, Tags tags, String name, String description,
+                                 ToDoubleFunction<ThreadPoolExecutor> value) {
+    Gauge.builder(JOB_EXECUTOR_PREFIX + name, jobExecutor, executor -> {
+        ThreadPoolExecutor threadPool = getThreadPoolExecutor(executor);
+        return threadPool != null ? value.applyAsDouble(threadPool) : Double.NaN;
+      })
+      .description(description)
+      .tags(tags)
+      .register(registry);
+  }
+
+  /**
+   * @return the thread pool of the job executor or null if it is not known or not started yet
+   */
+  protected ThreadPoolExecutor getThreadPoolExecutor(JobExecutor jobExecutor) {
+    if (jobExecutor instanceof ThreadPoolJobExecutor) {
+      return ((ThreadPoolJobExecutor) jobExecutor).getThreadPoolExecutor();
+    }
+    if (jobExecutor instanceof SpringJobExecutor) {
+      TaskExecutor taskExecutor = ((SpringJobExecutor) jobExecutor).getTaskExecutor();
+      if (taskExecutor instanceof ThreadPoolTaskExecutor) {
+        try {
+          return ((ThreadPoolTaskExecutor) taskExecutor).getThreadPoolExecutor();
+        } catch (IllegalStateException e) {
+          // not initialized
+          return null;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Maps engine meter names such as <code>job-acquired-success</code>
+   * to <code>camunda.job.acquired.success</code>.
+   */
+  protected String meterName(String name) {
+    return METER_PREFIX + name.replace('-', '.');
+  }
+
+}
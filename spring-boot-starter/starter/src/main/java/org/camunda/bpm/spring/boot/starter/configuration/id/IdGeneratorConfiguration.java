@@ -18,6 +18,7 @@ package org.camunda.bpm.spring.boot.starter.configuration.id;
 
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.persistence.StrongUuidGenerator;
+import org.camunda.bpm.engine.impl.persistence.TimeOrderedUuidGenerator;
 import org.camunda.bpm.spring.boot.starter.property.CamundaBpmProperties;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -32,6 +33,7 @@ public class IdGeneratorConfiguration {
   public static final String SIMPLE = "simple";
   public static final String STRONG = "strong";
   public static final String PREFIXED = "prefixed";
+  public static final String TIME_ORDERED = "time-ordered";
 
   @Bean
   @ConditionalOnMissingBean(IdGenerator.class)
@@ -48,4 +50,11 @@ public class IdGeneratorConfiguration {
     return new PrefixedUuidGenerator(applicationName);
   }
 
+  @Bean
+  @ConditionalOnMissingBean(IdGenerator.class)
+  @ConditionalOnProperty(prefix = CamundaBpmProperties.PREFIX, name = PROPERTY_NAME, havingValue = TIME_ORDERED)
+  public IdGenerator timeOrderedUuidGenerator() {
+    return new TimeOrderedUuidGenerator();
+  }
+
 }
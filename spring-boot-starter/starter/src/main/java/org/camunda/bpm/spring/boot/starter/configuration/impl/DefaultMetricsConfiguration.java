@@ -16,12 +16,16 @@
  */
 package org.camunda.bpm.spring.boot.starter.configuration.impl;
 
+import org.camunda.bpm.engine.impl.metrics.instrumentation.EngineInstrumentation;
+import org.camunda.bpm.engine.impl.metrics.instrumentation.JfrEngineInstrumentationProvider;
 import org.camunda.bpm.engine.spring.SpringProcessEngineConfiguration;
 import org.camunda.bpm.spring.boot.starter.configuration.CamundaMetricsConfiguration;
 import org.camunda.bpm.spring.boot.starter.property.MetricsProperty;
 
 import javax.annotation.PostConstruct;
 
+import static org.camunda.bpm.spring.boot.starter.util.CamundaSpringBootUtil.addEngineInstrumentation;
+
 public class DefaultMetricsConfiguration extends AbstractCamundaConfiguration implements CamundaMetricsConfiguration {
 
   private MetricsProperty metrics;
@@ -35,5 +39,12 @@ public class DefaultMetricsConfiguration extends AbstractCamundaConfiguration im
   public void preInit(final SpringProcessEngineConfiguration configuration) {
     configuration.setMetricsEnabled(metrics.isEnabled());
     configuration.setDbMetricsReporterActivate(metrics.isDbReporterActivate());
+
+    if (metrics.isJfrInstrumentation()) {
+      EngineInstrumentation jfrInstrumentation = JfrEngineInstrumentationProvider.createInstrumentation();
+      if (jfrInstrumentation != null) {
+        addEngineInstrumentation(configuration, jfrInstrumentation);
+      }
+    }
   }
 }
@@ -22,6 +22,9 @@ public class MetricsProperty {
 
   private boolean enabled = Defaults.INSTANCE.isMetricsEnabled();
   private boolean dbReporterActivate = Defaults.INSTANCE.isDbMetricsReporterActivate();
+  private boolean micrometerBinder = true;
+  private boolean micrometerInstrumentation = false;
+  private boolean jfrInstrumentation = false;
 
   public boolean isEnabled() {
     return enabled;
@@ -39,11 +42,38 @@ public class MetricsProperty {
     this.dbReporterActivate = dbReporterActivate;
   }
 
+  public boolean isMicrometerBinder() {
+    return micrometerBinder;
+  }
+
+  public void setMicrometerBinder(boolean micrometerBinder) {
+    this.micrometerBinder = micrometerBinder;
+  }
+
+  public boolean isMicrometerInstrumentation() {
+    return micrometerInstrumentation;
+  }
+
+  public void setMicrometerInstrumentation(boolean micrometerInstrumentation) {
+    this.micrometerInstrumentation = micrometerInstrumentation;
+  }
+
+  public boolean isJfrInstrumentation() {
+    return jfrInstrumentation;
+  }
+
+  public void setJfrInstrumentation(boolean jfrInstrumentation) {
+    this.jfrInstrumentation = jfrInstrumentation;
+  }
+
   @Override
   public String toString() {
     return joinOn(this.getClass())
       .add("enabled=" + enabled)
       .add("dbReporterActivate=" + dbReporterActivate)
+      .add("micrometerBinder=" + micrometerBinder)
+      .add("micrometerInstrumentation=" + micrometerInstrumentation)
+      .add("jfrInstrumentation=" + jfrInstrumentation)
       .toString();
   }
 
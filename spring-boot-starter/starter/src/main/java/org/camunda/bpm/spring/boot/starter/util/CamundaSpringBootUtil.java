@@ -20,6 +20,9 @@ package org.camunda.bpm.spring.boot.starter.util;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.ProcessEngineConfiguration;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.instrumentation.CompositeEngineInstrumentation;
+import org.camunda.bpm.engine.impl.metrics.instrumentation.EngineInstrumentation;
 import org.camunda.bpm.engine.spring.SpringProcessEngineConfiguration;
 import org.springframework.util.CollectionUtils;
 
@@ -75,6 +78,18 @@ public final class CamundaSpringBootUtil {
     return target;
   }
 
+  /**
+   * Sets the given instrumentation or combines it with an already configured one.
+   */
+  public static void addEngineInstrumentation(ProcessEngineConfigurationImpl configuration, EngineInstrumentation instrumentation) {
+    EngineInstrumentation existing = configuration.getEngineInstrumentation();
+    if (existing == null) {
+      configuration.setEngineInstrumentation(instrumentation);
+    } else {
+      configuration.setEngineInstrumentation(new CompositeEngineInstrumentation(existing, instrumentation));
+    }
+  }
+
   public static SpringProcessEngineConfiguration initCustomFields(SpringProcessEngineConfiguration configuration) {
     // CommandInterceptorsTxRequired
     if (configuration.getCustomPostCommandInterceptorsTxRequired() == null) {
@@ -16,6 +16,7 @@
  */
 package org.camunda.bpm.spring.boot.starter;
 
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import org.camunda.bpm.spring.boot.starter.test.nonpa.TestApplication;
@@ -27,6 +28,8 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @RunWith(SpringRunner.class)
 @SpringBootTest(classes = { TestApplication.class }, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 public class CamundaBpmActuatorConfigurationIT extends AbstractCamundaAutoConfigurationIT{
@@ -34,6 +37,9 @@ public class CamundaBpmActuatorConfigurationIT extends AbstractCamundaAutoConfig
   @Autowired
   private TestRestTemplate testRestTemplate;
 
+  @Autowired
+  private MeterRegistry meterRegistry;
+
   @Test
   public void jobExecutorHealthIndicatorTest() {
     final String body = getHealthBody();
@@ -46,6 +52,12 @@ public class CamundaBpmActuatorConfigurationIT extends AbstractCamundaAutoConfig
     assertTrue("wrong body " + body, body.contains("processEngine\":{\"status\":\"UP\",\"details\":{\"name\":\"testEngine\"}}"));
   }
 
+  @Test
+  public void processEngineMetricsBinderTest() {
+    assertNotNull(meterRegistry.find("camunda.activity.instance.start").tag("engine", "testEngine").functionCounter());
+    assertNotNull(meterRegistry.find("camunda.job.executor.queue.size").gauge());
+  }
+
   private String getHealthBody() {
     ResponseEntity<String> entity = testRestTemplate.getForEntity("/actuator/health", String.class);
     final String body = entity.getBody();
@@ -0,0 +1,52 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.spring.boot.starter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.spring.boot.starter.actuator.MicrometerEngineInstrumentation;
+import org.camunda.bpm.spring.boot.starter.test.nonpa.TestApplication;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { TestApplication.class }, properties = "camunda.bpm.metrics.micrometer-instrumentation=true")
+public class CamundaBpmMicrometerConfigurationIT extends AbstractCamundaAutoConfigurationIT {
+
+  @Autowired
+  private ProcessEngineConfigurationImpl processEngineConfiguration;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Test
+  public void shouldPublishEngineInstrumentation() {
+    assertThat(processEngineConfiguration.getEngineInstrumentation()).isInstanceOf(MicrometerEngineInstrumentation.class);
+
+    runtimeService.createProcessInstanceQuery().list();
+
+    assertThat(meterRegistry.find(MicrometerEngineInstrumentation.COMMAND_TIMER).tag("command", "ProcessInstanceQueryImpl").timer()).isNotNull();
+    assertThat(meterRegistry.find("camunda.activity.instance.start").functionCounter()).isNotNull();
+  }
+
+}
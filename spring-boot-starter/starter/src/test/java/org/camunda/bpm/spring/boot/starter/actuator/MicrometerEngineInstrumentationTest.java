@@ -0,0 +1,72 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.spring.boot.starter.actuator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.cmd.StartProcessInstanceCmd;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MicrometerEngineInstrumentationTest {
+
+  private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private MicrometerEngineInstrumentation instrumentation = new MicrometerEngineInstrumentation();
+
+  @Before
+  public void bind() {
+    instrumentation.bindTo(meterRegistry);
+  }
+
+  @Test
+  public void shouldRecordCommandsByClassAndOutcome() {
+    instrumentation.commandExecuted(StartProcessInstanceCmd.class, 1000, false);
+    instrumentation.commandExecuted(StartProcessInstanceCmd.class, 3000, false);
+    instrumentation.commandExecuted(StartProcessInstanceCmd.class, 5000, true);
+
+    Timer succeeded = meterRegistry.get(MicrometerEngineInstrumentation.COMMAND_TIMER)
+      .tag("command", "StartProcessInstanceCmd")
+      .tag("failed", "false")
+      .timer();
+    assertThat(succeeded.count()).isEqualTo(2);
+    assertThat(succeeded.totalTime(TimeUnit.NANOSECONDS)).isEqualTo(4000);
+
+    Timer failed = meterRegistry.get(MicrometerEngineInstrumentation.COMMAND_TIMER)
+      .tag("failed", "true")
+      .timer();
+    assertThat(failed.count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRecordStatementsFlushesAndJobs() {
+    instrumentation.statementExecuted("selectJob", 100, false);
+    instrumentation.flushed(200);
+    instrumentation.jobExecuted("async-continuation", 300, false);
+    instrumentation.jobExecuted(null, 400, true);
+
+    assertThat(meterRegistry.get(MicrometerEngineInstrumentation.STATEMENT_TIMER).tag("statement", "selectJob").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get(MicrometerEngineInstrumentation.FLUSH_TIMER).timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get(MicrometerEngineInstrumentation.JOB_TIMER).tag("type", "async-continuation").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get(MicrometerEngineInstrumentation.JOB_TIMER).tag("type", "unknown").timer().count()).isEqualTo(1);
+  }
+
+}
@@ -19,7 +19,12 @@ package org.camunda.bpm.spring.boot.starter.actuator;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.when;
 
+import java.util.Map;
+
 import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheWarmUp;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -35,6 +40,15 @@ public class ProcessEngineHealthIndicatorTest {
   @Mock
   private ProcessEngine processEngine;
 
+  @Mock
+  private ProcessEngineImpl processEngineImpl;
+
+  @Mock
+  private ProcessEngineConfigurationImpl processEngineConfiguration;
+
+  @Mock
+  private DeploymentCacheWarmUp warmUp;
+
   @Test(expected = IllegalArgumentException.class)
   public void nullTest() {
     new ProcessEngineHealthIndicator(null);
@@ -47,4 +61,35 @@ public class ProcessEngineHealthIndicatorTest {
     assertEquals(Status.UP, health.getStatus());
     assertEquals(PROCESS_ENGINE_NAME, health.getDetails().get("name"));
   }
+
+  @Test
+  public void outOfServiceDuringWarmUpTest() {
+    when(processEngineImpl.getName()).thenReturn(PROCESS_ENGINE_NAME);
+    when(processEngineImpl.getProcessEngineConfiguration()).thenReturn(processEngineConfiguration);
+    when(processEngineConfiguration.getDeploymentCacheWarmUp()).thenReturn(warmUp);
+    when(warmUp.isRunning()).thenReturn(true);
+    when(warmUp.getState()).thenReturn(DeploymentCacheWarmUp.State.RUNNING);
+    when(warmUp.getTotal()).thenReturn(10);
+    when(warmUp.getLoaded()).thenReturn(4);
+
+    Health health = new ProcessEngineHealthIndicator(processEngineImpl).health();
+
+    assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+    Map<?, ?> details = (Map<?, ?>) health.getDetails().get("deploymentCacheWarmUp");
+    assertEquals(DeploymentCacheWarmUp.State.RUNNING, details.get("state"));
+    assertEquals(10, details.get("total"));
+    assertEquals(4, details.get("loaded"));
+  }
+
+  @Test
+  public void upAfterWarmUpTest() {
+    when(processEngineImpl.getName()).thenReturn(PROCESS_ENGINE_NAME);
+    when(processEngineImpl.getProcessEngineConfiguration()).thenReturn(processEngineConfiguration);
+    when(processEngineConfiguration.getDeploymentCacheWarmUp()).thenReturn(warmUp);
+    when(warmUp.isRunning()).thenReturn(false);
+
+    Health health = new ProcessEngineHealthIndicator(processEngineImpl).health();
+
+    assertEquals(Status.UP, health.getStatus());
+  }
 }
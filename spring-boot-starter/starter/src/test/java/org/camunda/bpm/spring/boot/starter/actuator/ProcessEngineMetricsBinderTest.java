@@ -0,0 +1,98 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.spring.boot.starter.actuator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.StandaloneProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProcessEngineMetricsBinderTest {
+
+  @Mock
+  private ProcessEngine processEngine;
+
+  private StandaloneProcessEngineConfiguration configuration = new StandaloneProcessEngineConfiguration();
+  private MetricsRegistry metricsRegistry = new MetricsRegistry();
+  private DefaultJobExecutor jobExecutor = new DefaultJobExecutor();
+  private ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(5));
+  private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Before
+  public void init() {
+    metricsRegistry.createMeter(Metrics.JOB_ACQUIRED_SUCCESS);
+    configuration.setMetricsRegistry(metricsRegistry);
+    configuration.setJobExecutor(jobExecutor);
+    jobExecutor.setThreadPoolExecutor(threadPoolExecutor);
+
+    when(processEngine.getName()).thenReturn("default");
+    when(processEngine.getProcessEngineConfiguration()).thenReturn(configuration);
+
+    new ProcessEngineMetricsBinder(processEngine).bindTo(meterRegistry);
+  }
+
+  @After
+  public void shutdown() {
+    threadPoolExecutor.shutdownNow();
+  }
+
+  @Test
+  public void shouldPublishMetersAsMonotonicCounters() {
+    metricsRegistry.markOccurrence(Metrics.JOB_ACQUIRED_SUCCESS, 3);
+    // cleared by the db metrics reporter
+    metricsRegistry.getMeterByName(Metrics.JOB_ACQUIRED_SUCCESS).getAndClear();
+    metricsRegistry.markOccurrence(Metrics.JOB_ACQUIRED_SUCCESS, 2);
+
+    double count = meterRegistry.get("camunda.job.acquired.success").tag("engine", "default").functionCounter().count();
+    assertThat(count).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldPublishMetersCreatedAfterBinding() {
+    metricsRegistry.getOrCreateMeter("custom-meter");
+    metricsRegistry.markOccurrence("custom-meter", 4);
+
+    double count = meterRegistry.get("camunda.custom.meter").tag("engine", "default").functionCounter().count();
+    assertThat(count).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldPublishJobExecutorGauges() {
+    assertThat(meterRegistry.get("camunda.job.executor.active").gauge().value()).isEqualTo(0);
+    assertThat(meterRegistry.get("camunda.job.executor.queue.size").gauge().value()).isEqualTo(0);
+    assertThat(meterRegistry.get("camunda.job.executor.queue.remaining").gauge().value()).isEqualTo(5);
+    assertThat(meterRegistry.get("camunda.job.executor.threads.active").gauge().value()).isEqualTo(0);
+  }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.spring.boot.starter.configuration.id;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.TimeOrderedUuidGenerator;
+import org.camunda.bpm.spring.boot.starter.test.nonpa.TestApplication;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.camunda.bpm.spring.boot.starter.configuration.id.IdGeneratorConfiguration.TIME_ORDERED;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { TestApplication.class }, properties = "camunda.bpm.id-generator=" + TIME_ORDERED)
+public class TimeOrderedUuidGeneratorIT {
+
+  @Autowired
+  private IdGenerator idGenerator;
+
+  @Autowired
+  private ProcessEngine processEngine;
+
+  @Test
+  public void configured_idGenerator_is_time_ordered() throws Exception {
+    IdGenerator idGenerator = ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getIdGenerator();
+
+    assertThat(idGenerator).isOfAnyClassIn(TimeOrderedUuidGenerator.class);
+  }
+
+  @Test
+  public void nextId_is_version_7_uuid() throws Exception {
+    assertThat(UUID.fromString(idGenerator.getNextId()).version()).isEqualTo(7);
+  }
+}
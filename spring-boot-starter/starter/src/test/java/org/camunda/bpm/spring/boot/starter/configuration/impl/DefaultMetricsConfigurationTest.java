@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.util.ReflectionTestUtils.invokeMethod;
 import static org.springframework.test.util.ReflectionTestUtils.setField;
 
+import org.camunda.bpm.engine.impl.metrics.instrumentation.JfrEngineInstrumentation;
 import org.camunda.bpm.engine.spring.SpringProcessEngineConfiguration;
 import org.camunda.bpm.spring.boot.starter.property.CamundaBpmProperties;
 import org.junit.Before;
@@ -65,4 +66,13 @@ public class DefaultMetricsConfigurationTest {
     defaultMetricsConfiguration.preInit(configuration);
     assertThat(configuration.isDbMetricsReporterActivate()).isTrue();
   }
+
+  @Test
+  public void jfrInstrumentation() {
+    assertThat(configuration.getEngineInstrumentation()).isNull();
+
+    camundaBpmProperties.getMetrics().setJfrInstrumentation(true);
+    defaultMetricsConfiguration.preInit(configuration);
+    assertThat(configuration.getEngineInstrumentation()).isInstanceOf(JfrEngineInstrumentation.class);
+  }
 }
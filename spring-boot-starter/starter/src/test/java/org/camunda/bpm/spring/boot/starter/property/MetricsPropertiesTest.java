@@ -21,12 +21,16 @@ import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.Test;
 import org.springframework.test.context.TestPropertySource;
 
-@TestPropertySource(properties = {"camunda.bpm.metrics.enabled=false", "camunda.bpm.metrics.db-reporter-activate=false"})
+@TestPropertySource(properties = {"camunda.bpm.metrics.enabled=false", "camunda.bpm.metrics.db-reporter-activate=false",
+  "camunda.bpm.metrics.micrometer-binder=false", "camunda.bpm.metrics.micrometer-instrumentation=true", "camunda.bpm.metrics.jfr-instrumentation=true"})
 public class MetricsPropertiesTest extends ParsePropertiesHelper {
 
   @Test
   public void verifyCorrectProperties() throws Exception {
     assertThat(metrics.isEnabled()).isFalse();
     assertThat(metrics.isDbReporterActivate()).isFalse();
+    assertThat(metrics.isMicrometerBinder()).isFalse();
+    assertThat(metrics.isMicrometerInstrumentation()).isTrue();
+    assertThat(metrics.isJfrInstrumentation()).isTrue();
   }
 }